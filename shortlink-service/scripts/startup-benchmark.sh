@@ -0,0 +1,118 @@
+#!/usr/bin/env bash
+#
+# Compares how fast the service starts as a plain jar, with the AppCDS archive
+# and, when a checkpoint exists, restored from CRaC.
+#
+# Each mode is started RUNS times. A run measures the time from launching the
+# JVM until /actuator/health/liveness answers, which is when classes are loaded,
+# the context is refreshed and the web server listens, and until
+# /actuator/health/readiness is UP, which also includes the startup warm-up.
+#
+# Build first, from the shortlink-service directory:
+#   mvn -Pcds package -DskipTests
+#   mvn -Pcrac package -DskipTests -Dcrac.java=/opt/zulu-crac/bin/java   (optional)
+# Then run:
+#   scripts/startup-benchmark.sh
+#
+# Environment:
+#   RUNS       starts per mode (default 5)
+#   PORT       HTTP port; a restored checkpoint keeps the port it was taken with (default 8080)
+#   JAVA       java executable for the cold and CDS runs (default java)
+#   CRAC_JAVA  CRaC-enabled java executable for the restore runs (default $JAVA)
+#   TIMEOUT_S  seconds to wait for a run to become ready (default 60)
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-8080}
+JAVA=${JAVA:-java}
+CRAC_JAVA=${CRAC_JAVA:-$JAVA}
+TIMEOUT_S=${TIMEOUT_S:-60}
+
+FAT_JAR=$(ls target/shortlink-service-*.jar 2>/dev/null | grep -v -- '-cds.jar$' | head -n 1 || true)
+CDS_JAR=$(ls target/cds/shortlink-service-*-cds.jar 2>/dev/null | head -n 1 || true)
+CDS_ARCHIVE=target/cds/application.jsa
+CRAC_DIR=target/crac
+
+if [[ -z "$FAT_JAR" ]]; then
+    echo "No application jar in target/, run mvn -Pcds package -DskipTests first" >&2
+    exit 1
+fi
+if curl -s -o /dev/null "http://localhost:$PORT/"; then
+    echo "Port $PORT is already in use" >&2
+    exit 1
+fi
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Polls a URL until it answers 200, printing the elapsed milliseconds since $1
+wait_for() {
+    local start=$1 url=$2 deadline=$(( $1 + TIMEOUT_S * 1000 ))
+    until [[ "$(curl -s -o /dev/null -w '%{http_code}' "$url")" == 200 ]]; do
+        if (( $(now_ms) > deadline )); then
+            echo "timeout"
+            return
+        fi
+        sleep 0.01
+    done
+    echo $(( $(now_ms) - start ))
+}
+
+# Starts one JVM with the given command, measures it and stops it
+run_once() {
+    local log
+    log=$(mktemp)
+    local start
+    start=$(now_ms)
+    "$@" >"$log" 2>&1 &
+    local pid=$!
+    local live ready
+    live=$(wait_for "$start" "http://localhost:$PORT/actuator/health/liveness")
+    ready=$(wait_for "$start" "http://localhost:$PORT/actuator/health/readiness")
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+    if [[ "$live" == timeout || "$ready" == timeout ]]; then
+        echo "Run did not become ready, its output follows:" >&2
+        cat "$log" >&2
+    fi
+    rm -f "$log"
+    echo "$live $ready"
+}
+
+# Runs a mode RUNS times and prints its per-run and median timings
+benchmark() {
+    local mode=$1
+    shift
+    local lives=() readies=()
+    for ((i = 1; i <= RUNS; i++)); do
+        read -r live ready < <(run_once "$@")
+        lives+=("$live")
+        readies+=("$ready")
+    done
+    printf '%-8s live ms: %-32s median %6s   ready ms: %-32s median %6s\n' "$mode" \
+        "${lives[*]}" "$(median "${lives[@]}")" "${readies[*]}" "$(median "${readies[@]}")"
+}
+
+median() {
+    printf '%s\n' "$@" | sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+echo "Startup benchmark: $RUNS runs per mode on port $PORT"
+benchmark cold "$JAVA" -jar "$FAT_JAR" --server.port="$PORT"
+
+if [[ -n "$CDS_JAR" && -f "$CDS_ARCHIVE" ]]; then
+    benchmark cds "$JAVA" -XX:SharedArchiveFile="$CDS_ARCHIVE" -jar "$CDS_JAR" --server.port="$PORT"
+else
+    echo "cds      skipped: no archive, build it with mvn -Pcds package -DskipTests"
+fi
+
+# JVMs without CRaC refuse the option and exit with an error
+if [[ -d "$CRAC_DIR" ]] && "$CRAC_JAVA" -XX:CRaCCheckpointTo="$(mktemp -d)" -version >/dev/null 2>&1; then
+    benchmark restore "$CRAC_JAVA" -XX:CRaCRestoreFrom="$CRAC_DIR"
+else
+    echo "restore  skipped: needs a checkpoint in $CRAC_DIR and a CRaC-enabled CRAC_JAVA"
+fi
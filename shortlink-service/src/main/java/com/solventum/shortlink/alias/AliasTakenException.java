@@ -0,0 +1,16 @@
+package com.solventum.shortlink.alias;
+
+/**
+ * Thrown when a custom alias already leads to a different long URL.
+ */
+public class AliasTakenException extends IllegalStateException {
+
+    /**
+     * Creates an exception for an alias that is already taken.
+     *
+     * @param alias the alias
+     */
+    public AliasTakenException(String alias) {
+        super("Alias is already taken: " + alias);
+    }
+}
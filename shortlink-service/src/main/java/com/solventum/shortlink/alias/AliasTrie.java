@@ -0,0 +1,292 @@
+package com.solventum.shortlink.alias;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Concurrent radix trie mapping custom aliases to long URLs.
+ *
+ * Each edge is labelled with the longest string its subtree shares, so an
+ * alias costs one node at most plus the split of an existing edge, and
+ * chains of single-child nodes never exist. Children are kept sorted by
+ * the first character of their label, which makes a depth-first walk list
+ * aliases in lexicographic order.
+ *
+ * Nodes are immutable. A write copies the nodes on the path to the changed
+ * one and publishes the new root with a single volatile write, so lookups
+ * and listings never lock and always see a consistent snapshot; writes
+ * are serialized, which suits aliases, created far less often than read.
+ */
+public class AliasTrie {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final char[] NO_FIRSTS = new char[0];
+
+    private volatile Node root = new Node("", null, NO_FIRSTS, NO_CHILDREN);
+    private volatile int size;
+
+    /**
+     * Looks up the long URL of an alias.
+     *
+     * @param alias the alias
+     * @return the long URL, or null if the alias does not exist
+     */
+    public String get(String alias) {
+        Node node = root;
+        int position = 0;
+        while (position < alias.length()) {
+            Node child = node.child(alias.charAt(position));
+            if (child == null || !alias.startsWith(child.label, position)) {
+                return null;
+            }
+            position += child.label.length();
+            node = child;
+        }
+        return node.value;
+    }
+
+    /**
+     * Adds an alias unless it already exists.
+     *
+     * @param alias the alias
+     * @param longUrl the long URL it leads to
+     * @return the long URL the alias already had, or null if it was added
+     */
+    public synchronized String putIfAbsent(String alias, String longUrl) {
+        String[] existing = new String[1];
+        Node updated = insert(root, alias, 0, longUrl, existing, false);
+        if (existing[0] == null) {
+            root = updated;
+            size++;
+        }
+        return existing[0];
+    }
+
+    /**
+     * Points an existing alias at another long URL.
+     *
+     * @param alias the alias
+     * @param longUrl the new long URL
+     * @return the long URL the alias led to, or null if it does not exist and nothing changed
+     */
+    public synchronized String replace(String alias, String longUrl) {
+        if (get(alias) == null) {
+            return null;
+        }
+        String[] existing = new String[1];
+        root = insert(root, alias, 0, longUrl, existing, true);
+        return existing[0];
+    }
+
+    /**
+     * Removes an alias.
+     *
+     * @param alias the alias
+     * @return the long URL the alias led to, or null if it did not exist
+     */
+    public synchronized String remove(String alias) {
+        String[] removed = new String[1];
+        Node updated = delete(root, alias, 0, removed);
+        if (removed[0] != null) {
+            root = updated;
+            size--;
+        }
+        return removed[0];
+    }
+
+    /**
+     * Removes every alias.
+     */
+    public synchronized void clear() {
+        root = new Node("", null, NO_FIRSTS, NO_CHILDREN);
+        size = 0;
+    }
+
+    /**
+     * Lists aliases starting with a prefix in lexicographic order, visiting
+     * only the subtree under the prefix.
+     *
+     * @param prefix the alias prefix, empty for all aliases
+     * @param limit maximum number of aliases to return
+     * @return alias and long URL pairs
+     */
+    public List<Map.Entry<String, String>> list(String prefix, int limit) {
+        List<Map.Entry<String, String>> result = new ArrayList<>(Math.min(limit, 64));
+        Node node = root;
+        int start = 0;
+        int position = 0;
+        while (position < prefix.length()) {
+            Node child = node.child(prefix.charAt(position));
+            if (child == null) {
+                return result;
+            }
+            // Either the prefix ends inside this edge, or the edge must match it entirely
+            int matched = Math.min(child.label.length(), prefix.length() - position);
+            if (!prefix.regionMatches(position, child.label, 0, matched)) {
+                return result;
+            }
+            start = position;
+            position += child.label.length();
+            node = child;
+        }
+        collect(node, new StringBuilder(prefix.length() + 32).append(prefix, 0, start), limit, result);
+        return result;
+    }
+
+    /**
+     * Returns the number of aliases.
+     *
+     * @return alias count
+     */
+    public int size() {
+        return size;
+    }
+
+    private static void collect(Node node, StringBuilder path, int limit, List<Map.Entry<String, String>> result) {
+        int length = path.length();
+        path.append(node.label);
+        if (node.value != null && result.size() < limit) {
+            result.add(Map.entry(path.toString(), node.value));
+        }
+        for (Node child : node.children) {
+            if (result.size() >= limit) {
+                break;
+            }
+            collect(child, path, limit, result);
+        }
+        path.setLength(length);
+    }
+
+    private static Node insert(Node node, String key, int position, String value, String[] existing,
+                               boolean overwrite) {
+        if (position == key.length()) {
+            if (node.value != null) {
+                existing[0] = node.value;
+                return overwrite ? new Node(node.label, value, node.firsts, node.children) : node;
+            }
+            return new Node(node.label, value, node.firsts, node.children);
+        }
+        int index = node.indexOf(key.charAt(position));
+        if (index < 0) {
+            return node.withChild(new Node(key.substring(position), value, NO_FIRSTS, NO_CHILDREN));
+        }
+        Node child = node.children[index];
+        int common = commonPrefix(child.label, key, position);
+        if (common < child.label.length()) {
+            // Split the edge where the key leaves it
+            Node tail = new Node(child.label.substring(common), child.value, child.firsts, child.children);
+            child = new Node(child.label.substring(0, common), null, new char[] {tail.label.charAt(0)},
+                new Node[] {tail});
+        }
+        Node updated = insert(child, key, position + common, value, existing, overwrite);
+        return existing[0] != null && !overwrite ? node : node.withChild(index, updated);
+    }
+
+    private static Node delete(Node node, String key, int position, String[] removed) {
+        if (position == key.length()) {
+            if (node.value == null) {
+                return node;
+            }
+            removed[0] = node.value;
+            return compact(new Node(node.label, null, node.firsts, node.children));
+        }
+        int index = node.indexOf(key.charAt(position));
+        if (index < 0) {
+            return node;
+        }
+        Node child = node.children[index];
+        if (!key.startsWith(child.label, position)) {
+            return node;
+        }
+        Node updated = delete(child, key, position + child.label.length(), removed);
+        if (removed[0] == null) {
+            return node;
+        }
+        return compact(updated == null ? node.withoutChild(index) : node.withChild(index, updated));
+    }
+
+    /**
+     * Drops a node without value or children, and merges a node without
+     * value into its only child. The root, with its empty label, is kept.
+     */
+    private static Node compact(Node node) {
+        if (node.value != null || node.label.isEmpty()) {
+            return node;
+        }
+        if (node.children.length == 0) {
+            return null;
+        }
+        if (node.children.length == 1) {
+            Node child = node.children[0];
+            return new Node(node.label + child.label, child.value, child.firsts, child.children);
+        }
+        return node;
+    }
+
+    private static int commonPrefix(String label, String key, int position) {
+        int max = Math.min(label.length(), key.length() - position);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(position + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+        final String label;
+        final String value;
+        // First character of each child's label, sorted, parallel to children
+        final char[] firsts;
+        final Node[] children;
+
+        Node(String label, String value, char[] firsts, Node[] children) {
+            this.label = label;
+            this.value = value;
+            this.firsts = firsts;
+            this.children = children;
+        }
+
+        int indexOf(char c) {
+            return firsts.length == 0 ? -1 : Arrays.binarySearch(firsts, c);
+        }
+
+        Node child(char c) {
+            int index = indexOf(c);
+            return index < 0 ? null : children[index];
+        }
+
+        Node withChild(Node child) {
+            int insertion = -indexOf(child.label.charAt(0)) - 1;
+            char[] newFirsts = new char[firsts.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, insertion);
+            System.arraycopy(children, 0, newChildren, 0, insertion);
+            newFirsts[insertion] = child.label.charAt(0);
+            newChildren[insertion] = child;
+            System.arraycopy(firsts, insertion, newFirsts, insertion + 1, firsts.length - insertion);
+            System.arraycopy(children, insertion, newChildren, insertion + 1, children.length - insertion);
+            return new Node(label, value, newFirsts, newChildren);
+        }
+
+        Node withChild(int index, Node child) {
+            if (children[index] == child) {
+                return this;
+            }
+            Node[] newChildren = children.clone();
+            newChildren[index] = child;
+            return new Node(label, value, firsts, newChildren);
+        }
+
+        Node withoutChild(int index) {
+            char[] newFirsts = new char[firsts.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(firsts, index + 1, newFirsts, index, firsts.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            return new Node(label, value, newFirsts, newChildren);
+        }
+    }
+}
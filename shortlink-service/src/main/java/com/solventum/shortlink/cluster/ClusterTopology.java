@@ -0,0 +1,160 @@
+package com.solventum.shortlink.cluster;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * The nodes of a sharded cluster and which node owns what.
+ *
+ * Two spaces are sharded. Link ids are striped over {@code idShards} shards,
+ * shard {@code i} being the ids {@code i, i + idShards, i + 2 * idShards, ...};
+ * node {@code i} allocates its ids in shard {@code i}, so the owner of a short
+ * code can be read off the code itself and never changes. Long URLs are
+ * assigned to nodes by a {@link HashRing} over their fingerprint, so every
+ * encode of the same URL reaches the node holding its deduplication entry.
+ * Custom aliases are placed on the same ring by the alias itself.
+ *
+ * The id shard count must be fixed when the cluster is first deployed, and
+ * be at least the number of nodes it will ever grow to: shards without a
+ * node simply stay unused.
+ */
+public final class ClusterTopology {
+
+    private static final ClusterTopology STANDALONE = new ClusterTopology();
+
+    private final List<URI> nodes;
+    private final int selfIndex;
+    private final int idShards;
+    private final HashRing ring;
+
+    private ClusterTopology() {
+        this.nodes = List.of();
+        this.selfIndex = 0;
+        this.idShards = 1;
+        this.ring = null;
+    }
+
+    /**
+     * Creates the topology of a cluster as seen from one of its nodes.
+     *
+     * @param nodes base URLs of every node, in the same order on every node
+     * @param selfIndex position of this node in {@code nodes}
+     * @param idShards number of id shards, at least the number of nodes
+     * @param virtualNodes points per node on the long URL hash ring
+     */
+    public ClusterTopology(List<String> nodes, int selfIndex, int idShards, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("Cluster needs at least one node");
+        }
+        if (selfIndex < 0 || selfIndex >= nodes.size()) {
+            throw new IllegalArgumentException("Node index " + selfIndex + " is not one of the " + nodes.size() + " nodes");
+        }
+        if (idShards < nodes.size()) {
+            throw new IllegalArgumentException("Id shard count " + idShards + " is below the node count " + nodes.size());
+        }
+        this.nodes = nodes.stream().map(URI::create).toList();
+        this.selfIndex = selfIndex;
+        this.idShards = idShards;
+        this.ring = new HashRing(nodes.size(), virtualNodes);
+    }
+
+    /**
+     * Returns the topology of a node running on its own, which owns everything.
+     *
+     * @return the single-node topology
+     */
+    public static ClusterTopology standalone() {
+        return STANDALONE;
+    }
+
+    /**
+     * Checks whether other nodes share the id and URL spaces with this one.
+     *
+     * @return true if requests may need to be forwarded
+     */
+    public boolean isClustered() {
+        return nodes.size() > 1;
+    }
+
+    /**
+     * Returns the number of nodes.
+     *
+     * @return node count, 0 for a standalone node
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Returns this node's position in the node list, which is also its id shard.
+     *
+     * @return the node index
+     */
+    public int selfIndex() {
+        return selfIndex;
+    }
+
+    /**
+     * Returns the base URL of a node.
+     *
+     * @param index the node index
+     * @return the node's base URL
+     */
+    public URI node(int index) {
+        return nodes.get(index);
+    }
+
+    /**
+     * Maps this node's n-th allocated id to its id in the shared id space.
+     *
+     * @param sequence the node-local sequence number
+     * @return an id in this node's shard
+     */
+    public long shardId(long sequence) {
+        return sequence * idShards + selfIndex;
+    }
+
+    /**
+     * Returns the first node-local sequence number whose id is above a given id.
+     *
+     * @param id an id in any shard
+     * @return the smallest sequence number that {@link #shardId} maps above {@code id}
+     */
+    public long sequenceAbove(long id) {
+        return id < selfIndex ? 0 : (id - selfIndex) / idShards + 1;
+    }
+
+    /**
+     * Returns the node that allocated an id.
+     *
+     * @param id the link id
+     * @return the owning node's index, or -1 if its shard has no node
+     */
+    public int idOwner(long id) {
+        if (!isClustered()) {
+            return selfIndex;
+        }
+        int shard = (int) (id % idShards);
+        return shard < nodes.size() ? shard : -1;
+    }
+
+    /**
+     * Returns the node responsible for encoding a long URL.
+     *
+     * @param canonicalUrl the canonical long URL
+     * @return the owning node's index
+     */
+    public int urlOwner(String canonicalUrl) {
+        return isClustered() ? ring.owner(HashRing.hash(canonicalUrl)) : selfIndex;
+    }
+
+    /**
+     * Returns the node holding a custom alias.
+     *
+     * @param alias the alias
+     * @return the owning node's index
+     */
+    public int aliasOwner(String alias) {
+        return isClustered() ? ring.owner(HashRing.hash(alias)) : selfIndex;
+    }
+}
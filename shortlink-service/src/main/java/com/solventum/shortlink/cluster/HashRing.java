@@ -0,0 +1,96 @@
+package com.solventum.shortlink.cluster;
+
+import java.util.Arrays;
+
+/**
+ * Consistent-hash ring assigning 64-bit hashes to nodes.
+ *
+ * Each node is placed on the ring at a number of pseudo-random points
+ * (virtual nodes), and a hash belongs to the node at the first point at or
+ * after it, wrapping around. With enough virtual nodes every node owns a
+ * near-equal share of the hash space, and adding a node only moves the
+ * hashes it takes over; all other assignments stay put.
+ *
+ * Instances are immutable and thread-safe.
+ */
+public final class HashRing {
+
+    // Ring points in ascending order, and the node owning each
+    private final long[] points;
+    private final int[] owners;
+
+    /**
+     * Creates a ring over nodes numbered from 0.
+     *
+     * @param nodes number of nodes
+     * @param virtualNodes number of points per node
+     */
+    public HashRing(int nodes, int virtualNodes) {
+        if (nodes < 1 || virtualNodes < 1) {
+            throw new IllegalArgumentException("Ring needs at least one node and one point per node");
+        }
+        int count = nodes * virtualNodes;
+        long[] unsortedPoints = new long[count];
+        for (int node = 0; node < nodes; node++) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                unsortedPoints[node * virtualNodes + replica] = mix((long) node << 32 | replica);
+            }
+        }
+        // Sort point indexes by point, breaking the (unlikely) ties by node
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> unsortedPoints[a] != unsortedPoints[b]
+            ? Long.compare(unsortedPoints[a], unsortedPoints[b])
+            : Integer.compare(a, b));
+        points = new long[count];
+        owners = new int[count];
+        for (int i = 0; i < order.length; i++) {
+            points[i] = unsortedPoints[order[i]];
+            owners[i] = order[i] / virtualNodes;
+        }
+    }
+
+    /**
+     * Returns the node owning a hash.
+     *
+     * @param hash the hash
+     * @return the owning node's number
+     */
+    public int owner(long hash) {
+        int index = Arrays.binarySearch(points, hash);
+        if (index < 0) {
+            index = -index - 1;
+            if (index == points.length) {
+                index = 0;
+            }
+        }
+        return owners[index];
+    }
+
+    /**
+     * Hashes a string onto the ring: 64-bit FNV-1a over its characters
+     * followed by a final avalanche step.
+     *
+     * @param text the string
+     * @return the hash
+     */
+    public static long hash(CharSequence text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
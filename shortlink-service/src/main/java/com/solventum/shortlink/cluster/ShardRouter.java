@@ -0,0 +1,366 @@
+package com.solventum.shortlink.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solventum.shortlink.id.IdGenerator;
+import com.solventum.shortlink.model.DecodeRequest;
+import com.solventum.shortlink.model.DecodeResponse;
+import com.solventum.shortlink.model.DeleteRequest;
+import com.solventum.shortlink.model.DeleteResponse;
+import com.solventum.shortlink.model.EncodeRequest;
+import com.solventum.shortlink.model.EncodeResponse;
+import com.solventum.shortlink.util.ShortCodeCodec;
+import com.solventum.shortlink.validation.RequestValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Forwards API requests that belong to another node of the cluster.
+ *
+ * Encode requests go to the node owning the canonical long URL, so that
+ * deduplication works cluster-wide; links with a TTL are never deduplicated
+ * and are created wherever they land. Decode requests go to the node that
+ * minted the short code's id, as encoded in the id, and so do retargets.
+ * Batches and deletes listing short URLs are split by owner, each share
+ * going to its node, and the answers are merged in request order; a delete
+ * by id range is served by every node it is sent to.
+ * Requests creating, decoding or retargeting a custom alias go to the node
+ * the alias hashes to, unless the alias reads as an id some node mints: then
+ * they go to that node, the only one that can tell whether the code was
+ * issued. Forwarded requests carry the
+ * {@value #FORWARDED_HEADER} header and are always served by the receiving
+ * node, so a request makes at most one extra hop even if two nodes disagree
+ * about the topology.
+ *
+ * Requests that fail validation are never forwarded: the local node rejects
+ * them exactly as the owner would. Forwarding never blocks the calling
+ * thread; the owner's response completes a future.
+ */
+public class ShardRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRouter.class);
+
+    /**
+     * Header marking a request as forwarded, holding the sending node's index.
+     */
+    public static final String FORWARDED_HEADER = "X-Shortlink-Forwarded-By";
+
+    private final ClusterTopology topology;
+    private final IdGenerator idGenerator;
+    private final ShortCodeCodec codec;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final HttpClient client;
+    private final LongAdder forwarded = new LongAdder();
+
+    /**
+     * Creates a router for one node of a cluster.
+     *
+     * @param topology the cluster topology
+     * @param idGenerator the id generator, which knows the node an id was minted by
+     * @param codec the codec turning short codes back into ids
+     * @param objectMapper mapper serializing forwarded request bodies
+     * @param baseUrl the configured base URL of short links
+     * @param timeoutMs how long to wait for the owning node
+     */
+    public ShardRouter(ClusterTopology topology, IdGenerator idGenerator, ShortCodeCodec codec,
+                       ObjectMapper objectMapper, String baseUrl, long timeoutMs) {
+        this.topology = topology;
+        this.idGenerator = idGenerator;
+        this.codec = codec;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        // A standalone node never forwards, and an idle client would still hold a selector thread and its descriptors
+        this.client = topology.isClustered()
+            ? HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(timeout).build()
+            : null;
+    }
+
+    /**
+     * Returns the node an encode request should be forwarded to: the node
+     * owning its long URL, or its alias.
+     *
+     * @param request the encode request
+     * @param forwardedBy the {@value #FORWARDED_HEADER} header, or null
+     * @return the owner's index, or -1 if this node should serve the request
+     */
+    public int encodeOwner(EncodeRequest request, String forwardedBy) {
+        if (forwardedBy != null || !topology.isClustered() || request.ttl() != null || request.expiresAt() != null) {
+            return -1;
+        }
+        int owner;
+        try {
+            String longUrl = RequestValidator.validateLongUrl(request.url());
+            owner = request.alias() != null
+                ? codeOwner(RequestValidator.validateAlias(request.alias()))
+                : topology.urlOwner(longUrl);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+        return owner == topology.selfIndex() ? -1 : owner;
+    }
+
+    /**
+     * Returns the node a decode or retarget request should be forwarded to:
+     * the node that minted its short code, or holds its alias.
+     *
+     * @param shortUrl the short URL or bare short code
+     * @param forwardedBy the {@value #FORWARDED_HEADER} header, or null
+     * @return the owner's index, or -1 if this node should serve the request
+     */
+    public int shortUrlOwner(String shortUrl, String forwardedBy) {
+        return forwardedBy != null || !topology.isClustered() ? -1 : shortUrlOwner(shortUrl);
+    }
+
+    /**
+     * Encodes a batch across the cluster: each long URL's share goes to the
+     * node owning it, and this node's share is encoded through the given
+     * function.
+     *
+     * @param requests the encode requests, none with a ttl, expiration or alias
+     * @param forwardedBy the {@value #FORWARDED_HEADER} header, or null
+     * @param serveLocally encodes this node's share, answering in order
+     * @return the responses in request order, or the first failed owner's
+     *         status; null if this node should serve the whole batch
+     */
+    public CompletableFuture<ResponseEntity<List<EncodeResponse>>> routeEncodeBatch(List<EncodeRequest> requests,
+            String forwardedBy, Function<List<EncodeRequest>, CompletableFuture<List<EncodeResponse>>> serveLocally) {
+        if (forwardedBy != null || !topology.isClustered()) {
+            return null;
+        }
+        int[] owners = new int[requests.size()];
+        try {
+            for (int i = 0; i < owners.length; i++) {
+                int owner = topology.urlOwner(RequestValidator.validateLongUrl(requests.get(i).url()));
+                owners[i] = owner == topology.selfIndex() ? -1 : owner;
+            }
+        } catch (IllegalArgumentException e) {
+            // Rejected locally, as a whole
+            return null;
+        }
+        return routeBatch(requests, owners, "/api/encode/batch", EncodeResponse[].class, serveLocally);
+    }
+
+    /**
+     * Decodes a batch across the cluster: each short URL's share goes to the
+     * node holding it, and this node's share is decoded through the given
+     * function.
+     *
+     * @param requests the decode requests
+     * @param forwardedBy the {@value #FORWARDED_HEADER} header, or null
+     * @param serveLocally decodes this node's share, answering in order
+     * @return the responses in request order, or the first failed owner's
+     *         status; null if this node should serve the whole batch
+     */
+    public CompletableFuture<ResponseEntity<List<DecodeResponse>>> routeDecodeBatch(List<DecodeRequest> requests,
+            String forwardedBy, Function<List<DecodeRequest>, CompletableFuture<List<DecodeResponse>>> serveLocally) {
+        if (forwardedBy != null || !topology.isClustered()) {
+            return null;
+        }
+        int[] owners = new int[requests.size()];
+        for (int i = 0; i < owners.length; i++) {
+            owners[i] = shortUrlOwner(requests.get(i).shortUrl());
+        }
+        return routeBatch(requests, owners, "/api/decode/batch", DecodeResponse[].class, serveLocally);
+    }
+
+    /**
+     * Deletes a list of short URLs across the cluster: the shares held by
+     * other nodes are forwarded to them, and this node's share is deleted
+     * through the given function.
+     *
+     * @param shortUrls the short URLs or bare short codes to delete
+     * @param forwardedBy the {@value #FORWARDED_HEADER} header, or null
+     * @param deleteLocally deletes this node's share, returning how many existed
+     * @return the total number deleted, or the first failed owner's status;
+     *         null if this node should serve the whole request
+     */
+    public CompletableFuture<ResponseEntity<DeleteResponse>> routeDelete(List<String> shortUrls, String forwardedBy,
+                                                                         ToIntFunction<List<String>> deleteLocally) {
+        if (forwardedBy != null || !topology.isClustered()) {
+            return null;
+        }
+        Map<Integer, List<String>> shares = new TreeMap<>();
+        List<String> local = new ArrayList<>();
+        for (String shortUrl : shortUrls) {
+            String shortCode;
+            try {
+                shortCode = RequestValidator.extractShortCode(shortUrl, baseUrl);
+            } catch (IllegalArgumentException e) {
+                // Rejected locally before anything is deleted
+                return null;
+            }
+            int owner = shortCodeOwner(shortCode);
+            (owner < 0 ? local : shares.computeIfAbsent(owner, node -> new ArrayList<>())).add(shortUrl);
+        }
+        if (shares.isEmpty()) {
+            return null;
+        }
+        List<CompletableFuture<ResponseEntity<byte[]>>> responses = new ArrayList<>();
+        shares.forEach((owner, share) -> responses.add(forward(owner, "/api/delete", new DeleteRequest(share))));
+        int deletedLocally = local.isEmpty() ? 0 : deleteLocally.applyAsInt(local);
+        return CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            int deleted = deletedLocally;
+            for (CompletableFuture<ResponseEntity<byte[]>> future : responses) {
+                ResponseEntity<byte[]> response = future.join();
+                if (!response.getStatusCode().is2xxSuccessful()) {
+                    return ResponseEntity.status(response.getStatusCode()).build();
+                }
+                deleted += read(response.getBody(), DeleteResponse.class).deleted();
+            }
+            return ResponseEntity.ok(new DeleteResponse(deleted));
+        });
+    }
+
+    /**
+     * Returns the number of requests forwarded to other nodes.
+     *
+     * @return forwarded request count
+     */
+    public long getForwardedCount() {
+        return forwarded.sum();
+    }
+
+    /**
+     * Sends a request to another node, marked as forwarded. Failures to
+     * reach the node complete the future with 503.
+     *
+     * @param owner the node's index
+     * @param path the API path on the node
+     * @param body the request body
+     * @return the node's response, status, content type and body
+     */
+    public CompletableFuture<ResponseEntity<byte[]>> forward(int owner, String path, Object body) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = HttpRequest.newBuilder(topology.node(owner).resolve(path))
+                .timeout(timeout)
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .header(FORWARDED_HEADER, Integer.toString(topology.selfIndex()))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        forwarded.increment();
+        return client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray()).handle((response, failure) -> {
+            if (failure != null) {
+                logger.warn("Cannot forward request to node {} at {}: {}", owner, topology.node(owner), failure.toString());
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.statusCode());
+            response.headers().firstValue(HttpHeaders.CONTENT_TYPE)
+                .ifPresent(contentType -> builder.header(HttpHeaders.CONTENT_TYPE, contentType));
+            return builder.body(response.body());
+        });
+    }
+
+    /**
+     * Splits a batch by owner, sends each share to its node, or through the
+     * local function for this node's, and puts the answers back in order.
+     */
+    private <R, T> CompletableFuture<ResponseEntity<List<T>>> routeBatch(List<R> requests, int[] owners, String path,
+            Class<T[]> responseType, Function<List<R>, CompletableFuture<List<T>>> serveLocally) {
+        Map<Integer, List<Integer>> positions = new TreeMap<>();
+        for (int i = 0; i < owners.length; i++) {
+            positions.computeIfAbsent(owners[i], node -> new ArrayList<>()).add(i);
+        }
+        if (positions.size() == 1 && positions.containsKey(-1)) {
+            return null;
+        }
+        List<CompletableFuture<ResponseEntity<List<T>>>> answers = new ArrayList<>();
+        positions.forEach((owner, indexes) -> {
+            List<R> share = indexes.stream().map(requests::get).toList();
+            answers.add(owner < 0
+                ? serveLocally.apply(share).thenApply(ResponseEntity::ok)
+                : forward(owner, path, share).thenApply(response -> response.getStatusCode().is2xxSuccessful()
+                    ? ResponseEntity.ok(Arrays.asList(read(response.getBody(), responseType)))
+                    : ResponseEntity.status(response.getStatusCode()).build()));
+        });
+        return CompletableFuture.allOf(answers.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            List<T> merged = new ArrayList<>(Collections.nCopies(owners.length, null));
+            int share = 0;
+            for (List<Integer> indexes : positions.values()) {
+                ResponseEntity<List<T>> answer = answers.get(share++).join();
+                if (!answer.getStatusCode().is2xxSuccessful()) {
+                    return ResponseEntity.status(answer.getStatusCode()).build();
+                }
+                for (int i = 0; i < indexes.size(); i++) {
+                    merged.set(indexes.get(i), answer.getBody().get(i));
+                }
+            }
+            return ResponseEntity.ok(merged);
+        });
+    }
+
+    /**
+     * Returns the other node holding a short code, or -1 if this node should
+     * serve it: it holds the code, or the code is invalid.
+     */
+    private int shortUrlOwner(String shortUrl) {
+        String shortCode;
+        try {
+            shortCode = RequestValidator.extractShortCode(shortUrl, baseUrl);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+        return shortCodeOwner(shortCode);
+    }
+
+    private int shortCodeOwner(String shortCode) {
+        int owner;
+        try {
+            owner = codeOwner(shortCode);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+        return owner == topology.selfIndex() ? -1 : owner;
+    }
+
+    /**
+     * Returns the node minting a short code's id, or for codes no node
+     * mints, the node its alias hashes to.
+     *
+     * @throws IllegalArgumentException if the code is neither an id nor a valid alias
+     */
+    private int codeOwner(String shortCode) {
+        long id = codec.decode(shortCode);
+        if (id >= 0) {
+            int node = idGenerator.nodeOf(id);
+            if (node >= 0 && node < topology.size()) {
+                return node;
+            }
+        }
+        return topology.aliasOwner(RequestValidator.validateAlias(shortCode));
+    }
+
+    private <T> T read(byte[] body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.solventum.shortlink.compress;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrent interning table for URL prefixes, so that URLs sharing a host
+ * and leading path segment store that prefix once.
+ *
+ * A URL is split into its prefix - scheme, host and first path segment, for
+ * example {@code https://shop.example.com/products/} - and the remaining
+ * suffix. The first time a prefix is interned its UTF-8 bytes are stored,
+ * and every later caller gets the same array back, so values can refer to
+ * their prefix with a single reference instead of an id to look up. Once the
+ * table is full, new prefixes are not interned and callers store those URLs
+ * whole.
+ */
+public final class PrefixTable {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final int maxPrefixes;
+    private final ConcurrentHashMap<String, byte[]> prefixes = new ConcurrentHashMap<>();
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * Creates an empty table.
+     *
+     * @param maxPrefixes maximum number of distinct prefixes to intern
+     */
+    public PrefixTable(int maxPrefixes) {
+        if (maxPrefixes < 1) {
+            throw new IllegalArgumentException("Prefix capacity must be positive");
+        }
+        this.maxPrefixes = maxPrefixes;
+    }
+
+    /**
+     * Returns the length of a URL's prefix: everything up to and including
+     * the slash after the first path segment, or after the host if the path
+     * has only one segment.
+     *
+     * @param url the URL
+     * @return prefix length in characters, 0 if the URL has no recognizable host
+     */
+    public static int prefixLength(String url) {
+        int scheme = url.indexOf("://");
+        if (scheme < 0) {
+            return 0;
+        }
+        int hostEnd = url.indexOf('/', scheme + 3);
+        if (hostEnd < 0) {
+            return 0;
+        }
+        int segmentEnd = hostEnd + 1;
+        while (segmentEnd < url.length()) {
+            char c = url.charAt(segmentEnd);
+            if (c == '/') {
+                return segmentEnd + 1;
+            }
+            if (c == '?' || c == '#') {
+                break;
+            }
+            segmentEnd++;
+        }
+        return hostEnd + 1;
+    }
+
+    /**
+     * Returns the shared bytes of a prefix, interning it if there is room.
+     *
+     * @param prefix the prefix
+     * @return the interned UTF-8 bytes, which must not be modified, or null if
+     *         the prefix is not interned and the table is full
+     */
+    public byte[] intern(String prefix) {
+        byte[] bytes = prefixes.get(prefix);
+        if (bytes != null || count.get() >= maxPrefixes) {
+            return bytes;
+        }
+        return prefixes.computeIfAbsent(prefix, key -> {
+            if (count.incrementAndGet() > maxPrefixes) {
+                count.decrementAndGet();
+                return null;
+            }
+            return key.getBytes(StandardCharsets.UTF_8);
+        });
+    }
+
+    /**
+     * Returns the shared bytes of a prefix without interning it.
+     *
+     * @param prefix the prefix
+     * @return the interned bytes, or null if the prefix is not interned
+     */
+    public byte[] find(String prefix) {
+        return prefixes.get(prefix);
+    }
+
+    /**
+     * Returns the shared empty prefix, used for URLs stored whole.
+     *
+     * @return an empty array
+     */
+    public static byte[] empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Checks whether the table has reached its capacity.
+     *
+     * @return true if no further prefixes will be interned
+     */
+    public boolean isFull() {
+        return count.get() >= maxPrefixes;
+    }
+
+    /**
+     * Returns the number of interned prefixes.
+     *
+     * @return prefix count
+     */
+    public int size() {
+        return count.get();
+    }
+}
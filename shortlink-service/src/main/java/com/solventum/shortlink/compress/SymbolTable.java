@@ -0,0 +1,231 @@
+package com.solventum.shortlink.compress;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Static symbol table compressing short strings such as URLs, in the style
+ * of FSST (Fast Static Symbol Table).
+ *
+ * Up to {@value #MAX_SYMBOLS} symbols of one to {@value #MAX_SYMBOL_LENGTH}
+ * bytes are each replaced by a one-byte code; bytes not covered by a symbol
+ * are written as an escape code followed by the byte. Since every string is
+ * compressed on its own, any single value can be decompressed without the
+ * others, and decompression is a table lookup and one 8-byte store per code.
+ *
+ * Tables are trained on a sample of the data: starting from an empty table,
+ * each round compresses the sample, counts how often every symbol and every
+ * pair of adjacent symbols occurs, and keeps the symbols and concatenated
+ * pairs that would save the most bytes. Frequent host names, path segments
+ * and query parameter names end up as a handful of long symbols.
+ *
+ * Instances are immutable and thread-safe.
+ */
+public final class SymbolTable {
+
+    static final int MAX_SYMBOL_LENGTH = 8;
+    static final int MAX_SYMBOLS = 255;
+
+    private static final int ESCAPE = 255;
+    private static final int TRAINING_ROUNDS = 5;
+
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[1024]);
+
+    // Symbol bytes packed little-endian into a long, and their lengths, indexed by code
+    private final long[] symbols;
+    private final int[] lengths;
+    // Codes of the symbols starting with each byte, longest first
+    private final int[][] codesByFirstByte;
+
+    private SymbolTable(List<Symbol> entries) {
+        symbols = new long[entries.size()];
+        lengths = new int[entries.size()];
+        List<List<Integer>> byFirstByte = new ArrayList<>(256);
+        for (int i = 0; i < 256; i++) {
+            byFirstByte.add(new ArrayList<>());
+        }
+        for (int code = 0; code < entries.size(); code++) {
+            symbols[code] = entries.get(code).bytes;
+            lengths[code] = entries.get(code).length;
+            byFirstByte.get((int) (symbols[code] & 0xff)).add(code);
+        }
+        codesByFirstByte = new int[256][];
+        for (int i = 0; i < 256; i++) {
+            codesByFirstByte[i] = byFirstByte.get(i).stream()
+                .sorted(Comparator.comparingInt((Integer code) -> lengths[code]).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+        }
+    }
+
+    /**
+     * Returns a table without symbols, which escapes every byte.
+     *
+     * @return the empty table
+     */
+    public static SymbolTable empty() {
+        return new SymbolTable(List.of());
+    }
+
+    /**
+     * Trains a table on sample strings.
+     *
+     * @param sample strings representative of the data to compress
+     * @return the trained table
+     */
+    public static SymbolTable train(Collection<String> sample) {
+        List<byte[]> texts = new ArrayList<>(sample.size());
+        for (String text : sample) {
+            texts.add(text.getBytes(StandardCharsets.UTF_8));
+        }
+        SymbolTable table = empty();
+        for (int round = 0; round < TRAINING_ROUNDS; round++) {
+            table = table.refine(texts);
+        }
+        return table;
+    }
+
+    /**
+     * Returns the number of symbols in the table.
+     *
+     * @return symbol count
+     */
+    public int symbolCount() {
+        return symbols.length;
+    }
+
+    /**
+     * Compresses a string.
+     *
+     * @param text the string
+     * @param reserved number of leading bytes to leave free for the caller
+     * @return {@code reserved} zero bytes followed by the compressed string
+     */
+    public byte[] encode(String text, int reserved) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        byte[] out = new byte[reserved + 2 * bytes.length];
+        int length = reserved;
+        int position = 0;
+        while (position < bytes.length) {
+            int code = match(bytes, position);
+            if (code < 0) {
+                out[length++] = (byte) ESCAPE;
+                out[length++] = bytes[position++];
+            } else {
+                out[length++] = (byte) code;
+                position += lengths[code];
+            }
+        }
+        return Arrays.copyOf(out, length);
+    }
+
+    /**
+     * Decompresses a string written by {@link #encode}.
+     *
+     * @param encoded the compressed bytes
+     * @param offset index of the first compressed byte, after any reserved bytes
+     * @return the original string
+     */
+    public String decode(byte[] encoded, int offset) {
+        // Every code expands to at most 8 bytes, and each symbol is stored as a full 8-byte word
+        int capacity = (encoded.length - offset) * MAX_SYMBOL_LENGTH + Long.BYTES;
+        byte[] out = SCRATCH.get();
+        if (out.length < capacity) {
+            out = new byte[Math.max(capacity, 2 * out.length)];
+            SCRATCH.set(out);
+        }
+        int length = 0;
+        int position = offset;
+        while (position < encoded.length) {
+            int code = encoded[position++] & 0xff;
+            if (code == ESCAPE) {
+                out[length++] = encoded[position++];
+            } else {
+                LONG.set(out, length, symbols[code]);
+                length += lengths[code];
+            }
+        }
+        return new String(out, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Finds the longest symbol matching the text at a position.
+     *
+     * @return the symbol's code, or -1 if none matches
+     */
+    private int match(byte[] text, int position) {
+        int[] candidates = codesByFirstByte[text[position] & 0xff];
+        if (candidates.length == 0) {
+            return -1;
+        }
+        long window = window(text, position);
+        int remaining = text.length - position;
+        for (int code : candidates) {
+            int length = lengths[code];
+            if (length <= remaining && (window & mask(length)) == symbols[code]) {
+                return code;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compresses the sample with this table and builds the next table from
+     * the symbols and adjacent symbol pairs that saved the most bytes.
+     */
+    private SymbolTable refine(List<byte[]> texts) {
+        Map<Symbol, Long> gains = new HashMap<>();
+        for (byte[] text : texts) {
+            Symbol previous = null;
+            int position = 0;
+            while (position < text.length) {
+                int code = match(text, position);
+                Symbol current = code >= 0
+                    ? new Symbol(symbols[code], lengths[code])
+                    : new Symbol(text[position] & 0xffL, 1);
+                position += current.length;
+                gains.merge(current, (long) current.length, Long::sum);
+                if (previous != null && previous.length + current.length <= MAX_SYMBOL_LENGTH) {
+                    Symbol pair = new Symbol(previous.bytes | current.bytes << (8 * previous.length),
+                        previous.length + current.length);
+                    gains.merge(pair, (long) pair.length, Long::sum);
+                }
+                previous = current;
+            }
+        }
+        List<Symbol> best = gains.entrySet().stream()
+            .sorted(Map.Entry.<Symbol, Long>comparingByValue().reversed())
+            .limit(MAX_SYMBOLS)
+            .map(Map.Entry::getKey)
+            .toList();
+        return new SymbolTable(best);
+    }
+
+    private static long window(byte[] text, int position) {
+        if (position + Long.BYTES <= text.length) {
+            return (long) LONG.get(text, position);
+        }
+        long window = 0;
+        for (int i = 0; position + i < text.length; i++) {
+            window |= (text[position + i] & 0xffL) << (8 * i);
+        }
+        return window;
+    }
+
+    private static long mask(int length) {
+        return length == Long.BYTES ? -1L : (1L << (8 * length)) - 1;
+    }
+
+    private record Symbol(long bytes, int length) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.solventum.shortlink.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solventum.shortlink.cluster.ClusterTopology;
+import com.solventum.shortlink.cluster.ShardRouter;
+import com.solventum.shortlink.id.IdGenerator;
+import com.solventum.shortlink.util.ShortCodeCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Configuration for running several nodes as one sharded cluster.
+ *
+ * With {@code app.cluster.enabled=true}, every node lists all nodes' base
+ * URLs in {@code app.cluster.nodes}, in the same order, and sets
+ * {@code app.cluster.node-index} to its own position in that list. Each node
+ * allocates short codes in its own id shard and deduplicates the long URLs
+ * that hash to it, forwarding other requests to their owner. Otherwise the
+ * node runs standalone and owns everything.
+ */
+@Configuration
+public class ClusterConfig {
+
+    @Value("${app.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.cluster.nodes:}")
+    private List<String> nodes;
+
+    @Value("${app.cluster.node-index:0}")
+    private int nodeIndex;
+
+    // 0 means one shard per listed node
+    @Value("${app.cluster.id-shards:0}")
+    private int idShards;
+
+    @Value("${app.cluster.virtual-nodes:128}")
+    private int virtualNodes;
+
+    @Value("${app.cluster.forward-timeout-ms:2000}")
+    private long forwardTimeoutMs;
+
+    @Value("${app.short-url.base-url:http://short.est/}")
+    private String baseUrl;
+
+    /**
+     * Creates this node's view of the cluster.
+     *
+     * @return the configured topology, or the standalone one if clustering is off
+     */
+    @Bean
+    public ClusterTopology clusterTopology() {
+        if (!enabled) {
+            return ClusterTopology.standalone();
+        }
+        return new ClusterTopology(nodes, nodeIndex, idShards == 0 ? nodes.size() : idShards, virtualNodes);
+    }
+
+    /**
+     * Creates the router forwarding requests owned by other nodes.
+     *
+     * @param idGenerator the id generator, which knows the node an id was minted by
+     * @param codec the codec turning short codes back into ids
+     * @param objectMapper the application's JSON mapper
+     * @return ShardRouter for this node
+     */
+    @Bean
+    public ShardRouter shardRouter(IdGenerator idGenerator, ShortCodeCodec codec, ObjectMapper objectMapper) {
+        return new ShardRouter(clusterTopology(), idGenerator, codec, objectMapper, baseUrl, forwardTimeoutMs);
+    }
+}
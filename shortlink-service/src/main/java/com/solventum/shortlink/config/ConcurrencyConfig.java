@@ -4,13 +4,18 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Configuration for concurrency control.
  * 
  * Provides a configurable Semaphore to limit the number of concurrent requests
- * that can be processed by the URL shortening endpoints.
+ * that can be processed by the URL shortening endpoints, and the bounded
+ * executor that runs their store work off the servlet threads.
  */
 @Configuration
 public class ConcurrencyConfig {
@@ -18,6 +23,12 @@ public class ConcurrencyConfig {
     @Value("${app.max.concurrent.requests:10}")
     private int maxConcurrentRequests;
     
+    @Value("${app.async.storage-threads:8}")
+    private int storageThreads;
+    
+    @Value("${app.async.queue-capacity:1000}")
+    private int storageQueueCapacity;
+    
     /**
      * Creates a Semaphore with configurable permits to control concurrent access.
      * 
@@ -27,4 +38,23 @@ public class ConcurrencyConfig {
     public Semaphore requestSemaphore() {
         return new Semaphore(maxConcurrentRequests);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Creates the executor running store operations for asynchronous requests.
+     * Both its threads and its queue are bounded; once the queue is full,
+     * submissions are rejected with a RejectedExecutionException rather than
+     * piling up.
+     * 
+     * @return ThreadPoolExecutor with the configured threads and queue capacity
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor storageExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(storageThreads, storageThreads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(storageQueueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "link-storage-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+}
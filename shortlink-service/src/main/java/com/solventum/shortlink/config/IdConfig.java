@@ -0,0 +1,103 @@
+package com.solventum.shortlink.config;
+
+import com.solventum.shortlink.cluster.ClusterTopology;
+import com.solventum.shortlink.id.IdGenerator;
+import com.solventum.shortlink.id.SequentialIdGenerator;
+import com.solventum.shortlink.id.SnowflakeIdGenerator;
+import com.solventum.shortlink.store.LinkStore;
+import com.solventum.shortlink.util.ShortCodeCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.OptionalLong;
+
+/**
+ * Configuration for link id generation.
+ *
+ * By default ids are sequential, which keeps short codes as short as
+ * possible. {@code app.id.strategy=snowflake} switches to time-based ids
+ * combining a timestamp, {@code app.id.node-id} and a sequence number,
+ * which nodes mint without any coordination and which do not reveal how
+ * many links exist; they encode to 11-character codes. In a sharded
+ * cluster the node id defaults to the node's index, so that decodes can be
+ * routed to the node that minted the code.
+ *
+ * A non-zero {@code app.id.permutation-key} scrambles ids before they are
+ * encoded, so that short codes do not give away link volume or the next
+ * code to be issued. Codes keep their length and every node must use the
+ * same key. A persistent store records a fingerprint of the key its codes
+ * were issued with, and startup fails if the configured key does not match
+ * it, since new codes could then collide with, and overwrite, existing
+ * links; a store holding codes from before fingerprints were recorded is
+ * taken to have been unscrambled.
+ */
+@Configuration
+public class IdConfig {
+
+    @Value("${app.id.strategy:sequential}")
+    private String strategy;
+
+    // -1 means the cluster node index
+    @Value("${app.id.node-id:-1}")
+    private int nodeId;
+
+    // 0 means short codes follow the id order
+    @Value("${app.id.permutation-key:0}")
+    private long permutationKey;
+
+    /**
+     * Creates the id generator selected by {@code app.id.strategy}.
+     *
+     * @param linkStore the store persisting the id watermark
+     * @param topology the cluster topology
+     * @param codec the codec the ids are encoded with
+     * @return the sequential or snowflake id generator
+     * @throws IllegalStateException if the store's codes were issued with another permutation key
+     */
+    @Bean
+    public IdGenerator idGenerator(LinkStore linkStore, ClusterTopology topology, ShortCodeCodec codec) {
+        checkCodec(linkStore, codec);
+        return switch (strategy) {
+            case "sequential" -> new SequentialIdGenerator(linkStore, topology);
+            case "snowflake" -> {
+                if (topology.isClustered() && nodeId >= 0 && nodeId != topology.selfIndex()) {
+                    throw new IllegalStateException("app.id.node-id must match app.cluster.node-index in a cluster");
+                }
+                yield new SnowflakeIdGenerator(linkStore, nodeId >= 0 ? nodeId : topology.selfIndex());
+            }
+            default -> throw new IllegalStateException("Unknown app.id.strategy: " + strategy);
+        };
+    }
+
+    /**
+     * Creates the codec converting ids to short codes, scrambled if
+     * {@code app.id.permutation-key} is set.
+     *
+     * @return the short code codec
+     */
+    @Bean
+    public ShortCodeCodec shortCodeCodec() {
+        return permutationKey == 0 ? ShortCodeCodec.plain() : new ShortCodeCodec(permutationKey);
+    }
+
+    /**
+     * Checks the codec against the one the store's codes were issued with,
+     * and records it in a store that has none yet.
+     */
+    private static void checkCodec(LinkStore linkStore, ShortCodeCodec codec) {
+        if (linkStore.isReadOnly()) {
+            return;
+        }
+        OptionalLong saved = linkStore.loadCodecFingerprint();
+        // Codes stored before fingerprints were recorded were issued unscrambled
+        long issuedWith = saved.orElse(linkStore.size() > 0 ? ShortCodeCodec.plain().fingerprint() : codec.fingerprint());
+        if (issuedWith != codec.fingerprint()) {
+            throw new IllegalStateException(
+                "app.id.permutation-key does not match the key the link store's short codes were issued with");
+        }
+        if (saved.isEmpty()) {
+            linkStore.saveCodecFingerprint(codec.fingerprint());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.solventum.shortlink.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.solventum.shortlink.json.ShortlinkJsonModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for JSON serialization.
+ * 
+ * Registers the hand-written serializers for the API models with the
+ * auto-configured ObjectMapper, so request and response bodies bypass
+ * reflective bean handling.
+ */
+@Configuration
+public class JsonConfig {
+    
+    /**
+     * Creates the Jackson module for the API models.
+     * Spring Boot registers every Module bean with its ObjectMapper.
+     * 
+     * @return module with streaming serializers and deserializers
+     */
+    @Bean
+    public Module shortlinkJsonModule() {
+        return new ShortlinkJsonModule();
+    }
+}
@@ -0,0 +1,47 @@
+package com.solventum.shortlink.config;
+
+import com.solventum.shortlink.service.UrlShorteningService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration for exporting links to a memory-mapped link table.
+ *
+ * Enabled with {@code app.store.mapped.export.enabled=true} on nodes that
+ * encode. The table at {@code app.store.mapped.path} is rewritten on a fixed
+ * schedule and atomically replaced, and replicas running with
+ * {@code app.store.mode=mapped} pick up each new version.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.store.mapped.export.enabled", havingValue = "true")
+public class LinkTableExportConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(LinkTableExportConfig.class);
+
+    private final UrlShorteningService urlShorteningService;
+
+    @Value("${app.store.mapped.path:data/links.table}")
+    private String tablePath;
+
+    public LinkTableExportConfig(UrlShorteningService urlShorteningService) {
+        this.urlShorteningService = urlShorteningService;
+    }
+
+    /**
+     * Exports the current links on a fixed schedule.
+     */
+    @Scheduled(fixedDelayString = "${app.store.mapped.export.interval-ms:60000}")
+    public void exportLinkTable() {
+        long started = System.nanoTime();
+        long exported = urlShorteningService.exportLinkTable(Path.of(tablePath));
+        logger.info("Exported {} links to {} in {} ms", exported, tablePath, (System.nanoTime() - started) / 1_000_000);
+    }
+}
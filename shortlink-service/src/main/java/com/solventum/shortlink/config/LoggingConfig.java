@@ -0,0 +1,45 @@
+package com.solventum.shortlink.config;
+
+import com.solventum.shortlink.logging.AccessLogFilter;
+import com.solventum.shortlink.logging.LogSampler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for request logging.
+ *
+ * Provides the sampler that decides which requests get a per-request log line
+ * and, when enabled, the structured access log filter for the API endpoints.
+ */
+@Configuration
+public class LoggingConfig {
+
+    @Value("${app.logging.request-sample-every:1}")
+    private int requestSampleEvery;
+
+    /**
+     * Creates the per-request log sampler.
+     *
+     * @return LogSampler logging one request out of the configured number
+     */
+    @Bean
+    public LogSampler requestLogSampler() {
+        return new LogSampler(requestSampleEvery);
+    }
+
+    /**
+     * Registers the access log filter for the API endpoints.
+     *
+     * @return filter registration for /api/*
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.logging.access-log.enabled", havingValue = "true")
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter() {
+        FilterRegistrationBean<AccessLogFilter> registration = new FilterRegistrationBean<>(new AccessLogFilter());
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
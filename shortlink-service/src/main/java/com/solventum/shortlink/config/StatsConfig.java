@@ -0,0 +1,65 @@
+package com.solventum.shortlink.config;
+
+import com.solventum.shortlink.stats.HotLinkSnapshot;
+import com.solventum.shortlink.stats.HotLinkTracker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration for traffic statistics.
+ *
+ * Provides the bounded-memory hot link tracker that feeds the top-K endpoint
+ * and periodically decays its counts so the ranking reflects recent traffic.
+ * With {@code app.stats.top.snapshot-path} set, the top links are saved
+ * before every decay and on shutdown, for the startup warm-up to load.
+ */
+@Configuration
+@EnableScheduling
+public class StatsConfig {
+
+    @Value("${app.stats.top.capacity:100}")
+    private int topCapacity;
+
+    @Value("${app.stats.top.sketch-depth:4}")
+    private int sketchDepth;
+
+    @Value("${app.stats.top.sketch-width:4096}")
+    private int sketchWidth;
+
+    @Value("${app.stats.top.snapshot-path:}")
+    private String snapshotPath;
+
+    /**
+     * Creates the heavy-hitters tracker used by the decode path.
+     *
+     * @return HotLinkTracker with the configured capacity and sketch size
+     */
+    @Bean
+    public HotLinkTracker hotLinkTracker() {
+        return new HotLinkTracker(topCapacity, sketchDepth, sketchWidth);
+    }
+
+    /**
+     * Creates the snapshot of the hottest links, saved once more on shutdown.
+     *
+     * @return HotLinkSnapshot writing to the configured path, or doing nothing if none is set
+     */
+    @Bean(destroyMethod = "save")
+    public HotLinkSnapshot hotLinkSnapshot() {
+        return new HotLinkSnapshot(hotLinkTracker(), snapshotPath.isBlank() ? null : Path.of(snapshotPath));
+    }
+
+    /**
+     * Saves the hot links, then halves their counts, on a fixed schedule.
+     */
+    @Scheduled(fixedDelayString = "${app.stats.top.decay-interval-ms:60000}")
+    public void decayHotLinks() {
+        hotLinkSnapshot().save();
+        hotLinkTracker().decay();
+    }
+}
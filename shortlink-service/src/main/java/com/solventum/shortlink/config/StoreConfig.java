@@ -0,0 +1,158 @@
+package com.solventum.shortlink.config;
+
+import com.solventum.shortlink.replication.JournalingLinkStore;
+import com.solventum.shortlink.replication.ReplicaLinkStore;
+import com.solventum.shortlink.store.CompactLinkStore;
+import com.solventum.shortlink.store.DiskLinkStore;
+import com.solventum.shortlink.store.EvictionPolicy;
+import com.solventum.shortlink.store.InMemoryLinkStore;
+import com.solventum.shortlink.store.InternedLinkStore;
+import com.solventum.shortlink.store.LinkStore;
+import com.solventum.shortlink.store.TieredLinkStore;
+import com.solventum.shortlink.store.lsm.LsmLinkStore;
+import com.solventum.shortlink.store.lsm.LsmTree;
+import com.solventum.shortlink.store.mapped.MappedLinkStore;
+import com.solventum.shortlink.util.ShortCodeCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration for link storage.
+ *
+ * By default every mapping is kept on the heap. Setting
+ * {@code app.store.mode=tiered} bounds heap usage to
+ * {@code app.store.hot-capacity} mappings and spills the rest to a file in
+ * {@code app.store.spill-dir}, for nodes that cannot hold the whole data set.
+ * {@code app.store.mode=compact} keeps every mapping on the heap but stores
+ * long URLs compressed with a symbol table trained on the first
+ * {@code app.store.compression.training-sample} URLs.
+ * {@code app.store.mode=interned} stores each URL as an interned host and
+ * path prefix, up to {@code app.store.intern.max-prefixes} of them, plus the
+ * remaining suffix, which saves most of the memory at a fraction of the CPU cost.
+ * {@code app.store.mode=lsm} keeps mappings in a persistent log-structured
+ * merge tree under {@code app.store.lsm.directory}, which survives restarts
+ * and scales with disk rather than heap; a positive
+ * {@code app.store.lsm.group-commit-batch} also makes every write survive a
+ * power loss, fsyncing the log once for up to that many concurrent writes,
+ * each batch lingering up to {@code app.store.lsm.group-commit-linger-micros}
+ * to fill. Durable writes cannot be combined with the single-writer
+ * encode pipeline ({@code app.encode.pipeline.enabled}): its one writer
+ * would wait out every fsync alone, so no batch would ever hold more than
+ * one write, and startup fails instead. {@code app.store.mode=mapped} makes
+ * a read-only decode replica serving the memory-mapped link table at
+ * {@code app.store.mapped.path}, which is checked for new versions every
+ * {@code app.store.mapped.reload-interval-ms}.
+ *
+ * With {@code app.replication.role=leader} every mapping change is also
+ * appended to the journal at {@code app.replication.journal-path}; a
+ * leader whose store does not persist (every mode but lsm) restarts empty
+ * and clears its followers too; with
+ * {@code app.replication.role=follower} the store becomes a read-only
+ * replica applying the journal of the leader at
+ * {@code app.replication.leader-url}.
+ */
+@Configuration
+public class StoreConfig {
+
+    @Value("${app.store.mode:memory}")
+    private String mode;
+
+    @Value("${app.store.hot-capacity:100000}")
+    private int hotCapacity;
+
+    @Value("${app.store.eviction-policy:LRU}")
+    private EvictionPolicy evictionPolicy;
+
+    @Value("${app.store.spill-dir:${java.io.tmpdir}}")
+    private String spillDir;
+
+    @Value("${app.store.compression.training-sample:10000}")
+    private int compressionTrainingSample;
+
+    @Value("${app.store.intern.max-prefixes:65536}")
+    private int maxInternedPrefixes;
+
+    @Value("${app.store.lsm.directory:data/links}")
+    private String lsmDirectory;
+
+    @Value("${app.store.lsm.memtable-bytes:16777216}")
+    private long lsmMemtableBytes;
+
+    @Value("${app.store.lsm.compaction-threshold:4}")
+    private int lsmCompactionThreshold;
+
+    // 0 leaves the write-ahead log unsynced
+    @Value("${app.store.lsm.group-commit-batch:0}")
+    private int lsmGroupCommitBatch;
+
+    @Value("${app.store.lsm.group-commit-linger-micros:0}")
+    private long lsmGroupCommitLingerMicros;
+
+    @Value("${app.encode.pipeline.enabled:false}")
+    private boolean encodePipelineEnabled;
+
+    @Value("${app.store.mapped.path:data/links.table}")
+    private String mappedPath;
+
+    @Value("${app.store.mapped.reload-interval-ms:5000}")
+    private long mappedReloadIntervalMs;
+
+    @Value("${app.replication.role:none}")
+    private String replicationRole;
+
+    @Value("${app.replication.journal-path:data/mappings.journal}")
+    private String journalPath;
+
+    @Value("${app.replication.leader-url:http://localhost:8080}")
+    private String leaderUrl;
+
+    @Value("${app.replication.batch-bytes:1048576}")
+    private int replicationBatchBytes;
+
+    @Value("${app.replication.poll-wait-ms:1000}")
+    private long replicationPollWaitMs;
+
+    /**
+     * Creates the link store selected by {@code app.store.mode}, journaled or
+     * replicated according to {@code app.replication.role}.
+     *
+     * @param codec the codec short codes encode ids with, which a mapped store decodes
+     * @return the in-memory, compact, interned, tiered, LSM or mapped link store
+     */
+    @Bean
+    public LinkStore linkStore(ShortCodeCodec codec) {
+        if ("lsm".equals(mode) && lsmGroupCommitBatch > 0 && encodePipelineEnabled) {
+            throw new IllegalStateException(
+                "app.store.lsm.group-commit-batch cannot be combined with app.encode.pipeline.enabled");
+        }
+        LinkStore store = localStore(codec);
+        return switch (replicationRole) {
+            case "none" -> store;
+            case "leader" -> new JournalingLinkStore(store, Path.of(journalPath));
+            case "follower" -> {
+                if (store instanceof MappedLinkStore) {
+                    throw new IllegalStateException("A replication follower cannot apply the journal to a mapped store");
+                }
+                yield new ReplicaLinkStore(store, leaderUrl, replicationBatchBytes, replicationPollWaitMs);
+            }
+            default -> throw new IllegalStateException("Unknown app.replication.role: " + replicationRole);
+        };
+    }
+
+    private LinkStore localStore(ShortCodeCodec codec) {
+        return switch (mode) {
+            case "memory" -> new InMemoryLinkStore();
+            case "compact" -> new CompactLinkStore(compressionTrainingSample);
+            case "interned" -> new InternedLinkStore(maxInternedPrefixes);
+            case "tiered" -> new TieredLinkStore(hotCapacity, evictionPolicy, new DiskLinkStore(Path.of(spillDir)));
+            case "lsm" -> new LsmLinkStore(
+                new LsmTree(Path.of(lsmDirectory), lsmMemtableBytes, lsmCompactionThreshold, lsmGroupCommitBatch,
+                    lsmGroupCommitLingerMicros));
+            case "mapped" -> new MappedLinkStore(Path.of(mappedPath), mappedReloadIntervalMs, codec);
+            default -> throw new IllegalStateException("Unknown app.store.mode: " + mode);
+        };
+    }
+}
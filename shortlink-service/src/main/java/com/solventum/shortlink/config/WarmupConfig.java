@@ -0,0 +1,45 @@
+package com.solventum.shortlink.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solventum.shortlink.stats.HotLinkSnapshot;
+import com.solventum.shortlink.store.LinkStore;
+import com.solventum.shortlink.util.ShortCodeCodec;
+import com.solventum.shortlink.warmup.StartupWarmup;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Configuration for the startup warm-up.
+ *
+ * Unless {@code app.warmup.enabled=false}, the node warms up its store, hot
+ * links and request path after startup, and reports ready only afterwards.
+ */
+@Configuration
+public class WarmupConfig {
+
+    @Value("${app.warmup.iterations:20000}")
+    private int iterations;
+
+    /**
+     * Creates the warm-up, run by Spring Boot before the node reports ready.
+     *
+     * @param linkStore the store serving this node's links
+     * @param hotLinkSnapshot the snapshot of the links hottest before the restart
+     * @param objectMapper the application's JSON mapper
+     * @param codec the codec short codes are encoded with
+     * @param storageExecutor the executor running store work for encodes and decodes
+     * @return StartupWarmup running the configured number of synthetic round trips
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true", matchIfMissing = true)
+    public StartupWarmup startupWarmup(LinkStore linkStore, HotLinkSnapshot hotLinkSnapshot,
+                                       ObjectMapper objectMapper, ShortCodeCodec codec,
+                                       @Qualifier("storageExecutor") Executor storageExecutor) {
+        return new StartupWarmup(linkStore, hotLinkSnapshot, objectMapper, codec, storageExecutor, iterations);
+    }
+}
@@ -0,0 +1,146 @@
+package com.solventum.shortlink.controller;
+
+import com.solventum.shortlink.replication.JournalBatches;
+import com.solventum.shortlink.replication.JournalingLinkStore;
+import com.solventum.shortlink.replication.MappingJournal;
+import com.solventum.shortlink.replication.ReplicaLinkStore;
+import com.solventum.shortlink.store.LinkStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * REST Controller for leader-follower replication.
+ *
+ * On a leader, serves batches of the mapping journal to followers; on any
+ * replicating node, reports the replication position. Nodes not taking part
+ * in replication answer 404.
+ */
+@RestController
+@RequestMapping("/api/replication")
+public class ReplicationController {
+
+    // Upper bounds on what a follower may ask for in one poll
+    private static final long MAX_WAIT_MS = 30_000;
+    private static final int MAX_BATCH_BYTES = 16 * 1024 * 1024;
+
+    private final LinkStore linkStore;
+
+    @Autowired
+    public ReplicationController(LinkStore linkStore) {
+        this.linkStore = linkStore;
+    }
+
+    /**
+     * Returns the journal records after an offset, waiting up to
+     * {@code waitMs} for new records if there are none yet.
+     *
+     * @param from offset to read from, 0 for the start of the journal
+     * @param journalId id of the journal the offset refers to, if known
+     * @param maxBytes preferred maximum batch size before compression
+     * @param waitMs how long to wait for new records
+     * @return the deflate-compressed records, 409 if the offset does not belong to the current journal,
+     *         or 404 if this node is not a leader
+     */
+    @GetMapping("/journal")
+    public ResponseEntity<byte[]> journal(@RequestParam(defaultValue = "0") long from,
+                                          @RequestParam(required = false) String journalId,
+                                          @RequestParam(defaultValue = "1048576") int maxBytes,
+                                          @RequestParam(defaultValue = "0") long waitMs) throws IOException {
+        if (!(linkStore instanceof JournalingLinkStore leader)) {
+            return ResponseEntity.notFound().build();
+        }
+        MappingJournal journal = leader.journal();
+        String currentId = Long.toString(journal.journalId());
+        long position = from == 0 ? journal.start() : from;
+        if ((journalId != null && !journalId.equals(currentId)) || position < journal.start() || position > journal.end()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).header(JournalBatches.JOURNAL_ID_HEADER, currentId).build();
+        }
+        if (waitMs > 0) {
+            try {
+                journal.await(position, Math.min(waitMs, MAX_WAIT_MS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] records = journal.read(position, Math.min(Math.max(maxBytes, 1), MAX_BATCH_BYTES));
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .header(JournalBatches.JOURNAL_ID_HEADER, currentId)
+            .header(JournalBatches.NEXT_OFFSET_HEADER, Long.toString(position + records.length))
+            .header(JournalBatches.END_OFFSET_HEADER, Long.toString(journal.end()))
+            .body(JournalBatches.compress(records));
+    }
+
+    /**
+     * Reports this node's replication role and position.
+     *
+     * @return replication status, or 404 if this node does not replicate
+     */
+    @GetMapping("/status")
+    public ResponseEntity<ReplicationStatus> status() {
+        if (linkStore instanceof JournalingLinkStore leader) {
+            long end = leader.journal().end();
+            return ResponseEntity.ok(new ReplicationStatus("leader", end, end, 0, 0, 0));
+        }
+        if (linkStore instanceof ReplicaLinkStore follower) {
+            return ResponseEntity.ok(new ReplicationStatus("follower", follower.getAppliedOffset(),
+                follower.getLeaderEndOffset(), follower.getLagBytes(), follower.getMillisSinceContact(),
+                follower.getAppliedRecords()));
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Replication position of a node.
+     */
+    public static class ReplicationStatus {
+        private final String role;
+        private final long appliedOffset;
+        private final long leaderEndOffset;
+        private final long lagBytes;
+        private final long millisSinceContact;
+        private final long appliedRecords;
+
+        public ReplicationStatus(String role, long appliedOffset, long leaderEndOffset, long lagBytes,
+                                 long millisSinceContact, long appliedRecords) {
+            this.role = role;
+            this.appliedOffset = appliedOffset;
+            this.leaderEndOffset = leaderEndOffset;
+            this.lagBytes = lagBytes;
+            this.millisSinceContact = millisSinceContact;
+            this.appliedRecords = appliedRecords;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public long getAppliedOffset() {
+            return appliedOffset;
+        }
+
+        public long getLeaderEndOffset() {
+            return leaderEndOffset;
+        }
+
+        public long getLagBytes() {
+            return lagBytes;
+        }
+
+        public long getMillisSinceContact() {
+            return millisSinceContact;
+        }
+
+        public long getAppliedRecords() {
+            return appliedRecords;
+        }
+    }
+}
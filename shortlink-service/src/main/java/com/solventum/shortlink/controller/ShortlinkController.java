@@ -1,11 +1,19 @@
 package com.solventum.shortlink.controller;
 
+import com.solventum.shortlink.alias.AliasTakenException;
+import com.solventum.shortlink.cluster.ShardRouter;
+import com.solventum.shortlink.logging.LogSampler;
 import com.solventum.shortlink.model.DecodeRequest;
 import com.solventum.shortlink.model.DecodeResponse;
+import com.solventum.shortlink.model.DeleteRequest;
+import com.solventum.shortlink.model.DeleteResponse;
 import com.solventum.shortlink.model.EncodeRequest;
 import com.solventum.shortlink.model.EncodeResponse;
+import com.solventum.shortlink.model.ReloadResponse;
+import com.solventum.shortlink.model.RetargetRequest;
 import com.solventum.shortlink.service.UrlShorteningService;
-import jakarta.validation.Valid;
+import com.solventum.shortlink.util.CoarseClock;
+import com.solventum.shortlink.validation.RequestValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,13 +21,22 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 
 /**
  * REST Controller for URL shortening operations.
  * 
  * Provides endpoints for encoding long URLs to short URLs and decoding
- * short URLs back to their original form.
+ * short URLs back to their original form. In a sharded cluster, requests
+ * owned by another node are forwarded to it before taking a local permit.
+ * Encodes and decodes complete asynchronously: the servlet thread is
+ * released while the service's storage executor does the store work.
  */
 @RestController
 @RequestMapping("/api")
@@ -28,51 +45,263 @@ public class ShortlinkController {
     
     private static final Logger logger = LoggerFactory.getLogger(ShortlinkController.class);
     
+    private static final int MAX_ALIAS_LIST_LIMIT = 1000;
+    private static final int MAX_DELETE_BATCH = 1000;
+    private static final int MAX_BATCH = 1000;
+    
     private final UrlShorteningService urlShorteningService;
     private final Semaphore requestSemaphore;
+    private final LogSampler requestLogSampler;
+    private final ShardRouter shardRouter;
     
     @Autowired
-    public ShortlinkController(UrlShorteningService urlShorteningService, Semaphore requestSemaphore) {
+    public ShortlinkController(UrlShorteningService urlShorteningService, Semaphore requestSemaphore,
+                               LogSampler requestLogSampler, ShardRouter shardRouter) {
         this.urlShorteningService = urlShorteningService;
         this.requestSemaphore = requestSemaphore;
+        this.requestLogSampler = requestLogSampler;
+        this.shardRouter = shardRouter;
     }
     
     /**
      * Encodes a long URL into a short URL.
-     * Respects concurrency limits - returns 429 if too many concurrent requests.
+     * Input is validated once, inside the service, rather than via bean validation.
+     * Respects concurrency limits - returns 429 if too many concurrent requests
+     * or if the storage executor is saturated.
      * 
-     * @param request the encode request containing the long URL
-     * @return ResponseEntity containing the short URL and original URL
+     * @param request the encode request containing the long URL and optional ttl/expiresAt or alias
+     * @param forwardedBy index of the node that forwarded the request, if any
+     * @return future ResponseEntity containing the short URL and original URL
      */
     @PostMapping("/encode")
-    public ResponseEntity<EncodeResponse> encodeUrl(@Valid @RequestBody EncodeRequest request) {
-        return executeWithConcurrencyControl(() -> {
-            logger.info("Received encode request for URL: {}", request.getUrl());
-            String shortUrl = urlShorteningService.encodeUrl(request.getUrl());
-            EncodeResponse response = new EncodeResponse(shortUrl, request.getUrl());
-            logger.debug("Encode successful, returning response: {}", response);
-            return ResponseEntity.ok(response);
+    public CompletableFuture<? extends ResponseEntity<?>> encodeUrl(@RequestBody EncodeRequest request,
+            @RequestHeader(name = ShardRouter.FORWARDED_HEADER, required = false) String forwardedBy) {
+        int owner = shardRouter.encodeOwner(request, forwardedBy);
+        if (owner >= 0) {
+            return executeAsyncWithConcurrencyControl(() -> shardRouter.forward(owner, "/api/encode", request));
+        }
+        return executeAsyncWithConcurrencyControl(() -> {
+            if (requestLogSampler.sample()) {
+                logger.info("Received encode request for URL: {}", request.url());
+            }
+            long expiresAt = RequestValidator.resolveExpiresAt(request.ttl(), request.expiresAt(), System.currentTimeMillis());
+            CompletableFuture<String> shortUrl;
+            if (request.alias() != null) {
+                if (expiresAt != 0) {
+                    throw new IllegalArgumentException("Aliased links cannot expire");
+                }
+                shortUrl = urlShorteningService.createAliasAsync(request.alias(), request.url());
+            } else {
+                shortUrl = urlShorteningService.encodeAsync(request.url(), expiresAt);
+            }
+            return shortUrl.thenApply(created -> {
+                EncodeResponse response = expiresAt == 0
+                    ? new EncodeResponse(created, request.url())
+                    : new EncodeResponse(created, request.url(), CoarseClock.currentTimeMillis(), expiresAt);
+                logger.debug("Encode successful, returning response: {}", response);
+                return ResponseEntity.ok(response);
+            });
+        });
+    }
+    
+    /**
+     * Encodes up to {@value #MAX_BATCH} long URLs as permanent links in one
+     * storage task. Entries may not carry a ttl, expiration or alias, and an
+     * invalid URL fails the whole batch. In a sharded cluster, each URL is
+     * encoded by the node owning it.
+     * 
+     * @param requests the encode requests
+     * @param forwardedBy index of the node that forwarded the request, if any
+     * @return future ResponseEntity containing one response per request, in order
+     */
+    @PostMapping("/encode/batch")
+    public CompletableFuture<ResponseEntity<List<EncodeResponse>>> encodeUrls(@RequestBody List<EncodeRequest> requests,
+            @RequestHeader(name = ShardRouter.FORWARDED_HEADER, required = false) String forwardedBy) {
+        if (requests.isEmpty() || requests.size() > MAX_BATCH || requests.stream()
+                .anyMatch(request -> request.alias() != null || request.ttl() != null || request.expiresAt() != null)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return executeAsyncWithConcurrencyControl(() -> {
+            logger.info("Received batch encode request for {} URLs", requests.size());
+            CompletableFuture<ResponseEntity<List<EncodeResponse>>> routed =
+                shardRouter.routeEncodeBatch(requests, forwardedBy, this::encodeBatch);
+            return routed != null ? routed : encodeBatch(requests).thenApply(ResponseEntity::ok);
+        });
+    }
+    
+    private CompletableFuture<List<EncodeResponse>> encodeBatch(List<EncodeRequest> requests) {
+        List<String> longUrls = requests.stream().map(EncodeRequest::url).toList();
+        return urlShorteningService.encodeBatchAsync(longUrls).thenApply(shortUrls -> {
+            List<EncodeResponse> responses = new ArrayList<>(shortUrls.size());
+            for (int i = 0; i < shortUrls.size(); i++) {
+                responses.add(new EncodeResponse(shortUrls.get(i), longUrls.get(i)));
+            }
+            return responses;
         });
     }
     
     /**
      * Decodes a short URL back to its original long URL.
-     * Respects concurrency limits - returns 429 if too many concurrent requests.
+     * Input is validated once, inside the service, rather than via bean validation.
+     * Respects concurrency limits - returns 429 if too many concurrent requests
+     * or if the storage executor is saturated.
      * 
      * @param request the decode request containing the short URL
-     * @return ResponseEntity containing the original URL and short URL
+     * @param forwardedBy index of the node that forwarded the request, if any
+     * @return future ResponseEntity containing the original URL and short URL
      */
     @PostMapping("/decode")
-    public ResponseEntity<DecodeResponse> decodeUrl(@Valid @RequestBody DecodeRequest request) {
+    public CompletableFuture<? extends ResponseEntity<?>> decodeUrl(@RequestBody DecodeRequest request,
+            @RequestHeader(name = ShardRouter.FORWARDED_HEADER, required = false) String forwardedBy) {
+        int owner = shardRouter.shortUrlOwner(request.shortUrl(), forwardedBy);
+        if (owner >= 0) {
+            return executeAsyncWithConcurrencyControl(() -> shardRouter.forward(owner, "/api/decode", request));
+        }
+        return executeAsyncWithConcurrencyControl(() -> {
+            if (requestLogSampler.sample()) {
+                logger.info("Received decode request for short URL: {}", request.shortUrl());
+            }
+            return urlShorteningService.decodeAsync(request.shortUrl()).thenApply(originalUrl -> {
+                DecodeResponse response = new DecodeResponse(originalUrl, request.shortUrl());
+                logger.debug("Decode successful, returning response: {}", response);
+                return ResponseEntity.ok(response);
+            });
+        });
+    }
+    
+    /**
+     * Decodes up to {@value #MAX_BATCH} short URLs in one storage task.
+     * Short URLs that are invalid or not found come back with a null
+     * original URL. In a sharded cluster, each short URL is decoded by the
+     * node holding it.
+     * 
+     * @param requests the decode requests
+     * @param forwardedBy index of the node that forwarded the request, if any
+     * @return future ResponseEntity containing one response per request, in order
+     */
+    @PostMapping("/decode/batch")
+    public CompletableFuture<ResponseEntity<List<DecodeResponse>>> decodeUrls(@RequestBody List<DecodeRequest> requests,
+            @RequestHeader(name = ShardRouter.FORWARDED_HEADER, required = false) String forwardedBy) {
+        if (requests.isEmpty() || requests.size() > MAX_BATCH) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return executeAsyncWithConcurrencyControl(() -> {
+            logger.info("Received batch decode request for {} short URLs", requests.size());
+            CompletableFuture<ResponseEntity<List<DecodeResponse>>> routed =
+                shardRouter.routeDecodeBatch(requests, forwardedBy, this::decodeBatch);
+            return routed != null ? routed : decodeBatch(requests).thenApply(ResponseEntity::ok);
+        });
+    }
+    
+    private CompletableFuture<List<DecodeResponse>> decodeBatch(List<DecodeRequest> requests) {
+        List<String> shortUrls = requests.stream().map(DecodeRequest::shortUrl).toList();
+        return urlShorteningService.decodeBatchAsync(shortUrls).thenApply(originalUrls -> {
+            List<DecodeResponse> responses = new ArrayList<>(originalUrls.size());
+            for (int i = 0; i < originalUrls.size(); i++) {
+                responses.add(new DecodeResponse(originalUrls.get(i), shortUrls.get(i)));
+            }
+            return responses;
+        });
+    }
+    
+    /**
+     * Points an existing short URL at another long URL.
+     * In a sharded cluster, the request is forwarded to the node holding the short URL.
+     * 
+     * @param request the short URL and its new long URL
+     * @param forwardedBy index of the node that forwarded the request, if any
+     * @return ResponseEntity containing the short URL and its new original URL, or 404
+     */
+    @PostMapping("/retarget")
+    public CompletableFuture<? extends ResponseEntity<?>> retargetUrl(@RequestBody RetargetRequest request,
+            @RequestHeader(name = ShardRouter.FORWARDED_HEADER, required = false) String forwardedBy) {
+        int owner = shardRouter.shortUrlOwner(request.shortUrl(), forwardedBy);
+        if (owner >= 0) {
+            return executeAsyncWithConcurrencyControl(() -> shardRouter.forward(owner, "/api/retarget", request));
+        }
+        return CompletableFuture.completedFuture(executeWithConcurrencyControl(() -> {
+            logger.info("Received retarget request for short URL: {}", request.shortUrl());
+            String shortUrl = urlShorteningService.retargetLink(request.shortUrl(), request.url());
+            return ResponseEntity.ok(new EncodeResponse(shortUrl, request.url()));
+        }));
+    }
+    
+    /**
+     * Deletes links, given either as a list of short URLs or as the first
+     * and last short URLs of an id range. Deleted links stop resolving at
+     * once; their storage is reclaimed in the background. A range delete is
+     * answered with 202, since the links it covers are only counted when
+     * they are reclaimed. In a sharded cluster, listed short URLs are
+     * forwarded to the nodes holding them, while a range is deleted only
+     * from the receiving node.
+     * 
+     * @param request the short URLs or id range to delete
+     * @param forwardedBy index of the node that forwarded the request, if any
+     * @return the number of listed links deleted, or 202 for a range
+     */
+    @PostMapping("/delete")
+    public CompletableFuture<ResponseEntity<DeleteResponse>> deleteUrls(@RequestBody DeleteRequest request,
+            @RequestHeader(name = ShardRouter.FORWARDED_HEADER, required = false) String forwardedBy) {
+        boolean byList = request.shortUrls() != null;
+        boolean byRange = request.from() != null || request.to() != null;
+        if (byList == byRange || (byList && request.shortUrls().size() > MAX_DELETE_BATCH)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return executeAsyncWithConcurrencyControl(() -> {
+            if (byRange) {
+                logger.info("Received delete request for id range {} to {}", request.from(), request.to());
+                urlShorteningService.deleteIdRange(request.from(), request.to());
+                return CompletableFuture.completedFuture(ResponseEntity.accepted().build());
+            }
+            logger.info("Received delete request for {} short URLs", request.shortUrls().size());
+            CompletableFuture<ResponseEntity<DeleteResponse>> routed = shardRouter.routeDelete(request.shortUrls(),
+                forwardedBy, urlShorteningService::deleteLinks);
+            if (routed != null) {
+                return routed;
+            }
+            return CompletableFuture.completedFuture(
+                ResponseEntity.ok(new DeleteResponse(urlShorteningService.deleteLinks(request.shortUrls()))));
+        });
+    }
+    
+    /**
+     * Replaces this node's generated links with those of the link table
+     * configured as {@code app.store.reload-path}, while traffic keeps
+     * flowing: the new links are published with a single swap.
+     * Returns 405 if no reload path is configured.
+     * 
+     * @return the number of links loaded
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<ReloadResponse> reloadMappings() {
         return executeWithConcurrencyControl(() -> {
-            logger.info("Received decode request for short URL: {}", request.getShortUrl());
-            String originalUrl = urlShorteningService.decodeUrl(request.getShortUrl());
-            DecodeResponse response = new DecodeResponse(originalUrl, request.getShortUrl());
-            logger.debug("Decode successful, returning response: {}", response);
-            return ResponseEntity.ok(response);
+            long started = System.nanoTime();
+            long loaded = urlShorteningService.reloadMappings();
+            logger.info("Reloaded {} links in {} ms", loaded, (System.nanoTime() - started) / 1_000_000);
+            return ResponseEntity.ok(new ReloadResponse(loaded));
         });
     }
     
+    /**
+     * Lists custom aliases under a prefix, for example all aliases starting
+     * with {@code team-x/}, in lexicographic order. Runs in time proportional
+     * to the prefix and the aliases returned, not to the number of aliases.
+     * In a cluster, each node lists the aliases it holds.
+     * 
+     * @param prefix the alias prefix, empty for all aliases
+     * @param limit maximum number of aliases to return
+     * @return aliases with their short and original URLs
+     */
+    @GetMapping("/aliases")
+    public ResponseEntity<List<UrlShorteningService.Alias>> listAliases(
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "100") int limit) {
+        if (limit <= 0 || limit > MAX_ALIAS_LIST_LIMIT || prefix.length() > RequestValidator.MAX_ALIAS_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(urlShorteningService.listAliases(prefix, limit));
+    }
+    
     /**
      * Health check endpoint to verify the service is running.
      * 
@@ -91,10 +320,29 @@ public class ShortlinkController {
      */
     @GetMapping("/stats")
     public ResponseEntity<ServiceStats> getStats() {
-        ServiceStats stats = new ServiceStats(urlShorteningService.getUrlMappingSize());
+        ServiceStats stats = new ServiceStats(urlShorteningService.getUrlMappingSize(),
+            urlShorteningService.getExpiredCount(), urlShorteningService.getReclaimedBytes(),
+            urlShorteningService.getDeletedCount(), urlShorteningService.getCoalescedCount(),
+            urlShorteningService.getCoalescingRate());
         return ResponseEntity.ok(stats);
     }
     
+    /**
+     * Get the hottest links by recent decode traffic.
+     * Counts are approximate and come from a bounded-memory sketch.
+     * 
+     * @param limit maximum number of links to return
+     * @return hot links ordered by descending estimated hits
+     */
+    @GetMapping("/stats/top")
+    public ResponseEntity<List<UrlShorteningService.HotLink>> getTopLinks(
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(urlShorteningService.getTopLinks(limit));
+    }
+    
     /**
      * Executes a function with concurrency control.
      * If no permit is available, returns HTTP 429 (Too Many Requests).
@@ -105,21 +353,14 @@ public class ShortlinkController {
     private <T> ResponseEntity<T> executeWithConcurrencyControl(java.util.function.Supplier<ResponseEntity<T>> function) {
         if (requestSemaphore.tryAcquire()) {
             try {
-                logger.debug("Acquired permit, processing request. Available permits: {}", requestSemaphore.availablePermits());
-                return function.get();
-            } catch (IllegalArgumentException e) {
-                logger.warn("Request failed with validation error: {}", e.getMessage());
-                if (e.getMessage().contains("not found") || e.getMessage().contains("Invalid short URL")) {
-                    return ResponseEntity.notFound().build();
-                } else {
-                    return ResponseEntity.badRequest().build();
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Acquired permit, processing request. Available permits: {}", requestSemaphore.availablePermits());
                 }
+                return function.get();
             } catch (Exception e) {
-                logger.error("Unexpected error during request processing: ", e);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+                return errorResponse(e);
             } finally {
-                requestSemaphore.release();
-                logger.debug("Released permit. Available permits: {}", requestSemaphore.availablePermits());
+                releasePermit();
             }
         } else {
             logger.warn("Request rejected - service is busy. Available permits: {}", requestSemaphore.availablePermits());
@@ -127,15 +368,94 @@ public class ShortlinkController {
         }
     }
     
+    /**
+     * Executes an asynchronous function with concurrency control. The permit
+     * is held until the returned future completes, not just until the
+     * servlet thread is released. If no permit is available, completes with
+     * HTTP 429 (Too Many Requests).
+     * 
+     * @param function the function starting the asynchronous work
+     * @return future ResponseEntity with result or error status
+     */
+    private <T> CompletableFuture<ResponseEntity<T>> executeAsyncWithConcurrencyControl(
+            Supplier<CompletableFuture<ResponseEntity<T>>> function) {
+        if (!requestSemaphore.tryAcquire()) {
+            logger.warn("Request rejected - service is busy. Available permits: {}", requestSemaphore.availablePermits());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build());
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Acquired permit, processing request. Available permits: {}", requestSemaphore.availablePermits());
+        }
+        CompletableFuture<ResponseEntity<T>> result;
+        try {
+            result = function.get();
+        } catch (Exception e) {
+            releasePermit();
+            return CompletableFuture.completedFuture(errorResponse(e));
+        }
+        return result.handle((response, failure) -> {
+            releasePermit();
+            if (failure == null) {
+                return response;
+            }
+            return errorResponse(failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure);
+        });
+    }
+    
+    /**
+     * Maps a request failure to its HTTP status.
+     */
+    private <T> ResponseEntity<T> errorResponse(Throwable e) {
+        if (e instanceof IllegalArgumentException) {
+            logger.warn("Request failed with validation error: {}", e.getMessage());
+            if (e.getMessage().contains("not found") || e.getMessage().contains("Invalid short URL")) {
+                return ResponseEntity.notFound().build();
+            } else {
+                return ResponseEntity.badRequest().build();
+            }
+        } else if (e instanceof AliasTakenException) {
+            logger.warn("Request rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } else if (e instanceof UnsupportedOperationException) {
+            // Writes sent to a read-only replica
+            logger.warn("Request rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED).build();
+        } else if (e instanceof RejectedExecutionException) {
+            logger.warn("Request rejected - storage executor is saturated");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        logger.error("Unexpected error during request processing: ", e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+    
+    private void releasePermit() {
+        requestSemaphore.release();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Released permit. Available permits: {}", requestSemaphore.availablePermits());
+        }
+    }
+    
     /**
      * Simple statistics holder class.
      */
     public static class ServiceStats {
         private final int totalUrls;
+        private final long expiredUrls;
+        private final long reclaimedBytes;
+        private final long deletedUrls;
+        private final long coalescedRequests;
+        private final double coalescingRate;
         private final long timestamp;
         
-        public ServiceStats(int totalUrls) {
+        public ServiceStats(int totalUrls, long expiredUrls, long reclaimedBytes, long deletedUrls,
+                            long coalescedRequests, double coalescingRate) {
             this.totalUrls = totalUrls;
+            this.expiredUrls = expiredUrls;
+            this.reclaimedBytes = reclaimedBytes;
+            this.deletedUrls = deletedUrls;
+            this.coalescedRequests = coalescedRequests;
+            this.coalescingRate = coalescingRate;
             this.timestamp = System.currentTimeMillis();
         }
         
@@ -143,6 +463,26 @@ public class ShortlinkController {
             return totalUrls;
         }
         
+        public long getExpiredUrls() {
+            return expiredUrls;
+        }
+        
+        public long getReclaimedBytes() {
+            return reclaimedBytes;
+        }
+        
+        public long getDeletedUrls() {
+            return deletedUrls;
+        }
+        
+        public long getCoalescedRequests() {
+            return coalescedRequests;
+        }
+        
+        public double getCoalescingRate() {
+            return coalescingRate;
+        }
+        
         public long getTimestamp() {
             return timestamp;
         }
@@ -0,0 +1,96 @@
+package com.solventum.shortlink.expiry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Drives a {@link TimingWheel} from a single background thread.
+ *
+ * Request threads hand new expirations to a lock-free queue; the scheduler
+ * thread drains it into the wheel on each tick and reports due items to the
+ * expiration callback. Request threads therefore never touch the wheel and
+ * never wait for the scheduler.
+ */
+public class ExpirationScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpirationScheduler.class);
+
+    private final long tickMs;
+    private final TimingWheel<Expiration> wheel;
+    private final ConcurrentLinkedQueue<Expiration> pending = new ConcurrentLinkedQueue<>();
+    private final BiConsumer<String, Long> onExpire;
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Creates and starts a scheduler.
+     *
+     * @param tickMs wheel resolution and tick interval in milliseconds
+     * @param wheelSize number of buckets per wheel level
+     * @param onExpire callback receiving the key and expiration time of each due item
+     */
+    public ExpirationScheduler(long tickMs, int wheelSize, BiConsumer<String, Long> onExpire) {
+        this.tickMs = tickMs;
+        this.wheel = new TimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+        this.onExpire = onExpire;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "link-expiration");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules a key for expiration. Safe to call from any thread.
+     *
+     * @param key the key to expire
+     * @param expiresAtMs expiration time in milliseconds
+     */
+    public void schedule(String key, long expiresAtMs) {
+        pending.offer(new Expiration(key, expiresAtMs));
+    }
+
+    /**
+     * Returns the number of expirations waiting in the wheel or its inbox.
+     *
+     * @return scheduled expiration count (approximate while ticking)
+     */
+    public int getScheduledCount() {
+        return wheel.size() + pending.size();
+    }
+
+    public long getTickMs() {
+        return tickMs;
+    }
+
+    /**
+     * Stops the scheduler thread. Pending expirations are dropped.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void tick() {
+        // A failure must not kill the periodic task, or nothing would ever expire again
+        try {
+            Expiration expiration;
+            while ((expiration = pending.poll()) != null) {
+                if (!wheel.schedule(expiration, expiration.expiresAtMs)) {
+                    onExpire.accept(expiration.key, expiration.expiresAtMs);
+                }
+            }
+            wheel.advanceTo(System.currentTimeMillis(), due -> onExpire.accept(due.key, due.expiresAtMs));
+        } catch (RuntimeException e) {
+            logger.error("Link expiration tick failed: ", e);
+        }
+    }
+
+    private record Expiration(String key, long expiresAtMs) {
+    }
+}
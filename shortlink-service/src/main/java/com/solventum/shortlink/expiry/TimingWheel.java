@@ -0,0 +1,185 @@
+package com.solventum.shortlink.expiry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for expiring items.
+ *
+ * Level 0 has {@code wheelSize} buckets of {@code tickMs} each; every higher
+ * level has buckets {@code wheelSize} times wider than the one below. An item
+ * is placed in the finest level whose span covers its expiration time, and
+ * when a coarse bucket comes due its items are cascaded down into finer
+ * levels. Scheduling is O(1), and each item is touched at most once per level
+ * before it expires, independent of how many items are scheduled. Levels are
+ * added on demand, so arbitrarily distant expirations are supported.
+ *
+ * Expiration times are rounded up to the next tick boundary, so an item
+ * fires on the first tick at or after its expiration time, never before it.
+ *
+ * Not thread-safe: a single owner thread must schedule and advance the wheel.
+ *
+ * @param <T> the type of item being expired
+ */
+public class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+
+    // Start of the current tick; everything due at or before this tick has expired
+    private long currentTime;
+    private int size;
+
+    /**
+     * Creates a timing wheel.
+     *
+     * @param tickMs resolution of the finest level in milliseconds
+     * @param wheelSize number of buckets per level
+     * @param startMs current time in milliseconds
+     */
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Tick must be positive and wheel size at least 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - (startMs % tickMs);
+        levels.add(new Level<>(tickMs, wheelSize));
+    }
+
+    /**
+     * Schedules an item for expiration.
+     *
+     * @param item the item to expire
+     * @param expiresAtMs expiration time in milliseconds
+     * @return false if the expiration time has passed, in which case the item is not scheduled
+     */
+    public boolean schedule(T item, long expiresAtMs) {
+        long dueMs = -Math.floorDiv(-expiresAtMs, tickMs) * tickMs;
+        if (dueMs <= currentTime) {
+            return false;
+        }
+        place(new Node<>(item, dueMs));
+        size++;
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given time, expiring every item that has come due.
+     *
+     * @param nowMs current time in milliseconds
+     * @param onExpire callback invoked for each expired item
+     * @return number of expired items
+     */
+    public int advanceTo(long nowMs, Consumer<T> onExpire) {
+        int expired = 0;
+        while (currentTime + tickMs <= nowMs) {
+            if (size == 0) {
+                // Nothing scheduled: jump straight to the current tick
+                currentTime = nowMs - (nowMs % tickMs);
+                break;
+            }
+            currentTime += tickMs;
+
+            // Cascade coarse buckets whose span starts now, highest level first
+            for (int l = levels.size() - 1; l >= 1; l--) {
+                Level<T> level = levels.get(l);
+                if (currentTime % level.tickMs == 0) {
+                    Node<T> node = level.takeBucket(currentTime);
+                    while (node != null) {
+                        Node<T> next = node.next;
+                        node.next = null;
+                        if (node.dueMs <= currentTime) {
+                            onExpire.accept(node.item);
+                            size--;
+                            expired++;
+                        } else {
+                            place(node);
+                        }
+                        node = next;
+                    }
+                }
+            }
+
+            Node<T> node = levels.get(0).takeBucket(currentTime);
+            while (node != null) {
+                Node<T> next = node.next;
+                onExpire.accept(node.item);
+                size--;
+                expired++;
+                node = next;
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Returns the number of items currently scheduled.
+     *
+     * @return scheduled item count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of levels currently allocated.
+     *
+     * @return level count
+     */
+    public int levelCount() {
+        return levels.size();
+    }
+
+    private void place(Node<T> node) {
+        for (int l = 0; ; l++) {
+            if (l == levels.size()) {
+                levels.add(new Level<>(levels.get(l - 1).tickMs * wheelSize, wheelSize));
+            }
+            Level<T> level = levels.get(l);
+            long slotDistance = node.dueMs / level.tickMs - currentTime / level.tickMs;
+            if (slotDistance < wheelSize) {
+                level.add(node);
+                return;
+            }
+        }
+    }
+
+    private static final class Level<T> {
+        private final long tickMs;
+        private final Node<T>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMs, int wheelSize) {
+            this.tickMs = tickMs;
+            this.buckets = (Node<T>[]) new Node[wheelSize];
+        }
+
+        void add(Node<T> node) {
+            int index = (int) ((node.dueMs / tickMs) % buckets.length);
+            node.next = buckets[index];
+            buckets[index] = node;
+        }
+
+        Node<T> takeBucket(long time) {
+            int index = (int) ((time / tickMs) % buckets.length);
+            Node<T> head = buckets[index];
+            buckets[index] = null;
+            return head;
+        }
+    }
+
+    private static final class Node<T> {
+        private final T item;
+        // Expiration time rounded up to a tick boundary
+        private final long dueMs;
+        private Node<T> next;
+
+        Node(T item, long dueMs) {
+            this.item = item;
+            this.dueMs = dueMs;
+        }
+    }
+}
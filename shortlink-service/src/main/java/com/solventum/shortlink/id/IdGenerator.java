@@ -0,0 +1,57 @@
+package com.solventum.shortlink.id;
+
+/**
+ * Source of the link ids that short codes are encoded from.
+ *
+ * Implementations must be thread-safe and never hand out the same id twice,
+ * including across restarts of a node whose link store persists mappings.
+ */
+public interface IdGenerator {
+
+    /**
+     * Hands out a new id.
+     *
+     * @return a non-negative id not handed out before
+     */
+    long nextId();
+
+    /**
+     * Returns the cluster node that handed out an id, for routing decodes.
+     *
+     * @param id a link id
+     * @return the node index encoded in the id
+     */
+    int nodeOf(long id);
+
+    /**
+     * Returns the highest id this generator may have handed out so far.
+     * No id it hands out from now on is at or below it.
+     *
+     * @return the highest id handed out, or an id below every one handed out if none was
+     */
+    long lastIssuedId();
+
+    /**
+     * Makes sure no id up to a given one is handed out from now on, after a
+     * restart too, for example after loading links minted elsewhere.
+     * Generators whose ids grow with time need not do anything.
+     *
+     * @param id the highest id already in use
+     */
+    default void skipPast(long id) {
+    }
+
+    /**
+     * Takes back ids that were handed out but never used, so that they are
+     * handed out again, after a restart too. This is only possible for the
+     * most recent ids: the generator refuses unless {@code unusedIds} are
+     * consecutive and no id was handed out after the last of them.
+     * Generators whose ids grow with time need not take anything back.
+     *
+     * @param unusedIds unused ids in ascending order
+     * @return true if the ids were taken back, false if they are lost
+     */
+    default boolean giveBack(long[] unusedIds) {
+        return false;
+    }
+}
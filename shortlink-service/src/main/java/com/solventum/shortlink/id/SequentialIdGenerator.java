@@ -0,0 +1,98 @@
+package com.solventum.shortlink.id;
+
+import com.solventum.shortlink.cluster.ClusterTopology;
+import com.solventum.shortlink.store.LinkStore;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out consecutive ids from a counter, spread over the node's id shard
+ * in a cluster.
+ *
+ * The counter resumes above the watermark saved in the link store, and a
+ * new watermark is saved every {@value #ID_BLOCK_SIZE} ids, so a durable
+ * store never sees an id reused after a restart. Ids given back unused
+ * lower the watermark again, so that they are not skipped after a restart.
+ */
+public class SequentialIdGenerator implements IdGenerator {
+
+    // Ids are reserved in blocks of this size in the link store's watermark
+    private static final long ID_BLOCK_SIZE = 1024;
+
+    private final LinkStore linkStore;
+    private final ClusterTopology topology;
+
+    // Atomic counter to ensure unique IDs, resumed above the store's watermark
+    private final AtomicLong counter;
+    private volatile long idWatermark;
+
+    /**
+     * Creates a generator resuming above the store's saved watermark.
+     *
+     * @param linkStore the store persisting the watermark
+     * @param topology the cluster topology mapping counter values into this node's id shard
+     */
+    public SequentialIdGenerator(LinkStore linkStore, ClusterTopology topology) {
+        this.linkStore = linkStore;
+        this.topology = topology;
+        this.idWatermark = linkStore.loadIdWatermark();
+        this.counter = new AtomicLong(Math.max(1, idWatermark));
+    }
+
+    @Override
+    public long nextId() {
+        long sequence = counter.getAndIncrement();
+        if (sequence >= idWatermark) {
+            reserveIds(sequence);
+        }
+        return topology.shardId(sequence);
+    }
+
+    @Override
+    public int nodeOf(long id) {
+        return topology.idOwner(id);
+    }
+
+    @Override
+    public long lastIssuedId() {
+        return topology.shardId(counter.get() - 1);
+    }
+
+    @Override
+    public synchronized void skipPast(long id) {
+        long next = counter.accumulateAndGet(topology.sequenceAbove(id), Math::max);
+        // Saved now rather than by the next id handed out, so that a restart before then resumes above it too
+        reserveIds(next);
+    }
+
+    @Override
+    public synchronized boolean giveBack(long[] unusedIds) {
+        if (unusedIds.length == 0) {
+            return true;
+        }
+        long first = topology.sequenceAbove(unusedIds[0]) - 1;
+        long end = first + unusedIds.length;
+        for (int i = 0; i < unusedIds.length; i++) {
+            if (unusedIds[i] != topology.shardId(first + i)) {
+                return false;
+            }
+        }
+        long reserved = idWatermark;
+        // Lowered first, so that an id handed out once the counter is rewound waits here to reserve its block
+        idWatermark = first;
+        if (!counter.compareAndSet(end, first)) {
+            idWatermark = reserved;
+            return false;
+        }
+        linkStore.saveIdWatermark(first);
+        return true;
+    }
+
+    private synchronized void reserveIds(long sequence) {
+        if (sequence >= idWatermark) {
+            long watermark = sequence + ID_BLOCK_SIZE;
+            linkStore.saveIdWatermark(watermark);
+            idWatermark = watermark;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.solventum.shortlink.id;
+
+import com.solventum.shortlink.util.ShortCodeCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps a buffer of short codes allocated and encoded ahead of time, so
+ * that an encode only pops a ready code.
+ *
+ * A single background thread takes ids from the {@link IdGenerator},
+ * encodes them and appends them to a lock-free queue; request threads
+ * poll it and never wait for the producer. If the buffer runs dry, a code
+ * is made on the spot, as it would be without a pool. The buffer is kept
+ * just deep enough for the observed encode rate: on every tick the
+ * producer tops it up to {@value #HEADROOM_TICKS} ticks' worth of encodes
+ * at the recent rate, between {@value #MIN_TARGET} and the configured
+ * depth, and a request thread finding it below a quarter of that wakes the
+ * producer early.
+ *
+ * Codes come out in the order their ids were allocated. On shutdown the
+ * producer stops and the codes left are given back to the generator, which
+ * takes them back if they are the most recent ids, so that they are
+ * handed out again after a restart instead of leaving a gap.
+ */
+public class ShortCodePool {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShortCodePool.class);
+
+    // Buffer at least this many codes, and enough for this many ticks at the recent encode rate
+    private static final int MIN_TARGET = 16;
+    private static final int HEADROOM_TICKS = 4;
+
+    // Weight of the last tick in the smoothed encode rate
+    private static final double RATE_SMOOTHING = 0.25;
+
+    private final IdGenerator idGenerator;
+    private final ShortCodeCodec codec;
+    private final int depth;
+    private final ConcurrentLinkedQueue<Prefetched> codes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder taken = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicBoolean refillRequested = new AtomicBoolean();
+    private final ScheduledExecutorService executor;
+
+    // Only touched by the producer thread
+    private double encodesPerTick;
+
+    // Codes the producer currently aims to hold
+    private volatile int target;
+
+    /**
+     * Creates a pool and starts filling it.
+     *
+     * @param idGenerator source of the ids
+     * @param codec converts ids to short codes
+     * @param depth most codes held at once
+     * @param refillIntervalMs delay between refills, over which the encode rate is measured
+     */
+    public ShortCodePool(IdGenerator idGenerator, ShortCodeCodec codec, int depth, long refillIntervalMs) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Pool depth must be positive");
+        }
+        this.idGenerator = idGenerator;
+        this.codec = codec;
+        this.depth = depth;
+        this.target = Math.min(depth, MIN_TARGET);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "short-code-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::tick, 0, refillIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Takes a short code that was never handed out before.
+     *
+     * @return a ready code, or one made on the spot if the pool is empty
+     */
+    public String next() {
+        taken.increment();
+        Prefetched prefetched = codes.poll();
+        if (prefetched == null) {
+            misses.increment();
+            requestRefill();
+            return codec.encode(idGenerator.nextId());
+        }
+        if (size.decrementAndGet() < target / 4) {
+            requestRefill();
+        }
+        return prefetched.code;
+    }
+
+    /**
+     * Returns the number of codes ready to be taken.
+     *
+     * @return buffered code count
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Returns the number of codes the producer currently aims to hold.
+     *
+     * @return refill target, between the minimum and the configured depth
+     */
+    public int getTarget() {
+        return target;
+    }
+
+    /**
+     * Returns the number of codes made on the spot because the pool was empty.
+     *
+     * @return miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Throws away every buffered code, for example after the id generator
+     * skipped past ids loaded from elsewhere, which buffered codes may
+     * collide with. Runs on the producer thread, so that a refill taking
+     * ids from before the skip is finished first.
+     *
+     * @return the number of codes thrown away
+     */
+    public int discard() {
+        try {
+            return executor.submit(this::drain).get().size();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Cannot discard pooled short codes", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while discarding pooled short codes", e);
+        }
+    }
+
+    /**
+     * Stops the producer and gives the codes left back to the id generator.
+     *
+     * @return true if no id was lost, false if the generator could not take them back
+     */
+    public boolean shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("Short code pool producer did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Prefetched> unused = drain();
+        long[] ids = unused.stream().mapToLong(prefetched -> prefetched.id).toArray();
+        boolean givenBack = idGenerator.giveBack(ids);
+        if (!givenBack) {
+            logger.info("Short code pool shut down, {} preallocated ids left unused", ids.length);
+        }
+        return givenBack;
+    }
+
+    private void requestRefill() {
+        if (refillRequested.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::refill);
+            } catch (RuntimeException e) {
+                // Shut down: the request thread makes its own codes from now on
+                refillRequested.set(false);
+            }
+        }
+    }
+
+    private void tick() {
+        encodesPerTick += RATE_SMOOTHING * (taken.sumThenReset() - encodesPerTick);
+        long wanted = (long) Math.ceil(encodesPerTick * HEADROOM_TICKS);
+        target = (int) Math.min(depth, Math.max(MIN_TARGET, wanted));
+        refill();
+    }
+
+    private void refill() {
+        refillRequested.set(false);
+        // A failure must not kill the periodic task, or the pool would stay empty forever
+        try {
+            int goal = target;
+            while (size.get() < goal && !executor.isShutdown()) {
+                long id = idGenerator.nextId();
+                codes.offer(new Prefetched(id, codec.encode(id)));
+                size.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Short code pool refill failed: ", e);
+        }
+    }
+
+    private List<Prefetched> drain() {
+        List<Prefetched> drained = new ArrayList<>();
+        for (Prefetched prefetched = codes.poll(); prefetched != null; prefetched = codes.poll()) {
+            drained.add(prefetched);
+        }
+        size.addAndGet(-drained.size());
+        return drained;
+    }
+
+    private static final class Prefetched {
+        final long id;
+        final String code;
+
+        Prefetched(long id, String code) {
+            this.id = id;
+            this.code = code;
+        }
+    }
+}
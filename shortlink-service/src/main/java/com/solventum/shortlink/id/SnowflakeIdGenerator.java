@@ -0,0 +1,149 @@
+package com.solventum.shortlink.id;
+
+import com.solventum.shortlink.store.LinkStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style ids that any number of nodes can mint without coordinating.
+ *
+ * An id packs, from the top, a {@value #TIMESTAMP_BITS}-bit millisecond
+ * timestamp since {@link #EPOCH_MILLIS} (2024-01-01, good for about 69
+ * years), a {@value #NODE_BITS}-bit node id and a {@value #SEQUENCE_BITS}-bit
+ * sequence number. Timestamp and sequence are kept together as one "stamp"
+ * in an {@link AtomicLong}: each id takes the larger of the previous stamp
+ * plus one and the current time, in a single lock-free compare-and-set.
+ *
+ * A node minting more than 4096 ids in a millisecond borrows from the next
+ * one instead of spinning. If the wall clock steps back, ids keep counting
+ * up from the last stamp until the clock catches up, so they stay unique
+ * and increasing; steps back further than {@value #ROLLBACK_WARNING_MILLIS}
+ * ms are logged. The stamp is also reserved {@value #RESERVE_MILLIS} ms
+ * ahead in the link store's id watermark, so that a restart after the
+ * clock stepped back cannot reissue ids a durable store already holds;
+ * after a restart, timestamps may therefore run up to that far ahead of the
+ * clock until it catches up.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnowflakeIdGenerator.class);
+
+    /**
+     * Start of the timestamp field, 2024-01-01T00:00:00Z.
+     */
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    static final int TIMESTAMP_BITS = 41;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+
+    /**
+     * Number of distinct node ids.
+     */
+    public static final int MAX_NODES = 1 << NODE_BITS;
+
+    private static final long RESERVE_MILLIS = 10_000;
+    private static final long ROLLBACK_WARNING_MILLIS = 1000;
+
+    private final LinkStore linkStore;
+    private final long node;
+    private final LongSupplier clock;
+
+    // Last stamp handed out: milliseconds since the epoch, then the sequence
+    private final AtomicLong lastStamp;
+    private volatile long reservedStamp;
+
+    // Latest clock reading seen, to detect the clock stepping back
+    private volatile long latestClockMillis;
+
+    /**
+     * Creates a generator on the system clock.
+     *
+     * @param linkStore the store persisting the reserved stamp
+     * @param node this node's id, below {@value #MAX_NODES}
+     */
+    public SnowflakeIdGenerator(LinkStore linkStore, int node) {
+        this(linkStore, node, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a generator on the given clock.
+     *
+     * @param linkStore the store persisting the reserved stamp
+     * @param node this node's id, below {@value #MAX_NODES}
+     * @param clock wall clock in epoch milliseconds
+     */
+    public SnowflakeIdGenerator(LinkStore linkStore, int node, LongSupplier clock) {
+        if (node < 0 || node >= MAX_NODES) {
+            throw new IllegalArgumentException("Snowflake node id must be between 0 and " + (MAX_NODES - 1));
+        }
+        this.linkStore = linkStore;
+        this.node = node;
+        this.clock = clock;
+        // Resume above ids this node may already have handed out
+        long watermark = linkStore.loadIdWatermark();
+        this.reservedStamp = stampOf(watermark);
+        this.lastStamp = new AtomicLong(reservedStamp);
+    }
+
+    @Override
+    public long nextId() {
+        long millis = clock.getAsLong();
+        long latest = latestClockMillis;
+        if (millis > latest) {
+            latestClockMillis = millis;
+        } else if (latest - millis > ROLLBACK_WARNING_MILLIS) {
+            latestClockMillis = millis;
+            logger.warn("Clock stepped back by {} ms, minting ids ahead of it until it catches up", latest - millis);
+        }
+        long now = (millis - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long stamp = lastStamp.accumulateAndGet(now, (last, current) -> Math.max(last + 1, current));
+        if (stamp >= reservedStamp) {
+            reserve(stamp);
+        }
+        return idOf(stamp);
+    }
+
+    @Override
+    public int nodeOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & (MAX_NODES - 1));
+    }
+
+    @Override
+    public long lastIssuedId() {
+        return idOf(lastStamp.get());
+    }
+
+    /**
+     * Returns the time an id was minted, as far as the node's clock allowed.
+     *
+     * @param id a snowflake id
+     * @return epoch milliseconds
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    private synchronized void reserve(long stamp) {
+        if (stamp >= reservedStamp) {
+            long reserved = stamp + (RESERVE_MILLIS << SEQUENCE_BITS);
+            linkStore.saveIdWatermark(idOf(reserved));
+            reservedStamp = reserved;
+        }
+    }
+
+    private long idOf(long stamp) {
+        long timestamp = stamp >>> SEQUENCE_BITS;
+        long sequence = stamp & ((1L << SEQUENCE_BITS) - 1);
+        return timestamp << (NODE_BITS + SEQUENCE_BITS) | node << SEQUENCE_BITS | sequence;
+    }
+
+    private static long stampOf(long id) {
+        long timestamp = id >>> (NODE_BITS + SEQUENCE_BITS);
+        long sequence = id & ((1L << SEQUENCE_BITS) - 1);
+        return timestamp << SEQUENCE_BITS | sequence;
+    }
+}
@@ -0,0 +1,280 @@
+package com.solventum.shortlink.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.solventum.shortlink.model.DecodeRequest;
+import com.solventum.shortlink.model.DecodeResponse;
+import com.solventum.shortlink.model.EncodeRequest;
+import com.solventum.shortlink.model.EncodeResponse;
+
+import java.io.IOException;
+
+/**
+ * Jackson module with hand-written serializers for the API models.
+ *
+ * The serializers stream fields straight to the {@link JsonGenerator} using
+ * pre-quoted field names, and the deserializers walk the token stream
+ * directly, so no bean introspection, reflection or intermediate tree is
+ * involved per request. Unknown fields are skipped, matching the default
+ * Spring Boot ObjectMapper configuration.
+ */
+public class ShortlinkJsonModule extends SimpleModule {
+
+    static final SerializedString URL = new SerializedString("url");
+    static final SerializedString SHORT_URL = new SerializedString("shortUrl");
+    static final SerializedString ORIGINAL_URL = new SerializedString("originalUrl");
+    static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    static final SerializedString TTL = new SerializedString("ttl");
+    static final SerializedString EXPIRES_AT = new SerializedString("expiresAt");
+    static final SerializedString ALIAS = new SerializedString("alias");
+
+    public ShortlinkJsonModule() {
+        super("ShortlinkJsonModule");
+        addSerializer(EncodeRequest.class, new EncodeRequestSerializer());
+        addSerializer(DecodeRequest.class, new DecodeRequestSerializer());
+        addSerializer(EncodeResponse.class, new EncodeResponseSerializer());
+        addSerializer(DecodeResponse.class, new DecodeResponseSerializer());
+        addDeserializer(EncodeRequest.class, new EncodeRequestDeserializer());
+        addDeserializer(DecodeRequest.class, new DecodeRequestDeserializer());
+        addDeserializer(EncodeResponse.class, new EncodeResponseDeserializer());
+        addDeserializer(DecodeResponse.class, new DecodeResponseDeserializer());
+    }
+
+    static class EncodeRequestSerializer extends StdSerializer<EncodeRequest> {
+        EncodeRequestSerializer() {
+            super(EncodeRequest.class);
+        }
+
+        @Override
+        public void serialize(EncodeRequest value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(URL);
+            gen.writeString(value.url());
+            writeOptionalNumber(gen, TTL, value.ttl());
+            writeOptionalNumber(gen, EXPIRES_AT, value.expiresAt());
+            if (value.alias() != null) {
+                gen.writeFieldName(ALIAS);
+                gen.writeString(value.alias());
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static class DecodeRequestSerializer extends StdSerializer<DecodeRequest> {
+        DecodeRequestSerializer() {
+            super(DecodeRequest.class);
+        }
+
+        @Override
+        public void serialize(DecodeRequest value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(SHORT_URL);
+            gen.writeString(value.shortUrl());
+            gen.writeEndObject();
+        }
+    }
+
+    static class EncodeResponseSerializer extends StdSerializer<EncodeResponse> {
+        EncodeResponseSerializer() {
+            super(EncodeResponse.class);
+        }
+
+        @Override
+        public void serialize(EncodeResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(SHORT_URL);
+            gen.writeString(value.shortUrl());
+            gen.writeFieldName(ORIGINAL_URL);
+            gen.writeString(value.originalUrl());
+            gen.writeFieldName(TIMESTAMP);
+            gen.writeNumber(value.timestamp());
+            writeOptionalNumber(gen, EXPIRES_AT, value.expiresAt());
+            gen.writeEndObject();
+        }
+    }
+
+    static class DecodeResponseSerializer extends StdSerializer<DecodeResponse> {
+        DecodeResponseSerializer() {
+            super(DecodeResponse.class);
+        }
+
+        @Override
+        public void serialize(DecodeResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(ORIGINAL_URL);
+            gen.writeString(value.originalUrl());
+            gen.writeFieldName(SHORT_URL);
+            gen.writeString(value.shortUrl());
+            gen.writeFieldName(TIMESTAMP);
+            gen.writeNumber(value.timestamp());
+            gen.writeEndObject();
+        }
+    }
+
+    static class EncodeRequestDeserializer extends StdDeserializer<EncodeRequest> {
+        EncodeRequestDeserializer() {
+            super(EncodeRequest.class);
+        }
+
+        @Override
+        public EncodeRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String url = null;
+            Long ttl = null;
+            Long expiresAt = null;
+            String alias = null;
+            for (String field = startObject(p, ctxt, EncodeRequest.class); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "url" -> url = readString(p, ctxt);
+                    case "ttl" -> ttl = readLong(p, ctxt);
+                    case "expiresAt" -> expiresAt = readLong(p, ctxt);
+                    case "alias" -> alias = readString(p, ctxt);
+                    default -> p.skipChildren();
+                }
+            }
+            return new EncodeRequest(url, ttl, expiresAt, alias);
+        }
+    }
+
+    static class DecodeRequestDeserializer extends StdDeserializer<DecodeRequest> {
+        DecodeRequestDeserializer() {
+            super(DecodeRequest.class);
+        }
+
+        @Override
+        public DecodeRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String shortUrl = null;
+            for (String field = startObject(p, ctxt, DecodeRequest.class); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                if ("shortUrl".equals(field)) {
+                    shortUrl = readString(p, ctxt);
+                } else {
+                    p.skipChildren();
+                }
+            }
+            return new DecodeRequest(shortUrl);
+        }
+    }
+
+    static class EncodeResponseDeserializer extends StdDeserializer<EncodeResponse> {
+        EncodeResponseDeserializer() {
+            super(EncodeResponse.class);
+        }
+
+        @Override
+        public EncodeResponse deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String shortUrl = null;
+            String originalUrl = null;
+            long timestamp = 0;
+            Long expiresAt = null;
+            for (String field = startObject(p, ctxt, EncodeResponse.class); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "shortUrl" -> shortUrl = readString(p, ctxt);
+                    case "originalUrl" -> originalUrl = readString(p, ctxt);
+                    case "timestamp" -> timestamp = p.getValueAsLong();
+                    case "expiresAt" -> expiresAt = readLong(p, ctxt);
+                    default -> p.skipChildren();
+                }
+            }
+            return new EncodeResponse(shortUrl, originalUrl, timestamp, expiresAt);
+        }
+    }
+
+    static class DecodeResponseDeserializer extends StdDeserializer<DecodeResponse> {
+        DecodeResponseDeserializer() {
+            super(DecodeResponse.class);
+        }
+
+        @Override
+        public DecodeResponse deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String originalUrl = null;
+            String shortUrl = null;
+            long timestamp = 0;
+            for (String field = startObject(p, ctxt, DecodeResponse.class); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "originalUrl" -> originalUrl = readString(p, ctxt);
+                    case "shortUrl" -> shortUrl = readString(p, ctxt);
+                    case "timestamp" -> timestamp = p.getValueAsLong();
+                    default -> p.skipChildren();
+                }
+            }
+            return new DecodeResponse(originalUrl, shortUrl, timestamp);
+        }
+    }
+
+    /**
+     * Verifies the parser is at the start of an object and returns the first
+     * field name, or null for an empty object.
+     */
+    static String startObject(JsonParser p, DeserializationContext ctxt, Class<?> type) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            return p.nextFieldName();
+        }
+        if (token == JsonToken.FIELD_NAME) {
+            return p.currentName();
+        }
+        if (token == JsonToken.END_OBJECT) {
+            return null;
+        }
+        return ctxt.reportInputMismatch(type, "Expected a JSON object for %s", type.getSimpleName());
+    }
+
+    /**
+     * Reads a scalar value as text; objects and arrays are rejected.
+     */
+    static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return p.getText();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != null && token.isScalarValue()) {
+            return p.getValueAsString();
+        }
+        return ctxt.reportInputMismatch(String.class, "Expected a string value for field '%s'", p.currentName());
+    }
+
+    /**
+     * Reads an optional integer value; numeric strings are accepted, other values rejected.
+     */
+    static Long readLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return p.getLongValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Long.parseLong(p.getText().trim());
+            } catch (NumberFormatException e) {
+                // Fall through to the mismatch report below
+            }
+        }
+        return ctxt.reportInputMismatch(Long.class, "Expected an integer value for field '%s'", p.currentName());
+    }
+
+    /**
+     * Writes a numeric field only when it has a value, keeping responses for
+     * permanent links unchanged.
+     */
+    static void writeOptionalNumber(JsonGenerator gen, SerializedString name, Long value) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            gen.writeNumber(value);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.solventum.shortlink.logging;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter writing one structured access log line per request.
+ *
+ * Lines use a flat key=value format so they can be parsed without a JSON
+ * encoder on the hot path. Output goes to the dedicated
+ * {@code com.solventum.shortlink.access} logger, which the production logging
+ * profile routes through its own asynchronous appender.
+ *
+ * Requests whose handler returns a future are logged when the asynchronous
+ * processing completes rather than when the first dispatch returns, so that
+ * the line carries the final status and the duration of the store work.
+ * The async dispatch itself is not filtered again.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String LOGGER_NAME = "com.solventum.shortlink.access";
+
+    private static final Logger accessLogger = LoggerFactory.getLogger(LOGGER_NAME);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!accessLogger.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean asyncStarted = false;
+        try {
+            filterChain.doFilter(request, response);
+            asyncStarted = request.isAsyncStarted();
+        } finally {
+            if (asyncStarted) {
+                // The handler returned a future: the status is only known once the async request completes
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        log(request, response, start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                log(request, response, start);
+            }
+        }
+    }
+
+    private static void log(HttpServletRequest request, HttpServletResponse response, long start) {
+        long durationMicros = (System.nanoTime() - start) / 1_000;
+        accessLogger.info("method={} path={} status={} durationMicros={} remote={}",
+            request.getMethod(), request.getRequestURI(), response.getStatus(),
+            durationMicros, request.getRemoteAddr());
+    }
+}
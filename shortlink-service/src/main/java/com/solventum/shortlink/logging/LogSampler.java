@@ -0,0 +1,41 @@
+package com.solventum.shortlink.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which requests get a per-request log line.
+ *
+ * Logs on average one request out of every {@code sampleEvery}. A value of 1
+ * logs every request, matching the behavior of an unsampled logger. The
+ * decision uses a thread-local random draw, so there is no shared state to
+ * contend on.
+ */
+public class LogSampler {
+
+    private final int sampleEvery;
+
+    /**
+     * Creates a sampler.
+     *
+     * @param sampleEvery log one request out of this many; must be positive
+     */
+    public LogSampler(int sampleEvery) {
+        if (sampleEvery <= 0) {
+            throw new IllegalArgumentException("Sample rate must be positive");
+        }
+        this.sampleEvery = sampleEvery;
+    }
+
+    /**
+     * Reports whether the current request should be logged.
+     *
+     * @return true if this request was selected for logging
+     */
+    public boolean sample() {
+        return sampleEvery == 1 || ThreadLocalRandom.current().nextInt(sampleEvery) == 0;
+    }
+
+    public int getSampleEvery() {
+        return sampleEvery;
+    }
+}
@@ -1,5 +1,6 @@
 package com.solventum.shortlink.model;
 
+import com.solventum.shortlink.validation.RequestValidator;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -7,33 +8,15 @@ import jakarta.validation.constraints.Size;
  * Request model for URL decoding endpoint.
  * 
  * Contains the short URL that needs to be decoded to its original form.
+ * The constraints document the API contract; at runtime they are enforced
+ * once per request by {@link RequestValidator} instead of bean validation.
+ * Serialized by {@link com.solventum.shortlink.json.ShortlinkJsonModule}.
+ * 
+ * @param shortUrl the short URL or bare short code to decode
  */
-public class DecodeRequest {
-    
-    @NotBlank(message = "Short URL is required")
-    @Size(max = 255, message = "Short URL is too long")
-    private String shortUrl;
-    
-    // Default constructor for Jackson
-    public DecodeRequest() {
-    }
-    
-    public DecodeRequest(String shortUrl) {
-        this.shortUrl = shortUrl;
-    }
-    
-    public String getShortUrl() {
-        return shortUrl;
-    }
-    
-    public void setShortUrl(String shortUrl) {
-        this.shortUrl = shortUrl;
-    }
-    
-    @Override
-    public String toString() {
-        return "DecodeRequest{" +
-                "shortUrl='" + shortUrl + '\'' +
-                '}';
-    }
-}
\ No newline at end of file
+public record DecodeRequest(
+    @NotBlank(message = RequestValidator.SHORT_URL_REQUIRED)
+    @Size(max = RequestValidator.MAX_SHORT_URL_LENGTH, message = RequestValidator.SHORT_URL_TOO_LONG)
+    String shortUrl
+) {
+}
@@ -1,56 +1,26 @@
 package com.solventum.shortlink.model;
 
+import com.solventum.shortlink.util.CoarseClock;
+
 /**
  * Response model for URL decoding endpoint.
  * 
  * Contains both the short URL and the decoded original URL.
+ * Serialized by {@link com.solventum.shortlink.json.ShortlinkJsonModule}.
+ * 
+ * @param originalUrl the decoded original URL
+ * @param shortUrl the short URL that was decoded
+ * @param timestamp response creation time in epoch milliseconds
  */
-public class DecodeResponse {
-    
-    private String originalUrl;
-    private String shortUrl;
-    private long timestamp;
-    
-    // Default constructor for Jackson
-    public DecodeResponse() {
-    }
-    
+public record DecodeResponse(String originalUrl, String shortUrl, long timestamp) {
+    
+    /**
+     * Creates a response stamped with the cached current time.
+     * 
+     * @param originalUrl the decoded original URL
+     * @param shortUrl the short URL that was decoded
+     */
     public DecodeResponse(String originalUrl, String shortUrl) {
-        this.originalUrl = originalUrl;
-        this.shortUrl = shortUrl;
-        this.timestamp = System.currentTimeMillis();
-    }
-    
-    public String getOriginalUrl() {
-        return originalUrl;
-    }
-    
-    public void setOriginalUrl(String originalUrl) {
-        this.originalUrl = originalUrl;
-    }
-    
-    public String getShortUrl() {
-        return shortUrl;
-    }
-    
-    public void setShortUrl(String shortUrl) {
-        this.shortUrl = shortUrl;
-    }
-    
-    public long getTimestamp() {
-        return timestamp;
-    }
-    
-    public void setTimestamp(long timestamp) {
-        this.timestamp = timestamp;
-    }
-    
-    @Override
-    public String toString() {
-        return "DecodeResponse{" +
-                "originalUrl='" + originalUrl + '\'' +
-                ", shortUrl='" + shortUrl + '\'' +
-                ", timestamp=" + timestamp +
-                '}';
+        this(originalUrl, shortUrl, CoarseClock.currentTimeMillis());
     }
-}
\ No newline at end of file
+}
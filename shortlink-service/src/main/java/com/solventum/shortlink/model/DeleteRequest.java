@@ -0,0 +1,26 @@
+package com.solventum.shortlink.model;
+
+import java.util.List;
+
+/**
+ * Request model for the link delete endpoint.
+ * 
+ * Names the links to delete either as a list of short URLs, or as the
+ * first and last short URLs of an id range; exactly one of the two forms
+ * must be given.
+ * 
+ * @param shortUrls short URLs or bare short codes to delete
+ * @param from short URL of the first link of the id range to delete
+ * @param to short URL of the last link of the id range to delete
+ */
+public record DeleteRequest(List<String> shortUrls, String from, String to) {
+    
+    /**
+     * Creates a request deleting a list of short URLs.
+     * 
+     * @param shortUrls short URLs or bare short codes to delete
+     */
+    public DeleteRequest(List<String> shortUrls) {
+        this(shortUrls, null, null);
+    }
+}
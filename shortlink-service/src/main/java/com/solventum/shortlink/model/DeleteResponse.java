@@ -0,0 +1,9 @@
+package com.solventum.shortlink.model;
+
+/**
+ * Response model for the link delete endpoint.
+ * 
+ * @param deleted number of listed short URLs that existed and were deleted
+ */
+public record DeleteResponse(int deleted) {
+}
@@ -1,39 +1,56 @@
 package com.solventum.shortlink.model;
 
+import com.solventum.shortlink.validation.RequestValidator;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 
 /**
  * Request model for URL encoding endpoint.
  * 
- * Contains the long URL that needs to be shortened.
+ * Contains the long URL that needs to be shortened and, optionally, when the
+ * short link should expire (either a TTL or an absolute time, not both) or
+ * a custom alias to use instead of a generated short code.
+ * The constraints document the API contract; at runtime they are enforced
+ * once per request by {@link RequestValidator} instead of bean validation.
+ * Serialized by {@link com.solventum.shortlink.json.ShortlinkJsonModule}.
+ * 
+ * @param url the long URL to shorten
+ * @param ttl optional time to live in seconds
+ * @param expiresAt optional expiration time in epoch milliseconds
+ * @param alias optional custom alias, for a permanent link
  */
-public class EncodeRequest {
+public record EncodeRequest(
+    @NotBlank(message = RequestValidator.URL_REQUIRED)
+    @Size(max = RequestValidator.MAX_URL_LENGTH, message = RequestValidator.URL_TOO_LONG)
+    String url,
     
-    @NotBlank(message = "URL is required")
-    @Size(max = 2048, message = "URL is too long (maximum 2048 characters)")
-    private String url;
+    @Positive(message = RequestValidator.TTL_NOT_POSITIVE)
+    Long ttl,
     
-    // Default constructor for Jackson
-    public EncodeRequest() {
-    }
+    Long expiresAt,
     
-    public EncodeRequest(String url) {
-        this.url = url;
-    }
+    @Size(max = RequestValidator.MAX_ALIAS_LENGTH, message = RequestValidator.ALIAS_INVALID)
+    String alias
+) {
     
-    public String getUrl() {
-        return url;
+    /**
+     * Creates a request for a generated short code.
+     * 
+     * @param url the long URL to shorten
+     * @param ttl optional time to live in seconds
+     * @param expiresAt optional expiration time in epoch milliseconds
+     */
+    public EncodeRequest(String url, Long ttl, Long expiresAt) {
+        this(url, ttl, expiresAt, null);
     }
     
-    public void setUrl(String url) {
-        this.url = url;
-    }
-    
-    @Override
-    public String toString() {
-        return "EncodeRequest{" +
-                "url='" + url + '\'' +
-                '}';
+    /**
+     * Creates a request for a link that never expires.
+     * 
+     * @param url the long URL to shorten
+     */
+    public EncodeRequest(String url) {
+        this(url, null, null, null);
     }
-}
\ No newline at end of file
+}
@@ -1,56 +1,38 @@
 package com.solventum.shortlink.model;
 
+import com.solventum.shortlink.util.CoarseClock;
+
 /**
  * Response model for URL encoding endpoint.
  * 
  * Contains both the original URL and the generated short URL.
+ * Serialized by {@link com.solventum.shortlink.json.ShortlinkJsonModule}.
+ * 
+ * @param shortUrl the generated short URL
+ * @param originalUrl the URL that was shortened
+ * @param timestamp response creation time in epoch milliseconds
+ * @param expiresAt expiration time in epoch milliseconds, or null for a permanent link
  */
-public class EncodeResponse {
-    
-    private String shortUrl;
-    private String originalUrl;
-    private long timestamp;
-    
-    // Default constructor for Jackson
-    public EncodeResponse() {
-    }
-    
+public record EncodeResponse(String shortUrl, String originalUrl, long timestamp, Long expiresAt) {
+    
+    /**
+     * Creates a response for a permanent link.
+     * 
+     * @param shortUrl the generated short URL
+     * @param originalUrl the URL that was shortened
+     * @param timestamp response creation time in epoch milliseconds
+     */
+    public EncodeResponse(String shortUrl, String originalUrl, long timestamp) {
+        this(shortUrl, originalUrl, timestamp, null);
+    }
+    
+    /**
+     * Creates a response for a permanent link, stamped with the cached current time.
+     * 
+     * @param shortUrl the generated short URL
+     * @param originalUrl the URL that was shortened
+     */
     public EncodeResponse(String shortUrl, String originalUrl) {
-        this.shortUrl = shortUrl;
-        this.originalUrl = originalUrl;
-        this.timestamp = System.currentTimeMillis();
-    }
-    
-    public String getShortUrl() {
-        return shortUrl;
-    }
-    
-    public void setShortUrl(String shortUrl) {
-        this.shortUrl = shortUrl;
-    }
-    
-    public String getOriginalUrl() {
-        return originalUrl;
-    }
-    
-    public void setOriginalUrl(String originalUrl) {
-        this.originalUrl = originalUrl;
-    }
-    
-    public long getTimestamp() {
-        return timestamp;
-    }
-    
-    public void setTimestamp(long timestamp) {
-        this.timestamp = timestamp;
-    }
-    
-    @Override
-    public String toString() {
-        return "EncodeResponse{" +
-                "shortUrl='" + shortUrl + '\'' +
-                ", originalUrl='" + originalUrl + '\'' +
-                ", timestamp=" + timestamp +
-                '}';
+        this(shortUrl, originalUrl, CoarseClock.currentTimeMillis(), null);
     }
-}
\ No newline at end of file
+}
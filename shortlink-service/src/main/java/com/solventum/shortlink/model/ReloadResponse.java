@@ -0,0 +1,9 @@
+package com.solventum.shortlink.model;
+
+/**
+ * Response model for the link reload endpoint.
+ * 
+ * @param loaded number of links loaded from the link table
+ */
+public record ReloadResponse(long loaded) {
+}
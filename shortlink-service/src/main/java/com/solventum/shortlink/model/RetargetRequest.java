@@ -0,0 +1,26 @@
+package com.solventum.shortlink.model;
+
+import com.solventum.shortlink.validation.RequestValidator;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Request model for the link retarget endpoint.
+ * 
+ * Contains an existing short URL and the long URL it should lead to from
+ * now on. The constraints document the API contract; at runtime they are
+ * enforced once per request by {@link RequestValidator}.
+ * 
+ * @param shortUrl the short URL or bare short code to retarget
+ * @param url the new long URL
+ */
+public record RetargetRequest(
+    @NotBlank(message = RequestValidator.SHORT_URL_REQUIRED)
+    @Size(max = RequestValidator.MAX_SHORT_URL_LENGTH, message = RequestValidator.SHORT_URL_TOO_LONG)
+    String shortUrl,
+    
+    @NotBlank(message = RequestValidator.URL_REQUIRED)
+    @Size(max = RequestValidator.MAX_URL_LENGTH, message = RequestValidator.URL_TOO_LONG)
+    String url
+) {
+}
@@ -0,0 +1,230 @@
+package com.solventum.shortlink.pipeline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Funnels encodes from many request threads through one writer thread.
+ *
+ * The ring is a preallocated array of slots, in the style of the LMAX
+ * Disruptor. A request thread claims the next sequence number with a
+ * compare-and-set on the cursor, fills the slot it maps to, and publishes
+ * it by writing the sequence number into the slot; it never takes a lock.
+ * The writer thread consumes published slots strictly in sequence order,
+ * runs the encode function on each and completes the caller's future, and
+ * only then makes the slots reusable. Because the writer is the only
+ * thread running the function, id assignment, deduplication and store
+ * writes happen one at a time with no contention, and two concurrent
+ * encodes of the same URL can no longer race to create two codes.
+ *
+ * When the ring is full, request threads spin until the writer frees a
+ * slot. When it is empty, the writer parks, and the next publisher wakes it.
+ */
+public class EncodePipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(EncodePipeline.class);
+
+    // Busy checks before the idle writer parks, and how long it parks before checking whether it was shut down
+    private static final int SPIN_TRIES = 100;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final Slot[] ring;
+    private final int mask;
+    private final Function<String, String> encoder;
+    private final Thread writer;
+
+    // Next sequence number to claim
+    private final AtomicLong cursor = new AtomicLong();
+
+    // Sequence numbers below this one are processed, so their slots can be reused
+    private volatile long consumed;
+
+    private volatile boolean waiting;
+    private volatile boolean running = true;
+
+    /**
+     * Creates and starts a pipeline.
+     *
+     * @param ringSize number of slots, rounded up to a power of two
+     * @param encoder encodes a canonical long URL into a short code; only ever called from the writer thread
+     */
+    public EncodePipeline(int ringSize, Function<String, String> encoder) {
+        if (ringSize < 1 || ringSize > 1 << 30) {
+            throw new IllegalArgumentException("Ring size must be between 1 and 2^30");
+        }
+        int capacity = Integer.highestOneBit(ringSize) == ringSize ? ringSize : Integer.highestOneBit(ringSize) << 1;
+        this.ring = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+        this.encoder = encoder;
+        this.writer = new Thread(this::run, "encode-pipeline");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Encodes a long URL on the writer thread and waits for the result.
+     *
+     * @param longUrl the canonical long URL
+     * @return the short code
+     * @throws IllegalStateException if the pipeline is shut down
+     */
+    public String encode(String longUrl) {
+        try {
+            return submit(longUrl).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Queues a long URL for encoding on the writer thread.
+     *
+     * @param longUrl the canonical long URL
+     * @return future completed with the short code once the writer has stored it
+     * @throws IllegalStateException if the pipeline is shut down
+     */
+    public CompletableFuture<String> submit(String longUrl) {
+        long sequence = claim();
+        Slot slot = ring[(int) sequence & mask];
+        CompletableFuture<String> done = new CompletableFuture<>();
+        slot.longUrl = longUrl;
+        slot.done = done;
+        // Publishing the sequence number makes the plain writes above visible to the writer
+        slot.sequence = sequence;
+        if (!running) {
+            // The writer may have drained the ring before this slot was published
+            done.completeExceptionally(shutDown());
+        } else if (waiting) {
+            LockSupport.unpark(writer);
+        }
+        return done;
+    }
+
+    /**
+     * Returns the number of encodes queued but not yet completed.
+     *
+     * @return pending encode count
+     */
+    public int getPendingCount() {
+        return (int) Math.max(0, cursor.get() - consumed);
+    }
+
+    /**
+     * Stops the writer thread once it finishes the encode in progress.
+     * Encodes still queued fail with an IllegalStateException.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long claim() {
+        while (true) {
+            if (!running) {
+                throw shutDown();
+            }
+            long sequence = cursor.get();
+            if (sequence - ring.length >= consumed) {
+                // Ring full: the slot still holds an encode the writer has not finished
+                Thread.onSpinWait();
+                Thread.yield();
+            } else if (cursor.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    private void run() {
+        long next = 0;
+        int idle = 0;
+        while (running) {
+            Slot slot = ring[(int) next & mask];
+            if (slot.sequence != next) {
+                if (++idle < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                waiting = true;
+                // Check again after announcing the wait, so that a publisher either sees it or is seen here
+                if (slot.sequence != next && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                waiting = false;
+                idle = 0;
+                continue;
+            }
+            // Process every published slot in a row, then release them together
+            do {
+                process(slot);
+                next++;
+                slot = ring[(int) next & mask];
+            } while (slot.sequence == next && running);
+            consumed = next;
+            idle = 0;
+        }
+        failPending(next);
+    }
+
+    private void process(Slot slot) {
+        String longUrl = slot.longUrl;
+        CompletableFuture<String> done = slot.done;
+        slot.longUrl = null;
+        slot.done = null;
+        try {
+            done.complete(encoder.apply(longUrl));
+        } catch (RuntimeException e) {
+            done.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Fails every slot published after the last processed one. Slots are not
+     * necessarily published in order, so the whole claimed range is checked.
+     */
+    private void failPending(long next) {
+        long end = cursor.get();
+        int failed = 0;
+        for (long sequence = next; sequence < end; sequence++) {
+            Slot slot = ring[(int) sequence & mask];
+            if (slot.sequence == sequence && slot.done != null) {
+                slot.done.completeExceptionally(shutDown());
+                slot.longUrl = null;
+                slot.done = null;
+                failed++;
+            }
+        }
+        consumed = end;
+        if (failed > 0) {
+            logger.warn("Encode pipeline shut down with {} encodes pending", failed);
+        }
+    }
+
+    private static IllegalStateException shutDown() {
+        return new IllegalStateException("Encode pipeline is shut down");
+    }
+
+    private static final class Slot {
+        // Sequence number of the encode this slot holds, once published; -1 before the first use
+        volatile long sequence = -1;
+        String longUrl;
+        CompletableFuture<String> done;
+    }
+}
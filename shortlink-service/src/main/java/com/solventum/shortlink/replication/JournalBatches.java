@@ -0,0 +1,79 @@
+package com.solventum.shortlink.replication;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Wire format of journal batches shipped from a leader to its followers.
+ *
+ * A follower asks for the records after an offset with
+ * {@code GET /api/replication/journal?from=&journalId=&maxBytes=&waitMs=}.
+ * The response body is the raw records, deflate-compressed, and the headers
+ * carry the journal's id, the offset after the batch and the journal's end
+ * when the batch was read. A request naming a different journal, or an
+ * offset past its end, is answered with 409 Conflict, and the follower
+ * starts over from the beginning of the current journal.
+ */
+public final class JournalBatches {
+
+    /**
+     * Path of the leader's journal endpoint.
+     */
+    public static final String PATH = "/api/replication/journal";
+
+    /**
+     * Response header holding the journal id.
+     */
+    public static final String JOURNAL_ID_HEADER = "X-Journal-Id";
+
+    /**
+     * Response header holding the offset to request the next batch from.
+     */
+    public static final String NEXT_OFFSET_HEADER = "X-Journal-Next";
+
+    /**
+     * Response header holding the journal's end offset.
+     */
+    public static final String END_OFFSET_HEADER = "X-Journal-End";
+
+    private JournalBatches() {
+    }
+
+    /**
+     * Compresses a batch of records for shipping. URLs compress well, and
+     * the fastest deflate level keeps the leader's cost per batch low.
+     *
+     * @param records raw journal records
+     * @return the compressed batch
+     */
+    public static byte[] compress(byte[] records) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(records.length / 3 + 64);
+        try (DeflaterOutputStream deflated = new DeflaterOutputStream(out, deflater, 8192)) {
+            deflated.write(records);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decompresses a shipped batch.
+     *
+     * @param batch the compressed batch
+     * @return the raw journal records
+     * @throws IOException if the batch is not valid deflate data
+     */
+    public static byte[] decompress(byte[] batch) throws IOException {
+        try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(batch))) {
+            return in.readAllBytes();
+        }
+    }
+}
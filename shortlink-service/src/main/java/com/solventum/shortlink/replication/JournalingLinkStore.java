@@ -0,0 +1,214 @@
+package com.solventum.shortlink.replication;
+
+import com.solventum.shortlink.store.LinkStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.OptionalLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Link store on a replication leader, recording every mapping change in a
+ * {@link MappingJournal} for followers to tail.
+ *
+ * Changes are journaled after they are applied, so a follower never sees a
+ * mapping the leader does not hold. Reverse index entries are not journaled:
+ * followers only decode.
+ *
+ * The journal outlives the process, but a store that is not persistent
+ * comes back empty, with an id watermark of 0, and would hand out the
+ * journaled codes again for other URLs. Over such a store, a journal left
+ * by a previous run is cut off with a CLEAR record on opening, so that
+ * followers forget those codes as the leader did.
+ */
+public class JournalingLinkStore implements LinkStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalingLinkStore.class);
+
+    private final LinkStore delegate;
+    private final MappingJournal journal;
+
+    /**
+     * Creates a store journaling the changes made to another in a journal file,
+     * which is created if it does not exist and appended to otherwise.
+     *
+     * @param delegate the store holding the mappings
+     * @param journalPath the journal file
+     * @throws UncheckedIOException if the journal cannot be opened
+     */
+    public JournalingLinkStore(LinkStore delegate, Path journalPath) {
+        this(delegate, openJournal(journalPath));
+    }
+
+    /**
+     * Creates a store journaling the changes made to another.
+     *
+     * @param delegate the store holding the mappings
+     * @param journal the journal to append to
+     */
+    public JournalingLinkStore(LinkStore delegate, MappingJournal journal) {
+        this.delegate = delegate;
+        this.journal = journal;
+        if (!delegate.isPersistent() && journal.end() > journal.start()) {
+            // The store starts empty and its ids start over, so the codes journaled by the last run must go
+            logger.info("Link store does not survive restarts, clearing the links journaled before in {}",
+                journal.path());
+            journal.appendClear();
+        }
+    }
+
+    /**
+     * Returns the journal followers read from.
+     *
+     * @return the mapping journal
+     */
+    public MappingJournal journal() {
+        return journal;
+    }
+
+    @Override
+    public String get(String shortCode) {
+        return delegate.get(shortCode);
+    }
+
+    @Override
+    public void put(String shortCode, String longUrl) {
+        delegate.put(shortCode, longUrl);
+        journal.appendPut(shortCode, longUrl);
+    }
+
+    @Override
+    public void putIndexed(String shortCode, String longUrl) {
+        delegate.putIndexed(shortCode, longUrl);
+        journal.appendPut(shortCode, longUrl);
+    }
+
+    @Override
+    public void index(String longUrl, String shortCode) {
+        delegate.index(longUrl, shortCode);
+    }
+
+    @Override
+    public String findCode(String longUrl) {
+        return delegate.findCode(longUrl);
+    }
+
+    @Override
+    public String remove(String shortCode) {
+        String longUrl = delegate.remove(shortCode);
+        if (longUrl != null) {
+            journal.appendRemove(shortCode);
+        }
+        return longUrl;
+    }
+
+    @Override
+    public String replace(String shortCode, String longUrl) {
+        String previous = delegate.replace(shortCode, longUrl);
+        if (previous != null) {
+            journal.appendPut(shortCode, longUrl);
+        }
+        return previous;
+    }
+
+    @Override
+    public boolean isPersistent() {
+        return delegate.isPersistent();
+    }
+
+    @Override
+    public long preTouch() {
+        return delegate.preTouch();
+    }
+
+    @Override
+    public void forEach(BiConsumer<String, String> action) {
+        delegate.forEach(action);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        journal.appendClear();
+    }
+
+    @Override
+    public void load(Consumer<BiConsumer<String, String>> dataset) {
+        delegate.load(dataset);
+        // Writes racing the swap may be journaled before the clear; replaying the new mappings covers them
+        journal.appendClear();
+        delegate.forEach(journal::appendPut);
+    }
+
+    @Override
+    public void saveExpiration(String shortCode, long expiresAtMillis) {
+        delegate.saveExpiration(shortCode, expiresAtMillis);
+    }
+
+    @Override
+    public void forEachExpiration(BiConsumer<String, Long> action) {
+        delegate.forEachExpiration(action);
+    }
+
+    @Override
+    public void saveAlias(String alias, String longUrl) {
+        delegate.saveAlias(alias, longUrl);
+    }
+
+    @Override
+    public void removeAlias(String alias) {
+        delegate.removeAlias(alias);
+    }
+
+    @Override
+    public void forEachAlias(BiConsumer<String, String> action) {
+        delegate.forEachAlias(action);
+    }
+
+    @Override
+    public long loadIdWatermark() {
+        return delegate.loadIdWatermark();
+    }
+
+    @Override
+    public void saveIdWatermark(long watermark) {
+        delegate.saveIdWatermark(watermark);
+    }
+
+    @Override
+    public OptionalLong loadCodecFingerprint() {
+        return delegate.loadCodecFingerprint();
+    }
+
+    @Override
+    public void saveCodecFingerprint(long fingerprint) {
+        delegate.saveCodecFingerprint(fingerprint);
+    }
+
+    private static MappingJournal openJournal(Path journalPath) {
+        try {
+            return MappingJournal.open(journalPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open mapping journal " + journalPath, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            journal.close();
+        } catch (IOException e) {
+            logger.error("Cannot close mapping journal {}: ", journal.path(), e);
+        }
+        delegate.close();
+    }
+}
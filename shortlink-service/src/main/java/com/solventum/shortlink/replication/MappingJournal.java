@@ -0,0 +1,328 @@
+package com.solventum.shortlink.replication;
+
+import com.solventum.shortlink.store.LinkStore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of link store writes, shipped to followers for replication.
+ *
+ * The file starts with a {@value #HEADER_BYTES}-byte header holding a random
+ * journal id, which changes whenever the journal is recreated, so followers
+ * can tell a new journal from a longer one. Each record is
+ * {@code length, crc32, op, fields}, with fields written as modified UTF-8:
+ * {@code PUT shortCode longUrl}, {@code REMOVE shortCode} or {@code CLEAR}.
+ * Records are flushed to the operating system as they are appended, so they
+ * survive a process crash; on reopening, a torn or corrupt tail is cut off.
+ *
+ * Positions in the journal are byte offsets into the file. Readers fetch
+ * whole records from any record boundary, and may wait for new records to
+ * be appended.
+ */
+public final class MappingJournal implements Closeable {
+
+    static final int HEADER_BYTES = 16;
+    static final int MAX_RECORD_BYTES = 16 * 1024;
+
+    private static final int MAGIC = 0x4d4a524e;
+    private static final int VERSION = 1;
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte CLEAR = 3;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long journalId;
+    private final CRC32 crc = new CRC32();
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+
+    // Offset just past the last complete record, guarded by this for writes
+    private volatile long end;
+
+    private MappingJournal(Path path, FileChannel channel, long journalId, long end) {
+        this.path = path;
+        this.channel = channel;
+        this.journalId = journalId;
+        this.end = end;
+    }
+
+    /**
+     * Opens a journal, creating it if the file does not exist.
+     *
+     * @param path the journal file
+     * @return the open journal, positioned after its last intact record
+     * @throws IOException if the file cannot be read or is not a journal
+     */
+    public static MappingJournal open(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_BYTES) {
+                long journalId = ThreadLocalRandom.current().nextLong();
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).putLong(journalId);
+                channel.truncate(0);
+                channel.write(header.flip(), 0);
+                channel.force(true);
+                return new MappingJournal(path, channel, journalId, HEADER_BYTES);
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a mapping journal: " + path);
+            }
+            long journalId = header.getLong();
+            long end = recover(channel);
+            channel.truncate(end);
+            return new MappingJournal(path, channel, journalId, end);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the id identifying this journal file.
+     *
+     * @return the journal id
+     */
+    public long journalId() {
+        return journalId;
+    }
+
+    /**
+     * Returns the offset of the first record.
+     *
+     * @return the start offset
+     */
+    public long start() {
+        return HEADER_BYTES;
+    }
+
+    /**
+     * Returns the offset just past the last appended record.
+     *
+     * @return the end offset
+     */
+    public long end() {
+        return end;
+    }
+
+    /**
+     * Returns the journal file.
+     *
+     * @return the path
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * Appends a stored mapping.
+     *
+     * @param shortCode the short code
+     * @param longUrl the long URL
+     */
+    public void appendPut(String shortCode, String longUrl) {
+        append(PUT, shortCode, longUrl);
+    }
+
+    /**
+     * Appends a removed mapping.
+     *
+     * @param shortCode the short code
+     */
+    public void appendRemove(String shortCode) {
+        append(REMOVE, shortCode, null);
+    }
+
+    /**
+     * Appends the removal of every mapping.
+     */
+    public void appendClear() {
+        append(CLEAR, null, null);
+    }
+
+    private synchronized void append(byte op, String shortCode, String longUrl) {
+        try {
+            record.reset();
+            recordOut.writeInt(0);
+            recordOut.writeInt(0);
+            recordOut.writeByte(op);
+            if (shortCode != null) {
+                recordOut.writeUTF(shortCode);
+            }
+            if (longUrl != null) {
+                recordOut.writeUTF(longUrl);
+            }
+            byte[] bytes = record.toByteArray();
+            int length = bytes.length - RECORD_HEADER_BYTES;
+            crc.reset();
+            crc.update(bytes, RECORD_HEADER_BYTES, length);
+            ByteBuffer.wrap(bytes).putInt(length).putInt((int) crc.getValue());
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            long position = end;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            end = position;
+            notifyAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to mapping journal " + path, e);
+        }
+    }
+
+    /**
+     * Reads whole records starting at a record boundary. At least one record
+     * is returned if any is available, even if it is larger than
+     * {@code maxBytes}.
+     *
+     * @param from offset of the first record to read
+     * @param maxBytes preferred maximum number of bytes to return
+     * @return the records, empty if {@code from} is the end of the journal
+     * @throws IOException if the journal cannot be read
+     * @throws IllegalArgumentException if {@code from} is outside the journal
+     */
+    public byte[] read(long from, int maxBytes) throws IOException {
+        long limit = end;
+        if (from < HEADER_BYTES || from > limit) {
+            throw new IllegalArgumentException("Offset " + from + " is outside the journal");
+        }
+        int size = (int) Math.min(limit - from, (long) Math.max(maxBytes, 0) + MAX_RECORD_BYTES);
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        readFully(channel, buffer, from);
+        // Keep the records that fit in maxBytes, and always the first
+        int length = 0;
+        while (length + RECORD_HEADER_BYTES <= size) {
+            int recordBytes = RECORD_HEADER_BYTES + buffer.getInt(length);
+            if (length + recordBytes > size || (length > 0 && length + recordBytes > maxBytes)) {
+                break;
+            }
+            length += recordBytes;
+        }
+        byte[] records = new byte[length];
+        buffer.get(0, records);
+        return records;
+    }
+
+    /**
+     * Waits until records are appended beyond an offset.
+     *
+     * @param offset the offset already read up to
+     * @param timeoutMs maximum time to wait
+     * @return true if the journal extends beyond the offset
+     */
+    public synchronized boolean await(long offset, long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMs * 1_000_000;
+        while (end <= offset) {
+            long remainingMs = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMs <= 0) {
+                return false;
+            }
+            wait(remainingMs);
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.force(true);
+        channel.close();
+    }
+
+    /**
+     * Applies records read from a journal to a link store.
+     *
+     * @param records whole records, as returned by {@link #read}
+     * @param store the store to apply them to
+     * @return the number of records applied
+     * @throws IOException if a record is truncated or fails its checksum
+     */
+    public static int apply(byte[] records, LinkStore store) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(records);
+        CRC32 checksum = new CRC32();
+        int count = 0;
+        while (buffer.hasRemaining()) {
+            if (buffer.remaining() < RECORD_HEADER_BYTES) {
+                throw new IOException("Truncated journal record at " + buffer.position());
+            }
+            int length = buffer.getInt();
+            int expected = buffer.getInt();
+            if (length < 1 || length > buffer.remaining()) {
+                throw new IOException("Truncated journal record at " + (buffer.position() - RECORD_HEADER_BYTES));
+            }
+            checksum.reset();
+            checksum.update(records, buffer.position(), length);
+            if ((int) checksum.getValue() != expected) {
+                throw new IOException("Corrupt journal record at " + (buffer.position() - RECORD_HEADER_BYTES));
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(records, buffer.position(), length));
+            byte op = in.readByte();
+            switch (op) {
+                case PUT -> store.put(in.readUTF(), in.readUTF());
+                case REMOVE -> store.remove(in.readUTF());
+                case CLEAR -> store.clear();
+                default -> throw new IOException("Unknown journal op " + op);
+            }
+            buffer.position(buffer.position() + length);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Finds the end of the last intact record.
+     */
+    private static long recover(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long position = HEADER_BYTES;
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        CRC32 checksum = new CRC32();
+        while (position + RECORD_HEADER_BYTES <= size) {
+            header.clear();
+            readFully(channel, header, position);
+            int length = header.getInt(0);
+            if (length < 1 || length > MAX_RECORD_BYTES || position + RECORD_HEADER_BYTES + length > size) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(channel, payload, position + RECORD_HEADER_BYTES);
+            checksum.reset();
+            checksum.update(payload.flip());
+            if ((int) checksum.getValue() != header.getInt(4)) {
+                break;
+            }
+            position += RECORD_HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Unexpected end of mapping journal");
+            }
+        }
+    }
+}
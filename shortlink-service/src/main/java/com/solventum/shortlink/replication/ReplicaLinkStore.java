@@ -0,0 +1,265 @@
+package com.solventum.shortlink.replication;
+
+import com.solventum.shortlink.store.LinkStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Read-only link store on a replication follower, kept up to date by
+ * tailing the leader's {@link MappingJournal} over HTTP.
+ *
+ * A background thread long-polls the leader for batches of records after
+ * the last applied offset and applies them to a local store, which serves
+ * decodes without contacting the leader. The follower holds no reverse
+ * index, and every write operation throws
+ * {@link UnsupportedOperationException}. Links with a TTL stay readable
+ * until the leader's eviction of them is replicated.
+ *
+ * The applied offset is not persisted: a restarted follower replays the
+ * journal from its start, which is idempotent. If the leader's journal is
+ * replaced, the follower clears its store and replays the new one.
+ */
+public class ReplicaLinkStore implements LinkStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLinkStore.class);
+
+    private static final long RETRY_DELAY_MS = 1000;
+
+    private final LinkStore delegate;
+    private final URI journalUri;
+    private final int batchBytes;
+    private final long pollWaitMs;
+    private final HttpClient client;
+    private final Thread follower;
+    private volatile boolean running = true;
+
+    // Replication position, written by the follower thread only
+    private volatile String journalId;
+    private volatile long appliedOffset;
+    private volatile long leaderEndOffset;
+    private volatile long lastContactMillis;
+    private final AtomicLong appliedRecords = new AtomicLong();
+
+    /**
+     * Creates a follower store and starts tailing the leader.
+     *
+     * @param delegate the local store to apply the journal to
+     * @param leaderUrl base URL of the leader
+     * @param batchBytes preferred maximum size of a batch, before compression
+     * @param pollWaitMs how long the leader may hold a poll open waiting for new records
+     */
+    public ReplicaLinkStore(LinkStore delegate, String leaderUrl, int batchBytes, long pollWaitMs) {
+        this.delegate = delegate;
+        this.journalUri = URI.create(leaderUrl).resolve(JournalBatches.PATH);
+        this.batchBytes = batchBytes;
+        this.pollWaitMs = pollWaitMs;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        this.follower = new Thread(this::follow, "journal-follower");
+        follower.setDaemon(true);
+        follower.start();
+    }
+
+    @Override
+    public String get(String shortCode) {
+        return delegate.get(shortCode);
+    }
+
+    @Override
+    public void put(String shortCode, String longUrl) {
+        throw readOnly();
+    }
+
+    @Override
+    public void index(String longUrl, String shortCode) {
+        throw readOnly();
+    }
+
+    /**
+     * Always returns null: followers hold no reverse index, and encoding is
+     * rejected by {@link #put} anyway.
+     */
+    @Override
+    public String findCode(String longUrl) {
+        return null;
+    }
+
+    @Override
+    public String remove(String shortCode) {
+        throw readOnly();
+    }
+
+    @Override
+    public String replace(String shortCode, String longUrl) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean isPersistent() {
+        return delegate.isPersistent();
+    }
+
+    @Override
+    public long preTouch() {
+        return delegate.preTouch();
+    }
+
+    @Override
+    public void forEach(BiConsumer<String, String> action) {
+        delegate.forEach(action);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void clear() {
+        throw readOnly();
+    }
+
+    /**
+     * Returns the journal offset applied up to.
+     *
+     * @return the applied offset, 0 before the first batch
+     */
+    public long getAppliedOffset() {
+        return appliedOffset;
+    }
+
+    /**
+     * Returns the leader's journal end offset as of the last batch received.
+     *
+     * @return the leader's end offset
+     */
+    public long getLeaderEndOffset() {
+        return leaderEndOffset;
+    }
+
+    /**
+     * Returns how many journal bytes the follower was behind the leader
+     * after applying the last batch.
+     *
+     * @return replication lag in bytes
+     */
+    public long getLagBytes() {
+        return Math.max(0, leaderEndOffset - appliedOffset);
+    }
+
+    /**
+     * Returns the time since the leader last answered a poll. Polls are
+     * answered at least every poll wait, so a value well above it means the
+     * follower is cut off and its data ages by that much.
+     *
+     * @return milliseconds since last contact, or -1 if the leader never answered
+     */
+    public long getMillisSinceContact() {
+        long lastContact = lastContactMillis;
+        return lastContact == 0 ? -1 : System.currentTimeMillis() - lastContact;
+    }
+
+    /**
+     * Returns the number of journal records applied.
+     *
+     * @return applied record count
+     */
+    public long getAppliedRecords() {
+        return appliedRecords.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        follower.interrupt();
+        try {
+            follower.join(RETRY_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        delegate.close();
+    }
+
+    private void follow() {
+        boolean failing = false;
+        while (running) {
+            try {
+                poll();
+                if (failing) {
+                    logger.info("Resumed replication from {}", journalUri);
+                    failing = false;
+                }
+            } catch (IOException | RuntimeException e) {
+                if (!failing) {
+                    logger.warn("Cannot replicate from {}, retrying: {}", journalUri, e.toString());
+                    failing = true;
+                }
+                try {
+                    Thread.sleep(RETRY_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Fetches and applies one batch.
+     */
+    private void poll() throws IOException, InterruptedException {
+        String query = "?from=" + appliedOffset + "&maxBytes=" + batchBytes + "&waitMs=" + pollWaitMs
+            + (journalId == null ? "" : "&journalId=" + journalId);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(journalUri + query))
+            .timeout(Duration.ofMillis(pollWaitMs + 10_000))
+            .GET()
+            .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() == 409) {
+            // New journal on the leader: start over from its beginning
+            logger.warn("Leader journal {} replaced, replaying from the start", journalId);
+            delegate.clear();
+            journalId = null;
+            appliedOffset = 0;
+            return;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Leader answered " + response.statusCode());
+        }
+        String id = header(response, JournalBatches.JOURNAL_ID_HEADER);
+        long next = Long.parseLong(header(response, JournalBatches.NEXT_OFFSET_HEADER));
+        long end = Long.parseLong(header(response, JournalBatches.END_OFFSET_HEADER));
+        byte[] records = JournalBatches.decompress(response.body());
+        appliedRecords.addAndGet(MappingJournal.apply(records, delegate));
+        journalId = id;
+        appliedOffset = next;
+        leaderEndOffset = end;
+        lastContactMillis = System.currentTimeMillis();
+    }
+
+    private static String header(HttpResponse<?> response, String name) throws IOException {
+        return response.headers().firstValue(name)
+            .orElseThrow(() -> new IOException("Leader response is missing " + name));
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Link store is a read-only replica on this node");
+    }
+}
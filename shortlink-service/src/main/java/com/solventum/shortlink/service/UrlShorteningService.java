@@ -1,82 +1,424 @@
 package com.solventum.shortlink.service;
 
+import com.solventum.shortlink.alias.AliasTakenException;
+import com.solventum.shortlink.alias.AliasTrie;
+import com.solventum.shortlink.cluster.ClusterTopology;
+import com.solventum.shortlink.expiry.ExpirationScheduler;
+import com.solventum.shortlink.id.IdGenerator;
+import com.solventum.shortlink.id.SequentialIdGenerator;
+import com.solventum.shortlink.id.ShortCodePool;
+import com.solventum.shortlink.pipeline.EncodePipeline;
+import com.solventum.shortlink.stats.HotLinkTracker;
+import com.solventum.shortlink.store.InMemoryLinkStore;
+import com.solventum.shortlink.store.LinkStore;
+import com.solventum.shortlink.store.mapped.LinkTableWriter;
+import com.solventum.shortlink.store.mapped.MappedLinkTable;
+import com.solventum.shortlink.tombstone.TombstoneCompactor;
+import com.solventum.shortlink.tombstone.Tombstones;
+import com.solventum.shortlink.util.ShortCodeCodec;
+import com.solventum.shortlink.util.SingleFlight;
+import com.solventum.shortlink.validation.RequestValidator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.regex.Pattern;
+import java.util.function.Supplier;
 
 /**
  * Service responsible for URL encoding and decoding operations.
  * 
  * This service implements a Base-62 encoding algorithm to generate short URLs
  * from long URLs and maintains bidirectional mapping for quick lookups.
+ * Mappings live in a {@link LinkStore}, which may bound heap usage by
+ * spilling cold mappings to disk. Short codes are the Base-62 encoding of
+ * ids handed out by an {@link IdGenerator}, optionally scrambled by the
+ * {@link ShortCodeCodec} so they do not reveal the allocation order.
+ * Custom aliases live apart from the store, in an {@link AliasTrie}, and
+ * are looked up only when a code is not in the store. An alias may look
+ * like a generated code: creating it fails if that code was issued, and
+ * the generator skips codes taken by aliases, so a code is never in both.
+ * Deleting a link only records a tombstone, checked before the store is
+ * trusted; a background {@link TombstoneCompactor} removes the mapping
+ * later, so deletes never hold up encodes or decodes.
+ * Optionally, encodes creating a link are handed to an {@link EncodePipeline}
+ * whose single writer thread assigns ids, deduplicates and stores mappings
+ * one at a time instead of request threads contending for them.
+ * The asynchronous variants of encode and decode run on a separate storage
+ * executor, so that callers are not held up by slow store operations.
+ * With coalescing enabled, concurrent decodes of the same short code share
+ * one store lookup and concurrent encodes of the same URL share one insert,
+ * so a burst of identical requests reaches the store once.
+ * New short codes may come ready-made from a {@link ShortCodePool} filled
+ * in the background, so an encode does not allocate and encode an id itself.
  * 
- * Thread-safe implementation using ConcurrentHashMap and AtomicLong.
+ * Thread-safe: the mappings live in the {@link LinkStore} and ids come from
+ * the {@link IdGenerator}, both of which are safe for concurrent use.
  */
 @Service
 public class UrlShorteningService {
     
-    // Base-62 alphabet: a-z, A-Z, 0-9 (62 characters total)
-    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-    private static final int BASE = ALPHABET.length();
+    // Exports are refused when the table would have more empty slots than this allows
+    private static final long MAX_EXPORT_SLOTS_PER_LINK = 64;
+    private static final long MIN_EXPORT_SLOTS = 1 << 20;
     
-    // URL validation pattern - basic but effective for most cases
-    private static final Pattern URL_PATTERN = Pattern.compile(
-        "^https?://.+\\..+$",
-        Pattern.CASE_INSENSITIVE
-    );
+    // Short code to long URL mappings, and the reverse index used to reuse short codes
+    private final LinkStore linkStore;
     
-    // Thread-safe storage for bidirectional URL mapping
-    private final ConcurrentHashMap<String, String> shortToLongMap = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, String> longToShortMap = new ConcurrentHashMap<>();
+    // Custom aliases, which never share a code with a stored link
+    private final AliasTrie aliases = new AliasTrie();
     
-    // Atomic counter to ensure unique IDs
-    private final AtomicLong counter = new AtomicLong(1);
+    // Expiration times of links created with a TTL, keyed by short code; replaced as a whole on clear
+    private volatile ConcurrentHashMap<String, Long> expirations = new ConcurrentHashMap<>();
+    
+    // Source of the ids short codes are encoded from
+    private final IdGenerator idGenerator;
+    
+    // Converts ids to short codes and back
+    private final ShortCodeCodec codec;
+    
+    // Deleted codes whose mappings have not been reclaimed yet
+    private final Tombstones tombstones;
+    
+    // Expiration statistics
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong reclaimedBytes = new AtomicLong();
+    private final AtomicLong deletedCount = new AtomicLong();
+    
+    // Timing wheel evicting expired links, started on first use
+    private volatile ExpirationScheduler expirationScheduler;
+    
+    // Compactor reclaiming deleted links, started on first delete
+    private volatile TombstoneCompactor tombstoneCompactor;
+    
+    // Single-writer encode pipeline, started on first encode if enabled
+    private volatile EncodePipeline encodePipeline;
     
     // Configuration for short URL base
     @Value("${app.short-url.base-url:http://short.est/}")
-    private String baseUrl;
+    private String baseUrl = "http://short.est/";
+    
+    // Configuration for the expiration timing wheel
+    @Value("${app.expiry.tick-ms:1000}")
+    private long expiryTickMs = 1000;
+    
+    @Value("${app.expiry.wheel-size:64}")
+    private int expiryWheelSize = 64;
+    
+    // Link table reloaded by reloadMappings(), empty to disable reloading
+    @Value("${app.store.reload-path:}")
+    private String reloadPath = "";
+    
+    // Delay between tombstone compaction passes
+    @Value("${app.delete.compaction-interval-ms:1000}")
+    private long compactionIntervalMs = 1000;
+    
+    // Configuration for the single-writer encode pipeline
+    @Value("${app.encode.pipeline.enabled:false}")
+    private boolean pipelineEnabled;
+    
+    @Value("${app.encode.pipeline.ring-size:1024}")
+    private int pipelineRingSize = 1024;
+    
+    // Coalescing of concurrent identical store lookups and inserts
+    @Value("${app.coalesce.enabled:false}")
+    private boolean coalescing;
+    
+    private final SingleFlight<String, String> decodeFlight = new SingleFlight<>();
+    private final SingleFlight<String, String> encodeFlight = new SingleFlight<>();
+    
+    // Configuration for the pool of pre-generated short codes; depth 0 disables it
+    @Value("${app.encode.code-pool.depth:0}")
+    private int codePoolDepth;
+    
+    @Value("${app.encode.code-pool.refill-interval-ms:10}")
+    private long codePoolRefillIntervalMs = 10;
+    
+    // Pre-generated short codes, started on first encode if enabled
+    private volatile ShortCodePool codePool;
+    
+    // Heavy-hitters tracker fed from the decode path
+    private final HotLinkTracker hotLinkTracker;
+    
+    // Runs the store work of asynchronous calls
+    private final Executor storageExecutor;
+    
+    /**
+     * Creates a service with a default hot link tracker and in-memory storage.
+     */
+    public UrlShorteningService() {
+        this(new HotLinkTracker(), new InMemoryLinkStore());
+    }
+    
+    /**
+     * Creates a standalone service over the given store, with sequential ids.
+     * Asynchronous calls run on the calling thread.
+     */
+    public UrlShorteningService(HotLinkTracker hotLinkTracker, LinkStore linkStore) {
+        this(hotLinkTracker, linkStore, new SequentialIdGenerator(linkStore, ClusterTopology.standalone()),
+            ShortCodeCodec.plain(), Runnable::run);
+    }
+    
+    @Autowired
+    public UrlShorteningService(HotLinkTracker hotLinkTracker, LinkStore linkStore, IdGenerator idGenerator,
+                                ShortCodeCodec codec, @Qualifier("storageExecutor") Executor storageExecutor) {
+        this.hotLinkTracker = hotLinkTracker;
+        this.linkStore = linkStore;
+        this.idGenerator = idGenerator;
+        this.codec = codec;
+        this.tombstones = new Tombstones(codec);
+        this.storageExecutor = storageExecutor;
+    }
     
     /**
      * Encodes a long URL into a short URL.
+     * The URL is canonicalized first, so equivalent spellings of the same URL
+     * (host case, default port, fragment, percent-encoding) share one short URL.
      * 
      * @param longUrl the original URL to be shortened
      * @return the shortened URL
      * @throws IllegalArgumentException if the URL is invalid or null
      */
     public String encodeUrl(String longUrl) {
-        // Input validation
-        if (longUrl == null || longUrl.trim().isEmpty()) {
-            throw new IllegalArgumentException("URL cannot be null or empty");
-        }
-        
-        // Normalize URL (trim whitespace)
-        longUrl = longUrl.trim();
+        return encodeUrl(longUrl, 0);
+    }
+    
+    /**
+     * Encodes a long URL into a short URL that optionally expires.
+     * Expiring links always get their own short code: they are neither matched
+     * against nor registered in the deduplication index.
+     * 
+     * @param longUrl the original URL to be shortened
+     * @param expiresAtMillis expiration time in epoch milliseconds, or 0 for a permanent link
+     * @return the shortened URL
+     * @throws IllegalArgumentException if the URL is invalid or the expiration is in the past
+     */
+    public String encodeUrl(String longUrl, long expiresAtMillis) {
+        // Validate and normalize URL (presence, length, canonical form) in a single pass
+        longUrl = RequestValidator.validateLongUrl(longUrl);
         
-        // Validate URL format
-        if (!isValidUrl(longUrl)) {
-            throw new IllegalArgumentException("Invalid URL format");
+        if (expiresAtMillis != 0) {
+            return encodeExpiring(longUrl, expiresAtMillis);
         }
         
         // Check if URL already exists in our mapping
-        String existingShortCode = longToShortMap.get(longUrl);
+        String existingShortCode = findLiveCode(longUrl);
         if (existingShortCode != null) {
             return baseUrl + existingShortCode;
         }
         
-        // Generate new short code
-        long id = counter.getAndIncrement();
-        String shortCode = encodeBase62(id);
+        EncodePipeline pipeline = encodePipeline();
+        String canonicalUrl = longUrl;
+        Supplier<String> create = pipeline != null ? () -> pipeline.encode(canonicalUrl) : () -> createLink(canonicalUrl);
+        return baseUrl + (coalescing ? encodeFlight.execute(longUrl, create) : create.get());
+    }
+    
+    /**
+     * Stores a new permanent mapping. On the pipeline's writer thread, or
+     * when coalescing, the URL is looked up again: an encode queued ahead of
+     * it, or an insert that finished just before this one started, may have
+     * created it.
+     */
+    private String createLink(String longUrl) {
+        if (encodePipeline != null || coalescing) {
+            String existingShortCode = findLiveCode(longUrl);
+            if (existingShortCode != null) {
+                return existingShortCode;
+            }
+        }
         
-        // Store bidirectional mapping
-        shortToLongMap.put(shortCode, longUrl);
-        longToShortMap.put(longUrl, shortCode);
+        // Generate new short code, and store both mappings unless an alias took it meanwhile
+        String shortCode;
+        do {
+            shortCode = newShortCode();
+            linkStore.putIndexed(shortCode, longUrl);
+        } while (takenByAlias(shortCode));
         
+        return shortCode;
+    }
+    
+    private String findLiveCode(String longUrl) {
+        String shortCode = linkStore.findCode(longUrl);
+        return shortCode != null && (tombstones.isEmpty() || !tombstones.contains(shortCode)) ? shortCode : null;
+    }
+    
+    /**
+     * Creates a permanent link with a custom alias as its short code.
+     * Creating an alias again for the same URL returns the same short URL.
+     * 
+     * @param alias the custom alias
+     * @param longUrl the original URL
+     * @return the short URL for the alias
+     * @throws IllegalArgumentException if the alias or the URL is invalid
+     * @throws AliasTakenException if the alias already leads to another URL, or was issued as a generated code
+     */
+    public String createAlias(String alias, String longUrl) {
+        alias = RequestValidator.validateAlias(alias);
+        longUrl = RequestValidator.validateLongUrl(longUrl);
+        
+        synchronized (aliases) {
+            String existing = aliases.putIfAbsent(alias, longUrl);
+            if (existing != null && !existing.equals(longUrl)) {
+                throw new AliasTakenException(alias);
+            }
+            if (existing == null) {
+                // Checked once the alias is in the trie, where a racing encode of the same code looks for it after storing
+                if (codec.decode(alias) >= 0 && linkStore.get(alias) != null) {
+                    aliases.remove(alias);
+                    throw new AliasTakenException(alias);
+                }
+                linkStore.saveAlias(alias, longUrl);
+            }
+        }
+        return baseUrl + alias;
+    }
+    
+    /**
+     * Points an existing short URL, generated or alias, at another long URL.
+     * Other long URLs stop deduplicating to the short URL, and the new one
+     * does not start: encoding it still gets a code of its own, since this
+     * one may be retargeted again.
+     * 
+     * @param shortUrl the short URL or bare short code to retarget
+     * @param longUrl the new original URL
+     * @return the short URL
+     * @throws IllegalArgumentException if either URL is invalid, or the short URL is not found
+     * @throws UnsupportedOperationException if the link store is read-only
+     */
+    public String retargetLink(String shortUrl, String longUrl) {
+        String shortCode = RequestValidator.extractShortCode(shortUrl, baseUrl);
+        longUrl = RequestValidator.validateLongUrl(longUrl);
+        requireWritable();
+        
+        // Each code belongs to at most one of trie and store
+        if (aliases.size() > 0) {
+            synchronized (aliases) {
+                if (aliases.replace(shortCode, longUrl) != null) {
+                    linkStore.saveAlias(shortCode, longUrl);
+                    return baseUrl + shortCode;
+                }
+            }
+        }
+        if (!tombstones.isEmpty() && tombstones.contains(shortCode)) {
+            throw new IllegalArgumentException("Short URL not found");
+        }
+        if (codec.decode(shortCode) < 0 || linkStore.replace(shortCode, longUrl) == null) {
+            throw new IllegalArgumentException("Short URL not found");
+        }
         return baseUrl + shortCode;
     }
     
+    /**
+     * Deletes short URLs, generated or alias. Generated links stop resolving
+     * at once and are removed from the store by the background compactor;
+     * aliases are removed from the alias trie directly.
+     * 
+     * @param shortUrls the short URLs or bare short codes to delete
+     * @return the number of short URLs that existed and were deleted
+     * @throws IllegalArgumentException if a short URL is invalid
+     * @throws UnsupportedOperationException if the link store is read-only
+     */
+    public int deleteLinks(List<String> shortUrls) {
+        List<String> shortCodes = new ArrayList<>(shortUrls.size());
+        for (String shortUrl : shortUrls) {
+            shortCodes.add(RequestValidator.extractShortCode(shortUrl, baseUrl));
+        }
+        requireWritable();
+        
+        int deleted = 0;
+        for (String shortCode : shortCodes) {
+            boolean existed = removeAlias(shortCode)
+                || codec.decode(shortCode) >= 0 && linkStore.get(shortCode) != null
+                    && !tombstones.contains(shortCode) && tombstones.add(shortCode);
+            if (existed) {
+                deleted++;
+            }
+        }
+        if (deleted > 0) {
+            tombstoneCompactor();
+        }
+        return deleted;
+    }
+    
+    /**
+     * Deletes every generated link whose id lies between those of two short
+     * URLs, both included: with sequential ids, the links created between
+     * the two. The deletion takes effect at once, and the mappings are found
+     * and removed by a single background scan of the store. Ids are compared
+     * in allocation order, so this works with scrambled short codes too.
+     * In a cluster, only the links held by this node are deleted. The
+     * range ends at the last id handed out so far, so that links created
+     * afterwards are never deleted by it.
+     * 
+     * @param fromShortUrl the short URL of the first link to delete
+     * @param toShortUrl the short URL of the last link to delete
+     * @throws IllegalArgumentException if a short URL is invalid or not a generated code, or the range is reversed
+     * @throws UnsupportedOperationException if the link store is read-only
+     */
+    public void deleteIdRange(String fromShortUrl, String toShortUrl) {
+        long fromId = codec.decode(RequestValidator.extractShortCode(fromShortUrl, baseUrl));
+        long toId = codec.decode(RequestValidator.extractShortCode(toShortUrl, baseUrl));
+        if (fromId < 0 || toId < 0) {
+            throw new IllegalArgumentException("Range bounds must be generated short URLs");
+        }
+        if (fromId > toId) {
+            throw new IllegalArgumentException("Range start must not come after its end");
+        }
+        requireWritable();
+        
+        // Ids not handed out yet must stay usable, so the range stops at the last one handed out
+        long lastIssuedId = idGenerator.lastIssuedId();
+        ShortCodePool pool = codePool;
+        if (pool != null) {
+            // Buffered codes were handed out by the generator but not to a link yet, and may fall in the range
+            pool.discard();
+        }
+        toId = Math.min(toId, lastIssuedId);
+        if (fromId > toId) {
+            return;
+        }
+        tombstones.addRange(fromId, toId);
+        tombstoneCompactor();
+    }
+    
+    /**
+     * Lists the aliases starting with a prefix, in lexicographic order.
+     * Only the aliases under the prefix are visited, not every alias.
+     * 
+     * @param prefix the alias prefix, empty for all aliases
+     * @param limit maximum number of aliases to return
+     * @return the aliases' short and original URLs
+     */
+    public List<Alias> listAliases(String prefix, int limit) {
+        List<Map.Entry<String, String>> entries = aliases.list(prefix, limit);
+        List<Alias> result = new ArrayList<>(entries.size());
+        for (Map.Entry<String, String> entry : entries) {
+            result.add(new Alias(baseUrl + entry.getKey(), entry.getValue()));
+        }
+        return result;
+    }
+    
+    /**
+     * Gets the number of custom aliases.
+     * 
+     * @return alias count
+     */
+    public int getAliasCount() {
+        return aliases.size();
+    }
+    
     /**
      * Decodes a short URL back to its original long URL.
      * 
@@ -85,81 +427,334 @@ public class UrlShorteningService {
      * @throws IllegalArgumentException if the short URL is invalid or not found
      */
     public String decodeUrl(String shortUrl) {
-        // Input validation
-        if (shortUrl == null || shortUrl.trim().isEmpty()) {
-            throw new IllegalArgumentException("Short URL cannot be null or empty");
-        }
-        
-        // Normalize input
-        shortUrl = shortUrl.trim();
+        // Validate input and extract short code from URL in a single pass
+        String shortCode = RequestValidator.extractShortCode(shortUrl, baseUrl);
         
-        // Extract short code from URL
-        String shortCode = extractShortCode(shortUrl);
-        if (shortCode == null) {
-            throw new IllegalArgumentException("Invalid short URL format");
+        // Look up original URL, then custom aliases; deleted links are misses even before compaction
+        String longUrl = coalescing ? decodeFlight.execute(shortCode, () -> linkStore.get(shortCode)) : linkStore.get(shortCode);
+        if (longUrl != null && !tombstones.isEmpty() && tombstones.contains(shortCode)) {
+            throw new IllegalArgumentException("Short URL not found");
         }
-        
-        // Look up original URL
-        String longUrl = shortToLongMap.get(shortCode);
         if (longUrl == null) {
-            throw new IllegalArgumentException("Short URL not found");
+            longUrl = aliases.get(shortCode);
+            if (longUrl == null) {
+                throw new IllegalArgumentException("Short URL not found");
+            }
+        }
+        
+        // Expired links are misses even before the timing wheel evicts them
+        ConcurrentHashMap<String, Long> pendingExpirations = expirations;
+        if (!pendingExpirations.isEmpty()) {
+            Long expiresAt = pendingExpirations.get(shortCode);
+            if (expiresAt != null && expiresAt <= System.currentTimeMillis()) {
+                throw new IllegalArgumentException("Short URL not found");
+            }
         }
         
+        hotLinkTracker.record(shortCode);
         return longUrl;
     }
     
     /**
-     * Encodes a number into Base-62 representation.
+     * Encodes a long URL on the storage executor.
+     * 
+     * @param longUrl the original URL to be shortened
+     * @param expiresAtMillis expiration time in epoch milliseconds, or 0 for a permanent link
+     * @return future completed with the short URL, or with the exception {@link #encodeUrl(String, long)} throws
+     * @throws java.util.concurrent.RejectedExecutionException if the storage executor is saturated
+     */
+    public CompletableFuture<String> encodeAsync(String longUrl, long expiresAtMillis) {
+        return async(() -> encodeUrl(longUrl, expiresAtMillis));
+    }
+    
+    /**
+     * Creates a custom alias on the storage executor.
+     * 
+     * @param alias the custom alias
+     * @param longUrl the original URL
+     * @return future completed with the short URL, or with the exception {@link #createAlias} throws
+     * @throws java.util.concurrent.RejectedExecutionException if the storage executor is saturated
+     */
+    public CompletableFuture<String> createAliasAsync(String alias, String longUrl) {
+        return async(() -> createAlias(alias, longUrl));
+    }
+    
+    /**
+     * Decodes a short URL on the storage executor.
+     * 
+     * @param shortUrl the shortened URL to be decoded
+     * @return future completed with the original URL, or with the exception {@link #decodeUrl} throws
+     * @throws java.util.concurrent.RejectedExecutionException if the storage executor is saturated
+     */
+    public CompletableFuture<String> decodeAsync(String shortUrl) {
+        return async(() -> decodeUrl(shortUrl));
+    }
+    
+    /**
+     * Encodes several permanent links in one storage executor task.
+     * Every URL is validated before any link is created, so an invalid URL
+     * fails the whole batch without side effects.
+     * 
+     * @param longUrls the original URLs
+     * @return future completed with the short URLs, in the order of the long URLs
+     * @throws IllegalArgumentException if any URL is invalid
+     * @throws java.util.concurrent.RejectedExecutionException if the storage executor is saturated
+     */
+    public CompletableFuture<List<String>> encodeBatchAsync(List<String> longUrls) {
+        List<String> canonicalUrls = longUrls.stream().map(RequestValidator::validateLongUrl).toList();
+        return async(() -> {
+            List<String> shortUrls = new ArrayList<>(canonicalUrls.size());
+            for (String longUrl : canonicalUrls) {
+                shortUrls.add(encodeUrl(longUrl));
+            }
+            return shortUrls;
+        });
+    }
+    
+    /**
+     * Decodes several short URLs in one storage executor task.
      * 
-     * @param num the number to encode
-     * @return Base-62 encoded string
+     * @param shortUrls the short URLs
+     * @return future completed with the original URLs, in the order of the short URLs,
+     *         null for those that are invalid or not found
+     * @throws java.util.concurrent.RejectedExecutionException if the storage executor is saturated
      */
-    private String encodeBase62(long num) {
-        if (num == 0) {
-            return String.valueOf(ALPHABET.charAt(0));
+    public CompletableFuture<List<String>> decodeBatchAsync(List<String> shortUrls) {
+        return async(() -> {
+            List<String> longUrls = new ArrayList<>(shortUrls.size());
+            for (String shortUrl : shortUrls) {
+                String longUrl;
+                try {
+                    longUrl = decodeUrl(shortUrl);
+                } catch (IllegalArgumentException e) {
+                    longUrl = null;
+                }
+                longUrls.add(longUrl);
+            }
+            return longUrls;
+        });
+    }
+    
+    private <T> CompletableFuture<T> async(Supplier<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // Submitted directly rather than through supplyAsync, so that a saturated executor fails the call itself
+        storageExecutor.execute(() -> {
+            try {
+                result.complete(work.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * Stores a new expiring mapping and schedules its eviction.
+     */
+    private String encodeExpiring(String longUrl, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            throw new IllegalArgumentException("Expiration must be in the future");
         }
         
-        StringBuilder encoded = new StringBuilder();
-        while (num > 0) {
-            encoded.append(ALPHABET.charAt((int) (num % BASE)));
-            num /= BASE;
-        }
+        // Record the expiration first so decode never sees the mapping without it, nor a restart
+        String shortCode;
+        do {
+            shortCode = newShortCode();
+            expirations.put(shortCode, expiresAtMillis);
+            linkStore.saveExpiration(shortCode, expiresAtMillis);
+            linkStore.put(shortCode, longUrl);
+        } while (takenByAlias(shortCode));
+        expirationScheduler().schedule(shortCode, expiresAtMillis);
         
-        return encoded.reverse().toString();
+        return baseUrl + shortCode;
+    }
+    
+    /**
+     * Restores what a persistent store kept across a restart apart from the
+     * links themselves: the aliases and the expirations.
+     */
+    @PostConstruct
+    public void restore() {
+        restoreAliases();
+        restoreExpirations();
     }
     
     /**
-     * Validates if a string is a properly formatted URL.
+     * Loads the aliases a persistent store kept across a restart into the
+     * alias trie.
      * 
-     * @param url the URL string to validate
-     * @return true if valid, false otherwise
+     * @return the number of aliases restored
      */
-    private boolean isValidUrl(String url) {
-        return URL_PATTERN.matcher(url).matches();
+    public int restoreAliases() {
+        int[] restored = {0};
+        linkStore.forEachAlias((alias, longUrl) -> {
+            if (aliases.putIfAbsent(alias, longUrl) == null) {
+                restored[0]++;
+            }
+        });
+        return restored[0];
     }
     
     /**
-     * Extracts the short code from a short URL.
+     * Schedules the expirations a persistent store kept across a restart,
+     * so that links created with a TTL before it still expire. Links whose
+     * time passed while the node was down are evicted on the first tick.
      * 
-     * @param shortUrl the short URL
-     * @return the extracted short code, or null if extraction fails
+     * @return the number of expirations restored
      */
-    private String extractShortCode(String shortUrl) {
-        // Handle both full URLs and just the short codes
-        if (shortUrl.startsWith(baseUrl)) {
-            return shortUrl.substring(baseUrl.length());
-        } else if (shortUrl.startsWith("http://") || shortUrl.startsWith("https://")) {
-            // Different base URL format
-            int lastSlashIndex = shortUrl.lastIndexOf('/');
-            if (lastSlashIndex != -1 && lastSlashIndex < shortUrl.length() - 1) {
-                return shortUrl.substring(lastSlashIndex + 1);
+    public int restoreExpirations() {
+        int[] restored = {0};
+        linkStore.forEachExpiration((shortCode, expiresAtMillis) -> {
+            expirations.put(shortCode, expiresAtMillis);
+            expirationScheduler().schedule(shortCode, expiresAtMillis);
+            restored[0]++;
+        });
+        return restored[0];
+    }
+    
+    /**
+     * Evicts an expired mapping. Called from the timing wheel thread.
+     * Ignores codes whose mapping was already removed or re-created since scheduling.
+     */
+    private void expire(String shortCode, long expiresAtMillis) {
+        if (!expirations.remove(shortCode, expiresAtMillis)) {
+            return;
+        }
+        String longUrl = linkStore.remove(shortCode);
+        if (longUrl != null) {
+            hotLinkTracker.forget(shortCode);
+            expiredCount.incrementAndGet();
+            reclaimedBytes.addAndGet(estimateMappingBytes(shortCode, longUrl));
+        }
+    }
+    
+    private ExpirationScheduler expirationScheduler() {
+        ExpirationScheduler scheduler = expirationScheduler;
+        if (scheduler == null) {
+            synchronized (this) {
+                scheduler = expirationScheduler;
+                if (scheduler == null) {
+                    scheduler = new ExpirationScheduler(expiryTickMs, expiryWheelSize, this::expire);
+                    expirationScheduler = scheduler;
+                }
             }
-        } else {
-            // Assume it's just the short code
-            return shortUrl;
         }
-        
-        return null;
+        return scheduler;
+    }
+    
+    /**
+     * Removes the mapping of a deleted short code. Called from the compactor thread.
+     */
+    private void reclaim(String shortCode) {
+        expirations.remove(shortCode);
+        if (linkStore.remove(shortCode) != null) {
+            hotLinkTracker.forget(shortCode);
+            deletedCount.incrementAndGet();
+        }
+    }
+    
+    private TombstoneCompactor tombstoneCompactor() {
+        TombstoneCompactor compactor = tombstoneCompactor;
+        if (compactor == null) {
+            synchronized (this) {
+                compactor = tombstoneCompactor;
+                if (compactor == null) {
+                    compactor = new TombstoneCompactor(tombstones, linkStore, this::reclaim, compactionIntervalMs);
+                    tombstoneCompactor = compactor;
+                }
+            }
+        }
+        return compactor;
+    }
+    
+    private String newShortCode() {
+        ShortCodePool pool = codePool();
+        while (true) {
+            String shortCode = pool != null ? pool.next() : codec.encode(idGenerator.nextId());
+            if (aliases.size() == 0 || aliases.get(shortCode) == null) {
+                return shortCode;
+            }
+        }
+    }
+    
+    /**
+     * Removes an alias from the trie and the store, under the lock that
+     * keeps the store's copy of the aliases in step with the trie.
+     */
+    private boolean removeAlias(String alias) {
+        if (aliases.size() == 0) {
+            return false;
+        }
+        synchronized (aliases) {
+            if (aliases.remove(alias) == null) {
+                return false;
+            }
+            linkStore.removeAlias(alias);
+            return true;
+        }
+    }
+    
+    /**
+     * Takes back a code just stored if an alias created concurrently took
+     * it. The alias wins unless it saw the stored code first, in which case
+     * it failed, and the caller retries with another code either way.
+     */
+    private boolean takenByAlias(String shortCode) {
+        if (aliases.size() == 0 || aliases.get(shortCode) == null) {
+            return false;
+        }
+        expirations.remove(shortCode);
+        linkStore.remove(shortCode);
+        return true;
+    }
+    
+    private ShortCodePool codePool() {
+        if (codePoolDepth <= 0) {
+            return null;
+        }
+        ShortCodePool pool = codePool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = codePool;
+                if (pool == null) {
+                    pool = new ShortCodePool(idGenerator, codec, codePoolDepth, codePoolRefillIntervalMs);
+                    codePool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+    
+    private EncodePipeline encodePipeline() {
+        if (!pipelineEnabled) {
+            return null;
+        }
+        EncodePipeline pipeline = encodePipeline;
+        if (pipeline == null) {
+            synchronized (this) {
+                pipeline = encodePipeline;
+                if (pipeline == null) {
+                    pipeline = new EncodePipeline(pipelineRingSize, this::createLink);
+                    encodePipeline = pipeline;
+                }
+            }
+        }
+        return pipeline;
+    }
+    
+    private void requireWritable() {
+        if (linkStore.isReadOnly()) {
+            throw new UnsupportedOperationException("Links cannot be changed on a read-only node");
+        }
+    }
+    
+    /**
+     * Rough heap footprint of one expiring mapping: two compact Strings
+     * (about 40 bytes of headers each), a map node in both the link store and
+     * expirations, and a boxed Long.
+     */
+    private static long estimateMappingBytes(String shortCode, String longUrl) {
+        return 2 * 40 + shortCode.length() + longUrl.length() + 2 * 32 + 16;
     }
     
     /**
@@ -169,16 +764,291 @@ public class UrlShorteningService {
      * @return the number of stored URL mappings
      */
     public int getUrlMappingSize() {
-        return shortToLongMap.size();
+        return linkStore.size();
+    }
+    
+    /**
+     * Gets the number of decodes and encodes that shared a concurrent
+     * identical request's store lookup or insert instead of making their own.
+     * 
+     * @return coalesced request count, 0 unless coalescing is enabled
+     */
+    public long getCoalescedCount() {
+        return decodeFlight.getCoalescedCount() + encodeFlight.getCoalescedCount();
+    }
+    
+    /**
+     * Gets the fraction of decodes and encodes reaching the store that were
+     * coalesced with another.
+     * 
+     * @return coalescing rate between 0 and 1, 0 unless coalescing is enabled
+     */
+    public double getCoalescingRate() {
+        long calls = decodeFlight.getCallCount() + encodeFlight.getCallCount();
+        return calls == 0 ? 0 : (double) getCoalescedCount() / calls;
+    }
+    
+    /**
+     * Gets the number of links removed because their TTL ran out.
+     * 
+     * @return the number of expired mappings evicted so far
+     */
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+    
+    /**
+     * Gets the number of deleted links whose mappings were reclaimed.
+     * 
+     * @return the number of deleted mappings removed from the store so far
+     */
+    public long getDeletedCount() {
+        return deletedCount.get();
+    }
+    
+    /**
+     * Gets the number of deleted codes and id ranges not yet compacted.
+     * 
+     * @return pending tombstone count
+     */
+    public int getPendingTombstoneCount() {
+        return tombstones.size();
+    }
+    
+    /**
+     * Removes the mappings of deleted links now, instead of waiting for the
+     * background compactor.
+     */
+    public void compactTombstones() {
+        tombstoneCompactor().compact();
+    }
+    
+    /**
+     * Gets the approximate heap memory released by evicting expired links.
+     * 
+     * @return reclaimed bytes (estimate)
+     */
+    public long getReclaimedBytes() {
+        return reclaimedBytes.get();
+    }
+    
+    /**
+     * Returns the most frequently decoded links that still have a mapping.
+     * 
+     * @param limit maximum number of links to return
+     * @return hot links ordered by descending estimated hits
+     */
+    public List<HotLink> getTopLinks(int limit) {
+        List<HotLink> result = new ArrayList<>(limit);
+        for (HotLinkTracker.HotLink hotLink : hotLinkTracker.topK(limit)) {
+            String longUrl = linkStore.get(hotLink.getShortCode());
+            if (longUrl != null && (tombstones.isEmpty() || !tombstones.contains(hotLink.getShortCode()))) {
+                result.add(new HotLink(baseUrl + hotLink.getShortCode(), longUrl, hotLink.getEstimatedHits()));
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Exports every permanent link to a memory-mapped link table for
+     * decode-only replicas, replacing the file atomically.
+     * Links with a TTL are left out, since replicas do not expire links,
+     * and so are deleted links not compacted yet.
+     * The table has a slot for every id in range, so it needs densely
+     * allocated ids, such as sequential ones.
+     * 
+     * @param target the table file to write
+     * @return the number of links exported
+     * @throws UncheckedIOException if the table cannot be written
+     * @throws IllegalStateException if the ids are too sparse for a table
+     */
+    public long exportLinkTable(Path target) {
+        // First pass sizes the table's id range, the second fills it
+        long[] range = {Long.MAX_VALUE, -1, 0};
+        linkStore.forEach((shortCode, longUrl) -> {
+            long id = codec.decode(shortCode);
+            if (id >= 0 && !expirations.containsKey(shortCode) && !tombstones.contains(shortCode)) {
+                range[0] = Math.min(range[0], id);
+                range[1] = Math.max(range[1], id);
+                range[2]++;
+            }
+        });
+        if (range[1] >= 0 && range[1] - range[0] >= MAX_EXPORT_SLOTS_PER_LINK * range[2] + MIN_EXPORT_SLOTS) {
+            throw new IllegalStateException("Link ids " + range[0] + " to " + range[1] + " are too sparse to export "
+                + range[2] + " links as a link table");
+        }
+        
+        long firstId = range[1] < 0 ? 0 : range[0];
+        try (LinkTableWriter writer = new LinkTableWriter(target, firstId, range[1])) {
+            linkStore.forEach((shortCode, longUrl) -> {
+                long id = codec.decode(shortCode);
+                // Links created after the first pass may fall outside the range; the next export picks them up
+                if (id >= range[0] && id <= range[1] && !expirations.containsKey(shortCode)
+                    && !tombstones.contains(shortCode)) {
+                    try {
+                        writer.add(id, longUrl);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+            writer.commit();
+            return writer.linkCount();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot export link table to " + target, e);
+        }
+    }
+    
+    /**
+     * Replaces every generated link with those of the link table configured
+     * as {@code app.store.reload-path}.
+     * 
+     * @return the number of links loaded
+     * @throws UnsupportedOperationException if no reload path is configured, or the link store is read-only
+     * @throws UncheckedIOException if the table cannot be read
+     */
+    public long reloadMappings() {
+        if (reloadPath == null || reloadPath.isEmpty()) {
+            throw new UnsupportedOperationException("No link table to reload from is configured on this node");
+        }
+        return reloadMappings(Path.of(reloadPath));
+    }
+    
+    /**
+     * Replaces every generated link with those of a link table, as written
+     * by {@link #exportLinkTable}, without pausing traffic. The new links
+     * are loaded into a fresh generation of the store and published with a
+     * single swap, so decodes see either the old links or the new ones;
+     * links encoded while loading are kept. Ids up to the table's last id
+     * are never handed out afterwards, after a restart either: the skip is
+     * persisted before loading, and durable stores keep it when they clear.
+     * Aliases are not affected.
+     * 
+     * @param linkTable the link table file to load
+     * @return the number of links loaded
+     * @throws UnsupportedOperationException if the link store is read-only
+     * @throws UncheckedIOException if the table cannot be read
+     */
+    public long reloadMappings(Path linkTable) {
+        requireWritable();
+        MappedLinkTable table;
+        try {
+            table = MappedLinkTable.open(linkTable);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open link table " + linkTable, e);
+        }
+        if (table.slotCount() > 0) {
+            idGenerator.skipPast(table.firstId() + table.slotCount() - 1);
+            // Codes pooled before the skip may be among the loaded ones
+            ShortCodePool pool = codePool;
+            if (pool != null) {
+                pool.discard();
+            }
+        }
+        
+        long[] loaded = {0};
+        linkStore.load(sink -> {
+            for (long id = table.firstId(); id < table.firstId() + table.slotCount(); id++) {
+                String longUrl = table.get(id);
+                if (longUrl != null) {
+                    sink.accept(codec.encode(id), longUrl);
+                    loaded[0]++;
+                }
+            }
+        });
+        // Tombstones and hot links referred to the previous generation
+        tombstones.clear();
+        hotLinkTracker.clear();
+        return loaded[0];
     }
     
     /**
      * Clears all URL mappings.
-     * Primarily used for testing purposes.
+     * Each structure is replaced by an empty one with a single reference
+     * swap rather than emptied in place, so concurrent decodes never see a
+     * half-cleared state and the old mappings are left to the garbage collector.
      */
     public void clearMappings() {
-        shortToLongMap.clear();
-        longToShortMap.clear();
-        // Note: We don't reset the counter to maintain uniqueness
+        synchronized (aliases) {
+            linkStore.clear();
+            aliases.clear();
+        }
+        expirations = new ConcurrentHashMap<>();
+        tombstones.clear();
+        hotLinkTracker.clear();
+        // Note: We don't reset the id generator to maintain uniqueness
+    }
+    
+    /**
+     * Stops the encode pipeline, short code pool, expiration and compaction
+     * threads when the application shuts down. Pooled codes are given back to
+     * the id generator, so their ids are not skipped after a restart.
+     */
+    @PreDestroy
+    public void shutdown() {
+        EncodePipeline pipeline = encodePipeline;
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+        ShortCodePool pool = codePool;
+        if (pool != null) {
+            pool.shutdown();
+        }
+        ExpirationScheduler scheduler = expirationScheduler;
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        TombstoneCompactor compactor = tombstoneCompactor;
+        if (compactor != null) {
+            compactor.shutdown();
+        }
+    }
+    
+    /**
+     * A custom alias with its full short URL and original URL.
+     */
+    public static class Alias {
+        private final String shortUrl;
+        private final String originalUrl;
+        
+        public Alias(String shortUrl, String originalUrl) {
+            this.shortUrl = shortUrl;
+            this.originalUrl = originalUrl;
+        }
+        
+        public String getShortUrl() {
+            return shortUrl;
+        }
+        
+        public String getOriginalUrl() {
+            return originalUrl;
+        }
+    }
+    
+    /**
+     * A hot link resolved to its full short and original URLs.
+     */
+    public static class HotLink {
+        private final String shortUrl;
+        private final String originalUrl;
+        private final long estimatedHits;
+        
+        public HotLink(String shortUrl, String originalUrl, long estimatedHits) {
+            this.shortUrl = shortUrl;
+            this.originalUrl = originalUrl;
+            this.estimatedHits = estimatedHits;
+        }
+        
+        public String getShortUrl() {
+            return shortUrl;
+        }
+        
+        public String getOriginalUrl() {
+            return originalUrl;
+        }
+        
+        public long getEstimatedHits() {
+            return estimatedHits;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.solventum.shortlink.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Count-Min Sketch for approximate frequency counting.
+ *
+ * Uses a fixed {@code depth x width} matrix of atomic counters, so memory is
+ * bounded regardless of how many distinct keys are observed. Estimates never
+ * under-count; over-counting is bounded by the table width.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    /**
+     * Creates a sketch with the given dimensions.
+     *
+     * @param depth number of hash rows (more rows lower the error probability)
+     * @param width number of counters per row, rounded up to a power of two
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("Sketch depth and width must be positive");
+        }
+        this.depth = depth;
+        this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.mask = this.width - 1;
+        this.counters = new AtomicLongArray(depth * this.width);
+    }
+
+    /**
+     * Records one occurrence of the key.
+     *
+     * @param key the key to count
+     * @return the updated frequency estimate for the key
+     */
+    public long add(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int column = (h1 + row * h2) & mask;
+            long value = counters.incrementAndGet(row * width + column);
+            if (value < estimate) {
+                estimate = value;
+            }
+        }
+        return estimate;
+    }
+
+    /**
+     * Returns the frequency estimate for the key without recording it.
+     *
+     * @param key the key to look up
+     * @return the estimated number of occurrences
+     */
+    public long estimate(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int column = (h1 + row * h2) & mask;
+            estimate = Math.min(estimate, counters.get(row * width + column));
+        }
+        return estimate;
+    }
+
+    /**
+     * Halves every counter so that old traffic gradually stops dominating
+     * the estimates.
+     */
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, value -> value >>> 1);
+        }
+    }
+
+    /**
+     * Resets every counter to zero.
+     */
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * 64-bit FNV-1a over the key's characters followed by a final avalanche
+     * step, giving two independent 32-bit halves for double hashing.
+     */
+    private static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        // Force the second hash to be odd so it cycles through every column
+        return hash | (1L << 32);
+    }
+}
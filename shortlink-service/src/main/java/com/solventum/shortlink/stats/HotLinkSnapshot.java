@@ -0,0 +1,116 @@
+package com.solventum.shortlink.stats;
+
+import com.solventum.shortlink.stats.HotLinkTracker.HotLink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Saves the hottest short codes of a {@link HotLinkTracker} to a file and
+ * reads them back after a restart, so that their links can be loaded before
+ * traffic arrives.
+ *
+ * The file holds one link per line, its estimated hits and its short code
+ * separated by a space, hottest first. It is written to a temporary file
+ * and renamed over the previous one, so a crash mid-save leaves the last
+ * complete snapshot in place. Without a path, saving and loading do nothing.
+ */
+public class HotLinkSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotLinkSnapshot.class);
+
+    private final HotLinkTracker tracker;
+    private final Path path;
+
+    /**
+     * Creates a snapshot of a tracker.
+     *
+     * @param tracker the tracker whose top links are saved
+     * @param path the snapshot file, or null to disable snapshots
+     */
+    public HotLinkSnapshot(HotLinkTracker tracker, Path path) {
+        this.tracker = tracker;
+        this.path = path;
+    }
+
+    /**
+     * Writes the tracker's current top links to the snapshot file.
+     * Failures are logged, not thrown, as losing a snapshot only costs a
+     * colder start.
+     *
+     * @return the number of links saved
+     */
+    public int save() {
+        if (path == null) {
+            return 0;
+        }
+        List<HotLink> links = tracker.topK(tracker.getCapacity());
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (HotLink link : links) {
+                    writer.write(Long.toString(link.getEstimatedHits()));
+                    writer.write(' ');
+                    writer.write(link.getShortCode());
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return links.size();
+        } catch (IOException e) {
+            logger.warn("Cannot save hot link snapshot {}: {}", path, e.toString());
+            return 0;
+        }
+    }
+
+    /**
+     * Reads the last saved snapshot. Malformed lines are skipped.
+     *
+     * @return the saved links, hottest first, or an empty list if there is no snapshot
+     */
+    public List<HotLink> load() {
+        List<HotLink> links = new ArrayList<>();
+        if (path == null) {
+            return links;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                int separator = line.indexOf(' ');
+                if (separator <= 0 || separator == line.length() - 1) {
+                    continue;
+                }
+                try {
+                    links.add(new HotLink(line.substring(separator + 1), Long.parseLong(line.substring(0, separator))));
+                } catch (NumberFormatException e) {
+                    // Skip the line, keep the rest of the snapshot
+                }
+            }
+        } catch (NoSuchFileException e) {
+            logger.debug("Hot link snapshot {} does not exist yet", path);
+        } catch (IOException e) {
+            logger.warn("Cannot read hot link snapshot {}: {}", path, e.toString());
+        }
+        return links;
+    }
+
+    /**
+     * Returns the snapshot file.
+     *
+     * @return the file path, or null if snapshots are disabled
+     */
+    public Path path() {
+        return path;
+    }
+}
@@ -0,0 +1,172 @@
+package com.solventum.shortlink.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streaming heavy-hitters tracker for short codes.
+ *
+ * Every access is counted in a {@link CountMinSketch}; the hottest keys are
+ * kept in a Space-Saving style candidate set of fixed capacity. When a key
+ * that is not monitored overtakes the coldest monitored key, it replaces it.
+ * Memory use is bounded by the sketch dimensions and the candidate capacity,
+ * no matter how many distinct codes are decoded.
+ *
+ * Sketch updates are lock-free; the candidate set only takes a lock when a
+ * replacement is actually needed, which is rare once the top-K stabilizes.
+ */
+public class HotLinkTracker {
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final ConcurrentHashMap<String, Long> candidates;
+
+    // Lowest estimate currently monitored; a cheap filter in front of the lock
+    private volatile long minimumMonitored;
+
+    /**
+     * Creates a tracker with default dimensions (top 100, 4 x 4096 sketch).
+     */
+    public HotLinkTracker() {
+        this(100, 4, 4096);
+    }
+
+    /**
+     * Creates a tracker.
+     *
+     * @param capacity number of hot keys to monitor
+     * @param sketchDepth number of Count-Min Sketch rows
+     * @param sketchWidth number of counters per Count-Min Sketch row
+     */
+    public HotLinkTracker(int capacity, int sketchDepth, int sketchWidth) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Top-K capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.sketch = new CountMinSketch(sketchDepth, sketchWidth);
+        this.candidates = new ConcurrentHashMap<>(capacity * 2);
+    }
+
+    /**
+     * Records one access of the given short code.
+     *
+     * @param shortCode the short code that was accessed
+     */
+    public void record(String shortCode) {
+        long estimate = sketch.add(shortCode);
+
+        // Already monitored: just refresh its estimate
+        if (candidates.replace(shortCode, estimate) != null) {
+            return;
+        }
+
+        if (candidates.size() < capacity) {
+            candidates.putIfAbsent(shortCode, estimate);
+            return;
+        }
+
+        if (estimate > minimumMonitored) {
+            replaceMinimum(shortCode, estimate);
+        }
+    }
+
+    /**
+     * Returns the hottest short codes, most frequent first.
+     *
+     * @param limit maximum number of entries to return
+     * @return hot links ordered by descending estimated hits
+     */
+    public List<HotLink> topK(int limit) {
+        List<HotLink> result = new ArrayList<>(candidates.size());
+        for (Map.Entry<String, Long> entry : candidates.entrySet()) {
+            result.add(new HotLink(entry.getKey(), entry.getValue()));
+        }
+        result.sort(Comparator.comparingLong(HotLink::getEstimatedHits).reversed());
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    /**
+     * Halves all counts so the ranking follows current rather than historic traffic.
+     */
+    public synchronized void decay() {
+        sketch.decay();
+        candidates.replaceAll((code, hits) -> hits >>> 1);
+        minimumMonitored = minimumMonitored >>> 1;
+    }
+
+    /**
+     * Forgets all recorded accesses.
+     */
+    public synchronized void clear() {
+        sketch.clear();
+        candidates.clear();
+        minimumMonitored = 0;
+    }
+
+    /**
+     * Removes a single code from the monitored set, e.g. when its mapping is gone.
+     *
+     * @param shortCode the short code to forget
+     */
+    public void forget(String shortCode) {
+        candidates.remove(shortCode);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private synchronized void replaceMinimum(String shortCode, long estimate) {
+        if (candidates.containsKey(shortCode)) {
+            candidates.replace(shortCode, estimate);
+            return;
+        }
+
+        // Trim any overshoot from racing inserts while looking for the minimum
+        while (candidates.size() >= capacity) {
+            String coldest = null;
+            long coldestHits = Long.MAX_VALUE;
+            for (Map.Entry<String, Long> entry : candidates.entrySet()) {
+                if (entry.getValue() < coldestHits) {
+                    coldest = entry.getKey();
+                    coldestHits = entry.getValue();
+                }
+            }
+            if (coldest == null) {
+                break;
+            }
+            if (estimate <= coldestHits) {
+                minimumMonitored = coldestHits;
+                return;
+            }
+            candidates.remove(coldest);
+            minimumMonitored = coldestHits;
+        }
+
+        candidates.put(shortCode, estimate);
+    }
+
+    /**
+     * A short code together with its estimated number of hits.
+     */
+    public static class HotLink {
+        private final String shortCode;
+        private final long estimatedHits;
+
+        public HotLink(String shortCode, long estimatedHits) {
+            this.shortCode = shortCode;
+            this.estimatedHits = estimatedHits;
+        }
+
+        public String getShortCode() {
+            return shortCode;
+        }
+
+        public long getEstimatedHits() {
+            return estimatedHits;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.solventum.shortlink.store;
+
+import com.solventum.shortlink.compress.SymbolTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Heap store keeping long URLs compressed with a trained {@link SymbolTable}.
+ *
+ * The first {@code trainingSampleSize} URLs stored are kept as plain UTF-8
+ * and collected as a training sample; once the sample is full a symbol table
+ * is trained on it in the background, so that the write filling the sample
+ * does not wait for it, and the mappings stored meanwhile are recompressed
+ * once the table is published. Each value starts with a format byte, so
+ * values written before and after training can be read side by side.
+ *
+ * The reverse index maps a 64-bit fingerprint of the long URL to its short
+ * code instead of holding the URL itself; a hit is confirmed against the
+ * forward mapping, so a fingerprint collision only costs a missed reuse.
+ *
+ * As in {@link InMemoryLinkStore}, the maps and their byte counters form
+ * one generation that clearing and loading replace with a single reference
+ * swap. The symbol table outlives generations.
+ */
+public class CompactLinkStore implements LinkStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompactLinkStore.class);
+
+    private static final byte PLAIN = 0;
+    private static final byte COMPRESSED = 1;
+
+    private volatile Generation generation = new Generation();
+
+    private final int trainingSampleSize;
+    private volatile SymbolTable table;
+
+    // Guarded by itself; null once the sample is handed to training
+    private List<String> sample;
+
+    // Released once training has finished, successfully or not
+    private final CountDownLatch trainingDone = new CountDownLatch(1);
+
+    /**
+     * Creates a store that trains its symbol table on the first URLs stored.
+     *
+     * @param trainingSampleSize number of URLs to train on
+     */
+    public CompactLinkStore(int trainingSampleSize) {
+        if (trainingSampleSize < 1) {
+            throw new IllegalArgumentException("Training sample size must be positive");
+        }
+        this.trainingSampleSize = trainingSampleSize;
+        this.sample = new ArrayList<>(trainingSampleSize);
+    }
+
+    /**
+     * Creates a store compressing with a table trained elsewhere.
+     *
+     * @param table the symbol table
+     */
+    public CompactLinkStore(SymbolTable table) {
+        this.trainingSampleSize = 0;
+        this.table = table;
+        trainingDone.countDown();
+    }
+
+    @Override
+    public String get(String shortCode) {
+        byte[] value = generation.links.get(shortCode);
+        return value == null ? null : decode(value);
+    }
+
+    @Override
+    public void put(String shortCode, String longUrl) {
+        byte[] value = encode(longUrl);
+        Generation current;
+        do {
+            current = generation;
+            byte[] previous = current.links.put(shortCode, value);
+            if (previous != null) {
+                current.forgetBytes(decode(previous), previous);
+            }
+            current.addBytes(longUrl, value);
+        } while (current != generation);
+        if (table == null) {
+            sample(longUrl);
+        } else {
+            // The table may have been published, and the values recompressed, after this one was encoded
+            compress(current, shortCode, value);
+        }
+    }
+
+    @Override
+    public void index(String longUrl, String shortCode) {
+        Generation current;
+        do {
+            current = generation;
+            current.codesByFingerprint.put(fingerprint(longUrl), shortCode);
+        } while (current != generation);
+    }
+
+    @Override
+    public String findCode(String longUrl) {
+        String shortCode = generation.codesByFingerprint.get(fingerprint(longUrl));
+        return shortCode != null && longUrl.equals(get(shortCode)) ? shortCode : null;
+    }
+
+    @Override
+    public String replace(String shortCode, String longUrl) {
+        byte[] value = encode(longUrl);
+        String replaced = null;
+        Generation current;
+        do {
+            current = generation;
+            byte[] previous = current.links.replace(shortCode, value);
+            if (previous != null) {
+                // The old URL's index entry no longer passes the check in findCode
+                replaced = decode(previous);
+                current.forgetBytes(replaced, previous);
+                current.addBytes(longUrl, value);
+            }
+        } while (current != generation);
+        return replaced;
+    }
+
+    @Override
+    public String remove(String shortCode) {
+        String removed = null;
+        Generation current;
+        do {
+            current = generation;
+            byte[] value = current.links.remove(shortCode);
+            if (value != null) {
+                removed = decode(value);
+                current.codesByFingerprint.remove(fingerprint(removed), shortCode);
+                current.forgetBytes(removed, value);
+            }
+        } while (current != generation);
+        return removed;
+    }
+
+    @Override
+    public void forEach(BiConsumer<String, String> action) {
+        generation.links.forEach((shortCode, value) -> action.accept(shortCode, decode(value)));
+    }
+
+    @Override
+    public int size() {
+        return generation.links.size();
+    }
+
+    @Override
+    public void clear() {
+        generation = new Generation();
+    }
+
+    @Override
+    public void load(Consumer<BiConsumer<String, String>> dataset) {
+        Generation loaded = new Generation();
+        boolean[] plain = new boolean[1];
+        dataset.accept((shortCode, longUrl) -> {
+            byte[] value = encode(longUrl);
+            plain[0] |= value[0] == PLAIN;
+            loaded.links.put(shortCode, value);
+            loaded.codesByFingerprint.putIfAbsent(fingerprint(longUrl), shortCode);
+            loaded.addBytes(longUrl, value);
+            if (table == null) {
+                sample(longUrl);
+            }
+        });
+        generation = loaded;
+        if (plain[0] && table != null) {
+            // The table was trained while loading, after part of the dataset was stored
+            recompress();
+        }
+    }
+
+    /**
+     * Returns the ratio of long URL length to stored value size over all
+     * mappings, counting one byte per URL character.
+     *
+     * @return compression ratio, or 1 if the store is empty
+     */
+    public double getCompressionRatio() {
+        Generation current = generation;
+        long stored = current.storedBytes.get();
+        return stored == 0 ? 1 : (double) current.urlBytes.get() / stored;
+    }
+
+    /**
+     * Checks whether the symbol table has been trained.
+     *
+     * @return true once values are stored compressed
+     */
+    public boolean isTrained() {
+        return table != null;
+    }
+
+    /**
+     * Waits for the symbol table trained in the background, and for the
+     * values stored before it to be recompressed.
+     *
+     * @param timeout how long to wait
+     * @param unit the unit of {@code timeout}
+     * @return true if the table is trained, false if training has not finished or failed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitTraining(long timeout, TimeUnit unit) throws InterruptedException {
+        return trainingDone.await(timeout, unit) && isTrained();
+    }
+
+    private byte[] encode(String longUrl) {
+        SymbolTable current = table;
+        if (current == null) {
+            byte[] bytes = longUrl.getBytes(StandardCharsets.UTF_8);
+            byte[] value = new byte[bytes.length + 1];
+            value[0] = PLAIN;
+            System.arraycopy(bytes, 0, value, 1, bytes.length);
+            return value;
+        }
+        byte[] value = current.encode(longUrl, 1);
+        value[0] = COMPRESSED;
+        return value;
+    }
+
+    private String decode(byte[] value) {
+        // A compressed value can only exist once the table has been published
+        return value[0] == COMPRESSED
+            ? table.decode(value, 1)
+            : new String(value, 1, value.length - 1, StandardCharsets.UTF_8);
+    }
+
+    private void sample(String longUrl) {
+        List<String> trainingSample;
+        synchronized (this) {
+            if (sample == null) {
+                return;
+            }
+            sample.add(longUrl);
+            if (sample.size() < trainingSampleSize) {
+                return;
+            }
+            trainingSample = sample;
+            sample = null;
+        }
+        Thread trainer = new Thread(() -> train(trainingSample), "symbol-table-training");
+        trainer.setDaemon(true);
+        trainer.start();
+    }
+
+    private void train(List<String> trainingSample) {
+        try {
+            long started = System.nanoTime();
+            table = SymbolTable.train(trainingSample);
+            recompress();
+            logger.info("Trained URL symbol table with {} symbols on {} URLs in {} ms, compression ratio {}",
+                table.symbolCount(), trainingSample.size(), (System.nanoTime() - started) / 1_000_000,
+                String.format("%.2f", getCompressionRatio()));
+        } catch (RuntimeException e) {
+            logger.error("URL symbol table training failed, storing URLs uncompressed: ", e);
+        } finally {
+            trainingDone.countDown();
+        }
+    }
+
+    /**
+     * Compresses the values stored before training. Values replaced
+     * concurrently are left to their writer.
+     */
+    private void recompress() {
+        Generation current = generation;
+        current.links.forEach((shortCode, value) -> compress(current, shortCode, value));
+    }
+
+    private void compress(Generation current, String shortCode, byte[] value) {
+        if (value[0] == PLAIN && table != null) {
+            byte[] compressed = encode(decode(value));
+            if (current.links.replace(shortCode, value, compressed)) {
+                current.storedBytes.addAndGet(compressed.length - value.length);
+            }
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a over the URL's characters followed by a final avalanche step.
+     */
+    private static long fingerprint(String longUrl) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < longUrl.length(); i++) {
+            hash ^= longUrl.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * The forward mappings, the reverse index and their byte counts, swapped as a whole.
+     */
+    private static final class Generation {
+        final ConcurrentHashMap<String, byte[]> links = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<Long, String> codesByFingerprint = new ConcurrentHashMap<>();
+        final AtomicLong urlBytes = new AtomicLong();
+        final AtomicLong storedBytes = new AtomicLong();
+
+        void addBytes(String longUrl, byte[] value) {
+            urlBytes.addAndGet(longUrl.length());
+            storedBytes.addAndGet(value.length);
+        }
+
+        void forgetBytes(String longUrl, byte[] value) {
+            urlBytes.addAndGet(-longUrl.length());
+            storedBytes.addAndGet(-value.length);
+        }
+    }
+}
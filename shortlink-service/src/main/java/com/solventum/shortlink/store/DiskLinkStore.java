@@ -0,0 +1,188 @@
+package com.solventum.shortlink.store;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Append-only file of long URLs with an in-memory offset index, used as the
+ * cold tier of {@link TieredLinkStore}.
+ *
+ * Each put appends the UTF-8 bytes of the URL to the file; the index maps
+ * the short code to the record's offset and length packed into one long, so
+ * a lookup is a single positional read with no seeking state shared between
+ * threads. Writers only synchronize to reserve their region of the file and
+ * to publish it. Clearing starts a new epoch, and a write that reserved its
+ * region in an earlier epoch is dropped instead of indexing an offset the
+ * truncated file reuses.
+ *
+ * Removed records stay in the file as garbage until the store is cleared.
+ * The file is private to this process and deleted on close.
+ */
+public class DiskLinkStore implements AutoCloseable {
+
+    private static final int LENGTH_BITS = 16;
+    private static final long LENGTH_MASK = (1L << LENGTH_BITS) - 1;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ConcurrentHashMap<String, Long> index = new ConcurrentHashMap<>();
+    private long end;
+    // Guarded by this; bumped by every clear
+    private long epoch;
+
+    /**
+     * Creates a store backed by a new temporary file.
+     *
+     * @param directory directory for the spill file
+     * @throws UncheckedIOException if the file cannot be created
+     */
+    public DiskLinkStore(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            this.file = Files.createTempFile(directory, "shortlinks-", ".spill");
+            this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create spill file in " + directory, e);
+        }
+    }
+
+    /**
+     * Reads the URL spilled for a short code.
+     *
+     * @param shortCode the short code
+     * @return the long URL, or null if the code has no record
+     */
+    public String get(String shortCode) {
+        Long location = index.get(shortCode);
+        return location == null ? null : read(shortCode, location);
+    }
+
+    /**
+     * Reads every indexed record.
+     *
+     * @param action receives each short code and its long URL
+     */
+    public void forEach(BiConsumer<String, String> action) {
+        index.forEach((shortCode, location) -> action.accept(shortCode, read(shortCode, location)));
+    }
+
+    private String read(String shortCode, long location) {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (location & LENGTH_MASK));
+        long position = location >>> LENGTH_BITS;
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of spill file");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read spilled link " + shortCode, e);
+        }
+        return new String(buffer.array(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends a URL to the file and indexes it under the short code.
+     *
+     * @param shortCode the short code
+     * @param longUrl the long URL
+     */
+    public void put(String shortCode, String longUrl) {
+        byte[] bytes = longUrl.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > LENGTH_MASK) {
+            throw new IllegalArgumentException("URL is too long to spill");
+        }
+        long position;
+        long reservedEpoch;
+        synchronized (this) {
+            position = end;
+            end += bytes.length;
+            reservedEpoch = epoch;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, position + buffer.position());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot spill link " + shortCode, e);
+        }
+        // Publish only after the bytes are in place, and only if the file was not truncated meanwhile
+        synchronized (this) {
+            if (epoch == reservedEpoch) {
+                index.put(shortCode, position << LENGTH_BITS | bytes.length);
+            }
+        }
+    }
+
+    /**
+     * Drops the record for a short code from the index.
+     *
+     * @param shortCode the short code
+     * @return the long URL that was removed, or null if the code had no record
+     */
+    public String remove(String shortCode) {
+        String longUrl = get(shortCode);
+        return index.remove(shortCode) != null ? longUrl : null;
+    }
+
+    /**
+     * Checks whether a short code has a record on disk.
+     *
+     * @param shortCode the short code
+     * @return true if the code is indexed
+     */
+    public boolean contains(String shortCode) {
+        return index.containsKey(shortCode);
+    }
+
+    /**
+     * Returns the number of indexed records.
+     *
+     * @return record count
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns the number of bytes written to the spill file, including garbage.
+     *
+     * @return file length in bytes
+     */
+    public synchronized long getFileBytes() {
+        return end;
+    }
+
+    /**
+     * Drops every record and truncates the file.
+     */
+    public synchronized void clear() {
+        index.clear();
+        try {
+            channel.truncate(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot truncate spill file " + file, e);
+        }
+        end = 0;
+        epoch++;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close spill file " + file, e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.solventum.shortlink.store;
+
+/**
+ * How {@link TieredLinkStore} chooses which in-memory mappings to spill to disk.
+ */
+public enum EvictionPolicy {
+
+    /**
+     * Least recently used, approximated with a CLOCK (second chance) sweep.
+     */
+    LRU,
+
+    /**
+     * Least frequently used, with counts aged on every sweep so that
+     * formerly popular links eventually become evictable.
+     */
+    LFU
+}
@@ -0,0 +1,108 @@
+package com.solventum.shortlink.store;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Unbounded store keeping every mapping on the heap.
+ *
+ * Both maps form one generation, published through a single volatile
+ * reference. Clearing or loading the store builds a new generation on the
+ * side and swaps it in, so readers see the old mappings or the new ones,
+ * never a half-cleared mix, and the old generation is left to the garbage
+ * collector instead of being emptied entry by entry. A write that races a
+ * swap is repeated on the new generation, so it is never lost.
+ */
+public class InMemoryLinkStore implements LinkStore {
+
+    private volatile Generation generation = new Generation();
+
+    @Override
+    public String get(String shortCode) {
+        return generation.links.get(shortCode);
+    }
+
+    @Override
+    public void put(String shortCode, String longUrl) {
+        Generation current;
+        do {
+            current = generation;
+            current.links.put(shortCode, longUrl);
+        } while (current != generation);
+    }
+
+    @Override
+    public void index(String longUrl, String shortCode) {
+        Generation current;
+        do {
+            current = generation;
+            current.codesByUrl.put(longUrl, shortCode);
+        } while (current != generation);
+    }
+
+    @Override
+    public String findCode(String longUrl) {
+        return generation.codesByUrl.get(longUrl);
+    }
+
+    @Override
+    public String remove(String shortCode) {
+        String removed = null;
+        Generation current;
+        do {
+            current = generation;
+            String longUrl = current.links.remove(shortCode);
+            if (longUrl != null) {
+                current.codesByUrl.remove(longUrl, shortCode);
+                removed = longUrl;
+            }
+        } while (current != generation);
+        return removed;
+    }
+
+    @Override
+    public String replace(String shortCode, String longUrl) {
+        String replaced = null;
+        Generation current;
+        do {
+            current = generation;
+            String previous = current.links.replace(shortCode, longUrl);
+            if (previous != null) {
+                current.codesByUrl.remove(previous, shortCode);
+                replaced = previous;
+            }
+        } while (current != generation);
+        return replaced;
+    }
+
+    @Override
+    public void forEach(BiConsumer<String, String> action) {
+        generation.links.forEach(action);
+    }
+
+    @Override
+    public int size() {
+        return generation.links.size();
+    }
+
+    @Override
+    public void clear() {
+        generation = new Generation();
+    }
+
+    @Override
+    public void load(Consumer<BiConsumer<String, String>> dataset) {
+        Generation loaded = new Generation();
+        dataset.accept((shortCode, longUrl) -> {
+            loaded.links.put(shortCode, longUrl);
+            loaded.codesByUrl.putIfAbsent(longUrl, shortCode);
+        });
+        generation = loaded;
+    }
+
+    private static final class Generation {
+        final ConcurrentHashMap<String, String> links = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, String> codesByUrl = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,207 @@
+package com.solventum.shortlink.store;
+
+import com.solventum.shortlink.compress.PrefixTable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Heap store that keeps each long URL as an interned prefix plus the UTF-8
+ * bytes of the rest of the URL.
+ *
+ * The host and first path segment shared by many URLs are stored once in a
+ * {@link PrefixTable}, and each value refers to its prefix's shared bytes;
+ * with compressed references that costs no more than an integer prefix id,
+ * and reading a URL back needs no table lookup, just two array copies. The
+ * reverse index is keyed by the very object the forward mapping holds, so
+ * deduplication costs one map entry per URL rather than a second copy of
+ * it, and matches are exact.
+ *
+ * As in {@link InMemoryLinkStore}, both maps form one generation that
+ * clearing and loading replace with a single reference swap.
+ */
+public class InternedLinkStore implements LinkStore {
+
+    private final PrefixTable prefixes;
+    private volatile Generation generation = new Generation();
+
+    /**
+     * Creates an empty store.
+     *
+     * @param maxPrefixes maximum number of distinct prefixes to intern
+     */
+    public InternedLinkStore(int maxPrefixes) {
+        this.prefixes = new PrefixTable(maxPrefixes);
+    }
+
+    @Override
+    public String get(String shortCode) {
+        InternedUrl value = generation.links.get(shortCode);
+        return value == null ? null : value.decode();
+    }
+
+    @Override
+    public void put(String shortCode, String longUrl) {
+        InternedUrl value = intern(longUrl);
+        Generation current;
+        do {
+            current = generation;
+            InternedUrl previous = current.links.put(shortCode, value);
+            if (previous != null) {
+                current.codesByUrl.remove(previous, shortCode);
+            }
+        } while (current != generation);
+    }
+
+    @Override
+    public void index(String longUrl, String shortCode) {
+        Generation current;
+        do {
+            current = generation;
+            // Share the forward mapping's value as the key
+            InternedUrl value = current.links.get(shortCode);
+            if (value != null) {
+                current.codesByUrl.put(value, shortCode);
+            }
+        } while (current != generation);
+    }
+
+    @Override
+    public String findCode(String longUrl) {
+        int prefixLength = PrefixTable.prefixLength(longUrl);
+        byte[] prefix = null;
+        if (prefixLength > 0) {
+            prefix = prefixes.find(longUrl.substring(0, prefixLength));
+            if (prefix == null && !prefixes.isFull()) {
+                // Every stored URL with this prefix would have interned it
+                return null;
+            }
+        }
+        return generation.codesByUrl.get(InternedUrl.of(longUrl, prefix, prefixLength));
+    }
+
+    @Override
+    public String remove(String shortCode) {
+        InternedUrl removed = null;
+        Generation current;
+        do {
+            current = generation;
+            InternedUrl value = current.links.remove(shortCode);
+            if (value != null) {
+                current.codesByUrl.remove(value, shortCode);
+                removed = value;
+            }
+        } while (current != generation);
+        return removed == null ? null : removed.decode();
+    }
+
+    @Override
+    public String replace(String shortCode, String longUrl) {
+        InternedUrl value = intern(longUrl);
+        InternedUrl replaced = null;
+        Generation current;
+        do {
+            current = generation;
+            InternedUrl previous = current.links.replace(shortCode, value);
+            if (previous != null) {
+                current.codesByUrl.remove(previous, shortCode);
+                replaced = previous;
+            }
+        } while (current != generation);
+        return replaced == null ? null : replaced.decode();
+    }
+
+    @Override
+    public void forEach(BiConsumer<String, String> action) {
+        generation.links.forEach((shortCode, value) -> action.accept(shortCode, value.decode()));
+    }
+
+    @Override
+    public int size() {
+        return generation.links.size();
+    }
+
+    /**
+     * Returns the number of distinct prefixes interned so far.
+     *
+     * @return prefix count
+     */
+    public int getPrefixCount() {
+        return prefixes.size();
+    }
+
+    @Override
+    public void clear() {
+        // Interned prefixes are kept: they are bounded and likely to recur
+        generation = new Generation();
+    }
+
+    @Override
+    public void load(Consumer<BiConsumer<String, String>> dataset) {
+        Generation loaded = new Generation();
+        dataset.accept((shortCode, longUrl) -> {
+            InternedUrl value = intern(longUrl);
+            loaded.links.put(shortCode, value);
+            loaded.codesByUrl.putIfAbsent(value, shortCode);
+        });
+        generation = loaded;
+    }
+
+    private InternedUrl intern(String longUrl) {
+        int prefixLength = PrefixTable.prefixLength(longUrl);
+        byte[] prefix = prefixLength == 0 ? null : prefixes.intern(longUrl.substring(0, prefixLength));
+        return InternedUrl.of(longUrl, prefix, prefixLength);
+    }
+
+    /**
+     * The forward mappings and the reverse index, swapped as a whole.
+     */
+    private static final class Generation {
+        final ConcurrentHashMap<String, InternedUrl> links = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<InternedUrl, String> codesByUrl = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * A long URL as its interned prefix and the UTF-8 suffix. Prefixes are
+     * shared arrays, so they compare by identity and suffixes by content.
+     */
+    private static final class InternedUrl {
+        private final byte[] prefix;
+        private final byte[] suffix;
+        private final int hash;
+
+        private InternedUrl(byte[] prefix, byte[] suffix) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.hash = 31 * System.identityHashCode(prefix) + Arrays.hashCode(suffix);
+        }
+
+        /**
+         * Splits a URL at its prefix, or keeps it whole if the prefix is null.
+         */
+        static InternedUrl of(String longUrl, byte[] prefix, int prefixLength) {
+            return prefix == null
+                ? new InternedUrl(PrefixTable.empty(), longUrl.getBytes(StandardCharsets.UTF_8))
+                : new InternedUrl(prefix, longUrl.substring(prefixLength).getBytes(StandardCharsets.UTF_8));
+        }
+
+        String decode() {
+            byte[] url = Arrays.copyOf(prefix, prefix.length + suffix.length);
+            System.arraycopy(suffix, 0, url, prefix.length, suffix.length);
+            return new String(url, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof InternedUrl url && prefix == url.prefix && Arrays.equals(suffix, url.suffix);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.solventum.shortlink.store;
+
+import java.util.OptionalLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Storage for short code to long URL mappings, plus the reverse index used to
+ * give the same long URL the same short code.
+ *
+ * Implementations must be thread-safe: the decode path reads concurrently
+ * with encodes, removals and background eviction.
+ */
+public interface LinkStore extends AutoCloseable {
+
+    /**
+     * Looks up the long URL for a short code.
+     *
+     * @param shortCode the short code
+     * @return the long URL, or null if the code is unknown
+     */
+    String get(String shortCode);
+
+    /**
+     * Stores a mapping for a newly generated short code.
+     * The mapping is not visible to {@link #findCode} until it is indexed.
+     *
+     * @param shortCode the short code
+     * @param longUrl the long URL it resolves to
+     */
+    void put(String shortCode, String longUrl);
+
+    /**
+     * Stores a mapping for a newly generated short code and registers it in
+     * the reverse index in one step. The default puts, then indexes; stores
+     * that make each write durable override it to pay for one write.
+     *
+     * @param shortCode the short code
+     * @param longUrl the long URL it resolves to, and that reuses it
+     */
+    default void putIndexed(String shortCode, String longUrl) {
+        put(shortCode, longUrl);
+        index(longUrl, shortCode);
+    }
+
+    /**
+     * Registers a stored mapping in the reverse index.
+     *
+     * @param longUrl the long URL
+     * @param shortCode the short code to reuse for it
+     */
+    void index(String longUrl, String shortCode);
+
+    /**
+     * Looks up the short code registered for a long URL.
+     *
+     * @param longUrl the long URL
+     * @return the short code, or null if the URL is not indexed
+     */
+    String findCode(String longUrl);
+
+    /**
+     * Removes a mapping, and its reverse index entry if it has one.
+     *
+     * @param shortCode the short code
+     * @return the long URL that was removed, or null if the code was unknown
+     */
+    String remove(String shortCode);
+
+    /**
+     * Points an existing mapping at another long URL, and drops its reverse
+     * index entry, so the old URL no longer finds the code. Does nothing if
+     * the code is unknown. The default removes and re-adds the mapping;
+     * stores that can swap the value in place override it, so that decodes
+     * never miss the code meanwhile.
+     *
+     * @param shortCode the short code
+     * @param longUrl the new long URL
+     * @return the previous long URL, or null if the code was unknown
+     */
+    default String replace(String shortCode, String longUrl) {
+        String previous = remove(shortCode);
+        if (previous != null) {
+            put(shortCode, longUrl);
+        }
+        return previous;
+    }
+
+    /**
+     * Visits every stored mapping, for exports. Mappings added or removed while
+     * the visit runs may be missed or, in tiered stores, visited twice.
+     *
+     * @param action receives each short code and its long URL
+     */
+    void forEach(BiConsumer<String, String> action);
+
+    /**
+     * Returns the number of stored mappings.
+     *
+     * @return mapping count
+     */
+    int size();
+
+    /**
+     * Removes all mappings.
+     */
+    void clear();
+
+    /**
+     * Replaces every mapping with those of a dataset, each indexed for
+     * reuse under the first code listing its long URL. Heap stores build the
+     * new mappings on the side and publish them with one reference swap, so
+     * readers never see a mix of both; the default clears the store and
+     * stores the dataset mapping by mapping.
+     *
+     * @param dataset hands each short code and long URL of the dataset to the given callback
+     */
+    default void load(Consumer<BiConsumer<String, String>> dataset) {
+        clear();
+        dataset.accept((shortCode, longUrl) -> {
+            put(shortCode, longUrl);
+            if (findCode(longUrl) == null) {
+                index(longUrl, shortCode);
+            }
+        });
+    }
+
+    /**
+     * Checks whether the store rejects writes, as decode-only replicas do.
+     *
+     * @return true if every write operation throws {@link UnsupportedOperationException}
+     */
+    default boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Checks whether the mappings and the id watermark survive a restart.
+     *
+     * @return true if a reopened store holds what it held when it was closed
+     */
+    default boolean isPersistent() {
+        return false;
+    }
+
+    /**
+     * Persists the expiration time of a mapping about to be stored, so that
+     * it still expires after a restart. Removing the mapping removes it too.
+     * Volatile stores ignore it.
+     *
+     * @param shortCode the short code
+     * @param expiresAtMillis expiration time in epoch milliseconds
+     */
+    default void saveExpiration(String shortCode, long expiresAtMillis) {
+    }
+
+    /**
+     * Visits the expiration times saved by {@link #saveExpiration} for the
+     * mappings the store still holds. Volatile stores have none.
+     *
+     * @param action receives each short code and its expiration time in epoch milliseconds
+     */
+    default void forEachExpiration(BiConsumer<String, Long> action) {
+    }
+
+    /**
+     * Persists a custom alias, so that it still resolves after a restart.
+     * Saving an alias again overwrites its long URL. Volatile stores ignore it.
+     *
+     * @param alias the alias
+     * @param longUrl the long URL it resolves to
+     */
+    default void saveAlias(String alias, String longUrl) {
+    }
+
+    /**
+     * Forgets an alias saved by {@link #saveAlias}.
+     *
+     * @param alias the alias
+     */
+    default void removeAlias(String alias) {
+    }
+
+    /**
+     * Visits the aliases saved by {@link #saveAlias}. Volatile stores have none.
+     *
+     * @param action receives each alias and its long URL
+     */
+    default void forEachAlias(BiConsumer<String, String> action) {
+    }
+
+    /**
+     * Returns the id watermark last saved by {@link #saveIdWatermark}.
+     * Stores that do not survive restarts return 0.
+     *
+     * @return the saved watermark
+     */
+    default long loadIdWatermark() {
+        return 0;
+    }
+
+    /**
+     * Persists a bound below which ids may already be in use, so that numbering
+     * resumes above it after a restart. Volatile stores ignore it.
+     *
+     * @param watermark exclusive upper bound of ids handed out so far
+     */
+    default void saveIdWatermark(long watermark) {
+    }
+
+    /**
+     * Returns the fingerprint of the short code codec saved by
+     * {@link #saveCodecFingerprint}. Stores that do not survive restarts
+     * have none.
+     *
+     * @return the saved fingerprint, or empty if none was saved
+     */
+    default OptionalLong loadCodecFingerprint() {
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Persists the fingerprint of the codec the store's short codes are
+     * issued with, so that a restart with another codec can be refused.
+     * Volatile stores ignore it.
+     *
+     * @param fingerprint the codec fingerprint
+     */
+    default void saveCodecFingerprint(long fingerprint) {
+    }
+
+    /**
+     * Reads the store's on-disk or memory-mapped data once, so that it is in
+     * the page cache before traffic arrives instead of being faulted in by
+     * the first lookups. Stores holding everything on the heap have nothing
+     * to touch.
+     *
+     * @return the number of bytes touched
+     */
+    default long preTouch() {
+        return 0;
+    }
+
+    /**
+     * Releases any resources held by the store.
+     */
+    @Override
+    default void close() {
+    }
+}
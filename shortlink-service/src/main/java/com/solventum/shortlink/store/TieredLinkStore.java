@@ -0,0 +1,258 @@
+package com.solventum.shortlink.store;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Memory-bounded store: a fixed number of hot mappings on the heap, the rest
+ * spilled to a {@link DiskLinkStore}.
+ *
+ * Lookups hit the heap tier first and fault misses back in from disk,
+ * promoting them to the heap. When the heap tier grows past its capacity a
+ * CLOCK sweep picks victims according to the {@link EvictionPolicy}: each
+ * entry carries a small access counter that reads bump and the sweep ages,
+ * and entries whose counter has reached zero are spilled. Reads never take a
+ * lock; at most one writer sweeps at a time, and the others carry on.
+ *
+ * Spilled records are kept on disk after being faulted in, so evicting an
+ * entry that is already on disk is just dropping it from the heap. The
+ * reverse index stays on the heap.
+ */
+public class TieredLinkStore implements LinkStore {
+
+    private static final int MAX_FREQUENCY = 15;
+
+    private final int hotCapacity;
+    private final EvictionPolicy policy;
+    private final DiskLinkStore disk;
+    private final ConcurrentHashMap<String, HotEntry> hot = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> codesByUrl = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder faults = new LongAdder();
+
+    // Clock hand over the heap tier, owned by whoever holds the eviction lock
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private Iterator<Map.Entry<String, HotEntry>> hand;
+
+    /**
+     * Creates a tiered store.
+     *
+     * @param hotCapacity maximum number of mappings kept on the heap
+     * @param policy how to choose mappings to spill
+     * @param disk the cold tier
+     */
+    public TieredLinkStore(int hotCapacity, EvictionPolicy policy, DiskLinkStore disk) {
+        if (hotCapacity < 1) {
+            throw new IllegalArgumentException("Hot capacity must be positive");
+        }
+        this.hotCapacity = hotCapacity;
+        this.policy = policy;
+        this.disk = disk;
+    }
+
+    @Override
+    public String get(String shortCode) {
+        HotEntry entry = hot.get(shortCode);
+        if (entry != null) {
+            touch(entry);
+            return entry.longUrl;
+        }
+
+        String longUrl = disk.get(shortCode);
+        if (longUrl == null) {
+            return null;
+        }
+        faults.increment();
+        HotEntry promoted = new HotEntry(longUrl, true);
+        if (hot.putIfAbsent(shortCode, promoted) == null) {
+            // A concurrent remove may have run between the disk read and the promotion
+            if (!disk.contains(shortCode)) {
+                hot.remove(shortCode, promoted);
+                return null;
+            }
+            evictIfNeeded();
+        }
+        return longUrl;
+    }
+
+    @Override
+    public void put(String shortCode, String longUrl) {
+        if (hot.put(shortCode, new HotEntry(longUrl, false)) == null && !disk.contains(shortCode)) {
+            size.incrementAndGet();
+        }
+        evictIfNeeded();
+    }
+
+    @Override
+    public void index(String longUrl, String shortCode) {
+        codesByUrl.put(longUrl, shortCode);
+    }
+
+    @Override
+    public String findCode(String longUrl) {
+        return codesByUrl.get(longUrl);
+    }
+
+    @Override
+    public String remove(String shortCode) {
+        HotEntry entry = hot.remove(shortCode);
+        String spilled = disk.remove(shortCode);
+        String longUrl = entry != null ? entry.longUrl : spilled;
+        if (longUrl != null) {
+            size.decrementAndGet();
+            codesByUrl.remove(longUrl, shortCode);
+        }
+        return longUrl;
+    }
+
+    /**
+     * Swaps the URL of the heap entry, faulting the mapping in first if it
+     * was spilled, so decodes see the old URL or the new one but never miss.
+     * A spilled copy is rewritten under the entry's bin lock, which a
+     * concurrent remove waits for, so it cannot bring the mapping back.
+     */
+    @Override
+    public String replace(String shortCode, String longUrl) {
+        String[] previous = new String[1];
+        // Loops only if the entry is evicted between the fault-in and the swap
+        while (get(shortCode) != null) {
+            hot.computeIfPresent(shortCode, (code, entry) -> {
+                previous[0] = entry.longUrl;
+                if (entry.onDisk) {
+                    disk.put(code, longUrl);
+                }
+                // An entry being spilled right now loses the race, and its spilled record is dropped
+                return new HotEntry(longUrl, entry.onDisk);
+            });
+            if (previous[0] != null) {
+                codesByUrl.remove(previous[0], shortCode);
+                return previous[0];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void forEach(BiConsumer<String, String> action) {
+        // Faulted-in entries are also on disk, so only heap-only ones are visited here
+        hot.forEach((shortCode, entry) -> {
+            if (!entry.onDisk) {
+                action.accept(shortCode, entry.longUrl);
+            }
+        });
+        disk.forEach(action);
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Returns the number of mappings currently held on the heap.
+     *
+     * @return heap tier size
+     */
+    public int getHotSize() {
+        return hot.size();
+    }
+
+    /**
+     * Returns the number of mappings with a record on disk.
+     *
+     * @return disk tier size
+     */
+    public int getSpilledSize() {
+        return disk.size();
+    }
+
+    /**
+     * Returns how many lookups had to be served from disk.
+     *
+     * @return fault count
+     */
+    public long getFaultCount() {
+        return faults.sum();
+    }
+
+    @Override
+    public void clear() {
+        evictionLock.lock();
+        try {
+            hot.clear();
+            codesByUrl.clear();
+            disk.clear();
+            size.set(0);
+            hand = null;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        disk.close();
+    }
+
+    private void touch(HotEntry entry) {
+        // Skip the write when nothing changes to avoid dirtying a shared cache line on every hit
+        int frequency = entry.frequency;
+        if (policy == EvictionPolicy.LFU) {
+            if (frequency < MAX_FREQUENCY) {
+                entry.frequency = frequency + 1;
+            }
+        } else if (frequency == 0) {
+            entry.frequency = 1;
+        }
+    }
+
+    private void evictIfNeeded() {
+        if (hot.size() <= hotCapacity || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            while (hot.size() > hotCapacity) {
+                if (hand == null || !hand.hasNext()) {
+                    hand = hot.entrySet().iterator();
+                    if (!hand.hasNext()) {
+                        return;
+                    }
+                }
+                Map.Entry<String, HotEntry> candidate = hand.next();
+                HotEntry entry = candidate.getValue();
+                if (entry.frequency > 0) {
+                    // Second chance: LRU clears the reference bit, LFU halves the count
+                    entry.frequency = policy == EvictionPolicy.LFU ? entry.frequency >> 1 : 0;
+                    continue;
+                }
+                if (entry.onDisk) {
+                    hot.remove(candidate.getKey(), entry);
+                } else {
+                    disk.put(candidate.getKey(), entry.longUrl);
+                    if (!hot.remove(candidate.getKey(), entry)) {
+                        // Removed while being spilled: drop the record just written
+                        disk.remove(candidate.getKey());
+                    }
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class HotEntry {
+        private final String longUrl;
+        private final boolean onDisk;
+        private volatile int frequency = 1;
+
+        HotEntry(String longUrl, boolean onDisk) {
+            this.longUrl = longUrl;
+            this.onDisk = onDisk;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.solventum.shortlink.store.lsm;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Bloom filter over byte array keys, one per SSTable.
+ *
+ * Uses about ten bits per key and seven probes, for a false positive rate
+ * near 1%, so most lookups of keys that are not in a table skip reading it.
+ */
+final class BloomFilter {
+
+    private static final int BITS_PER_KEY = 10;
+    private static final int PROBES = 7;
+
+    private final long[] bits;
+    private final long bitCount;
+
+    BloomFilter(long expectedKeys) {
+        long size = Math.max(64, expectedKeys * BITS_PER_KEY);
+        this.bits = new long[(int) Math.min(Integer.MAX_VALUE - 8, (size + 63) >>> 6)];
+        this.bitCount = (long) bits.length << 6;
+    }
+
+    private BloomFilter(long[] bits) {
+        this.bits = bits;
+        this.bitCount = (long) bits.length << 6;
+    }
+
+    void add(byte[] key) {
+        long hash = hash64(key);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < PROBES; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(byte[] key) {
+        long hash = hash64(key);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < PROBES; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(bits.length);
+        for (long word : bits) {
+            out.writeLong(word);
+        }
+    }
+
+    static BloomFilter readFrom(DataInput in) throws IOException {
+        long[] bits = new long[in.readInt()];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = in.readLong();
+        }
+        return new BloomFilter(bits);
+    }
+
+    /**
+     * 64-bit FNV-1a with a murmur-style finalizer.
+     */
+    static long hash64(byte[] key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
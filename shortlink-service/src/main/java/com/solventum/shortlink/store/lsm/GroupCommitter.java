@@ -0,0 +1,187 @@
+package com.solventum.shortlink.store.lsm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batches the writes of many threads into one write-ahead log sync.
+ *
+ * Writers put their write into a bounded ring buffer and wait. A single
+ * committer thread takes the oldest write, lingers up to the configured
+ * time for more, drains up to a batch, and hands the batch to the tree,
+ * which appends and applies it under one lock acquisition and syncs the log
+ * once. Every writer in the batch is then released together, so an fsync
+ * is paid per batch rather than per write. Under load the batch is simply
+ * whatever queued up during the previous sync, so a linger of zero adds no
+ * latency when idle and still batches when busy.
+ */
+final class GroupCommitter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupCommitter.class);
+
+    // How long the idle committer waits before checking whether it was closed
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final ArrayBlockingQueue<PendingWrite> ring;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final BatchWriter writer;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * Writes a batch durably, in order.
+     */
+    interface BatchWriter {
+        void write(List<PendingWrite> batch) throws IOException;
+    }
+
+    /**
+     * Creates and starts a committer.
+     *
+     * @param batchSize most writes synced together
+     * @param lingerMicros how long to wait for a batch to fill once it has a write
+     * @param writer appends, applies and syncs a batch
+     * @param name name of the committer thread
+     */
+    GroupCommitter(int batchSize, long lingerMicros, BatchWriter writer, String name) {
+        if (batchSize < 1 || lingerMicros < 0) {
+            throw new IllegalArgumentException("Batch size must be positive and linger time not negative");
+        }
+        this.ring = new ArrayBlockingQueue<>(Math.max(1024, 4 * batchSize));
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MICROSECONDS.toNanos(lingerMicros);
+        this.writer = writer;
+        this.thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues a write and waits until it is durable and visible to readers.
+     * The keys of one write always land in the same batch.
+     *
+     * @param keys the keys
+     * @param values the values, each possibly {@link LsmTree#TOMBSTONE}
+     * @throws UncheckedIOException if the batch could not be written or the wait was interrupted
+     * @throws IllegalStateException if the committer is closed
+     */
+    void commit(byte[][] keys, byte[][] values) {
+        PendingWrite write = new PendingWrite(keys, values);
+        try {
+            ring.put(write);
+            if (!running) {
+                // Closed while queuing: the committer may already have drained for the last time
+                failPending(new IllegalStateException("LSM tree is closed"));
+            }
+            write.done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted waiting for group commit"));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw new UncheckedIOException("Group commit failed", io);
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Commits the writes already queued, then stops the committer thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failPending(new IllegalStateException("LSM tree is closed"));
+    }
+
+    private void run() {
+        // Never interrupted: an interrupt during a sync would close the log's channel
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (true) {
+            PendingWrite first = running ? poll(IDLE_POLL_NANOS) : ring.poll();
+            if (first == null) {
+                if (!running) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            if (lingerNanos > 0) {
+                long deadline = System.nanoTime() + lingerNanos;
+                long remaining;
+                while (batch.size() < batchSize && (remaining = deadline - System.nanoTime()) > 0) {
+                    PendingWrite next = poll(remaining);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            }
+            ring.drainTo(batch, batchSize - batch.size());
+            commitBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private PendingWrite poll(long timeoutNanos) {
+        try {
+            return ring.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            return null;
+        }
+    }
+
+    private void commitBatch(List<PendingWrite> batch) {
+        try {
+            writer.write(batch);
+            for (PendingWrite write : batch) {
+                write.done.complete(null);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Group commit of {} writes failed: ", batch.size(), e);
+            for (PendingWrite write : batch) {
+                write.done.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void failPending(RuntimeException failure) {
+        PendingWrite write;
+        while ((write = ring.poll()) != null) {
+            write.done.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * A queued write of one or more keys, and the future its writer waits on.
+     */
+    static final class PendingWrite {
+        final byte[][] keys;
+        final byte[][] values;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        PendingWrite(byte[][] keys, byte[][] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.solventum.shortlink.store.lsm;
+
+import com.solventum.shortlink.store.LinkStore;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Persistent link store on an {@link LsmTree}, for data sets larger than the heap.
+ *
+ * Five kinds of keys share the tree, distinguished by a one-byte prefix:
+ * <ul>
+ *   <li>{@code c<code>} - short code to long URL</li>
+ *   <li>{@code f<fingerprint>} - 64-bit hash of a long URL to its short code,
+ *       the reverse index; a hit is confirmed against the forward mapping, so a
+ *       hash collision only costs a missed reuse</li>
+ *   <li>{@code x<code>} - expiration time of a link with a TTL, so that it
+ *       still expires after a restart</li>
+ *   <li>{@code a<alias>} - custom alias to long URL</li>
+ *   <li>{@code m<name>} - store metadata such as the id watermark</li>
+ * </ul>
+ *
+ * The mapping count is kept in memory and checkpointed to metadata every
+ * {@value #COUNT_CHECKPOINT_INTERVAL} changes and on close, so after a crash
+ * it may be off by up to that many. Writes to a short code look at its
+ * current mapping first, under a lock striped by code, so overwriting a
+ * mapping does not count it twice and a retarget racing a removal cannot
+ * bring the removed mapping back. Clearing the store removes the links,
+ * their index and the aliases but keeps the id watermark and codec fingerprint.
+ */
+public class LsmLinkStore implements LinkStore {
+
+    private static final byte LINK = 'c';
+    private static final byte FINGERPRINT = 'f';
+    private static final byte META = 'm';
+    private static final byte EXPIRATION = 'x';
+    private static final byte ALIAS = 'a';
+
+    private static final byte[] ID_WATERMARK_KEY = key(META, "id-watermark");
+    private static final byte[] COUNT_KEY = key(META, "count");
+    private static final byte[] CODEC_KEY = key(META, "codec");
+
+    private static final int COUNT_CHECKPOINT_INTERVAL = 4096;
+
+    // Writes to one short code check its current value first; a power of two
+    private static final int LOCK_STRIPES = 64;
+
+    private final LsmTree tree;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong changesSinceCheckpoint = new AtomicLong();
+
+    // Keeps a watermark saved while the store is cleared from being wiped with it
+    private final Object metadataLock = new Object();
+
+    // Serialize the read-then-write sequences of put, remove and replace per short code
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    /**
+     * Creates a store on an open tree and restores its mapping count.
+     *
+     * @param tree the tree holding the store's data
+     */
+    public LsmLinkStore(LsmTree tree) {
+        this.tree = tree;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        byte[] savedCount = tree.get(COUNT_KEY);
+        count.set(savedCount == null ? 0 : ByteBuffer.wrap(savedCount).getLong());
+    }
+
+    @Override
+    public String get(String shortCode) {
+        byte[] longUrl = tree.get(key(LINK, shortCode));
+        return longUrl == null ? null : new String(longUrl, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void put(String shortCode, String longUrl) {
+        byte[] key = key(LINK, shortCode);
+        synchronized (lockFor(shortCode)) {
+            // Replayed or repeated puts overwrite the mapping without adding one
+            boolean added = tree.get(key) == null;
+            tree.put(key, longUrl.getBytes(StandardCharsets.UTF_8));
+            if (added) {
+                count.incrementAndGet();
+                countChanged();
+            }
+        }
+    }
+
+    /**
+     * Writes the mapping and its fingerprint entry together, so that with
+     * fsync enabled they share one group commit instead of waiting for two.
+     */
+    @Override
+    public void putIndexed(String shortCode, String longUrl) {
+        byte[] key = key(LINK, shortCode);
+        synchronized (lockFor(shortCode)) {
+            boolean added = tree.get(key) == null;
+            tree.putAll(List.of(
+                Map.entry(key, longUrl.getBytes(StandardCharsets.UTF_8)),
+                Map.entry(fingerprintKey(longUrl), shortCode.getBytes(StandardCharsets.UTF_8))));
+            if (added) {
+                count.incrementAndGet();
+                countChanged();
+            }
+        }
+    }
+
+    @Override
+    public void index(String longUrl, String shortCode) {
+        tree.put(fingerprintKey(longUrl), shortCode.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String findCode(String longUrl) {
+        byte[] code = tree.get(fingerprintKey(longUrl));
+        if (code == null) {
+            return null;
+        }
+        String shortCode = new String(code, StandardCharsets.UTF_8);
+        return longUrl.equals(get(shortCode)) ? shortCode : null;
+    }
+
+    @Override
+    public String replace(String shortCode, String longUrl) {
+        synchronized (lockFor(shortCode)) {
+            String previous = get(shortCode);
+            if (previous != null) {
+                // The old URL's fingerprint entry no longer passes the check in findCode
+                tree.put(key(LINK, shortCode), longUrl.getBytes(StandardCharsets.UTF_8));
+            }
+            return previous;
+        }
+    }
+
+    @Override
+    public String remove(String shortCode) {
+        synchronized (lockFor(shortCode)) {
+            String longUrl = get(shortCode);
+            if (longUrl == null) {
+                return null;
+            }
+            tree.delete(key(LINK, shortCode));
+            byte[] expirationKey = key(EXPIRATION, shortCode);
+            if (tree.get(expirationKey) != null) {
+                tree.delete(expirationKey);
+            }
+            byte[] fingerprintKey = fingerprintKey(longUrl);
+            if (Arrays.equals(tree.get(fingerprintKey), shortCode.getBytes(StandardCharsets.UTF_8))) {
+                tree.delete(fingerprintKey);
+            }
+            count.decrementAndGet();
+            countChanged();
+            return longUrl;
+        }
+    }
+
+    @Override
+    public void forEach(BiConsumer<String, String> action) {
+        tree.scan(new byte[] {LINK}, (key, longUrl) -> action.accept(
+            new String(key, 1, key.length - 1, StandardCharsets.UTF_8),
+            new String(longUrl, StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, count.get());
+    }
+
+    /**
+     * Removes all mappings. The id watermark and the codec fingerprint are
+     * written back right after the tree is emptied: ids below the watermark
+     * may still be out there in short codes, so a restart must not hand them
+     * out again, nor encode new ids with another key.
+     */
+    @Override
+    public void clear() {
+        synchronized (metadataLock) {
+            byte[] watermark = tree.get(ID_WATERMARK_KEY);
+            byte[] codec = tree.get(CODEC_KEY);
+            tree.clear();
+            count.set(0);
+            if (watermark != null) {
+                tree.put(ID_WATERMARK_KEY, watermark);
+            }
+            if (codec != null) {
+                tree.put(CODEC_KEY, codec);
+            }
+            checkpointCount();
+        }
+    }
+
+    @Override
+    public boolean isPersistent() {
+        return true;
+    }
+
+    @Override
+    public void saveExpiration(String shortCode, long expiresAtMillis) {
+        tree.put(key(EXPIRATION, shortCode), ByteBuffer.allocate(Long.BYTES).putLong(expiresAtMillis).array());
+    }
+
+    @Override
+    public void forEachExpiration(BiConsumer<String, Long> action) {
+        tree.scan(new byte[] {EXPIRATION}, (key, expiresAt) -> {
+            String shortCode = new String(key, 1, key.length - 1, StandardCharsets.UTF_8);
+            // Saved ahead of its mapping, so a crash in between leaves one without a link
+            if (get(shortCode) != null) {
+                action.accept(shortCode, ByteBuffer.wrap(expiresAt).getLong());
+            }
+        });
+    }
+
+    @Override
+    public void saveAlias(String alias, String longUrl) {
+        tree.put(key(ALIAS, alias), longUrl.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void removeAlias(String alias) {
+        tree.delete(key(ALIAS, alias));
+    }
+
+    @Override
+    public void forEachAlias(BiConsumer<String, String> action) {
+        tree.scan(new byte[] {ALIAS}, (key, longUrl) -> action.accept(
+            new String(key, 1, key.length - 1, StandardCharsets.UTF_8),
+            new String(longUrl, StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    public long loadIdWatermark() {
+        byte[] watermark = tree.get(ID_WATERMARK_KEY);
+        return watermark == null ? 0 : ByteBuffer.wrap(watermark).getLong();
+    }
+
+    @Override
+    public void saveIdWatermark(long watermark) {
+        synchronized (metadataLock) {
+            tree.put(ID_WATERMARK_KEY, ByteBuffer.allocate(Long.BYTES).putLong(watermark).array());
+        }
+    }
+
+    @Override
+    public OptionalLong loadCodecFingerprint() {
+        byte[] fingerprint = tree.get(CODEC_KEY);
+        return fingerprint == null ? OptionalLong.empty() : OptionalLong.of(ByteBuffer.wrap(fingerprint).getLong());
+    }
+
+    @Override
+    public void saveCodecFingerprint(long fingerprint) {
+        synchronized (metadataLock) {
+            tree.put(CODEC_KEY, ByteBuffer.allocate(Long.BYTES).putLong(fingerprint).array());
+        }
+    }
+
+    @Override
+    public long preTouch() {
+        return tree.preTouch();
+    }
+
+    @Override
+    public void close() {
+        checkpointCount();
+        tree.close();
+    }
+
+    private Object lockFor(String shortCode) {
+        return locks[shortCode.hashCode() & (LOCK_STRIPES - 1)];
+    }
+
+    private void countChanged() {
+        if (changesSinceCheckpoint.incrementAndGet() % COUNT_CHECKPOINT_INTERVAL == 0) {
+            checkpointCount();
+        }
+    }
+
+    private void checkpointCount() {
+        tree.put(COUNT_KEY, ByteBuffer.allocate(Long.BYTES).putLong(count.get()).array());
+    }
+
+    private static byte[] key(byte prefix, String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] key = new byte[bytes.length + 1];
+        key[0] = prefix;
+        System.arraycopy(bytes, 0, key, 1, bytes.length);
+        return key;
+    }
+
+    private static byte[] fingerprintKey(String longUrl) {
+        long fingerprint = BloomFilter.hash64(longUrl.getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.allocate(1 + Long.BYTES).put(FINGERPRINT).putLong(fingerprint).array();
+    }
+}
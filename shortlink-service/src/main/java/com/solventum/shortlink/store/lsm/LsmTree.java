@@ -0,0 +1,746 @@
+package com.solventum.shortlink.store.lsm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Embedded log-structured merge tree mapping byte array keys to values.
+ *
+ * Writes are appended to a write-ahead log and applied to a sorted in-memory
+ * memtable, so an insert costs one sequential append. Once the memtable
+ * reaches its size limit it becomes immutable, a fresh one takes its place,
+ * and a background thread writes it out as an {@link SSTable}. When enough
+ * tables of similar size accumulate they are merged into one (size-tiered
+ * compaction), keeping the number of tables a read may consult logarithmic
+ * in the data size.
+ *
+ * Reads see the memtables and tables through an immutable snapshot and take
+ * no locks; per-table Bloom filters mean a point read usually touches at
+ * most one block on disk. Writers are serialized on one lock, which also
+ * guards the switch to a new memtable.
+ *
+ * After a restart, tables are reopened and any write-ahead logs not yet
+ * covered by a table are replayed and flushed before the tree is used.
+ *
+ * By default a write returns once its log record reaches the operating
+ * system, which survives a process crash but not a power loss. With fsync
+ * enabled, writes go through a {@link GroupCommitter}: each one returns
+ * once the log is forced to the device, and concurrent writes share one
+ * fsync per batch.
+ */
+public class LsmTree implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LsmTree.class);
+
+    // Marks deleted keys in memtables and tables; compared by identity
+    static final byte[] TOMBSTONE = new byte[0];
+
+    static final int MAX_KEY_LENGTH = 0xffff;
+    static final int MAX_VALUE_LENGTH = 16 * 1024 * 1024;
+
+    // Approximate per-entry heap cost of a skip list node and its key/value arrays
+    private static final long ENTRY_OVERHEAD = 64;
+
+    // Writers wait once this many memtables are queued for flushing
+    private static final int MAX_IMMUTABLE_MEMTABLES = 4;
+
+    // Replaced tables stay open this long for readers still holding an older snapshot
+    private static final long RETIRED_TABLE_GRACE_MS = 60_000;
+
+    private final Path directory;
+    private final long memtableBytes;
+    private final int compactionThreshold;
+    private final Object writeLock = new Object();
+    private final ScheduledThreadPoolExecutor maintenance;
+    private final ConcurrentLinkedQueue<SSTable> retired = new ConcurrentLinkedQueue<>();
+    private final boolean fsync;
+    // Null unless writes are fsynced
+    private final GroupCommitter committer;
+
+    private volatile State state;
+
+    // Guarded by writeLock
+    private WriteAheadLog wal;
+    private long nextSequence;
+    private boolean closed;
+
+    /**
+     * Opens or creates a tree in a directory, recovering any existing data.
+     *
+     * @param directory directory holding the tree's files
+     * @param memtableBytes approximate memtable size at which it is flushed to disk
+     * @param compactionThreshold number of similarly sized tables that triggers a merge
+     * @throws UncheckedIOException if the directory cannot be read or recovered
+     */
+    public LsmTree(Path directory, long memtableBytes, int compactionThreshold) {
+        this(directory, memtableBytes, compactionThreshold, 0, 0);
+    }
+
+    /**
+     * Opens or creates a tree whose writes are optionally fsynced, in groups.
+     *
+     * @param directory directory holding the tree's files
+     * @param memtableBytes approximate memtable size at which it is flushed to disk
+     * @param compactionThreshold number of similarly sized tables that triggers a merge
+     * @param groupCommitBatch most writes sharing one fsync, or 0 to never fsync the log
+     * @param groupCommitLingerMicros how long a batch waits to fill once it has a write
+     * @throws UncheckedIOException if the directory cannot be read or recovered
+     */
+    public LsmTree(Path directory, long memtableBytes, int compactionThreshold, int groupCommitBatch,
+                   long groupCommitLingerMicros) {
+        if (memtableBytes <= 0 || compactionThreshold < 2) {
+            throw new IllegalArgumentException("Memtable size must be positive and compaction threshold at least 2");
+        }
+        if (groupCommitBatch < 0 || groupCommitLingerMicros < 0) {
+            throw new IllegalArgumentException("Group commit batch size and linger time must not be negative");
+        }
+        this.directory = directory;
+        this.memtableBytes = memtableBytes;
+        this.compactionThreshold = compactionThreshold;
+        this.fsync = groupCommitBatch > 0;
+        this.maintenance = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "lsm-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        try {
+            recover();
+        } catch (IOException e) {
+            maintenance.shutdownNow();
+            throw new UncheckedIOException("Cannot open LSM tree in " + directory, e);
+        }
+        this.committer = fsync
+            ? new GroupCommitter(groupCommitBatch, groupCommitLingerMicros, this::writeBatch, "lsm-group-commit")
+            : null;
+    }
+
+    /**
+     * Looks up a key.
+     *
+     * @param key the key
+     * @return the value, or null if the key is absent or deleted
+     */
+    public byte[] get(byte[] key) {
+        State current = state;
+        byte[] value = current.active.entries.get(key);
+        if (value == null) {
+            for (Memtable memtable : current.immutables) {
+                value = memtable.entries.get(key);
+                if (value != null) {
+                    break;
+                }
+            }
+        }
+        if (value == null) {
+            try {
+                for (SSTable table : current.tables) {
+                    value = table.get(key);
+                    if (value != null) {
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read key from LSM tree in " + directory, e);
+            }
+        }
+        return value == TOMBSTONE ? null : value;
+    }
+
+    /**
+     * Inserts or replaces a key.
+     *
+     * @param key the key, at most {@value #MAX_KEY_LENGTH} bytes
+     * @param value the value, at most {@value #MAX_VALUE_LENGTH} bytes
+     */
+    public void put(byte[] key, byte[] value) {
+        if (value.length > MAX_VALUE_LENGTH) {
+            throw new IllegalArgumentException("Value is too large");
+        }
+        write(new byte[][] {key}, new byte[][] {value});
+    }
+
+    /**
+     * Inserts or replaces several keys with one write: their log records are
+     * appended under one lock acquisition and synced once.
+     *
+     * @param entries the keys, each at most {@value #MAX_KEY_LENGTH} bytes, and their values,
+     *                each at most {@value #MAX_VALUE_LENGTH} bytes, applied in order
+     */
+    public void putAll(List<Map.Entry<byte[], byte[]>> entries) {
+        byte[][] keys = new byte[entries.size()][];
+        byte[][] values = new byte[entries.size()][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = entries.get(i).getKey();
+            values[i] = entries.get(i).getValue();
+            if (values[i].length > MAX_VALUE_LENGTH) {
+                throw new IllegalArgumentException("Value is too large");
+            }
+        }
+        write(keys, values);
+    }
+
+    /**
+     * Deletes a key.
+     *
+     * @param key the key
+     */
+    public void delete(byte[] key) {
+        write(new byte[][] {key}, new byte[][] {TOMBSTONE});
+    }
+
+    /**
+     * Visits every live key starting with a prefix, in key order.
+     *
+     * Tables and queued memtables are read as of the start of the scan; writes
+     * made while it runs may or may not be seen. Tables replaced by compaction
+     * in the meantime stay readable for the retirement grace period.
+     *
+     * @param prefix the key prefix
+     * @param action receives each key and its value
+     */
+    public void scan(byte[] prefix, BiConsumer<byte[], byte[]> action) {
+        State current = state;
+        List<Iterator<Map.Entry<byte[], byte[]>>> iterators = new ArrayList<>(
+            1 + current.immutables.size() + current.tables.size());
+        iterators.add(current.active.entries.tailMap(prefix).entrySet().iterator());
+        for (Memtable memtable : current.immutables) {
+            iterators.add(memtable.entries.tailMap(prefix).entrySet().iterator());
+        }
+        for (SSTable table : current.tables) {
+            iterators.add(table.iterator(prefix));
+        }
+        MergingIterator merged = new MergingIterator(iterators);
+        while (merged.hasNext()) {
+            Map.Entry<byte[], byte[]> entry = merged.next();
+            byte[] key = entry.getKey();
+            if (Arrays.compareUnsigned(key, prefix) < 0) {
+                // From the start of a table's first block
+                continue;
+            }
+            if (key.length < prefix.length || Arrays.mismatch(key, 0, prefix.length, prefix, 0, prefix.length) >= 0) {
+                return;
+            }
+            if (entry.getValue() != TOMBSTONE) {
+                action.accept(key, entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Reads every table file once, so that lookups find their blocks in the
+     * page cache. Tables written afterwards are not touched.
+     *
+     * @return the number of bytes read
+     */
+    public long preTouch() {
+        long bytes = 0;
+        try {
+            for (SSTable table : state.tables) {
+                bytes += table.preTouch();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read tables of LSM tree in " + directory, e);
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the number of tables on disk, for monitoring and tests.
+     *
+     * @return table count
+     */
+    public int getTableCount() {
+        return state.tables.size();
+    }
+
+    /**
+     * Removes every key and deletes all data files.
+     */
+    public void clear() {
+        synchronized (writeLock) {
+            ensureOpen();
+            State old = state;
+            try {
+                wal.close();
+                Files.deleteIfExists(wal.path());
+                for (Memtable memtable : old.immutables) {
+                    Files.deleteIfExists(memtable.walPath);
+                }
+                // Pending flushes and compactions notice their inputs are gone and discard their output
+                state = new State(newMemtable(), List.of(), List.of());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot clear LSM tree in " + directory, e);
+            }
+            retire(old.tables);
+            writeLock.notifyAll();
+        }
+    }
+
+    /**
+     * Flushes queued memtables and closes all files. The active memtable is
+     * left in its write-ahead log and replayed on the next open.
+     */
+    @Override
+    public void close() {
+        if (committer != null) {
+            committer.close();
+        }
+        synchronized (writeLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            writeLock.notifyAll();
+        }
+        maintenance.shutdown();
+        try {
+            if (!maintenance.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.warn("LSM maintenance did not finish within a minute in {}", directory);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (writeLock) {
+            try {
+                wal.close();
+            } catch (IOException e) {
+                logger.warn("Cannot close write-ahead log {}: ", wal.path(), e);
+            }
+            for (SSTable table : state.tables) {
+                closeQuietly(table);
+            }
+            SSTable table;
+            while ((table = retired.poll()) != null) {
+                closeQuietly(table);
+            }
+        }
+    }
+
+    private void write(byte[][] keys, byte[][] values) {
+        for (byte[] key : keys) {
+            if (key.length > MAX_KEY_LENGTH) {
+                throw new IllegalArgumentException("Key is too large");
+            }
+        }
+        if (committer != null) {
+            committer.commit(keys, values);
+            return;
+        }
+        synchronized (writeLock) {
+            ensureOpen();
+            try {
+                awaitFlushCapacity();
+                for (int i = 0; i < keys.length; i++) {
+                    append(keys[i], values[i]);
+                }
+                wal.sync();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UncheckedIOException(new InterruptedIOException("Interrupted waiting for a memtable flush"));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write to LSM tree in " + directory, e);
+            }
+        }
+    }
+
+    // Runs on the group commit thread
+    private void writeBatch(List<GroupCommitter.PendingWrite> batch) throws IOException {
+        synchronized (writeLock) {
+            ensureOpen();
+            try {
+                awaitFlushCapacity();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException("Interrupted waiting for a memtable flush");
+            }
+            for (GroupCommitter.PendingWrite write : batch) {
+                // A rotation inside the batch syncs the finished log as it closes it
+                for (int i = 0; i < write.keys.length; i++) {
+                    append(write.keys[i], write.values[i]);
+                }
+            }
+            wal.sync();
+        }
+    }
+
+    // Called with writeLock held
+    private void awaitFlushCapacity() throws InterruptedException {
+        while (state.immutables.size() >= MAX_IMMUTABLE_MEMTABLES) {
+            writeLock.wait();
+            ensureOpen();
+        }
+    }
+
+    // Called with writeLock held
+    private void append(byte[] key, byte[] value) throws IOException {
+        wal.append(key, value);
+        Memtable memtable = state.active;
+        memtable.entries.put(key, value);
+        memtable.bytes += key.length + value.length + ENTRY_OVERHEAD;
+        if (memtable.bytes >= memtableBytes) {
+            rotate();
+        }
+    }
+
+    // Called with writeLock held
+    private void rotate() throws IOException {
+        State current = state;
+        wal.close();
+        List<Memtable> immutables = new ArrayList<>(current.immutables.size() + 1);
+        immutables.add(current.active);
+        immutables.addAll(current.immutables);
+        state = new State(newMemtable(), List.copyOf(immutables), current.tables);
+        Memtable full = current.active;
+        maintenance.execute(() -> flush(full));
+    }
+
+    // Called with writeLock held, or during recovery
+    private Memtable newMemtable() throws IOException {
+        long sequence = nextSequence++;
+        Memtable memtable = new Memtable(directory.resolve(walFileName(sequence)), sequence);
+        wal = new WriteAheadLog(memtable.walPath, fsync);
+        return memtable;
+    }
+
+    // Runs on the maintenance thread
+    private void flush(Memtable memtable) {
+        try {
+            SSTable table = writeTable(memtable.entries.entrySet().iterator(), memtable.entries.size(), false,
+                memtable.sequence, memtable.sequence);
+            synchronized (writeLock) {
+                State current = state;
+                if (current.immutables.contains(memtable)) {
+                    List<Memtable> immutables = new ArrayList<>(current.immutables);
+                    immutables.remove(memtable);
+                    List<SSTable> tables = new ArrayList<>(current.tables.size() + 1);
+                    tables.add(table);
+                    tables.addAll(current.tables);
+                    state = new State(current.active, List.copyOf(immutables), List.copyOf(tables));
+                } else {
+                    discard(table);
+                }
+                writeLock.notifyAll();
+            }
+            Files.deleteIfExists(memtable.walPath);
+            compactIfNeeded();
+        } catch (IOException | RuntimeException e) {
+            // The memtable stays queued and readable, and its log is kept for the next open
+            logger.error("Memtable flush failed in {}: ", directory, e);
+        }
+    }
+
+    // Runs on the maintenance thread
+    private void compactIfNeeded() throws IOException {
+        List<SSTable> tables = state.tables;
+        int start = findCompactionRun(tables);
+        if (start < 0) {
+            return;
+        }
+        List<SSTable> inputs = tables.subList(start, start + compactionThreshold);
+        boolean includesOldest = start + compactionThreshold == tables.size();
+        long expectedKeys = 0;
+        List<Iterator<Map.Entry<byte[], byte[]>>> iterators = new ArrayList<>(inputs.size());
+        for (SSTable table : inputs) {
+            expectedKeys += table.entryCount();
+            iterators.add(table.iterator());
+        }
+
+        // Tombstones can only be dropped when no older table could hold the key
+        SSTable merged = writeTable(new MergingIterator(iterators), expectedKeys, includesOldest,
+            inputs.get(inputs.size() - 1).firstSequence(), inputs.get(0).lastSequence());
+        synchronized (writeLock) {
+            State current = state;
+            int index = current.tables.indexOf(inputs.get(0));
+            if (index < 0 || !current.tables.subList(index, index + inputs.size()).equals(inputs)) {
+                discard(merged);
+                return;
+            }
+            List<SSTable> replaced = new ArrayList<>(current.tables.subList(0, index));
+            replaced.add(merged);
+            replaced.addAll(current.tables.subList(index + inputs.size(), current.tables.size()));
+            state = new State(current.active, current.immutables, List.copyOf(replaced));
+        }
+        retire(inputs);
+        logger.debug("Compacted {} tables into {}", inputs.size(), merged.path().getFileName());
+        compactIfNeeded();
+    }
+
+    /**
+     * Finds the newest run of {@code compactionThreshold} adjacent tables whose
+     * sizes are within a factor of two of each other.
+     *
+     * @return index of the run's newest table, or -1 if there is none
+     */
+    private int findCompactionRun(List<SSTable> tables) {
+        for (int start = 0; start + compactionThreshold <= tables.size(); start++) {
+            long min = Long.MAX_VALUE;
+            long max = 0;
+            for (int i = start; i < start + compactionThreshold; i++) {
+                long entries = Math.max(1, tables.get(i).entryCount());
+                min = Math.min(min, entries);
+                max = Math.max(max, entries);
+            }
+            if (max <= 2 * min) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
+    private SSTable writeTable(Iterator<Map.Entry<byte[], byte[]>> entries, long expectedKeys,
+                               boolean dropTombstones, long firstSequence, long lastSequence) throws IOException {
+        String name = SSTable.fileName(firstSequence, lastSequence);
+        Path temporary = directory.resolve(name + ".tmp");
+        Path target = directory.resolve(name);
+        Files.deleteIfExists(temporary);
+        SSTable.write(temporary, entries, expectedKeys, dropTombstones);
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return SSTable.open(target);
+    }
+
+    /**
+     * Deletes replaced tables right away and closes them after a grace period,
+     * since readers may still hold a snapshot that references them.
+     */
+    private void retire(List<SSTable> tables) {
+        for (SSTable table : tables) {
+            try {
+                Files.deleteIfExists(table.path());
+            } catch (IOException e) {
+                logger.warn("Cannot delete replaced table {}: ", table.path(), e);
+            }
+            retired.add(table);
+            try {
+                maintenance.schedule(() -> {
+                    if (retired.remove(table)) {
+                        closeQuietly(table);
+                    }
+                }, RETIRED_TABLE_GRACE_MS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Closing: close() closes every retired table once maintenance has stopped
+            }
+        }
+    }
+
+    private void discard(SSTable table) {
+        closeQuietly(table);
+        try {
+            Files.deleteIfExists(table.path());
+        } catch (IOException e) {
+            logger.warn("Cannot delete discarded table {}: ", table.path(), e);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("LSM tree is closed");
+        }
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.toList();
+        }
+
+        List<long[]> tableRanges = new ArrayList<>();
+        List<Path> tablePaths = new ArrayList<>();
+        List<Path> logs = new ArrayList<>();
+        long maxSequence = 0;
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long[] range = SSTable.parseSequences(name);
+            if (name.endsWith(".tmp")) {
+                // Left behind by a flush or compaction that did not finish
+                Files.delete(file);
+            } else if (range != null) {
+                tableRanges.add(range);
+                tablePaths.add(file);
+                maxSequence = Math.max(maxSequence, range[1]);
+            } else if (parseWalSequence(name) >= 0) {
+                logs.add(file);
+                maxSequence = Math.max(maxSequence, parseWalSequence(name));
+            }
+        }
+
+        // A compaction that crashed before deleting its inputs leaves tables covered by the merged one
+        List<SSTable> tables = new ArrayList<>();
+        for (int i = 0; i < tablePaths.size(); i++) {
+            if (isCovered(tableRanges.get(i), tableRanges)) {
+                Files.delete(tablePaths.get(i));
+            } else {
+                tables.add(SSTable.open(tablePaths.get(i)));
+            }
+        }
+        nextSequence = maxSequence + 1;
+
+        // Replay logs whose memtable never made it into a table, each into its own table
+        logs.sort(Comparator.comparingLong(path -> parseWalSequence(path.getFileName().toString())));
+        long replayedEntries = 0;
+        for (Path log : logs) {
+            long sequence = parseWalSequence(log.getFileName().toString());
+            if (!isFlushed(sequence, tableRanges)) {
+                ConcurrentSkipListMap<byte[], byte[]> replayed = new ConcurrentSkipListMap<>(Arrays::compareUnsigned);
+                WriteAheadLog.replay(log, replayed::put);
+                if (!replayed.isEmpty()) {
+                    tables.add(writeTable(replayed.entrySet().iterator(), replayed.size(), false,
+                        sequence, sequence));
+                    replayedEntries += replayed.size();
+                }
+            }
+            Files.delete(log);
+        }
+        tables.sort(Comparator.comparingLong(SSTable::lastSequence).reversed());
+
+        state = new State(newMemtable(), List.of(), List.copyOf(tables));
+        if (!logs.isEmpty() || !tables.isEmpty()) {
+            logger.info("Recovered LSM tree in {}: {} tables, {} log entries replayed",
+                directory, tables.size(), replayedEntries);
+        }
+    }
+
+    // True if another table's sequence range strictly contains this one
+    private static boolean isCovered(long[] range, List<long[]> ranges) {
+        for (long[] other : ranges) {
+            if (other != range && other[0] <= range[0] && range[1] <= other[1]
+                && (other[0] != range[0] || other[1] != range[1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isFlushed(long sequence, List<long[]> ranges) {
+        for (long[] range : ranges) {
+            if (range[0] <= sequence && sequence <= range[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String walFileName(long sequence) {
+        return "wal-" + sequence + ".log";
+    }
+
+    private static long parseWalSequence(String name) {
+        if (!name.startsWith("wal-") || !name.endsWith(".log")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(4, name.length() - 4));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void closeQuietly(SSTable table) {
+        try {
+            table.close();
+        } catch (IOException e) {
+            logger.warn("Cannot close table {}: ", table.path(), e);
+        }
+    }
+
+    private record State(Memtable active, List<Memtable> immutables, List<SSTable> tables) {
+    }
+
+    private static final class Memtable {
+        private final ConcurrentSkipListMap<byte[], byte[]> entries =
+            new ConcurrentSkipListMap<>(Arrays::compareUnsigned);
+        private final Path walPath;
+        private final long sequence;
+        // Guarded by the tree's writeLock
+        private long bytes;
+
+        Memtable(Path walPath, long sequence) {
+            this.walPath = walPath;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Merges sorted iterators, ordered newest first; for keys present in
+     * several inputs only the newest entry is returned.
+     */
+    private static final class MergingIterator implements Iterator<Map.Entry<byte[], byte[]>> {
+
+        private final PriorityQueue<Cursor> queue = new PriorityQueue<>((a, b) -> {
+            int cmp = Arrays.compareUnsigned(a.current.getKey(), b.current.getKey());
+            return cmp != 0 ? cmp : Integer.compare(a.rank, b.rank);
+        });
+
+        MergingIterator(List<Iterator<Map.Entry<byte[], byte[]>>> iterators) {
+            for (int i = 0; i < iterators.size(); i++) {
+                Cursor cursor = new Cursor(iterators.get(i), i);
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public Map.Entry<byte[], byte[]> next() {
+            Cursor head = queue.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<byte[], byte[]> entry = head.current;
+            // Skip older versions of the same key
+            while (!queue.isEmpty() && Arrays.equals(queue.peek().current.getKey(), entry.getKey())) {
+                Cursor older = queue.poll();
+                if (older.advance()) {
+                    queue.add(older);
+                }
+            }
+            if (head.advance()) {
+                queue.add(head);
+            }
+            return entry;
+        }
+
+        private static final class Cursor {
+            private final Iterator<Map.Entry<byte[], byte[]>> iterator;
+            private final int rank;
+            private Map.Entry<byte[], byte[]> current;
+
+            Cursor(Iterator<Map.Entry<byte[], byte[]>> iterator, int rank) {
+                this.iterator = iterator;
+                this.rank = rank;
+            }
+
+            boolean advance() {
+                current = iterator.hasNext() ? iterator.next() : null;
+                return current != null;
+            }
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package com.solventum.shortlink.store.lsm;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable sorted table of key/value pairs on disk.
+ *
+ * Layout: Deflate-compressed data blocks of about {@value #BLOCK_SIZE}
+ * bytes, then a sparse index holding the first key and location of every
+ * block, then the Bloom filter, then a fixed-size footer. The index and
+ * Bloom filter are loaded on open; a point read checks the filter, binary
+ * searches the index and reads and inflates a single block with one
+ * positional read, so readers share the file without locking.
+ *
+ * Tables are named {@code sst-<firstSequence>-<lastSequence>.sst} after
+ * the range of flushes they contain.
+ */
+final class SSTable implements AutoCloseable {
+
+    static final int BLOCK_SIZE = 1024;
+
+    private static final int MAGIC = 0x55524c54;
+    private static final int FOOTER_SIZE = 3 * Long.BYTES + Integer.BYTES;
+    private static final int PRE_TOUCH_BUFFER_SIZE = 1 << 16;
+
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private final Path path;
+    private final long firstSequence;
+    private final long lastSequence;
+    private final FileChannel channel;
+    private final byte[][] firstKeys;
+    private final long[] blockOffsets;
+    private final int[] compressedLengths;
+    private final int[] rawLengths;
+    private final BloomFilter bloomFilter;
+    private final long entryCount;
+
+    private SSTable(Path path, long firstSequence, long lastSequence, FileChannel channel, byte[][] firstKeys,
+                    long[] blockOffsets, int[] compressedLengths, int[] rawLengths, BloomFilter bloomFilter,
+                    long entryCount) {
+        this.path = path;
+        this.firstSequence = firstSequence;
+        this.lastSequence = lastSequence;
+        this.channel = channel;
+        this.firstKeys = firstKeys;
+        this.blockOffsets = blockOffsets;
+        this.compressedLengths = compressedLengths;
+        this.rawLengths = rawLengths;
+        this.bloomFilter = bloomFilter;
+        this.entryCount = entryCount;
+    }
+
+    static String fileName(long firstSequence, long lastSequence) {
+        return "sst-" + firstSequence + "-" + lastSequence + ".sst";
+    }
+
+    /**
+     * Parses the sequence range from a table file name.
+     *
+     * @return {first, last}, or null if the name is not a table name
+     */
+    static long[] parseSequences(String fileName) {
+        if (!fileName.startsWith("sst-") || !fileName.endsWith(".sst")) {
+            return null;
+        }
+        String[] parts = fileName.substring(4, fileName.length() - 4).split("-");
+        try {
+            return parts.length == 2 ? new long[] {Long.parseLong(parts[0]), Long.parseLong(parts[1])} : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long firstSequence() {
+        return firstSequence;
+    }
+
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    long entryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Reads the whole file sequentially and discards the bytes, which pulls
+     * it into the page cache.
+     *
+     * @return the number of bytes read
+     */
+    long preTouch() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(PRE_TOUCH_BUFFER_SIZE);
+        long position = 0;
+        for (int read = channel.read(buffer, position); read > 0; read = channel.read(buffer, position)) {
+            position += read;
+            buffer.clear();
+        }
+        return position;
+    }
+
+    /**
+     * Looks up a key.
+     *
+     * @return the value, {@link LsmTree#TOMBSTONE} if the key was deleted, or null if absent
+     */
+    byte[] get(byte[] key) throws IOException {
+        if (firstKeys.length == 0 || !bloomFilter.mightContain(key)) {
+            return null;
+        }
+        int block = findBlock(key);
+        if (block < 0) {
+            return null;
+        }
+        // Compare keys in place in the block to avoid copying every key scanned past
+        ByteBuffer entries = readBlock(block);
+        byte[] raw = entries.array();
+        while (entries.hasRemaining()) {
+            int keyLength = entries.getShort() & 0xffff;
+            int keyStart = entries.position();
+            entries.position(keyStart + keyLength);
+            int valueLength = entries.getInt();
+            int cmp = Arrays.compareUnsigned(raw, keyStart, keyStart + keyLength, key, 0, key.length);
+            if (cmp == 0) {
+                return valueLength < 0 ? LsmTree.TOMBSTONE : readBytes(entries, valueLength);
+            }
+            if (cmp > 0) {
+                return null;
+            }
+            if (valueLength > 0) {
+                entries.position(entries.position() + valueLength);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Iterates over all entries in key order, tombstones included.
+     */
+    Iterator<Map.Entry<byte[], byte[]>> iterator() {
+        return iterator(new byte[0]);
+    }
+
+    /**
+     * Iterates in key order, tombstones included, starting at the block that
+     * may hold {@code from}. Entries of that block before {@code from} are
+     * returned too.
+     */
+    Iterator<Map.Entry<byte[], byte[]>> iterator(byte[] from) {
+        int startBlock = Math.max(0, findBlock(from));
+        return new Iterator<>() {
+            private int block = startBlock - 1;
+            private ByteBuffer entries = ByteBuffer.allocate(0);
+
+            @Override
+            public boolean hasNext() {
+                while (!entries.hasRemaining()) {
+                    if (++block >= firstKeys.length) {
+                        return false;
+                    }
+                    try {
+                        entries = readBlock(block);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Cannot read " + path, e);
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public Map.Entry<byte[], byte[]> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                byte[] key = readBytes(entries, entries.getShort() & 0xffff);
+                int valueLength = entries.getInt();
+                byte[] value = valueLength < 0 ? LsmTree.TOMBSTONE : readBytes(entries, valueLength);
+                return Map.entry(key, value);
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int findBlock(byte[] key) {
+        int low = 0;
+        int high = firstKeys.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (Arrays.compareUnsigned(firstKeys[mid], key) <= 0) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private ByteBuffer readBlock(int block) throws IOException {
+        ByteBuffer compressed = ByteBuffer.allocate(compressedLengths[block]);
+        long position = blockOffsets[block];
+        while (compressed.hasRemaining()) {
+            if (channel.read(compressed, position + compressed.position()) < 0) {
+                throw new IOException("Unexpected end of " + path);
+            }
+        }
+        byte[] raw = new byte[rawLengths[block]];
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(compressed.array());
+        try {
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, raw.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated block " + block + " in " + path);
+                }
+                length += inflated;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt block " + block + " in " + path, e);
+        }
+        return ByteBuffer.wrap(raw);
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Opens an existing table and loads its index and Bloom filter.
+     */
+    static SSTable open(Path path) throws IOException {
+        long[] sequences = parseSequences(path.getFileName().toString());
+        if (sequences == null) {
+            throw new IOException("Not a table file: " + path);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE);
+            while (footer.hasRemaining()) {
+                if (channel.read(footer, size - FOOTER_SIZE + footer.position()) < 0) {
+                    throw new IOException("Truncated table " + path);
+                }
+            }
+            footer.flip();
+            long indexOffset = footer.getLong();
+            long bloomOffset = footer.getLong();
+            long entryCount = footer.getLong();
+            if (footer.getInt() != MAGIC) {
+                throw new IOException("Corrupt table footer in " + path);
+            }
+
+            // The streams read from the channel's position and are left open, as closing them would close it
+            channel.position(indexOffset);
+            DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024));
+            int blocks = in.readInt();
+            byte[][] firstKeys = new byte[blocks][];
+            long[] offsets = new long[blocks];
+            int[] compressedLengths = new int[blocks];
+            int[] rawLengths = new int[blocks];
+            for (int i = 0; i < blocks; i++) {
+                firstKeys[i] = in.readNBytes(in.readUnsignedShort());
+                offsets[i] = in.readLong();
+                compressedLengths[i] = in.readInt();
+                rawLengths[i] = in.readInt();
+            }
+
+            channel.position(bloomOffset);
+            in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024));
+            BloomFilter bloomFilter = BloomFilter.readFrom(in);
+            return new SSTable(path, sequences[0], sequences[1], channel, firstKeys, offsets, compressedLengths,
+                rawLengths, bloomFilter, entryCount);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes entries, which must be in ascending key order, to a new table file
+     * and forces it to disk.
+     *
+     * @param path the file to create
+     * @param entries the entries to write
+     * @param expectedKeys upper bound on the number of entries, used to size the Bloom filter
+     * @param dropTombstones whether to omit deletions, valid only when no older table remains
+     * @return number of entries written
+     */
+    static long write(Path path, Iterator<Map.Entry<byte[], byte[]>> entries, long expectedKeys,
+                      boolean dropTombstones) throws IOException {
+        BloomFilter bloomFilter = new BloomFilter(expectedKeys);
+        List<byte[]> firstKeys = new ArrayList<>();
+        List<long[]> locations = new ArrayList<>();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+            ByteArrayOutputStream rawBlock = new ByteArrayOutputStream(BLOCK_SIZE * 2);
+            DataOutputStream block = new DataOutputStream(rawBlock);
+            byte[] compressed = new byte[BLOCK_SIZE * 2];
+            byte[] blockFirstKey = null;
+            long position = 0;
+            long count = 0;
+
+            while (true) {
+                Map.Entry<byte[], byte[]> entry = entries.hasNext() ? entries.next() : null;
+                if (entry != null && !(dropTombstones && entry.getValue() == LsmTree.TOMBSTONE)) {
+                    byte[] key = entry.getKey();
+                    byte[] value = entry.getValue();
+                    if (blockFirstKey == null) {
+                        blockFirstKey = key;
+                    }
+                    block.writeShort(key.length);
+                    block.write(key);
+                    if (value == LsmTree.TOMBSTONE) {
+                        block.writeInt(-1);
+                    } else {
+                        block.writeInt(value.length);
+                        block.write(value);
+                    }
+                    bloomFilter.add(key);
+                    count++;
+                }
+                if (rawBlock.size() > 0 && (entry == null || rawBlock.size() >= BLOCK_SIZE)) {
+                    byte[] raw = rawBlock.toByteArray();
+                    deflater.reset();
+                    deflater.setInput(raw);
+                    deflater.finish();
+                    if (compressed.length < raw.length + 64) {
+                        compressed = new byte[raw.length + 64];
+                    }
+                    int length = 0;
+                    while (!deflater.finished()) {
+                        if (length == compressed.length) {
+                            compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                        }
+                        length += deflater.deflate(compressed, length, compressed.length - length);
+                    }
+                    out.write(compressed, 0, length);
+                    firstKeys.add(blockFirstKey);
+                    locations.add(new long[] {position, length, raw.length});
+                    position += length;
+                    rawBlock.reset();
+                    blockFirstKey = null;
+                }
+                if (entry == null) {
+                    break;
+                }
+            }
+
+            long indexOffset = position;
+            out.writeInt(firstKeys.size());
+            position += Integer.BYTES;
+            for (int i = 0; i < firstKeys.size(); i++) {
+                byte[] key = firstKeys.get(i);
+                long[] location = locations.get(i);
+                out.writeShort(key.length);
+                out.write(key);
+                out.writeLong(location[0]);
+                out.writeInt((int) location[1]);
+                out.writeInt((int) location[2]);
+                position += Short.BYTES + key.length + Long.BYTES + 2 * Integer.BYTES;
+            }
+
+            long bloomOffset = position;
+            bloomFilter.writeTo(out);
+            out.writeLong(indexOffset);
+            out.writeLong(bloomOffset);
+            out.writeLong(count);
+            out.writeInt(MAGIC);
+            out.flush();
+            channel.force(true);
+            return count;
+        } finally {
+            deflater.end();
+        }
+    }
+}
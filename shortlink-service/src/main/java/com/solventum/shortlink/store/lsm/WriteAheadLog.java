@@ -0,0 +1,127 @@
+package com.solventum.shortlink.store.lsm;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of memtable writes, replayed after a restart.
+ *
+ * Each record is {@code crc32, keyLength, key, valueLength, value}, with a
+ * value length of -1 for deletions. Records are buffered until
+ * {@link #sync}, which the tree calls after every append, or once per batch
+ * under group commit. A sync hands the records to the operating system, so
+ * they survive a process crash, and with {@code fsync} also forces them to
+ * the device, so they survive a power loss. Replay stops at the first torn
+ * or corrupt record. Not thread-safe: the tree appends under its write lock.
+ */
+final class WriteAheadLog implements AutoCloseable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final DataOutputStream out;
+    private final boolean fsync;
+    private final CRC32 crc = new CRC32();
+
+    WriteAheadLog(Path path, boolean fsync) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE);
+        this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+        this.fsync = fsync;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    void append(byte[] key, byte[] value) throws IOException {
+        boolean tombstone = value == LsmTree.TOMBSTONE;
+        crc.reset();
+        crc.update(key);
+        if (!tombstone) {
+            crc.update(value);
+        }
+        out.writeInt((int) crc.getValue());
+        out.writeInt(key.length);
+        out.write(key);
+        if (tombstone) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(value.length);
+            out.write(value);
+        }
+    }
+
+    /**
+     * Makes every record appended so far durable.
+     */
+    void sync() throws IOException {
+        out.flush();
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        sync();
+        out.close();
+    }
+
+    /**
+     * Replays every intact record of a log in order.
+     *
+     * @param path the log file
+     * @param consumer receives each key and value ({@link LsmTree#TOMBSTONE} for deletions)
+     */
+    static void replay(Path path, BiConsumer<byte[], byte[]> consumer) throws IOException {
+        try (InputStream stream = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream, 64 * 1024))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                int checksum;
+                byte[] key;
+                byte[] value;
+                try {
+                    checksum = in.readInt();
+                    int keyLength = in.readInt();
+                    if (keyLength < 0 || keyLength > LsmTree.MAX_KEY_LENGTH) {
+                        return;
+                    }
+                    key = in.readNBytes(keyLength);
+                    int valueLength = in.readInt();
+                    if (valueLength < -1 || valueLength > LsmTree.MAX_VALUE_LENGTH) {
+                        return;
+                    }
+                    value = valueLength < 0 ? LsmTree.TOMBSTONE : in.readNBytes(valueLength);
+                    if (key.length != keyLength || (valueLength > 0 && value.length != valueLength)) {
+                        return;
+                    }
+                } catch (EOFException e) {
+                    return;
+                }
+                crc.reset();
+                crc.update(key);
+                if (value != LsmTree.TOMBSTONE) {
+                    crc.update(value);
+                }
+                if ((int) crc.getValue() != checksum) {
+                    return;
+                }
+                consumer.accept(key, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.solventum.shortlink.store.mapped;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import static com.solventum.shortlink.store.mapped.MappedLinkTable.HEADER_SIZE;
+import static com.solventum.shortlink.store.mapped.MappedLinkTable.LENGTH_BITS;
+import static com.solventum.shortlink.store.mapped.MappedLinkTable.LENGTH_MASK;
+
+/**
+ * Builds a {@link MappedLinkTable} file for a known range of ids.
+ *
+ * Links may be added in any order. URL bytes are appended sequentially while
+ * the slot section, sized up front from the id range, is written through a
+ * mapping, so the writer holds no per-link state on the heap. Everything
+ * goes to a temporary file next to the target, which {@link #commit} syncs
+ * and atomically renames over the target: readers polling the target only
+ * ever see a complete table.
+ *
+ * Not thread-safe.
+ */
+public final class LinkTableWriter implements Closeable {
+
+    private static final int SLOT_CHUNK_BYTES = 1 << 30;
+
+    private final Path target;
+    private final Path temporary;
+    private final FileChannel channel;
+    private final OutputStream data;
+    private final long firstId;
+    private final long slotCount;
+    private final MappedByteBuffer[] slotChunks;
+    private long position;
+    private long linkCount;
+    private boolean committed;
+
+    /**
+     * Starts a table covering ids {@code firstId} to {@code lastId} inclusive.
+     * An empty table is written when {@code lastId < firstId}.
+     *
+     * @param target the table file to create or replace on commit
+     * @param firstId lowest id that may be added
+     * @param lastId highest id that may be added
+     * @throws IOException if the temporary file cannot be created
+     */
+    public LinkTableWriter(Path target, long firstId, long lastId) throws IOException {
+        this.target = target.toAbsolutePath();
+        this.temporary = this.target.resolveSibling(this.target.getFileName() + ".tmp");
+        this.firstId = firstId;
+        this.slotCount = Math.max(0, lastId - firstId + 1);
+        Files.createDirectories(this.target.getParent());
+        this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long slotBytes = slotCount * Long.BYTES;
+            slotChunks = new MappedByteBuffer[(int) ((slotBytes + SLOT_CHUNK_BYTES - 1) / SLOT_CHUNK_BYTES)];
+            for (int i = 0; i < slotChunks.length; i++) {
+                long offset = (long) i * SLOT_CHUNK_BYTES;
+                slotChunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + offset,
+                    Math.min(SLOT_CHUNK_BYTES, slotBytes - offset));
+            }
+            position = HEADER_SIZE + slotBytes;
+            channel.position(position);
+            data = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    /**
+     * Adds a link. Adding an id twice keeps the last URL.
+     *
+     * @param id the link id, within the writer's range
+     * @param longUrl the long URL
+     * @throws IOException if the URL cannot be written
+     */
+    public void add(long id, String longUrl) throws IOException {
+        long index = id - firstId;
+        if (index < 0 || index >= slotCount) {
+            throw new IllegalArgumentException("Id " + id + " is outside the table's range");
+        }
+        byte[] bytes = longUrl.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length == 0 || bytes.length > LENGTH_MASK) {
+            throw new IllegalArgumentException("URL length is out of range for a link table");
+        }
+        data.write(bytes);
+        long slotPosition = index * Long.BYTES;
+        MappedByteBuffer chunk = slotChunks[(int) (slotPosition / SLOT_CHUNK_BYTES)];
+        int offset = (int) (slotPosition % SLOT_CHUNK_BYTES);
+        if (chunk.getLong(offset) == 0) {
+            linkCount++;
+        }
+        chunk.putLong(offset, position << LENGTH_BITS | bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * Writes the header, syncs the file and atomically replaces the target.
+     *
+     * @throws IOException if the table cannot be completed
+     */
+    public void commit() throws IOException {
+        data.flush();
+        for (MappedByteBuffer chunk : slotChunks) {
+            chunk.force();
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+            .putInt(MappedLinkTable.MAGIC)
+            .putInt(MappedLinkTable.VERSION)
+            .putLong(firstId)
+            .putLong(slotCount)
+            .putLong(linkCount)
+            .flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        channel.force(true);
+        channel.close();
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        committed = true;
+    }
+
+    /**
+     * Returns the number of distinct ids added so far.
+     *
+     * @return link count
+     */
+    public long linkCount() {
+        return linkCount;
+    }
+
+    /**
+     * Discards the temporary file unless the table was committed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            channel.close();
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
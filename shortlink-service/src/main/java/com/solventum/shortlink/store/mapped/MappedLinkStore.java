@@ -0,0 +1,203 @@
+package com.solventum.shortlink.store.mapped;
+
+import com.solventum.shortlink.store.LinkStore;
+import com.solventum.shortlink.util.ShortCodeCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Read-only link store serving a {@link MappedLinkTable}, for replica nodes
+ * that only decode.
+ *
+ * Short codes encode link ids, so a lookup decodes the code and reads the
+ * table slot for that id; nothing is loaded onto the heap at startup.
+ * A background thread polls the table file and, when an exporter has
+ * replaced it, maps the new version and swaps it in with a single volatile
+ * write. Readers still using the old table finish on it, and its mapping is
+ * released once it is no longer referenced.
+ *
+ * Until the file first appears the store is empty. A file that fails to
+ * open is logged and the previous table kept. Every write operation throws
+ * {@link UnsupportedOperationException}.
+ */
+public class MappedLinkStore implements LinkStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedLinkStore.class);
+
+    private final Path path;
+    private final ShortCodeCodec codec;
+    private final ScheduledExecutorService watcher;
+    private volatile Version current;
+
+    /**
+     * Creates a store serving a table file, and starts watching it for new versions.
+     *
+     * @param path the table file
+     * @param reloadIntervalMs how often to check the file for a new version, or 0 to never check
+     */
+    public MappedLinkStore(Path path, long reloadIntervalMs) {
+        this(path, reloadIntervalMs, ShortCodeCodec.plain());
+    }
+
+    /**
+     * Creates a store serving a table file whose links have codes from the given codec.
+     *
+     * @param path the table file
+     * @param reloadIntervalMs how often to check the file for a new version, or 0 to never check
+     * @param codec the codec the exporting node encodes ids with
+     */
+    public MappedLinkStore(Path path, long reloadIntervalMs, ShortCodeCodec codec) {
+        this.path = path;
+        this.codec = codec;
+        reload();
+        if (reloadIntervalMs > 0) {
+            watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "link-table-watcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            watcher.scheduleWithFixedDelay(this::reload, reloadIntervalMs, reloadIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            watcher = null;
+        }
+    }
+
+    /**
+     * Maps the table file again if it was replaced since it was last mapped.
+     *
+     * @return true if a new version was swapped in
+     */
+    public synchronized boolean reload() {
+        Version loaded = current;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (loaded != null && loaded.matches(attributes)) {
+                return false;
+            }
+            MappedLinkTable table = MappedLinkTable.open(path);
+            current = new Version(table, attributes.fileKey(), attributes.lastModifiedTime().toMillis(),
+                attributes.size());
+            logger.info("Mapped link table {} with {} links", path, table.linkCount());
+            return true;
+        } catch (NoSuchFileException e) {
+            if (loaded == null) {
+                logger.debug("Link table {} does not exist yet", path);
+            }
+            return false;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Cannot map link table {}, keeping the previous version: ", path, e);
+            return false;
+        }
+    }
+
+    @Override
+    public String get(String shortCode) {
+        Version version = current;
+        if (version == null) {
+            return null;
+        }
+        long id = codec.decode(shortCode);
+        return id < 0 ? null : version.table.get(id);
+    }
+
+    @Override
+    public long preTouch() {
+        Version version = current;
+        return version == null ? 0 : version.table.preTouch();
+    }
+
+    @Override
+    public void put(String shortCode, String longUrl) {
+        throw readOnly();
+    }
+
+    @Override
+    public void index(String longUrl, String shortCode) {
+        throw readOnly();
+    }
+
+    /**
+     * Always returns null: the table has no reverse index, and encoding is
+     * rejected by {@link #put} anyway.
+     */
+    @Override
+    public String findCode(String longUrl) {
+        return null;
+    }
+
+    @Override
+    public String remove(String shortCode) {
+        throw readOnly();
+    }
+
+    @Override
+    public String replace(String shortCode, String longUrl) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public void forEach(BiConsumer<String, String> action) {
+        Version version = current;
+        if (version == null) {
+            return;
+        }
+        MappedLinkTable table = version.table;
+        for (long id = table.firstId(); id < table.firstId() + table.slotCount(); id++) {
+            String longUrl = table.get(id);
+            if (longUrl != null) {
+                action.accept(codec.encode(id), longUrl);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        Version version = current;
+        return version == null ? 0 : (int) Math.min(Integer.MAX_VALUE, version.table.linkCount());
+    }
+
+    @Override
+    public void clear() {
+        throw readOnly();
+    }
+
+    @Override
+    public void close() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Link table is read-only on this node");
+    }
+
+    /**
+     * A mapped table and the identity of the file version it was mapped from.
+     * Exporters replace the file by renaming, which changes its file key.
+     */
+    private record Version(MappedLinkTable table, Object fileKey, long modifiedMillis, long size) {
+
+        boolean matches(BasicFileAttributes attributes) {
+            return Objects.equals(fileKey, attributes.fileKey())
+                && modifiedMillis == attributes.lastModifiedTime().toMillis()
+                && size == attributes.size();
+        }
+    }
+}
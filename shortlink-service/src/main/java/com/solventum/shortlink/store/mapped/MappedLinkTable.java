@@ -0,0 +1,188 @@
+package com.solventum.shortlink.store.mapped;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Immutable, memory-mapped table of long URLs indexed by numeric link id.
+ *
+ * The file, produced by {@link LinkTableWriter}, has three sections:
+ * <ul>
+ *   <li>a {@value #HEADER_SIZE}-byte header: magic, format version, first id,
+ *       slot count and link count</li>
+ *   <li>one 8-byte slot per id from the first id on, holding the offset of the
+ *       URL in the file and its length packed into one long, or 0 if the id
+ *       has no link</li>
+ *   <li>the UTF-8 bytes of the URLs</li>
+ * </ul>
+ *
+ * A lookup is two reads from the mapping, so opening a table costs nothing
+ * regardless of its size, its pages live in the shared page cache rather
+ * than on the heap, and processes mapping the same file share them.
+ *
+ * The file is mapped in chunks of at most 1 GiB, since a single
+ * {@link MappedByteBuffer} is limited to 2 GiB. Mappings are released when
+ * the table becomes unreachable.
+ */
+public final class MappedLinkTable {
+
+    static final int MAGIC = 0x4c4e4b54;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int LENGTH_BITS = 16;
+    static final long LENGTH_MASK = (1L << LENGTH_BITS) - 1;
+
+    private static final int CHUNK_BITS = 30;
+
+    private final Path path;
+    private final long firstId;
+    private final long slotCount;
+    private final long linkCount;
+    private final int chunkBits;
+    private final MappedByteBuffer[] chunks;
+
+    private MappedLinkTable(Path path, long firstId, long slotCount, long linkCount, int chunkBits,
+                            MappedByteBuffer[] chunks) {
+        this.path = path;
+        this.firstId = firstId;
+        this.slotCount = slotCount;
+        this.linkCount = linkCount;
+        this.chunkBits = chunkBits;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Maps a table file.
+     *
+     * @param path the table file
+     * @return the mapped table
+     * @throws IOException if the file cannot be mapped or is not a valid table
+     */
+    public static MappedLinkTable open(Path path) throws IOException {
+        return open(path, CHUNK_BITS);
+    }
+
+    // Smaller chunks let tests cover records that straddle two mappings
+    static MappedLinkTable open(Path path, int chunkBits) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Link table is truncated: " + path);
+            }
+            long chunkSize = 1L << chunkBits;
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((fileSize + chunkSize - 1) >>> chunkBits)];
+            for (int i = 0; i < chunks.length; i++) {
+                long position = (long) i << chunkBits;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(chunkSize, fileSize - position));
+            }
+
+            MappedByteBuffer header = chunks[0];
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not a link table: " + path);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported link table version " + header.getInt(4) + ": " + path);
+            }
+            long firstId = header.getLong(8);
+            long slotCount = header.getLong(16);
+            long linkCount = header.getLong(24);
+            if (slotCount < 0 || slotCount > (fileSize - HEADER_SIZE) / Long.BYTES) {
+                throw new IOException("Link table is truncated: " + path);
+            }
+            return new MappedLinkTable(path, firstId, slotCount, linkCount, chunkBits, chunks);
+        }
+    }
+
+    /**
+     * Looks up the long URL for a link id.
+     *
+     * @param id the link id
+     * @return the long URL, or null if the table has no link with this id
+     */
+    public String get(long id) {
+        long index = id - firstId;
+        if (index < 0 || index >= slotCount) {
+            return null;
+        }
+        long slot = readSlot(index);
+        if (slot == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[(int) (slot & LENGTH_MASK)];
+        read(slot >>> LENGTH_BITS, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Loads every page of the mapping into physical memory.
+     *
+     * @return the number of bytes mapped
+     */
+    public long preTouch() {
+        long bytes = 0;
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.load();
+            bytes += chunk.capacity();
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the table file this table was mapped from.
+     *
+     * @return the file path
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * Returns the lowest id the table has a slot for.
+     *
+     * @return first id
+     */
+    public long firstId() {
+        return firstId;
+    }
+
+    /**
+     * Returns the number of id slots, including empty ones.
+     *
+     * @return slot count
+     */
+    public long slotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Returns the number of links in the table.
+     *
+     * @return link count
+     */
+    public long linkCount() {
+        return linkCount;
+    }
+
+    private long readSlot(long index) {
+        // Slots are 8-byte aligned and chunks a power of two, so a slot never spans two chunks
+        long position = HEADER_SIZE + index * Long.BYTES;
+        return chunks[(int) (position >>> chunkBits)].getLong((int) (position & ((1L << chunkBits) - 1)));
+    }
+
+    private void read(long position, byte[] bytes) {
+        int done = 0;
+        while (done < bytes.length) {
+            MappedByteBuffer chunk = chunks[(int) (position >>> chunkBits)];
+            int offset = (int) (position & ((1L << chunkBits) - 1));
+            int length = Math.min(bytes.length - done, chunk.limit() - offset);
+            chunk.get(offset, bytes, done, length);
+            done += length;
+            position += length;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.solventum.shortlink.tombstone;
+
+import com.solventum.shortlink.store.LinkStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Reclaims the mappings of deleted short codes from a single background thread.
+ *
+ * Each pass hands every single-code tombstone to the reclaim callback, then
+ * scans the link store once for codes in any pending id range, however many
+ * ranges there are. Tombstones are dropped only after their mappings are
+ * reclaimed, so a deleted code never resolves again, and request threads
+ * never wait for a pass.
+ */
+public class TombstoneCompactor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TombstoneCompactor.class);
+
+    private final Tombstones tombstones;
+    private final LinkStore linkStore;
+    private final Consumer<String> reclaim;
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Creates and starts a compactor.
+     *
+     * @param tombstones the tombstones to compact
+     * @param linkStore the store scanned for codes in deleted id ranges
+     * @param reclaim callback removing the mapping of a deleted short code
+     * @param intervalMs delay between compaction passes in milliseconds
+     */
+    public TombstoneCompactor(Tombstones tombstones, LinkStore linkStore, Consumer<String> reclaim, long intervalMs) {
+        this.tombstones = tombstones;
+        this.linkStore = linkStore;
+        this.reclaim = reclaim;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tombstone-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::tick, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs one compaction pass now.
+     */
+    public synchronized void compact() {
+        tombstones.drainCodes(reclaim);
+        long[] ranges = tombstones.ranges();
+        if (ranges.length == 0) {
+            return;
+        }
+        // Collect first: not every store tolerates removals during its own iteration
+        List<String> deleted = new ArrayList<>();
+        linkStore.forEach((shortCode, longUrl) -> {
+            if (Tombstones.inRanges(tombstones.codec().decode(shortCode), ranges)) {
+                deleted.add(shortCode);
+            }
+        });
+        deleted.forEach(reclaim);
+        tombstones.dropRanges(ranges);
+    }
+
+    /**
+     * Stops the compactor thread. Pending tombstones stay in place.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void tick() {
+        // A failure must not kill the periodic task, or tombstones would pile up forever
+        try {
+            if (!tombstones.isEmpty()) {
+                compact();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Tombstone compaction failed: ", e);
+        }
+    }
+}
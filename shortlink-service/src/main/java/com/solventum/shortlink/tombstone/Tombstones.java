@@ -0,0 +1,153 @@
+package com.solventum.shortlink.tombstone;
+
+import com.solventum.shortlink.util.ShortCodeCodec;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Deleted short codes whose mappings are still in the link store.
+ *
+ * A delete only records a tombstone, which decode and deduplication check
+ * before trusting the store; a {@link TombstoneCompactor} later removes the
+ * mappings and drops the tombstones. Single codes are kept in a concurrent
+ * set. Id ranges, from bulk deletes, are kept as a copy-on-write array of
+ * inclusive bounds, since they are few and read on every lookup while any
+ * are pending. Lookups never lock, and cost one emptiness check when
+ * nothing is waiting for compaction.
+ */
+public class Tombstones {
+
+    private static final long[] NO_RANGES = new long[0];
+
+    private final ShortCodeCodec codec;
+    private volatile Set<String> codes = ConcurrentHashMap.newKeySet();
+    // Inclusive id bounds, two entries per range, in the order they were added
+    private volatile long[] ranges = NO_RANGES;
+
+    /**
+     * Creates an empty set of tombstones.
+     *
+     * @param codec the codec turning short codes back into ids, for range tombstones
+     */
+    public Tombstones(ShortCodeCodec codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Records the deletion of one short code.
+     *
+     * @param shortCode the deleted short code
+     * @return true if the code was not already deleted
+     */
+    public boolean add(String shortCode) {
+        return codes.add(shortCode);
+    }
+
+    /**
+     * Records the deletion of every short code encoding an id in a range.
+     *
+     * @param fromId the first deleted id
+     * @param toId the last deleted id, inclusive
+     */
+    public synchronized void addRange(long fromId, long toId) {
+        long[] updated = Arrays.copyOf(ranges, ranges.length + 2);
+        updated[updated.length - 2] = fromId;
+        updated[updated.length - 1] = toId;
+        ranges = updated;
+    }
+
+    /**
+     * Checks whether nothing is waiting for compaction, so lookups can skip
+     * {@link #contains}.
+     *
+     * @return true if there are no tombstones
+     */
+    public boolean isEmpty() {
+        return ranges.length == 0 && codes.isEmpty();
+    }
+
+    /**
+     * Checks whether a short code was deleted, singly or as part of a range.
+     *
+     * @param shortCode the short code
+     * @return true if the code's mapping must be treated as missing
+     */
+    public boolean contains(String shortCode) {
+        if (codes.contains(shortCode)) {
+            return true;
+        }
+        long[] current = ranges;
+        return current.length != 0 && inRanges(codec.decode(shortCode), current);
+    }
+
+    /**
+     * Returns the number of single codes and ranges waiting for compaction.
+     *
+     * @return tombstone count
+     */
+    public int size() {
+        return codes.size() + ranges.length / 2;
+    }
+
+    /**
+     * Removes every tombstone.
+     */
+    public synchronized void clear() {
+        codes = ConcurrentHashMap.newKeySet();
+        ranges = NO_RANGES;
+    }
+
+    /**
+     * Hands every single-code tombstone to a callback, dropping each one
+     * once the callback returns.
+     */
+    void drainCodes(Consumer<String> reclaim) {
+        Set<String> current = codes;
+        for (String shortCode : current) {
+            reclaim.accept(shortCode);
+            current.remove(shortCode);
+        }
+    }
+
+    /**
+     * Returns the id ranges recorded so far, for compaction.
+     */
+    long[] ranges() {
+        return ranges;
+    }
+
+    /**
+     * Drops ranges returned by {@link #ranges()} once compacted. Ranges are
+     * only ever appended meanwhile, so the compacted ones are still first.
+     */
+    synchronized void dropRanges(long[] compacted) {
+        long[] current = ranges;
+        if (current.length >= compacted.length) {
+            ranges = current.length == compacted.length
+                ? NO_RANGES
+                : Arrays.copyOfRange(current, compacted.length, current.length);
+        }
+    }
+
+    /**
+     * Checks whether an id falls in one of a set of ranges.
+     */
+    static boolean inRanges(long id, long[] ranges) {
+        if (id < 0) {
+            return false;
+        }
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (id >= ranges[i] && id <= ranges[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    ShortCodeCodec codec() {
+        return codec;
+    }
+}
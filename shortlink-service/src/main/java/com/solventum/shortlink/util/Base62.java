@@ -0,0 +1,86 @@
+package com.solventum.shortlink.util;
+
+import java.util.Arrays;
+
+/**
+ * Base-62 encoding of non-negative ids into short codes and back.
+ *
+ * Digits are drawn from [a-z, A-Z, 0-9], most significant first, so id 0
+ * is "a" and id 62 is "ba".
+ */
+public final class Base62 {
+
+    // Base-62 alphabet: a-z, A-Z, 0-9 (62 characters total)
+    public static final String ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    public static final int BASE = ALPHABET.length();
+
+    // Long.MAX_VALUE needs 11 base-62 digits
+    private static final int MAX_LENGTH = 11;
+
+    // Digit value of each ASCII character, -1 if it is not a digit; a lookup
+    // avoids range checks that mispredict on codes with mixed-case digits
+    private static final byte[] DIGITS = new byte[128];
+
+    static {
+        Arrays.fill(DIGITS, (byte) -1);
+        for (int i = 0; i < BASE; i++) {
+            DIGITS[ALPHABET.charAt(i)] = (byte) i;
+        }
+    }
+
+    private Base62() {
+    }
+
+    /**
+     * Encodes a number into Base-62 representation.
+     *
+     * @param num the non-negative number to encode
+     * @return Base-62 encoded string
+     */
+    public static String encode(long num) {
+        if (num == 0) {
+            return String.valueOf(ALPHABET.charAt(0));
+        }
+
+        char[] digits = new char[MAX_LENGTH];
+        int start = MAX_LENGTH;
+        while (num > 0) {
+            digits[--start] = ALPHABET.charAt((int) (num % BASE));
+            num /= BASE;
+        }
+        return new String(digits, start, MAX_LENGTH - start);
+    }
+
+    /**
+     * Decodes a Base-62 string back into a number.
+     *
+     * @param code the encoded string
+     * @return the decoded number, or -1 if the string is not the canonical encoding of a number
+     */
+    public static long decode(String code) {
+        int length = code.length();
+        if (length == 0 || length > MAX_LENGTH) {
+            return -1;
+        }
+        // Leading zero digits would make several codes decode to the same number
+        if (length > 1 && code.charAt(0) == ALPHABET.charAt(0)) {
+            return -1;
+        }
+        long num = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = digitValue(code.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            if (num > (Long.MAX_VALUE - digit) / BASE) {
+                return -1;
+            }
+            num = num * BASE + digit;
+        }
+        return num;
+    }
+
+    private static int digitValue(char c) {
+        return c < DIGITS.length ? DIGITS[c] : -1;
+    }
+}
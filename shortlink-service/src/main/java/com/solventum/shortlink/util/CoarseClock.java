@@ -0,0 +1,53 @@
+package com.solventum.shortlink.util;
+
+/**
+ * Cached wall clock with millisecond resolution and bounded staleness.
+ *
+ * A single daemon thread refreshes the cached time every
+ * {@link #RESOLUTION_MS} milliseconds, so reading the time on the request
+ * path is a plain volatile read instead of a system call. Values may lag the
+ * real clock by up to one tick (longer if the updater is starved of CPU), but
+ * never run ahead of it and never go backwards.
+ */
+public final class CoarseClock {
+
+    /**
+     * Refresh interval of the cached time.
+     */
+    public static final long RESOLUTION_MS = 10;
+
+    private static volatile long now = System.currentTimeMillis();
+
+    static {
+        Thread updater = new Thread(CoarseClock::run, "coarse-clock");
+        updater.setDaemon(true);
+        updater.start();
+    }
+
+    private CoarseClock() {
+    }
+
+    /**
+     * Returns the cached current time.
+     *
+     * @return milliseconds since the epoch, at most about one tick old
+     */
+    public static long currentTimeMillis() {
+        return now;
+    }
+
+    private static void run() {
+        while (true) {
+            try {
+                Thread.sleep(RESOLUTION_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long current = System.currentTimeMillis();
+            if (current > now) {
+                now = current;
+            }
+        }
+    }
+}
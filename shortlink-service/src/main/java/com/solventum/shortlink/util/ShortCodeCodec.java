@@ -0,0 +1,235 @@
+package com.solventum.shortlink.util;
+
+/**
+ * Converts link ids to short codes and back, optionally scrambling the ids
+ * with a keyed permutation so that consecutive ids do not give away link
+ * volume or let every link be enumerated.
+ *
+ * The permutation is format-preserving: ids are grouped into bands by the
+ * length of their Base-62 encoding, and each band is shuffled within
+ * itself, so a scrambled code is exactly as long as the plain one. Within a
+ * band of {@code size} ids the permutation is a four-round Feistel network
+ * over the smallest bit width holding {@code size - 1}, cycle-walked until
+ * the result falls back inside the band (at most two rounds of walking on
+ * average, since the bit width never exceeds twice the band). It is
+ * reversible, so stores indexing links by id still see the original ids.
+ *
+ * The key is not a secret in the cryptographic sense: the round function
+ * is a single multiplication, which hides the allocation order from casual
+ * scrapers but would not resist a determined analysis.
+ */
+public final class ShortCodeCodec {
+
+    private static final ShortCodeCodec PLAIN = new ShortCodeCodec();
+
+    private static final int ROUNDS = 4;
+
+    // Base-62 code lengths 1 to 11 cover every non-negative long
+    private static final int BANDS = 11;
+
+    // First id of each band; the last band ends at Long.MAX_VALUE
+    private static final long[] BAND_START = new long[BANDS];
+
+    // Band holding the smallest id of each bit length
+    private static final int[] BAND_BY_BITS = new int[64];
+
+    static {
+        long start = 1;
+        BAND_START[0] = 0;
+        for (int band = 1; band < BANDS; band++) {
+            start *= Base62.BASE;
+            BAND_START[band] = start;
+        }
+        for (int bits = 1; bits < 64; bits++) {
+            BAND_BY_BITS[bits] = bandOf(1L << (bits - 1), 0);
+        }
+    }
+
+    private final boolean scrambled;
+
+    // Per band: bit widths of the Feistel halves and round keys
+    private final int[] leftBits;
+    private final int[] rightBits;
+    private final long[][] roundKeys;
+
+    private ShortCodeCodec() {
+        this.scrambled = false;
+        this.leftBits = null;
+        this.rightBits = null;
+        this.roundKeys = null;
+    }
+
+    /**
+     * Creates a codec scrambling ids with the permutation selected by a key.
+     *
+     * @param key the permutation key; every node of a deployment must use the same one
+     */
+    public ShortCodeCodec(long key) {
+        this.scrambled = true;
+        this.leftBits = new int[BANDS];
+        this.rightBits = new int[BANDS];
+        this.roundKeys = new long[BANDS][ROUNDS];
+        long seed = key;
+        for (int band = 0; band < BANDS; band++) {
+            int bits = 64 - Long.numberOfLeadingZeros(bandSize(band) - 1);
+            leftBits[band] = bits / 2;
+            rightBits[band] = bits - bits / 2;
+            for (int round = 0; round < ROUNDS; round++) {
+                seed += 0x9E3779B97F4A7C15L;
+                roundKeys[band][round] = mix(seed);
+            }
+        }
+    }
+
+    /**
+     * Returns the codec encoding ids as they are, so that id 1 is "b".
+     *
+     * @return the unscrambled codec
+     */
+    public static ShortCodeCodec plain() {
+        return PLAIN;
+    }
+
+    /**
+     * Returns a fingerprint of the permutation, so that a store can tell
+     * whether its codes were issued with the same key without holding it.
+     *
+     * @return 0 for the plain codec, otherwise a non-zero value depending on the key
+     */
+    public long fingerprint() {
+        if (!scrambled) {
+            return 0;
+        }
+        return mix(roundKeys[0][0] ^ roundKeys[BANDS - 1][ROUNDS - 1]) | 1;
+    }
+
+    /**
+     * Checks whether ids are permuted before encoding.
+     *
+     * @return true if codes do not follow the id order
+     */
+    public boolean isScrambled() {
+        return scrambled;
+    }
+
+    /**
+     * Encodes a link id as a short code.
+     *
+     * @param id the non-negative link id
+     * @return the short code
+     */
+    public String encode(long id) {
+        return Base62.encode(scrambled ? permute(id) : id);
+    }
+
+    /**
+     * Decodes a short code back to its link id.
+     *
+     * @param code the short code
+     * @return the link id, or -1 if the code is not a valid encoding
+     */
+    public long decode(String code) {
+        long value = Base62.decode(code);
+        return value < 0 || !scrambled ? value : unpermute(value);
+    }
+
+    /**
+     * Maps an id to the scrambled id of the same code length.
+     *
+     * @param id the non-negative link id
+     * @return the permuted id
+     */
+    long permute(long id) {
+        int band = band(id);
+        long size = bandSize(band);
+        long x = id - BAND_START[band];
+        do {
+            x = feistel(x, band);
+        } while (x >= size);
+        return x + BAND_START[band];
+    }
+
+    /**
+     * Inverts {@link #permute}.
+     *
+     * @param value a permuted id
+     * @return the original link id
+     */
+    long unpermute(long value) {
+        int band = band(value);
+        long size = bandSize(band);
+        long x = value - BAND_START[band];
+        do {
+            x = inverseFeistel(x, band);
+        } while (x >= size);
+        return x + BAND_START[band];
+    }
+
+    private long feistel(long x, int band) {
+        int left = leftBits[band];
+        int right = rightBits[band];
+        long[] keys = roundKeys[band];
+        for (int round = 0; round < ROUNDS; round++) {
+            // (L, R) -> (R, L ^ F(R)); the halves swap widths every round
+            long l = x >>> right;
+            long r = x & mask(right);
+            x = r << left | ((l ^ scramble(r, keys[round])) & mask(left));
+            int swap = left;
+            left = right;
+            right = swap;
+        }
+        return x;
+    }
+
+    private long inverseFeistel(long x, int band) {
+        // After an even number of rounds the widths are back to the original ones
+        int left = leftBits[band];
+        int right = rightBits[band];
+        long[] keys = roundKeys[band];
+        for (int round = ROUNDS - 1; round >= 0; round--) {
+            // Back to the widths before this round, then undo (L, R) -> (R, L ^ F(R))
+            int swap = left;
+            left = right;
+            right = swap;
+            long r = x >>> left;
+            long l = (x ^ scramble(r, keys[round])) & mask(left);
+            x = l << right | r;
+        }
+        return x;
+    }
+
+    private static int band(long id) {
+        int bits = 64 - Long.numberOfLeadingZeros(id);
+        return bits == 0 ? 0 : bandOf(id, BAND_BY_BITS[bits]);
+    }
+
+    private static int bandOf(long id, int band) {
+        // One bit length spans less than one Base-62 digit, so at most one step is needed from a table lookup
+        while (band + 1 < BANDS && id >= BAND_START[band + 1]) {
+            band++;
+        }
+        return band;
+    }
+
+    private static long bandSize(int band) {
+        return band + 1 < BANDS
+            ? BAND_START[band + 1] - BAND_START[band]
+            : Long.MAX_VALUE - BAND_START[band] + 1;
+    }
+
+    private static long mask(int bits) {
+        return (1L << bits) - 1;
+    }
+
+    // Halves are at most 32 bits wide, so every input bit reaches the top half of the product
+    private static long scramble(long half, long key) {
+        return ((half ^ key) * 0x9E3779B97F4A7C15L) >>> 32;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
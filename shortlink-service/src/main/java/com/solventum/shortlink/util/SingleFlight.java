@@ -0,0 +1,79 @@
+package com.solventum.shortlink.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into one execution.
+ *
+ * The first caller for a key registers an in-flight future and does the
+ * work; callers arriving for the same key while it runs wait for that
+ * future instead of repeating the work, and get its result or its
+ * exception. The key is released as soon as the work finishes, so nothing
+ * is cached: a call arriving afterwards does the work again.
+ *
+ * @param <K> key type
+ * @param <V> result type; null results are shared like any other
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Runs the work for a key, or waits for the execution already running for it.
+     *
+     * @param key the key identifying the work
+     * @param work computes the result; runs on the calling thread of the first caller only
+     * @return the result of the shared execution
+     */
+    public V execute(K key, Supplier<V> work) {
+        calls.increment();
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.increment();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        try {
+            V result = work.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            // Waiters must be released whatever happens, or they would wait forever
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Returns the number of calls made.
+     *
+     * @return call count
+     */
+    public long getCallCount() {
+        return calls.sum();
+    }
+
+    /**
+     * Returns the number of calls that shared another call's execution.
+     *
+     * @return coalesced call count
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+}
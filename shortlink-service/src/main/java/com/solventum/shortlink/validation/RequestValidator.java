@@ -0,0 +1,164 @@
+package com.solventum.shortlink.validation;
+
+
+/**
+ * Single validation stage for encode and decode input.
+ *
+ * Each request is checked exactly once, in one pass over the input, with no
+ * reflection: presence, length limits and format are all verified here, and
+ * the normalized value needed downstream (canonical long URL or short code)
+ * is produced at the same time. The limits and messages mirror the bean
+ * validation constraints declared on the request models, which remain as
+ * documentation of the API contract.
+ *
+ * All failures are reported as {@link IllegalArgumentException}s, which the
+ * controller maps to HTTP status codes.
+ */
+public final class RequestValidator {
+
+    public static final int MAX_URL_LENGTH = 2048;
+    public static final int MAX_SHORT_URL_LENGTH = 255;
+    public static final int MAX_ALIAS_LENGTH = 64;
+
+    public static final String URL_REQUIRED = "URL is required";
+    public static final String URL_TOO_LONG = "URL is too long (maximum 2048 characters)";
+    public static final String SHORT_URL_REQUIRED = "Short URL is required";
+    public static final String SHORT_URL_TOO_LONG = "Short URL is too long";
+    public static final String TTL_NOT_POSITIVE = "TTL must be positive";
+    public static final String ALIAS_INVALID =
+        "Alias must be 1 to 64 characters from [A-Za-z0-9._-], optionally grouped by single inner slashes";
+
+    private RequestValidator() {
+    }
+
+    /**
+     * Validates a long URL and returns its canonical form.
+     *
+     * @param longUrl the URL to validate
+     * @return the canonical URL
+     * @throws IllegalArgumentException if the URL is missing, too long or malformed
+     */
+    public static String validateLongUrl(String longUrl) {
+        if (longUrl == null || longUrl.isBlank()) {
+            throw new IllegalArgumentException("URL cannot be null or empty");
+        }
+        if (longUrl.length() > MAX_URL_LENGTH) {
+            throw new IllegalArgumentException(URL_TOO_LONG);
+        }
+        String canonical = UrlCanonicalizer.canonicalize(longUrl);
+        if (canonical == null) {
+            throw new IllegalArgumentException("Invalid URL format");
+        }
+        return canonical;
+    }
+
+    /**
+     * Validates a short URL and extracts its short code.
+     * Accepts a full short URL on the configured base, a short URL on any other
+     * http(s) base, or a bare short code. Surrounding whitespace is ignored.
+     *
+     * @param shortUrl the short URL or short code to validate
+     * @param baseUrl the configured base URL for short links
+     * @return the extracted short code
+     * @throws IllegalArgumentException if the input is missing, too long or has no code
+     */
+    public static String extractShortCode(String shortUrl, String baseUrl) {
+        if (shortUrl == null) {
+            throw new IllegalArgumentException("Short URL cannot be null or empty");
+        }
+        if (shortUrl.length() > MAX_SHORT_URL_LENGTH) {
+            throw new IllegalArgumentException(SHORT_URL_TOO_LONG);
+        }
+
+        // Trims spaces and control characters, as String.trim does
+        int start = 0;
+        int end = shortUrl.length();
+        while (start < end && shortUrl.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && shortUrl.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            throw new IllegalArgumentException("Short URL cannot be null or empty");
+        }
+
+        int codeStart;
+        if (shortUrl.startsWith(baseUrl, start) && start + baseUrl.length() <= end) {
+            codeStart = start + baseUrl.length();
+        } else if (shortUrl.startsWith("http://", start) || shortUrl.startsWith("https://", start)) {
+            // Different base URL format
+            int lastSlashIndex = shortUrl.lastIndexOf('/', end - 1);
+            codeStart = lastSlashIndex + 1;
+        } else {
+            // Assume it's just the short code
+            codeStart = start;
+        }
+
+        if (codeStart >= end) {
+            throw new IllegalArgumentException("Invalid short URL format");
+        }
+        return codeStart == 0 && end == shortUrl.length() ? shortUrl : shortUrl.substring(codeStart, end);
+    }
+
+    /**
+     * Validates a custom alias: letters, digits, '-', '_', '.' and '/'
+     * between segments. An alias may look like a generated short code; the
+     * service checks it against the codes actually issued.
+     *
+     * @param alias the alias to validate
+     * @return the alias
+     * @throws IllegalArgumentException if the alias is malformed
+     */
+    public static String validateAlias(String alias) {
+        if (alias == null || alias.isEmpty() || alias.length() > MAX_ALIAS_LENGTH) {
+            throw new IllegalArgumentException(ALIAS_INVALID);
+        }
+        char previous = '/';
+        for (int i = 0; i < alias.length(); i++) {
+            char c = alias.charAt(i);
+            boolean valid = c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'
+                || c == '-' || c == '_' || c == '.' || c == '/' && previous != '/';
+            if (!valid) {
+                throw new IllegalArgumentException(ALIAS_INVALID);
+            }
+            previous = c;
+        }
+        if (previous == '/') {
+            throw new IllegalArgumentException(ALIAS_INVALID);
+        }
+        return alias;
+    }
+
+    /**
+     * Resolves the optional expiration of an encode request to an absolute time.
+     *
+     * @param ttlSeconds time to live in seconds, or null
+     * @param expiresAt absolute expiration time in epoch milliseconds, or null
+     * @param nowMillis the current time in epoch milliseconds
+     * @return the expiration time in epoch milliseconds, or 0 if the link never expires
+     * @throws IllegalArgumentException if both are given, the TTL is not positive
+     *         or the expiration time is not in the future
+     */
+    public static long resolveExpiresAt(Long ttlSeconds, Long expiresAt, long nowMillis) {
+        if (ttlSeconds != null && expiresAt != null) {
+            throw new IllegalArgumentException("Specify either ttl or expiresAt, not both");
+        }
+        if (ttlSeconds != null) {
+            if (ttlSeconds <= 0) {
+                throw new IllegalArgumentException(TTL_NOT_POSITIVE);
+            }
+            if (ttlSeconds > (Long.MAX_VALUE - nowMillis) / 1000) {
+                throw new IllegalArgumentException("TTL is too large");
+            }
+            return nowMillis + ttlSeconds * 1000;
+        }
+        if (expiresAt != null) {
+            if (expiresAt <= nowMillis) {
+                throw new IllegalArgumentException("Expiration must be in the future");
+            }
+            return expiresAt;
+        }
+        return 0;
+    }
+}
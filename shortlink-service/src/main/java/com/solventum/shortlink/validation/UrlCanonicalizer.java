@@ -0,0 +1,257 @@
+package com.solventum.shortlink.validation;
+
+/**
+ * Single-pass validator and canonicalizer for long URLs.
+ *
+ * Replaces the former {@code ^https?://.+\..+$} regex with a hand-written,
+ * linear-time scanner. In one pass it validates the URL and rewrites it into
+ * canonical form:
+ * <ul>
+ *   <li>surrounding whitespace is ignored</li>
+ *   <li>scheme and host are lowercased</li>
+ *   <li>default ports (80 for http, 443 for https) and empty ports are removed</li>
+ *   <li>percent-encoded unreserved characters are decoded, other escapes get uppercase hex</li>
+ *   <li>the fragment is dropped</li>
+ * </ul>
+ * Equivalent URLs therefore map to the same string, which lets the service
+ * deduplicate them. When the input is already canonical the input string itself
+ * is returned and nothing is allocated.
+ *
+ * Accepted hosts are DNS names with at least one dot, IPv4 addresses and
+ * bracketed IPv6 literals. User info, whitespace and control characters are
+ * rejected.
+ */
+public final class UrlCanonicalizer {
+
+    private static final int MAX_HOST_LENGTH = 253;
+    private static final int MAX_LABEL_LENGTH = 63;
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private UrlCanonicalizer() {
+    }
+
+    /**
+     * Validates and canonicalizes a URL.
+     *
+     * @param url the URL to check, may be null
+     * @return the canonical URL, or null if the URL is not a valid http(s) URL
+     */
+    public static String canonicalize(String url) {
+        if (url == null) {
+            return null;
+        }
+
+        int start = 0;
+        int end = url.length();
+        while (start < end && url.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && url.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        // Output buffer, only created once the input diverges from canonical form
+        StringBuilder out = null;
+
+        // Scheme
+        boolean https;
+        int i;
+        if (regionMatchesLower(url, start, end, "https://")) {
+            https = true;
+            i = start + 8;
+        } else if (regionMatchesLower(url, start, end, "http://")) {
+            https = false;
+            i = start + 7;
+        } else {
+            return null;
+        }
+        int schemeEnd = i - 3;
+        for (int p = start; p < schemeEnd; p++) {
+            char c = url.charAt(p);
+            if (c >= 'A' && c <= 'Z') {
+                out = new StringBuilder(end - start).append(https ? "https://" : "http://");
+                break;
+            }
+        }
+
+        // Host
+        if (i < end && url.charAt(i) == '[') {
+            int hostStart = i;
+            i++;
+            boolean sawColon = false;
+            while (i < end && url.charAt(i) != ']') {
+                char c = url.charAt(i);
+                if (c == ':') {
+                    sawColon = true;
+                } else if (!isHex(c) && c != '.') {
+                    return null;
+                }
+                i++;
+            }
+            if (i >= end || !sawColon || i == hostStart + 1) {
+                return null;
+            }
+            i++;
+            for (int p = hostStart; p < i; p++) {
+                char c = url.charAt(p);
+                if (c >= 'A' && c <= 'F') {
+                    out = diverge(out, url, start, p);
+                    out.append((char) (c + ('a' - 'A')));
+                } else if (out != null) {
+                    out.append(c);
+                }
+            }
+        } else {
+            int hostStart = i;
+            int labelStart = i;
+            boolean sawDot = false;
+            while (i < end) {
+                char c = url.charAt(i);
+                if (c == '.') {
+                    if (!validLabel(url, labelStart, i)) {
+                        return null;
+                    }
+                    sawDot = true;
+                    labelStart = i + 1;
+                } else if (c >= 'A' && c <= 'Z') {
+                    out = diverge(out, url, start, i);
+                    out.append((char) (c + ('a' - 'A')));
+                    i++;
+                    continue;
+                } else if (!((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_')) {
+                    break;
+                }
+                if (out != null) {
+                    out.append(c);
+                }
+                i++;
+            }
+            if (!sawDot || !validLabel(url, labelStart, i) || i - hostStart > MAX_HOST_LENGTH) {
+                return null;
+            }
+        }
+
+        // Port
+        if (i < end && url.charAt(i) == ':') {
+            int portStart = i + 1;
+            int p = portStart;
+            int port = 0;
+            while (p < end && url.charAt(p) >= '0' && url.charAt(p) <= '9') {
+                port = port * 10 + (url.charAt(p) - '0');
+                if (port > 65535) {
+                    return null;
+                }
+                p++;
+            }
+            int digits = p - portStart;
+            boolean isDefault = digits > 0 && port == (https ? 443 : 80);
+            boolean leadingZero = digits > 1 && url.charAt(portStart) == '0';
+            if (digits == 0 || isDefault) {
+                out = diverge(out, url, start, i);
+            } else if (leadingZero) {
+                out = diverge(out, url, start, i);
+                out.append(':').append(port);
+            } else if (out != null) {
+                out.append(url, i, p);
+            }
+            i = p;
+        }
+
+        // Anything after the authority must start a path or query
+        if (i < end) {
+            char c = url.charAt(i);
+            if (c != '/' && c != '?' && c != '#') {
+                return null;
+            }
+        }
+
+        // Path and query
+        while (i < end) {
+            char c = url.charAt(i);
+            if (c == '#') {
+                out = diverge(out, url, start, i);
+                break;
+            }
+            if (c <= ' ' || c == 0x7F || c == '\\') {
+                return null;
+            }
+            if (c == '%') {
+                if (i + 2 >= end || !isHex(url.charAt(i + 1)) || !isHex(url.charAt(i + 2))) {
+                    return null;
+                }
+                char h1 = url.charAt(i + 1);
+                char h2 = url.charAt(i + 2);
+                int decoded = (hexValue(h1) << 4) | hexValue(h2);
+                if (isUnreserved(decoded)) {
+                    out = diverge(out, url, start, i);
+                    out.append((char) decoded);
+                } else if ((h1 >= 'a' && h1 <= 'f') || (h2 >= 'a' && h2 <= 'f')) {
+                    out = diverge(out, url, start, i);
+                    out.append('%').append(HEX[decoded >> 4]).append(HEX[decoded & 0xF]);
+                } else if (out != null) {
+                    out.append(url, i, i + 3);
+                }
+                i += 3;
+                continue;
+            }
+            if (out != null) {
+                out.append(c);
+            }
+            i++;
+        }
+
+        if (out != null) {
+            return out.toString();
+        }
+        return start == 0 && end == url.length() ? url : url.substring(start, end);
+    }
+
+    /**
+     * Checks whether a URL is a valid http(s) URL.
+     *
+     * @param url the URL to check, may be null
+     * @return true if {@link #canonicalize(String)} would accept it
+     */
+    public static boolean isValid(String url) {
+        return canonicalize(url) != null;
+    }
+
+    /**
+     * Starts the output buffer at the first character that differs from the
+     * input, copying the unchanged prefix once.
+     */
+    private static StringBuilder diverge(StringBuilder out, String url, int start, int position) {
+        if (out != null) {
+            return out;
+        }
+        StringBuilder builder = new StringBuilder(url.length());
+        builder.append(url, start, position);
+        return builder;
+    }
+
+    private static boolean regionMatchesLower(String url, int start, int end, String prefix) {
+        return end - start >= prefix.length() && url.regionMatches(true, start, prefix, 0, prefix.length());
+    }
+
+    private static boolean validLabel(String url, int from, int to) {
+        int length = to - from;
+        return length > 0 && length <= MAX_LABEL_LENGTH
+            && url.charAt(from) != '-' && url.charAt(to - 1) != '-';
+    }
+
+    private static boolean isHex(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static int hexValue(char c) {
+        if (c <= '9') {
+            return c - '0';
+        }
+        return (c | 0x20) - 'a' + 10;
+    }
+
+    private static boolean isUnreserved(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+            || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+}
@@ -0,0 +1,232 @@
+package com.solventum.shortlink.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solventum.shortlink.cluster.ClusterTopology;
+import com.solventum.shortlink.id.SequentialIdGenerator;
+import com.solventum.shortlink.model.DecodeRequest;
+import com.solventum.shortlink.model.DecodeResponse;
+import com.solventum.shortlink.model.EncodeRequest;
+import com.solventum.shortlink.model.EncodeResponse;
+import com.solventum.shortlink.service.UrlShorteningService;
+import com.solventum.shortlink.stats.HotLinkSnapshot;
+import com.solventum.shortlink.stats.HotLinkTracker;
+import com.solventum.shortlink.stats.HotLinkTracker.HotLink;
+import com.solventum.shortlink.store.InMemoryLinkStore;
+import com.solventum.shortlink.store.LinkStore;
+import com.solventum.shortlink.util.ShortCodeCodec;
+import com.solventum.shortlink.validation.RequestValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Gets a freshly started node ready for traffic: pages in the store's
+ * files, loads the links that were hottest before the restart, and runs
+ * synthetic requests until the JIT has compiled the request path.
+ *
+ * Spring Boot reports the application ready, through the readiness probe
+ * at {@code /actuator/health/readiness}, only once every ApplicationRunner
+ * has returned, so a load balancer polling it keeps traffic away until the
+ * warm-up is over. The web server is already listening meanwhile, and the
+ * liveness probe is up.
+ *
+ * The synthetic requests go through the JSON mapper and the request
+ * validator. Encodes run on a scratch service over its own in-memory
+ * store, so they leave no link or id behind on this node, and are skipped
+ * on read-only nodes, which never serve them. Decodes run on a second
+ * service over the real store, so the store's own lookup path is the one
+ * compiled; they ask for the snapshot's hot links in turn, or for the
+ * scratch codes if there are none, and their hits are counted by a
+ * tracker of their own. Both services use the node's short code codec and
+ * run their asynchronous calls on the node's storage executor, so the
+ * code compiled and the threads started are the ones real requests use.
+ * The requests do not go through the controllers or the MVC dispatch,
+ * which the JIT compiles with the first real requests. Failures are
+ * logged and end the warm-up early; they never stop the application.
+ */
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    // One synthetic request in this many is invalid, to exercise the rejection paths too
+    private static final int REJECTED_EVERY = 16;
+
+    private final LinkStore linkStore;
+    private final HotLinkSnapshot hotLinks;
+    private final ObjectMapper objectMapper;
+    private final ShortCodeCodec codec;
+    private final Executor storageExecutor;
+    private final int iterations;
+
+    private volatile Result result;
+
+    /**
+     * Creates a warm-up.
+     *
+     * @param linkStore the store serving this node's links
+     * @param hotLinks the snapshot of the links hottest before the restart
+     * @param objectMapper the mapper serializing request and response bodies
+     * @param codec the codec this node encodes short codes with
+     * @param storageExecutor the executor this node runs store work on
+     * @param iterations number of synthetic encode and decode round trips
+     */
+    public StartupWarmup(LinkStore linkStore, HotLinkSnapshot hotLinks, ObjectMapper objectMapper,
+                         ShortCodeCodec codec, Executor storageExecutor, int iterations) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("Warm-up iterations cannot be negative");
+        }
+        this.linkStore = linkStore;
+        this.hotLinks = hotLinks;
+        this.objectMapper = objectMapper;
+        this.codec = codec;
+        this.storageExecutor = storageExecutor;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * Runs every warm-up step in turn.
+     *
+     * @return what was warmed up
+     */
+    public Result warmUp() {
+        long start = System.nanoTime();
+        long touchedBytes = 0;
+        int preloadedLinks = 0;
+        int requests = 0;
+        try {
+            touchedBytes = linkStore.preTouch();
+            List<String> hotCodes = preloadHotLinks();
+            preloadedLinks = hotCodes.size();
+            requests = sendSyntheticRequests(hotCodes);
+        } catch (RuntimeException e) {
+            logger.error("Startup warm-up failed, accepting traffic anyway: ", e);
+        }
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        result = new Result(touchedBytes, preloadedLinks, requests, durationMs);
+        logger.info("Warmed up in {} ms: touched {} bytes of store data, loaded {} hot links, ran {} synthetic requests",
+            durationMs, touchedBytes, preloadedLinks, requests);
+        return result;
+    }
+
+    /**
+     * Returns the outcome of the warm-up.
+     *
+     * @return the result, or null while the warm-up has not finished
+     */
+    public Result getResult() {
+        return result;
+    }
+
+    /**
+     * Looks up the snapshot's hot links, and returns those still in the store.
+     */
+    private List<String> preloadHotLinks() {
+        List<String> loaded = new ArrayList<>();
+        for (HotLink link : hotLinks.load()) {
+            if (linkStore.get(link.getShortCode()) != null) {
+                loaded.add(link.getShortCode());
+            }
+        }
+        return loaded;
+    }
+
+    private int sendSyntheticRequests(List<String> hotCodes) {
+        boolean writable = !linkStore.isReadOnly();
+        InMemoryLinkStore scratchStore = new InMemoryLinkStore();
+        SequentialIdGenerator scratchIds = new SequentialIdGenerator(scratchStore, ClusterTopology.standalone());
+        UrlShorteningService scratch = new UrlShorteningService(new HotLinkTracker(), scratchStore, scratchIds,
+            codec, storageExecutor);
+        UrlShorteningService live = new UrlShorteningService(new HotLinkTracker(), linkStore, scratchIds,
+            codec, storageExecutor);
+        int requests = 0;
+        try {
+            for (int i = 0; i < iterations; i++) {
+                String shortUrl = codec.encode(i);
+                if (writable) {
+                    String longUrl = "https://warmup.example.com/path/" + i + "?query=" + i;
+                    EncodeRequest encodeRequest = roundTrip(new EncodeRequest(longUrl), EncodeRequest.class);
+                    long expiresAt = RequestValidator.resolveExpiresAt(encodeRequest.ttl(), encodeRequest.expiresAt(),
+                        System.currentTimeMillis());
+                    shortUrl = scratch.encodeAsync(encodeRequest.url(), expiresAt).join();
+                    roundTrip(new EncodeResponse(shortUrl, encodeRequest.url()), EncodeResponse.class);
+                    requests++;
+                }
+
+                if (!hotCodes.isEmpty()) {
+                    shortUrl = hotCodes.get(i % hotCodes.size());
+                }
+                DecodeRequest decodeRequest = roundTrip(new DecodeRequest(shortUrl), DecodeRequest.class);
+                String originalUrl;
+                try {
+                    originalUrl = live.decodeAsync(decodeRequest.shortUrl()).join();
+                } catch (CompletionException e) {
+                    // Scratch codes are mostly misses in the real store
+                    if (!(e.getCause() instanceof IllegalArgumentException)) {
+                        throw e;
+                    }
+                    originalUrl = null;
+                }
+                roundTrip(new DecodeResponse(originalUrl, shortUrl), DecodeResponse.class);
+                requests++;
+
+                if (i % REJECTED_EVERY == 0) {
+                    requests += sendRejectedRequests(writable ? scratch : null, live, i);
+                }
+            }
+        } finally {
+            scratch.shutdown();
+            live.shutdown();
+        }
+        return requests;
+    }
+
+    private int sendRejectedRequests(UrlShorteningService scratch, UrlShorteningService live, int i) {
+        int requests = 1;
+        if (scratch != null) {
+            try {
+                scratch.encodeUrl("not a url " + i);
+            } catch (IllegalArgumentException e) {
+                // Expected
+            }
+            requests++;
+        }
+        try {
+            live.decodeUrl("https://warmup.example.com/missing" + i);
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+        return requests;
+    }
+
+    private <T> T roundTrip(T value, Class<T> type) {
+        try {
+            return objectMapper.readValue(objectMapper.writeValueAsBytes(value), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * What a warm-up did.
+     *
+     * @param touchedBytes bytes of store data paged in
+     * @param preloadedLinks hot links from the snapshot found in the store
+     * @param syntheticRequests synthetic requests run, valid and invalid
+     * @param durationMs how long the warm-up took
+     */
+    public record Result(long touchedBytes, int preloadedLinks, int syntheticRequests, long durationMs) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.solventum.shortlink.alias;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AliasTrie.
+ *
+ * Tests lookups across split and merged edges, that existing aliases are
+ * kept, prefix listings in lexicographic order, and that readers see
+ * consistent snapshots while aliases are added.
+ */
+class AliasTrieTest {
+
+    @Test
+    void testPutGetAndRemove() {
+        // Given
+        AliasTrie trie = new AliasTrie();
+
+        // When - Aliases that split each other's edges
+        assertNull(trie.putIfAbsent("spring-sale", "https://example.com/spring"));
+        assertNull(trie.putIfAbsent("spring", "https://example.com/s"));
+        assertNull(trie.putIfAbsent("spring-summit", "https://example.com/summit"));
+
+        // Then
+        assertEquals(3, trie.size());
+        assertEquals("https://example.com/spring", trie.get("spring-sale"));
+        assertEquals("https://example.com/s", trie.get("spring"));
+        assertEquals("https://example.com/summit", trie.get("spring-summit"));
+        assertNull(trie.get("spring-"));
+        assertNull(trie.get("spr"));
+        assertNull(trie.get("spring-sales"));
+
+        // When - Removing merges the edges back
+        assertEquals("https://example.com/s", trie.remove("spring"));
+        assertNull(trie.remove("spring"));
+        assertEquals("https://example.com/spring", trie.remove("spring-sale"));
+
+        // Then
+        assertEquals(1, trie.size());
+        assertEquals("https://example.com/summit", trie.get("spring-summit"));
+        assertNull(trie.get("spring"));
+    }
+
+    @Test
+    void testExistingAliasIsKept() {
+        // Given
+        AliasTrie trie = new AliasTrie();
+        trie.putIfAbsent("launch", "https://example.com/v1");
+
+        // When
+        String existing = trie.putIfAbsent("launch", "https://example.com/v2");
+
+        // Then
+        assertEquals("https://example.com/v1", existing);
+        assertEquals("https://example.com/v1", trie.get("launch"));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void testReplaceOnlyChangesExistingAliases() {
+        // Given
+        AliasTrie trie = new AliasTrie();
+        trie.putIfAbsent("launch", "https://example.com/v1");
+        trie.putIfAbsent("launch/docs", "https://example.com/docs");
+
+        // When
+        String previous = trie.replace("launch", "https://example.com/v2");
+
+        // Then
+        assertEquals("https://example.com/v1", previous);
+        assertEquals("https://example.com/v2", trie.get("launch"));
+        assertEquals("https://example.com/docs", trie.get("launch/docs"));
+        assertNull(trie.replace("laun", "https://example.com/v3"));
+        assertNull(trie.get("laun"));
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void testListsAliasesUnderPrefixInOrder() {
+        // Given
+        AliasTrie trie = new AliasTrie();
+        TreeMap<String, String> expected = new TreeMap<>();
+        for (String team : new String[] {"team-x", "team-y", "team-xy"}) {
+            for (int i = 0; i < 20; i++) {
+                String alias = team + "/launch-" + i;
+                trie.putIfAbsent(alias, "https://example.com/" + alias);
+                expected.put(alias, "https://example.com/" + alias);
+            }
+        }
+
+        // When
+        List<Map.Entry<String, String>> teamX = trie.list("team-x/", 100);
+        List<Map.Entry<String, String>> insideEdge = trie.list("team-x/launch-1", 100);
+        List<Map.Entry<String, String>> limited = trie.list("team", 5);
+
+        // Then
+        assertEquals(new ArrayList<>(expected.subMap("team-x/", "team-x0").entrySet()), teamX);
+        assertEquals(new ArrayList<>(expected.subMap("team-x/launch-1", "team-x/launch-2").entrySet()), insideEdge);
+        assertEquals(11, insideEdge.size());
+        assertEquals(new ArrayList<>(expected.entrySet()).subList(0, 5), limited);
+        assertEquals(60, trie.list("", 1000).size());
+        assertTrue(trie.list("team-z", 10).isEmpty());
+        assertTrue(trie.list("team-x/lunch", 10).isEmpty());
+    }
+
+    @Test
+    void testReadersSeeEveryAliasAddedBefore() throws InterruptedException {
+        // Given
+        AliasTrie trie = new AliasTrie();
+        int count = 20_000;
+        List<Throwable> failures = new ArrayList<>();
+        Thread reader = new Thread(() -> {
+            try {
+                int seen = 0;
+                while (seen < count) {
+                    // Aliases are added in order, so every one before the newest must be visible
+                    int size = trie.size();
+                    for (int i = seen; i < size; i++) {
+                        assertEquals("https://example.com/" + i, trie.get("alias-" + i));
+                    }
+                    seen = size;
+                }
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+
+        // When
+        reader.start();
+        for (int i = 0; i < count; i++) {
+            trie.putIfAbsent("alias-" + i, "https://example.com/" + i);
+        }
+        reader.join();
+
+        // Then
+        assertTrue(failures.isEmpty(), () -> failures.get(0).toString());
+    }
+}
@@ -0,0 +1,67 @@
+package com.solventum.shortlink.benchmark;
+
+import com.solventum.shortlink.service.UrlShorteningService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares concurrent encodes, where every request thread writes the shared
+ * maps and id counter itself, with the single-writer pipeline, under heavy
+ * write contention: {@value #THREADS} threads creating new links with no
+ * think time. Half of the encodes repeat a recent URL, exercising the
+ * deduplication lookup as well as link creation.
+ *
+ * Run with: {@code mvn -Pbenchmark test -DskipTests -Djmh.include=EncodePipelineBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@Threads(EncodePipelineBenchmark.THREADS)
+@State(Scope.Benchmark)
+public class EncodePipelineBenchmark {
+
+    static final int THREADS = 16;
+
+    @Param({"false", "true"})
+    public boolean pipeline;
+
+    private UrlShorteningService service;
+    private final AtomicLong nextUrl = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new UrlShorteningService();
+        ReflectionTestUtils.setField(service, "baseUrl", "http://short.est/");
+        ReflectionTestUtils.setField(service, "pipelineEnabled", pipeline);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public String encode() {
+        long n = nextUrl.getAndIncrement();
+        // Every other encode repeats the URL of the encode before it
+        return service.encodeUrl("https://example.com/articles/" + (n >>> 1) + "?utm_source=newsletter");
+    }
+}
@@ -0,0 +1,84 @@
+package com.solventum.shortlink.benchmark;
+
+import com.solventum.shortlink.store.LinkStore;
+import com.solventum.shortlink.store.lsm.LsmLinkStore;
+import com.solventum.shortlink.store.lsm.LsmTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Measures encode throughput against durability latency on the LSM store
+ * with {@value #THREADS} concurrent writers: unsynced writes, one fsync per
+ * write (a batch of 1), and group commits sharing an fsync between all the
+ * writes that queued up during the previous one, with and without lingering
+ * for more. Throughput mode gives encodes per second, sample mode the
+ * latency distribution of a single encode until durable.
+ *
+ * Run with: {@code mvn -Pbenchmark test -DskipTests -Djmh.include=GroupCommitBenchmark}
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@Threads(GroupCommitBenchmark.THREADS)
+@State(Scope.Benchmark)
+public class GroupCommitBenchmark {
+
+    static final int THREADS = 16;
+
+    // Group commit batch size and linger time in microseconds; batch 0 does not fsync
+    @Param({"0/0", "1/0", "256/0", "256/200"})
+    public String commit;
+
+    private Path directory;
+    private LinkStore linkStore;
+    private final AtomicLong nextCode = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("group-commit-benchmark");
+        String[] settings = commit.split("/");
+        linkStore = new LsmLinkStore(new LsmTree(directory, 16 * 1024 * 1024, 4,
+            Integer.parseInt(settings[0]), Long.parseLong(settings[1])));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        linkStore.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void encode() {
+        long id = nextCode.getAndIncrement();
+        String code = Long.toString(id, 36);
+        String longUrl = "https://example.com/articles/" + id + "?utm_source=newsletter&utm_medium=email";
+        linkStore.put(code, longUrl);
+        linkStore.index(longUrl, code);
+    }
+}
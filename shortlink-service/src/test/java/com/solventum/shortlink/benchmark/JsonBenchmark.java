@@ -0,0 +1,81 @@
+package com.solventum.shortlink.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.solventum.shortlink.json.ShortlinkJsonModule;
+import com.solventum.shortlink.model.EncodeRequest;
+import com.solventum.shortlink.model.EncodeResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures per-request JSON cost for the encode endpoint: reading the request
+ * body and writing the response, with reflective record handling versus the
+ * hand-written {@link ShortlinkJsonModule}.
+ *
+ * Run with the GC profiler to see allocation per operation:
+ * {@code mvn -Pbenchmark test -DskipTests -Djmh.include="JsonBenchmark -prof gc"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    @Param({"reflective", "streaming"})
+    public String mapper;
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private byte[] requestBody;
+
+    // Discards output; unlike OutputStream.nullOutputStream() it survives being closed by Jackson
+    private final OutputStream sink = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        if (mapper.equals("streaming")) {
+            objectMapper.registerModule(new ShortlinkJsonModule());
+        }
+        requestReader = objectMapper.readerFor(EncodeRequest.class);
+        responseWriter = objectMapper.writerFor(EncodeResponse.class);
+        requestBody = "{\"url\":\"https://example.com/library/react?utm_source=newsletter\"}"
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public EncodeResponse encodeRoundTrip() throws IOException {
+        EncodeRequest request = requestReader.readValue(requestBody);
+        EncodeResponse response = new EncodeResponse("http://short.est/b", request.url());
+        responseWriter.writeValue(sink, response);
+        return response;
+    }
+}
@@ -0,0 +1,92 @@
+package com.solventum.shortlink.benchmark;
+
+import com.solventum.shortlink.store.DiskLinkStore;
+import com.solventum.shortlink.store.EvictionPolicy;
+import com.solventum.shortlink.store.InMemoryLinkStore;
+import com.solventum.shortlink.store.LinkStore;
+import com.solventum.shortlink.store.TieredLinkStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decode lookup latency against the heap budget of the tiered store.
+ *
+ * {@value #LINKS} links are stored and read with a skewed access pattern
+ * (about half of the reads hit the hottest eighth of the links). The
+ * {@code budget} parameter is the number of mappings allowed on the heap;
+ * {@code memory} is the unbounded in-memory store for reference.
+ *
+ * Run with: {@code mvn -Pbenchmark test -DskipTests -Djmh.include=LinkStoreBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LinkStoreBenchmark {
+
+    private static final int LINKS = 100_000;
+    private static final int ACCESSES = 1 << 20;
+
+    @Param({"memory", "50000", "10000", "1000"})
+    public String budget;
+
+    @Param({"LRU", "LFU"})
+    public EvictionPolicy policy;
+
+    private Path spillDir;
+    private LinkStore store;
+    private String[] codes;
+    private int[] accesses;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        spillDir = Files.createTempDirectory("link-store-benchmark");
+        store = budget.equals("memory")
+            ? new InMemoryLinkStore()
+            : new TieredLinkStore(Integer.parseInt(budget), policy, new DiskLinkStore(spillDir));
+
+        codes = new String[LINKS];
+        for (int i = 0; i < LINKS; i++) {
+            codes[i] = Integer.toString(i, 36);
+            store.put(codes[i], "https://example.com/articles/" + i + "?utm_source=newsletter");
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        accesses = new int[ACCESSES];
+        for (int i = 0; i < ACCESSES; i++) {
+            double u = random.nextDouble();
+            accesses[i] = (int) (LINKS * u * u * u);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        Files.deleteIfExists(spillDir);
+    }
+
+    @Benchmark
+    public String decode() {
+        int index = accesses[next++ & (ACCESSES - 1)];
+        return store.get(codes[index]);
+    }
+}
@@ -0,0 +1,103 @@
+package com.solventum.shortlink.benchmark;
+
+import com.solventum.shortlink.store.InMemoryLinkStore;
+import com.solventum.shortlink.store.LinkStore;
+import com.solventum.shortlink.store.lsm.LsmLinkStore;
+import com.solventum.shortlink.store.lsm.LsmTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares the in-memory store with the LSM store for the encode write path
+ * (forward mapping plus reverse index) and uniformly random point reads over
+ * {@value #PRELOADED} preloaded links, most of which the LSM store serves
+ * from compressed tables on disk.
+ *
+ * Run with: {@code mvn -Pbenchmark test -DskipTests -Djmh.include=LsmLinkStoreBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LsmLinkStoreBenchmark {
+
+    private static final int PRELOADED = 500_000;
+
+    @Param({"memory", "lsm"})
+    public String store;
+
+    private Path directory;
+    private LinkStore linkStore;
+    private SplittableRandom random;
+    private long nextCode;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("lsm-benchmark");
+        linkStore = openStore();
+        for (int i = 0; i < PRELOADED; i++) {
+            encode(i);
+        }
+        if (store.equals("lsm")) {
+            // Reopen so that flushes and compactions triggered by the preload are finished
+            linkStore.close();
+            linkStore = openStore();
+        }
+        nextCode = PRELOADED;
+        random = new SplittableRandom(42);
+    }
+
+    private LinkStore openStore() {
+        return store.equals("memory")
+            ? new InMemoryLinkStore()
+            : new LsmLinkStore(new LsmTree(directory, 16 * 1024 * 1024, 4));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        linkStore.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void encode() {
+        encode(nextCode++);
+    }
+
+    @Benchmark
+    public String decode() {
+        return linkStore.get(Long.toString(random.nextInt(PRELOADED), 36));
+    }
+
+    private void encode(long id) {
+        String code = Long.toString(id, 36);
+        String longUrl = "https://example.com/articles/" + id + "?utm_source=newsletter&utm_medium=email";
+        linkStore.put(code, longUrl);
+        linkStore.index(longUrl, code);
+    }
+}
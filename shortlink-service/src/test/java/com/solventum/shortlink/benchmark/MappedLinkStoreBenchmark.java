@@ -0,0 +1,96 @@
+package com.solventum.shortlink.benchmark;
+
+import com.solventum.shortlink.store.InMemoryLinkStore;
+import com.solventum.shortlink.store.LinkStore;
+import com.solventum.shortlink.store.mapped.LinkTableWriter;
+import com.solventum.shortlink.store.mapped.MappedLinkStore;
+import com.solventum.shortlink.util.Base62;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a decode replica backed by the memory-mapped link table with one
+ * holding every link on the heap, over {@value #LINKS} exported links.
+ *
+ * {@code startup} is the time until a replica can serve: mapping the table,
+ * or loading every link from it onto the heap. {@code decode} is a uniformly
+ * random lookup by short code.
+ *
+ * Run with: {@code mvn -Pbenchmark test -DskipTests -Djmh.include=MappedLinkStoreBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappedLinkStoreBenchmark {
+
+    private static final int LINKS = 1_000_000;
+
+    @Param({"memory", "mapped"})
+    public String store;
+
+    private Path directory;
+    private Path table;
+    private LinkStore linkStore;
+    private String[] codes;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("mapped-benchmark");
+        table = directory.resolve("links.table");
+        codes = new String[LINKS];
+        try (LinkTableWriter writer = new LinkTableWriter(table, 1, LINKS)) {
+            for (int id = 1; id <= LINKS; id++) {
+                codes[id - 1] = Base62.encode(id);
+                writer.add(id, "https://example.com/articles/" + id + "?utm_source=newsletter&utm_medium=email");
+            }
+            writer.commit();
+        }
+        linkStore = startup();
+        random = new SplittableRandom(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        linkStore.close();
+        Files.deleteIfExists(table);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public LinkStore startup() {
+        MappedLinkStore mapped = new MappedLinkStore(table, 0);
+        if (store.equals("mapped")) {
+            return mapped;
+        }
+        InMemoryLinkStore memory = new InMemoryLinkStore();
+        mapped.forEach(memory::put);
+        mapped.close();
+        return memory;
+    }
+
+    @Benchmark
+    public String decode() {
+        return linkStore.get(codes[random.nextInt(LINKS)]);
+    }
+}
@@ -0,0 +1,64 @@
+package com.solventum.shortlink.benchmark;
+
+import com.solventum.shortlink.util.ShortCodeCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding ids to short codes and decoding them back with the
+ * plain and the scrambled codec, over consecutive ids in the seven
+ * character range. The difference between the two is the cost of the
+ * Feistel permutation and its cycle walking.
+ *
+ * Run with: {@code mvn -Pbenchmark test -DskipTests -Djmh.include=ShortCodeCodecBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShortCodeCodecBenchmark {
+
+    private static final int CODES = 4096;
+    private static final long FIRST_ID = 100_000_000_000L;
+
+    @Param({"plain", "scrambled"})
+    public String codec;
+
+    private ShortCodeCodec shortCodeCodec;
+    private String[] codes;
+    private long nextId = FIRST_ID;
+    private int nextCode;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        shortCodeCodec = codec.equals("plain") ? ShortCodeCodec.plain() : new ShortCodeCodec(0x5eed);
+        codes = new String[CODES];
+        for (int i = 0; i < CODES; i++) {
+            codes[i] = shortCodeCodec.encode(FIRST_ID + i);
+        }
+    }
+
+    @Benchmark
+    public String encode() {
+        return shortCodeCodec.encode(nextId++);
+    }
+
+    @Benchmark
+    public long decode() {
+        return shortCodeCodec.decode(codes[nextCode++ & (CODES - 1)]);
+    }
+}
@@ -0,0 +1,57 @@
+package com.solventum.shortlink.benchmark;
+
+import com.solventum.shortlink.service.UrlShorteningService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of encodes creating a new link, with short codes
+ * made on the spot (depth 0) or popped from a pre-generated pool.
+ *
+ * Run with: {@code mvn -Pbenchmark test -DskipTests -Djmh.include=ShortCodePoolBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShortCodePoolBenchmark {
+
+    @Param({"0", "4096"})
+    public int depth;
+
+    private UrlShorteningService service;
+    private long nextUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new UrlShorteningService();
+        ReflectionTestUtils.setField(service, "baseUrl", "http://short.est/");
+        ReflectionTestUtils.setField(service, "codePoolDepth", depth);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public String encode() {
+        return service.encodeUrl("https://example.com/articles/" + nextUrl++ + "?utm_source=newsletter");
+    }
+}
@@ -0,0 +1,123 @@
+package com.solventum.shortlink.benchmark;
+
+import com.solventum.shortlink.store.CompactLinkStore;
+import com.solventum.shortlink.store.InMemoryLinkStore;
+import com.solventum.shortlink.store.InternedLinkStore;
+import com.solventum.shortlink.store.LinkStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decode lookups in the plain, compressed and prefix-interned heap
+ * stores over {@value #LINKS} synthetic URLs drawn from {@value #HOSTS} hosts,
+ * common path segments and UTM boilerplate. The heap used per mapping,
+ * reverse index included, and the compact store's compression ratio are
+ * printed once per trial. Lookups are independent, so the in-memory store
+ * benefits from overlapping cache misses across iterations more than the
+ * compact and interned stores, whose decode loops and fresh allocations
+ * fill the out-of-order window.
+ *
+ * Run with: {@code mvn -Pbenchmark test -DskipTests -Djmh.include=UrlCompressionBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UrlCompressionBenchmark {
+
+    private static final int LINKS = 200_000;
+    private static final int HOSTS = 1000;
+
+    private static final String[] SECTIONS = {"products", "blog", "news", "articles", "category", "docs", "help"};
+    private static final String[] SOURCES = {"newsletter", "twitter", "facebook", "linkedin", "google"};
+    private static final String[] MEDIUMS = {"email", "social", "cpc", "referral"};
+
+    @Param({"memory", "compact", "interned"})
+    public String store;
+
+    private LinkStore linkStore;
+    private String[] codes;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        codes = new String[LINKS];
+        for (int i = 0; i < LINKS; i++) {
+            codes[i] = Integer.toString(i, 36);
+        }
+        long heapBefore = usedHeap();
+        linkStore = switch (store) {
+            case "memory" -> new InMemoryLinkStore();
+            case "compact" -> new CompactLinkStore(10_000);
+            default -> new InternedLinkStore(65_536);
+        };
+        SplittableRandom urls = new SplittableRandom(7);
+        for (int i = 0; i < LINKS; i++) {
+            String longUrl = url(urls);
+            linkStore.put(codes[i], longUrl);
+            linkStore.index(longUrl, codes[i]);
+        }
+        if (linkStore instanceof CompactLinkStore compact) {
+            // Measure the store as it settles, with the values stored before training recompressed
+            compact.awaitTraining(1, TimeUnit.MINUTES);
+        }
+        System.out.printf("%nHeap per mapping: %d bytes%n", (usedHeap() - heapBefore) / LINKS);
+        if (linkStore instanceof CompactLinkStore compact) {
+            System.out.printf("Compression ratio: %.2f%n", compact.getCompressionRatio());
+        }
+        random = new SplittableRandom(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        linkStore.close();
+    }
+
+    @Benchmark
+    public char decode() {
+        // Read the URL's bytes, as writing the response would, so every store pays for touching them
+        String longUrl = linkStore.get(codes[random.nextInt(LINKS)]);
+        return longUrl.charAt(longUrl.length() - 1);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    static String url(SplittableRandom random) {
+        int host = random.nextInt(HOSTS);
+        StringBuilder url = new StringBuilder("https://");
+        if (host % 2 == 0) {
+            url.append("www.");
+        }
+        url.append("site").append(host).append(host % 3 == 0 ? ".org" : ".com")
+            .append('/').append(SECTIONS[random.nextInt(SECTIONS.length)])
+            .append('/').append(Long.toString(random.nextLong(1L << 40), 36));
+        if (random.nextInt(3) > 0) {
+            url.append("?utm_source=").append(SOURCES[random.nextInt(SOURCES.length)])
+                .append("&utm_medium=").append(MEDIUMS[random.nextInt(MEDIUMS.length)])
+                .append("&utm_campaign=campaign-").append(random.nextInt(200));
+        }
+        return url.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package com.solventum.shortlink.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ClusterTopology.
+ *
+ * Tests that ids allocated by a node route back to it, that unused shards
+ * have no owner, and that inconsistent configurations are rejected.
+ */
+class ClusterTopologyTest {
+
+    private static final List<String> NODES = List.of("http://localhost:8081", "http://localhost:8082",
+        "http://localhost:8083");
+
+    @Test
+    void testIdsRouteBackToTheirNode() {
+        for (int node = 0; node < NODES.size(); node++) {
+            // Given
+            ClusterTopology topology = new ClusterTopology(NODES, node, 4, 16);
+
+            // Then
+            for (long sequence = 0; sequence < 100; sequence++) {
+                assertEquals(node, topology.idOwner(topology.shardId(sequence)));
+            }
+        }
+        ClusterTopology topology = new ClusterTopology(NODES, 0, 4, 16);
+        assertEquals(-1, topology.idOwner(3));
+        assertEquals(-1, topology.idOwner(7));
+    }
+
+    @Test
+    void testEveryNodeAgreesOnUrlOwner() {
+        // Given
+        ClusterTopology first = new ClusterTopology(NODES, 0, 3, 128);
+        ClusterTopology last = new ClusterTopology(NODES, 2, 3, 128);
+
+        // Then
+        for (int i = 0; i < 1000; i++) {
+            String url = "https://example.com/" + i;
+            assertEquals(first.urlOwner(url), last.urlOwner(url));
+        }
+        assertTrue(first.isClustered());
+        assertEquals("http://localhost:8083", first.node(2).toString());
+    }
+
+    @Test
+    void testStandaloneOwnsEverything() {
+        ClusterTopology topology = ClusterTopology.standalone();
+
+        assertFalse(topology.isClustered());
+        assertEquals(42, topology.shardId(42));
+        assertEquals(0, topology.idOwner(42));
+        assertEquals(0, topology.urlOwner("https://example.com/"));
+    }
+
+    @Test
+    void testRejectsInconsistentConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new ClusterTopology(NODES, 3, 3, 128));
+        assertThrows(IllegalArgumentException.class, () -> new ClusterTopology(NODES, 0, 2, 128));
+        assertThrows(IllegalArgumentException.class, () -> new ClusterTopology(List.of(), 0, 1, 128));
+    }
+}
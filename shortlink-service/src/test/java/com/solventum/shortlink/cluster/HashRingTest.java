@@ -0,0 +1,65 @@
+package com.solventum.shortlink.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HashRing.
+ *
+ * Tests that hashes spread evenly over the nodes and that adding a node
+ * only moves the hashes it takes over.
+ */
+class HashRingTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void testOwnershipIsBalanced() {
+        // Given
+        HashRing ring = new HashRing(4, 128);
+
+        // When
+        int[] owned = new int[4];
+        for (int i = 0; i < KEYS; i++) {
+            owned[ring.owner(HashRing.hash("https://example.com/page/" + i))]++;
+        }
+
+        // Then - Every node owns 25% of the keys, give or take a few percent
+        for (int count : owned) {
+            assertEquals(KEYS / 4, count, KEYS * 0.05);
+        }
+    }
+
+    @Test
+    void testAddingNodeOnlyMovesKeysToIt() {
+        // Given
+        HashRing before = new HashRing(4, 128);
+        HashRing after = new HashRing(5, 128);
+
+        // When
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            long hash = HashRing.hash("https://example.com/page/" + i);
+            int oldOwner = before.owner(hash);
+            int newOwner = after.owner(hash);
+            if (oldOwner != newOwner) {
+                assertEquals(4, newOwner);
+                moved++;
+            }
+        }
+
+        // Then - The new node takes about a fifth of the keys
+        assertEquals(KEYS / 5, moved, KEYS * 0.05);
+    }
+
+    @Test
+    void testSingleNodeOwnsEverything() {
+        HashRing ring = new HashRing(1, 1);
+
+        assertEquals(0, ring.owner(Long.MIN_VALUE));
+        assertEquals(0, ring.owner(Long.MAX_VALUE));
+        assertEquals(0, ring.owner(HashRing.hash("https://example.com/")));
+        assertThrows(IllegalArgumentException.class, () -> new HashRing(0, 128));
+    }
+}
@@ -0,0 +1,217 @@
+package com.solventum.shortlink.cluster;
+
+import com.solventum.shortlink.ShortlinkApplication;
+import com.solventum.shortlink.id.IdGenerator;
+import com.solventum.shortlink.util.Base62;
+import com.solventum.shortlink.util.ShortCodeCodec;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for ShardRouter.
+ *
+ * Starts a three-node cluster on localhost and tests that every node
+ * agrees on the short code of a URL, that any node decodes or deletes any
+ * code, singly or in batches, and that forwarded requests are never
+ * forwarded again.
+ */
+class ShardRouterTest {
+
+    private static final int NODES = 3;
+
+    private static final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private static final List<String> apiUrls = new ArrayList<>();
+
+    private final TestRestTemplate restTemplate = new TestRestTemplate();
+
+    @BeforeAll
+    static void startCluster() throws IOException {
+        List<String> nodeUrls = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                nodeUrls.add("http://localhost:" + socket.getLocalPort());
+            }
+        }
+        for (int i = 0; i < NODES; i++) {
+            contexts.add(new SpringApplicationBuilder(ShortlinkApplication.class).run(
+                "--server.port=" + nodeUrls.get(i).substring(nodeUrls.get(i).lastIndexOf(':') + 1),
+                "--app.cluster.enabled=true",
+                "--app.cluster.nodes=" + String.join(",", nodeUrls),
+                "--app.cluster.node-index=" + i,
+                "--app.max.concurrent.requests=100",
+                "--logging.level.com.solventum.shortlink=INFO"));
+            apiUrls.add(nodeUrls.get(i) + "/api");
+        }
+    }
+
+    @AfterAll
+    static void stopCluster() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void testEveryNodeReturnsTheSameShortUrl() {
+        // Given
+        String longUrl = "https://example.com/shared/page";
+
+        // When
+        Set<Object> shortUrls = new HashSet<>();
+        for (String apiUrl : apiUrls) {
+            ResponseEntity<Map> response = restTemplate.postForEntity(apiUrl + "/encode", Map.of("url", longUrl), Map.class);
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            shortUrls.add(response.getBody().get("shortUrl"));
+        }
+
+        // Then
+        assertEquals(1, shortUrls.size());
+    }
+
+    @Test
+    void testAnyNodeDecodesAnyShortUrl() {
+        // Given - URLs encoded through one node end up owned by all of them
+        Map<String, String> longUrls = new HashMap<>();
+        for (int i = 0; i < 30; i++) {
+            String longUrl = "https://example.com/spread/" + i;
+            ResponseEntity<Map> response = restTemplate.postForEntity(apiUrls.get(0) + "/encode", Map.of("url", longUrl), Map.class);
+            longUrls.put((String) response.getBody().get("shortUrl"), longUrl);
+        }
+
+        // Then
+        for (Map.Entry<String, String> link : longUrls.entrySet()) {
+            for (String apiUrl : apiUrls) {
+                ResponseEntity<Map> response = restTemplate.postForEntity(apiUrl + "/decode",
+                    Map.of("shortUrl", link.getKey()), Map.class);
+                assertEquals(HttpStatus.OK, response.getStatusCode());
+                assertEquals(link.getValue(), response.getBody().get("originalUrl"));
+            }
+        }
+        long forwarded = contexts.stream().mapToLong(context -> context.getBean(ShardRouter.class).getForwardedCount()).sum();
+        assertTrue(forwarded > 0);
+        ResponseEntity<Map> missing = restTemplate.postForEntity(apiUrls.get(1) + "/decode",
+            Map.of("shortUrl", "http://short.est/zzzzzz"), Map.class);
+        assertEquals(HttpStatus.NOT_FOUND, missing.getStatusCode());
+    }
+
+    @Test
+    void testAnyNodeDecodesAnyAlias() {
+        // Given - One plain alias, and one that reads as an id of node 2's shard
+        IdGenerator idGenerator = contexts.get(0).getBean(IdGenerator.class);
+        long id = 1_000_000;
+        while (idGenerator.nodeOf(id) != 2) {
+            id++;
+        }
+        String codeShaped = contexts.get(0).getBean(ShortCodeCodec.class).encode(id);
+        Map<String, String> aliases = Map.of("banana", "https://example.com/fruit", codeShaped, "https://example.com/vanity");
+
+        // When
+        for (Map.Entry<String, String> alias : aliases.entrySet()) {
+            ResponseEntity<Map> response = restTemplate.postForEntity(apiUrls.get(0) + "/encode",
+                Map.of("url", alias.getValue(), "alias", alias.getKey()), Map.class);
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+        }
+
+        // Then
+        for (Map.Entry<String, String> alias : aliases.entrySet()) {
+            for (String apiUrl : apiUrls) {
+                ResponseEntity<Map> response = restTemplate.postForEntity(apiUrl + "/decode",
+                    Map.of("shortUrl", "http://short.est/" + alias.getKey()), Map.class);
+                assertEquals(HttpStatus.OK, response.getStatusCode());
+                assertEquals(alias.getValue(), response.getBody().get("originalUrl"));
+            }
+        }
+    }
+
+    @Test
+    void testBatchesReachEveryOwner() {
+        // Given
+        List<Map<String, String>> encodes = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            encodes.add(Map.of("url", "https://example.com/batch/" + i));
+        }
+
+        // When - The batch is encoded through one node, and the same URLs one by one through another
+        ResponseEntity<List> batch = restTemplate.postForEntity(apiUrls.get(0) + "/encode/batch", encodes, List.class);
+        List<Map<String, String>> decodes = new ArrayList<>();
+        for (Map<String, String> encode : encodes) {
+            ResponseEntity<Map> single = restTemplate.postForEntity(apiUrls.get(1) + "/encode", encode, Map.class);
+            decodes.add(Map.of("shortUrl", (String) single.getBody().get("shortUrl")));
+        }
+        ResponseEntity<List> decoded = restTemplate.postForEntity(apiUrls.get(2) + "/decode/batch", decodes, List.class);
+
+        // Then - Every URL got its owner's code, and decodes in order
+        assertEquals(HttpStatus.OK, batch.getStatusCode());
+        assertEquals(HttpStatus.OK, decoded.getStatusCode());
+        for (int i = 0; i < encodes.size(); i++) {
+            assertEquals(decodes.get(i).get("shortUrl"), ((Map) batch.getBody().get(i)).get("shortUrl"));
+            assertEquals(encodes.get(i).get("url"), ((Map) decoded.getBody().get(i)).get("originalUrl"));
+        }
+    }
+
+    @Test
+    void testDeleteReachesEveryOwner() {
+        // Given - Links held by all nodes
+        List<String> shortUrls = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            ResponseEntity<Map> response = restTemplate.postForEntity(apiUrls.get(0) + "/encode",
+                Map.of("url", "https://example.com/doomed/" + i), Map.class);
+            shortUrls.add((String) response.getBody().get("shortUrl"));
+        }
+
+        // When
+        ResponseEntity<Map> response = restTemplate.postForEntity(apiUrls.get(1) + "/delete",
+            Map.of("shortUrls", shortUrls), Map.class);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(30, response.getBody().get("deleted"));
+        for (String shortUrl : shortUrls) {
+            ResponseEntity<Map> decoded = restTemplate.postForEntity(apiUrls.get(2) + "/decode",
+                Map.of("shortUrl", shortUrl), Map.class);
+            assertEquals(HttpStatus.NOT_FOUND, decoded.getStatusCode());
+        }
+    }
+
+    @Test
+    void testForwardedRequestIsServedLocally() {
+        // Given - A URL owned by node 0, sent to node 1 as if already forwarded
+        ClusterTopology topology = contexts.get(0).getBean(ClusterTopology.class);
+        String longUrl = null;
+        for (int i = 0; longUrl == null; i++) {
+            String candidate = "https://example.com/owned/" + i;
+            if (topology.urlOwner(candidate) == 0) {
+                longUrl = candidate;
+            }
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(ShardRouter.FORWARDED_HEADER, "2");
+
+        // When
+        ResponseEntity<Map> response = restTemplate.postForEntity(apiUrls.get(1) + "/encode",
+            new HttpEntity<>(Map.of("url", longUrl), headers), Map.class);
+
+        // Then - Node 1 allocated the code in its own shard
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String shortUrl = (String) response.getBody().get("shortUrl");
+        long id = Base62.decode(shortUrl.substring(shortUrl.lastIndexOf('/') + 1));
+        assertEquals(1, topology.idOwner(id));
+    }
+}
@@ -0,0 +1,82 @@
+package com.solventum.shortlink.compress;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PrefixTable.
+ *
+ * Tests where URLs are split, that interning is stable and bounded, and that
+ * concurrent interning hands out one array per prefix.
+ */
+class PrefixTableTest {
+
+    @Test
+    void testPrefixLength() {
+        assertEquals("https://example.com/products/".length(),
+            PrefixTable.prefixLength("https://example.com/products/item-1?q=1"));
+        assertEquals("https://example.com/".length(), PrefixTable.prefixLength("https://example.com/item-1"));
+        assertEquals("https://example.com/".length(), PrefixTable.prefixLength("https://example.com/search?q=a/b"));
+        assertEquals(0, PrefixTable.prefixLength("https://example.com"));
+        assertEquals(0, PrefixTable.prefixLength("not a url"));
+    }
+
+    @Test
+    void testInterningIsStableAndBounded() {
+        // Given
+        PrefixTable table = new PrefixTable(2);
+
+        // When
+        byte[] first = table.intern("https://a.example/");
+        byte[] second = table.intern("https://b.example/");
+        byte[] overflow = table.intern("https://c.example/");
+
+        // Then
+        assertSame(first, table.intern("https://a.example/"));
+        assertSame(second, table.find("https://b.example/"));
+        assertEquals("https://b.example/", new String(second, StandardCharsets.UTF_8));
+        assertNull(overflow);
+        assertTrue(table.isFull());
+        assertNull(table.find("https://c.example/"));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    void testConcurrentInterningSharesOneArrayPerPrefix() throws Exception {
+        PrefixTable table = new PrefixTable(10_000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // Given - Four threads interning the same 1000 prefixes
+            List<Future<byte[][]>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(executor.submit(() -> {
+                    byte[][] prefixes = new byte[1000][];
+                    for (int i = 0; i < 1000; i++) {
+                        prefixes[i] = table.intern("https://host" + i + ".example/");
+                    }
+                    return prefixes;
+                }));
+            }
+
+            // Then - Every thread got the same array for each prefix
+            byte[][] expected = results.get(0).get();
+            for (Future<byte[][]> result : results) {
+                byte[][] actual = result.get();
+                for (int i = 0; i < 1000; i++) {
+                    assertSame(expected[i], actual[i]);
+                }
+            }
+            assertEquals(1000, table.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.solventum.shortlink.compress;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SymbolTable.
+ *
+ * Tests lossless round trips, including strings the table was not trained
+ * on, and that training on URLs with shared boilerplate compresses them.
+ */
+class SymbolTableTest {
+
+    @Test
+    void testEmptyTableRoundTrips() {
+        SymbolTable table = SymbolTable.empty();
+
+        byte[] encoded = table.encode("https://example.com", 0);
+
+        assertEquals(0, table.symbolCount());
+        assertEquals("https://example.com", table.decode(encoded, 0));
+    }
+
+    @Test
+    void testTrainedTableCompressesSimilarUrls() {
+        // Given
+        SymbolTable table = SymbolTable.train(sampleUrls(0, 1000));
+
+        // When
+        long original = 0;
+        long compressed = 0;
+        for (String url : sampleUrls(1000, 2000)) {
+            byte[] encoded = table.encode(url, 0);
+            assertEquals(url, table.decode(encoded, 0));
+            original += url.length();
+            compressed += encoded.length;
+        }
+
+        // Then
+        assertTrue(table.symbolCount() <= SymbolTable.MAX_SYMBOLS);
+        assertTrue(original > 2 * compressed, "ratio " + (double) original / compressed);
+    }
+
+    @Test
+    void testRoundTripsUnseenAndMultiByteText() {
+        // Given
+        SymbolTable table = SymbolTable.train(sampleUrls(0, 200));
+        String[] texts = {
+            "", "a", "ftp://ünïcödé.example/日本語?q=ÿĀ", "https://shop.example.com/" + "z".repeat(5000)
+        };
+
+        // Then
+        for (String text : texts) {
+            assertEquals(text, table.decode(table.encode(text, 0), 0));
+        }
+    }
+
+    @Test
+    void testReservedBytesAreLeftFree() {
+        SymbolTable table = SymbolTable.train(sampleUrls(0, 100));
+
+        byte[] encoded = table.encode("https://shop.example.com/products/1", 3);
+        encoded[0] = 7;
+
+        assertEquals("https://shop.example.com/products/1", table.decode(encoded, 3));
+    }
+
+    static List<String> sampleUrls(int from, int to) {
+        String[] hosts = {"https://shop.example.com", "https://blog.example.org", "https://news.example.net"};
+        String[] sources = {"newsletter", "twitter", "facebook"};
+        List<String> urls = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            urls.add(hosts[i % hosts.length] + "/products/item-" + i
+                + "?utm_source=" + sources[i % sources.length] + "&utm_medium=email&utm_campaign=spring-sale");
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,69 @@
+package com.solventum.shortlink.config;
+
+import com.solventum.shortlink.cluster.ClusterTopology;
+import com.solventum.shortlink.store.InMemoryLinkStore;
+import com.solventum.shortlink.store.LinkStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IdConfig.
+ *
+ * Tests that a persistent store remembers the permutation key its codes
+ * were issued with, and that startup with another key is refused.
+ */
+class IdConfigTest {
+
+    @Test
+    void testRestartWithAnotherKeyIsRefused() {
+        // Given - A store whose codes are issued with one key
+        PersistentStore store = new PersistentStore();
+        assertDoesNotThrow(() -> createGenerator(store, 7));
+        store.put("b", "https://example.com/b");
+
+        // When & Then - The same key is accepted, a different one or none is not
+        assertDoesNotThrow(() -> createGenerator(store, 7));
+        assertThrows(IllegalStateException.class, () -> createGenerator(store, 8));
+        assertThrows(IllegalStateException.class, () -> createGenerator(store, 0));
+    }
+
+    @Test
+    void testCodesWithoutFingerprintCountAsUnscrambled() {
+        // Given - A store holding codes from before fingerprints were recorded
+        PersistentStore store = new PersistentStore();
+        store.put("b", "https://example.com/b");
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> createGenerator(store, 7));
+        assertDoesNotThrow(() -> createGenerator(store, 0));
+        assertEquals(OptionalLong.of(0), store.loadCodecFingerprint());
+    }
+
+    private static void createGenerator(LinkStore store, long permutationKey) {
+        IdConfig config = new IdConfig();
+        ReflectionTestUtils.setField(config, "strategy", "sequential");
+        ReflectionTestUtils.setField(config, "permutationKey", permutationKey);
+        config.idGenerator(store, ClusterTopology.standalone(), config.shortCodeCodec());
+    }
+
+    /**
+     * Heap store keeping the codec fingerprint as a persistent store would.
+     */
+    private static final class PersistentStore extends InMemoryLinkStore {
+        private OptionalLong codecFingerprint = OptionalLong.empty();
+
+        @Override
+        public OptionalLong loadCodecFingerprint() {
+            return codecFingerprint;
+        }
+
+        @Override
+        public void saveCodecFingerprint(long fingerprint) {
+            codecFingerprint = OptionalLong.of(fingerprint);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.solventum.shortlink.controller;
 
 import com.solventum.shortlink.model.DecodeRequest;
+import com.solventum.shortlink.model.DeleteRequest;
 import com.solventum.shortlink.model.EncodeRequest;
+import com.solventum.shortlink.model.RetargetRequest;
 import com.solventum.shortlink.service.UrlShorteningService;
+import com.solventum.shortlink.warmup.StartupWarmup;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +19,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -35,6 +40,9 @@ class ShortlinkControllerTest {
     
     @Autowired
     private UrlShorteningService urlShorteningService;
+    
+    @Autowired
+    private StartupWarmup startupWarmup;
         
     private String baseUrl;
     private HttpHeaders headers;
@@ -83,6 +91,61 @@ class ShortlinkControllerTest {
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
     }
     
+    @Test
+    void testEncodeBlankAndMissingUrl() {
+        // Given
+        HttpEntity<String> blank = new HttpEntity<>("{\"url\":\"   \"}", headers);
+        HttpEntity<String> missing = new HttpEntity<>("{}", headers);
+        
+        // When & Then
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.exchange(
+            baseUrl + "/encode", HttpMethod.POST, blank, String.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.exchange(
+            baseUrl + "/encode", HttpMethod.POST, missing, String.class).getStatusCode());
+    }
+    
+    @Test
+    void testEncodeTooLongUrl() {
+        // Given
+        EncodeRequest request = new EncodeRequest("https://example.com/" + "a".repeat(2048));
+        HttpEntity<EncodeRequest> entity = new HttpEntity<>(request, headers);
+        
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+            baseUrl + "/encode", HttpMethod.POST, entity, String.class);
+        
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+    
+    @Test
+    void testDecodeBlankShortUrl() {
+        // Given
+        DecodeRequest request = new DecodeRequest("  ");
+        HttpEntity<DecodeRequest> entity = new HttpEntity<>(request, headers);
+        
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+            baseUrl + "/decode", HttpMethod.POST, entity, String.class);
+        
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+    
+    @Test
+    void testDecodeUnknownShortUrl() {
+        // Given
+        DecodeRequest request = new DecodeRequest("http://short.est/unknown");
+        HttpEntity<DecodeRequest> entity = new HttpEntity<>(request, headers);
+        
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+            baseUrl + "/decode", HttpMethod.POST, entity, String.class);
+        
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+    
     @Test
     void testHealthEndpoint() {
         // When
@@ -94,6 +157,19 @@ class ShortlinkControllerTest {
         assertEquals("ShortLink service is running", response.getBody());
     }
     
+    @Test
+    void testReadinessProbeIsUpAfterWarmup() {
+        // When
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            "http://localhost:" + port + "/actuator/health/readiness", String.class);
+        
+        // Then - Spring Boot only reports ready once the warm-up runner has returned
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().contains("\"UP\""));
+        assertNotNull(startupWarmup.getResult());
+        assertTrue(startupWarmup.getResult().syntheticRequests() > 0);
+    }
+    
     @Test
     void testStatsEndpoint() {
         // Given - Add some URLs to get stats
@@ -108,9 +184,69 @@ class ShortlinkControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertTrue(response.getBody().contains("totalUrls"));
+        assertTrue(response.getBody().contains("coalescingRate"));
         assertTrue(response.getBody().contains("timestamp"));
     }
     
+    @Test
+    void testEncodeWithTtl() {
+        // Given
+        HttpEntity<String> entity = new HttpEntity<>(
+            "{\"url\":\"https://example.com/limited\",\"ttl\":60}", headers);
+        
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+            baseUrl + "/encode", HttpMethod.POST, entity, String.class);
+        
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().contains("expiresAt"));
+    }
+    
+    @Test
+    void testEncodeRejectsNonPositiveTtl() {
+        // Given
+        HttpEntity<String> entity = new HttpEntity<>(
+            "{\"url\":\"https://example.com/limited\",\"ttl\":0}", headers);
+        
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+            baseUrl + "/encode", HttpMethod.POST, entity, String.class);
+        
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+    
+    @Test
+    void testTopLinksEndpoint() {
+        // Given - Decode one link a few times
+        String shortUrl = urlShorteningService.encodeUrl("https://example.com/popular");
+        for (int i = 0; i < 3; i++) {
+            urlShorteningService.decodeUrl(shortUrl);
+        }
+        
+        // When
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            baseUrl + "/stats/top?limit=5", String.class);
+        
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().contains("https://example.com/popular"));
+        assertTrue(response.getBody().contains("estimatedHits"));
+    }
+    
+    @Test
+    void testTopLinksRejectsInvalidLimit() {
+        // When
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            baseUrl + "/stats/top?limit=0", String.class);
+        
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+    
     @Test
     void testDecodeValidShortUrl() {
         // Given - First encode a URL
@@ -131,4 +267,131 @@ class ShortlinkControllerTest {
         assertTrue(response.getBody().contains("shortUrl"));
         assertTrue(response.getBody().contains(longUrl));
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testEncodeAndDecodeAlias() {
+        // Given
+        String longUrl = "https://example.com/spring/sale";
+        EncodeRequest request = new EncodeRequest(longUrl, null, null, "spring-sale");
+        
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+            baseUrl + "/encode", HttpMethod.POST, new HttpEntity<>(request, headers), String.class);
+        
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().contains("http://short.est/spring-sale"));
+        assertEquals(longUrl, urlShorteningService.decodeUrl("http://short.est/spring-sale"));
+    }
+    
+    @Test
+    void testEncodeTakenAliasConflicts() {
+        // Given
+        urlShorteningService.createAlias("launch-day", "https://example.com/one");
+        EncodeRequest request = new EncodeRequest("https://example.com/two", null, null, "launch-day");
+        
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+            baseUrl + "/encode", HttpMethod.POST, new HttpEntity<>(request, headers), String.class);
+        
+        // Then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+    
+    @Test
+    void testListAliasesByPrefix() {
+        // Given
+        urlShorteningService.createAlias("team-x/launch", "https://example.com/x/launch");
+        urlShorteningService.createAlias("team-x/docs", "https://example.com/x/docs");
+        urlShorteningService.createAlias("team-y/launch", "https://example.com/y/launch");
+        
+        // When
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            baseUrl + "/aliases?prefix=team-x/", String.class);
+        
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String body = response.getBody();
+        assertTrue(body.indexOf("team-x/docs") < body.indexOf("team-x/launch"));
+        assertTrue(body.contains("https://example.com/x/docs"));
+        assertFalse(body.contains("team-y"));
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.getForEntity(
+            baseUrl + "/aliases?limit=0", String.class).getStatusCode());
+    }
+    
+    @Test
+    void testRetargetEndpoint() {
+        // Given
+        String shortUrl = urlShorteningService.encodeUrl("https://example.com/old");
+        RetargetRequest request = new RetargetRequest(shortUrl, "https://example.com/new");
+        
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+            baseUrl + "/retarget", HttpMethod.POST, new HttpEntity<>(request, headers), String.class);
+        
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("https://example.com/new", urlShorteningService.decodeUrl(shortUrl));
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.exchange(baseUrl + "/retarget", HttpMethod.POST,
+            new HttpEntity<>(new RetargetRequest("zzzzzz", "https://example.com/new"), headers),
+            String.class).getStatusCode());
+    }
+    
+    @Test
+    void testDeleteEndpoint() {
+        // Given
+        String first = urlShorteningService.encodeUrl("https://example.com/first");
+        String second = urlShorteningService.encodeUrl("https://example.com/second");
+        String third = urlShorteningService.encodeUrl("https://example.com/third");
+        
+        // When
+        ResponseEntity<String> listed = restTemplate.exchange(baseUrl + "/delete", HttpMethod.POST,
+            new HttpEntity<>(new DeleteRequest(List.of(first)), headers), String.class);
+        ResponseEntity<String> ranged = restTemplate.exchange(baseUrl + "/delete", HttpMethod.POST,
+            new HttpEntity<>(new DeleteRequest(null, second, third), headers), String.class);
+        
+        // Then
+        assertEquals(HttpStatus.OK, listed.getStatusCode());
+        assertTrue(listed.getBody().contains("\"deleted\":1"));
+        assertEquals(HttpStatus.ACCEPTED, ranged.getStatusCode());
+        for (String shortUrl : List.of(first, second, third)) {
+            assertThrows(IllegalArgumentException.class, () -> urlShorteningService.decodeUrl(shortUrl));
+        }
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.exchange(baseUrl + "/delete", HttpMethod.POST,
+            new HttpEntity<>(new DeleteRequest(List.of(first), second, third), headers),
+            String.class).getStatusCode());
+    }
+    
+    @Test
+    void testBatchEndpoints() {
+        // Given
+        String existing = urlShorteningService.encodeUrl("https://example.com/batch/0");
+        List<EncodeRequest> encodes = List.of(new EncodeRequest("https://example.com/batch/0"),
+            new EncodeRequest("https://example.com/batch/1"));
+        
+        // When
+        ResponseEntity<String> encoded = restTemplate.exchange(baseUrl + "/encode/batch", HttpMethod.POST,
+            new HttpEntity<>(encodes, headers), String.class);
+        ResponseEntity<String> decoded = restTemplate.exchange(baseUrl + "/decode/batch", HttpMethod.POST,
+            new HttpEntity<>(List.of(new DecodeRequest(existing), new DecodeRequest("http://short.est/zzzzzz")), headers),
+            String.class);
+        
+        // Then
+        assertEquals(HttpStatus.OK, encoded.getStatusCode());
+        assertTrue(encoded.getBody().contains("\"shortUrl\":\"" + existing + "\""));
+        assertTrue(encoded.getBody().contains("\"originalUrl\":\"https://example.com/batch/1\""));
+        assertEquals(2, urlShorteningService.getUrlMappingSize());
+        assertEquals(HttpStatus.OK, decoded.getStatusCode());
+        assertTrue(decoded.getBody().contains("\"originalUrl\":\"https://example.com/batch/0\""));
+        assertTrue(decoded.getBody().contains("\"originalUrl\":null"));
+        
+        // And - Batches with an invalid URL or an expiring link are rejected whole
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.exchange(baseUrl + "/encode/batch", HttpMethod.POST,
+            new HttpEntity<>(List.of(new EncodeRequest("https://example.com/batch/2"), new EncodeRequest("not a url")),
+                headers), String.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.exchange(baseUrl + "/encode/batch", HttpMethod.POST,
+            new HttpEntity<>(List.of(new EncodeRequest("https://example.com/batch/3", 60L, null)), headers),
+            String.class).getStatusCode());
+        assertEquals(2, urlShorteningService.getUrlMappingSize());
+    }
+}
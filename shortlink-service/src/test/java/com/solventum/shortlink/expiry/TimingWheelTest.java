@@ -0,0 +1,105 @@
+package com.solventum.shortlink.expiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TimingWheel.
+ *
+ * Drives the wheel with explicit timestamps so expiration is deterministic.
+ */
+class TimingWheelTest {
+
+    @Test
+    void testItemExpiresOnFirstTickAfterItsTime() {
+        // Given
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 1000);
+        List<String> expired = new ArrayList<>();
+        assertTrue(wheel.schedule("a", 1035));
+
+        // When & Then - Not yet due, although the tick containing its expiration time has started
+        assertEquals(0, wheel.advanceTo(1039, expired::add));
+        assertTrue(expired.isEmpty());
+
+        // When & Then - Due on the first tick at or after its expiration time
+        assertEquals(1, wheel.advanceTo(1040, expired::add));
+        assertEquals(List.of("a"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAlreadyDueItemIsNotScheduled() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 1000);
+        assertFalse(wheel.schedule("past", 900));
+        assertFalse(wheel.schedule("now", 1000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testItemLaterInCurrentTickWaitsForNextTick() {
+        // Given
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 1000);
+        List<String> expired = new ArrayList<>();
+
+        // When
+        assertTrue(wheel.schedule("current-tick", 1005));
+
+        // Then
+        assertEquals(0, wheel.advanceTo(1009, expired::add));
+        assertEquals(1, wheel.advanceTo(1010, expired::add));
+        assertEquals(List.of("current-tick"), expired);
+    }
+
+    @Test
+    void testDistantItemsCascadeThroughLevels() {
+        // Given - Level 0 spans 80 ms, level 1 640 ms, level 2 5120 ms
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 8, 0);
+        long[] expirations = {15, 95, 700, 4000, 4005};
+        for (long expiresAt : expirations) {
+            assertTrue(wheel.schedule(expiresAt, expiresAt));
+        }
+        assertEquals(3, wheel.levelCount());
+
+        // When - Advance one tick at a time, recording when each item fires
+        List<long[]> fired = new ArrayList<>();
+        for (long now = 0; now <= 5000; now += 10) {
+            long time = now;
+            wheel.advanceTo(now, item -> fired.add(new long[] {item, time}));
+        }
+
+        // Then - Every item fires exactly once, on the first tick at or after its expiration
+        assertEquals(expirations.length, fired.size());
+        for (long[] entry : fired) {
+            assertEquals((entry[0] + 9) / 10 * 10, entry[1], "item " + entry[0] + " fired at " + entry[1]);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testLargeJumpExpiresEverythingDue() {
+        // Given
+        TimingWheel<Integer> wheel = new TimingWheel<>(10, 4, 0);
+        for (int i = 1; i <= 100; i++) {
+            wheel.schedule(i, i * 50L);
+        }
+
+        // When
+        List<Integer> expired = new ArrayList<>();
+        wheel.advanceTo(2500, expired::add);
+
+        // Then
+        assertEquals(50, expired.size());
+        assertEquals(50, wheel.size());
+        assertTrue(expired.stream().allMatch(i -> i <= 50));
+    }
+
+    @Test
+    void testRejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(0, 8, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(10, 1, 0));
+    }
+}
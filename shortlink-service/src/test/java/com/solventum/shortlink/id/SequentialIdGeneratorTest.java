@@ -0,0 +1,89 @@
+package com.solventum.shortlink.id;
+
+import com.solventum.shortlink.cluster.ClusterTopology;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SequentialIdGenerator.
+ *
+ * Tests that ids are consecutive, stay in the node's id shard in a cluster,
+ * resume above the saved watermark after a restart, and can take back
+ * the most recent ids unused.
+ */
+class SequentialIdGeneratorTest {
+
+    @Test
+    void testIdsAreConsecutiveAndResumeAboveWatermark() {
+        // Given
+        SnowflakeIdGeneratorTest.WatermarkStore store = new SnowflakeIdGeneratorTest.WatermarkStore();
+        SequentialIdGenerator generator = new SequentialIdGenerator(store, ClusterTopology.standalone());
+
+        // When
+        long first = generator.nextId();
+        long second = generator.nextId();
+        long resumed = new SequentialIdGenerator(store, ClusterTopology.standalone()).nextId();
+
+        // Then
+        assertEquals(1, first);
+        assertEquals(2, second);
+        assertTrue(resumed > second);
+        assertEquals(0, generator.nodeOf(resumed));
+    }
+
+    @Test
+    void testSkipPastLoadedIds() {
+        // Given
+        ClusterTopology topology = new ClusterTopology(List.of("http://localhost:8081", "http://localhost:8082"),
+            1, 2, 16);
+        SequentialIdGenerator generator = new SequentialIdGenerator(new SnowflakeIdGeneratorTest.WatermarkStore(),
+            topology);
+
+        // When
+        generator.skipPast(5000);
+        long next = generator.nextId();
+        generator.skipPast(10);
+
+        // Then - Skipping never goes backwards
+        assertTrue(next > 5000);
+        assertEquals(1, generator.nodeOf(next));
+        assertEquals(next + 2, generator.nextId());
+    }
+
+    @Test
+    void testIdsStayInNodeShard() {
+        // Given
+        ClusterTopology topology = new ClusterTopology(List.of("http://localhost:8081", "http://localhost:8082",
+            "http://localhost:8083"), 1, 3, 16);
+        SequentialIdGenerator generator = new SequentialIdGenerator(new SnowflakeIdGeneratorTest.WatermarkStore(),
+            topology);
+
+        // Then
+        for (int i = 0; i < 100; i++) {
+            assertEquals(1, generator.nodeOf(generator.nextId()));
+        }
+    }
+
+    @Test
+    void testGiveBackOnlyTheMostRecentIds() {
+        // Given
+        SnowflakeIdGeneratorTest.WatermarkStore store = new SnowflakeIdGeneratorTest.WatermarkStore();
+        SequentialIdGenerator generator = new SequentialIdGenerator(store, ClusterTopology.standalone());
+        for (int i = 0; i < 5; i++) {
+            generator.nextId();
+        }
+
+        // When & Then - Gaps and ids followed by later ones are refused
+        assertFalse(generator.giveBack(new long[] {3, 5}));
+        assertFalse(generator.giveBack(new long[] {3, 4}));
+        assertTrue(generator.giveBack(new long[] {4, 5}));
+
+        // Then - The ids are handed out again, after a restart too
+        assertEquals(4, new SequentialIdGenerator(store, ClusterTopology.standalone()).nextId());
+        assertEquals(4, generator.nextId());
+        assertTrue(store.watermark > 4);
+    }
+}
@@ -0,0 +1,111 @@
+package com.solventum.shortlink.id;
+
+import com.solventum.shortlink.cluster.ClusterTopology;
+import com.solventum.shortlink.util.ShortCodeCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ShortCodePool.
+ *
+ * Tests that pooled codes are unique and in id order, that the refill
+ * target follows the encode rate, and that shutdown gives unused ids back.
+ */
+class ShortCodePoolTest {
+
+    private final ShortCodeCodec codec = new ShortCodeCodec(42);
+
+    @Test
+    void testPooledCodesComeOutInIdOrder() throws InterruptedException {
+        // Given
+        SequentialIdGenerator generator = new SequentialIdGenerator(new SnowflakeIdGeneratorTest.WatermarkStore(),
+            ClusterTopology.standalone());
+        ShortCodePool pool = new ShortCodePool(generator, codec, 64, 5);
+        awaitSize(pool, 16);
+
+        // When
+        long previous = 0;
+        for (int i = 0; i < 16; i++) {
+            long id = codec.decode(pool.next());
+
+            // Then
+            assertEquals(previous + 1, id);
+            previous = id;
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    void testTargetFollowsEncodeRateAndCodesStayUnique() throws InterruptedException {
+        // Given
+        SequentialIdGenerator generator = new SequentialIdGenerator(new SnowflakeIdGeneratorTest.WatermarkStore(),
+            ClusterTopology.standalone());
+        ShortCodePool pool = new ShortCodePool(generator, codec, 1024, 5);
+        Set<String> codes = new HashSet<>();
+
+        // When - Encodes far faster than the minimum buffer covers
+        long deadline = System.currentTimeMillis() + 200;
+        while (System.currentTimeMillis() < deadline) {
+            for (int i = 0; i < 50; i++) {
+                assertTrue(codes.add(pool.next()));
+            }
+            Thread.sleep(1);
+        }
+
+        // Then
+        assertTrue(pool.getTarget() > 16, "Target: " + pool.getTarget());
+        assertTrue(pool.getMissCount() < codes.size());
+        pool.shutdown();
+    }
+
+    @Test
+    void testShutdownGivesUnusedIdsBack() throws InterruptedException {
+        // Given
+        SnowflakeIdGeneratorTest.WatermarkStore store = new SnowflakeIdGeneratorTest.WatermarkStore();
+        SequentialIdGenerator generator = new SequentialIdGenerator(store, ClusterTopology.standalone());
+        ShortCodePool pool = new ShortCodePool(generator, codec, 64, 5);
+        awaitSize(pool, 16);
+        for (int i = 0; i < 3; i++) {
+            pool.next();
+        }
+
+        // When
+        boolean givenBack = pool.shutdown();
+
+        // Then - A restarted node hands out the pooled ids nobody took
+        assertTrue(givenBack);
+        assertEquals(0, pool.size());
+        assertEquals(4, new SequentialIdGenerator(store, ClusterTopology.standalone()).nextId());
+        assertEquals(codec.encode(4), pool.next());
+    }
+
+    @Test
+    void testDiscardDropsBufferedCodes() throws InterruptedException {
+        // Given
+        SequentialIdGenerator generator = new SequentialIdGenerator(new SnowflakeIdGeneratorTest.WatermarkStore(),
+            ClusterTopology.standalone());
+        ShortCodePool pool = new ShortCodePool(generator, codec, 64, 1000);
+        awaitSize(pool, 16);
+
+        // When
+        generator.skipPast(5000);
+        int discarded = pool.discard();
+
+        // Then
+        assertEquals(16, discarded);
+        assertTrue(codec.decode(pool.next()) > 5000);
+        pool.shutdown();
+    }
+
+    private static void awaitSize(ShortCodePool pool, int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pool.size() < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(size, pool.size());
+    }
+}
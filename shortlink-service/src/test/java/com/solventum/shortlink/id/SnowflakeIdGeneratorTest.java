@@ -0,0 +1,145 @@
+package com.solventum.shortlink.id;
+
+import com.solventum.shortlink.store.InMemoryLinkStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SnowflakeIdGenerator.
+ *
+ * Tests that ids are unique and increasing under concurrency, when the
+ * clock stands still or steps back, and across restarts, and that the node
+ * and timestamp can be read back from an id.
+ */
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH_MILLIS + 86_400_000L;
+
+    @Test
+    void testIdsAreUniqueAcrossThreads() throws InterruptedException {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(new WatermarkStore(), 7);
+        int threads = 4;
+        int idsPerThread = 20_000;
+        List<long[]> results = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            long[] ids = new long[idsPerThread];
+            results.add(ids);
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < idsPerThread; i++) {
+                    ids[i] = generator.nextId();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Then
+        Set<Long> unique = new HashSet<>();
+        for (long[] ids : results) {
+            for (int i = 0; i < ids.length; i++) {
+                assertTrue(unique.add(ids[i]));
+                assertEquals(7, generator.nodeOf(ids[i]));
+                if (i > 0) {
+                    assertTrue(ids[i] > ids[i - 1]);
+                }
+            }
+        }
+        assertEquals(threads * idsPerThread, unique.size());
+    }
+
+    @Test
+    void testSequenceOverflowBorrowsNextMillisecond() {
+        // Given
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(new WatermarkStore(), 1, clock::get);
+
+        // When
+        long first = generator.nextId();
+        long last = first;
+        for (int i = 1; i < 5000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > last);
+            last = id;
+        }
+
+        // Then
+        assertEquals(NOW, SnowflakeIdGenerator.timestampOf(first));
+        assertEquals(NOW + 1, SnowflakeIdGenerator.timestampOf(last));
+    }
+
+    @Test
+    void testClockRollbackKeepsIdsIncreasing() {
+        // Given
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(new WatermarkStore(), 3, clock::get);
+        long before = generator.nextId();
+
+        // When
+        clock.set(NOW - 5000);
+        long during = generator.nextId();
+        clock.set(NOW + 10);
+        long after = generator.nextId();
+
+        // Then
+        assertTrue(during > before);
+        assertTrue(after > during);
+        assertEquals(NOW, SnowflakeIdGenerator.timestampOf(during));
+        assertEquals(NOW + 10, SnowflakeIdGenerator.timestampOf(after));
+    }
+
+    @Test
+    void testRestartAfterRollbackResumesAboveWatermark() {
+        // Given
+        WatermarkStore store = new WatermarkStore();
+        AtomicLong clock = new AtomicLong(NOW);
+        long issued = new SnowflakeIdGenerator(store, 2, clock::get).nextId();
+
+        // When
+        clock.set(NOW - 60_000);
+        long resumed = new SnowflakeIdGenerator(store, 2, clock::get).nextId();
+
+        // Then
+        assertTrue(resumed > issued);
+        assertTrue(store.watermark > resumed);
+    }
+
+    @Test
+    void testInvalidNodeIsRejected() {
+        WatermarkStore store = new WatermarkStore();
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(store, -1));
+        assertThrows(IllegalArgumentException.class,
+            () -> new SnowflakeIdGenerator(store, SnowflakeIdGenerator.MAX_NODES));
+    }
+
+    /**
+     * In-memory store that keeps the id watermark, like a durable store would.
+     */
+    static class WatermarkStore extends InMemoryLinkStore {
+
+        long watermark;
+
+        @Override
+        public long loadIdWatermark() {
+            return watermark;
+        }
+
+        @Override
+        public void saveIdWatermark(long watermark) {
+            this.watermark = watermark;
+        }
+    }
+}
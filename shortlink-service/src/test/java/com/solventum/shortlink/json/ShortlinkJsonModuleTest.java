@@ -0,0 +1,148 @@
+package com.solventum.shortlink.json;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.solventum.shortlink.model.DecodeRequest;
+import com.solventum.shortlink.model.DecodeResponse;
+import com.solventum.shortlink.model.EncodeRequest;
+import com.solventum.shortlink.model.EncodeResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ShortlinkJsonModule.
+ *
+ * Tests that the hand-written serializers produce the same JSON shape as
+ * reflective serialization and that the deserializers round-trip it.
+ */
+class ShortlinkJsonModuleTest {
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .registerModule(new ShortlinkJsonModule());
+    }
+
+    @Test
+    void testSerializeEncodeResponse() throws Exception {
+        // Given
+        EncodeResponse response = new EncodeResponse("http://short.est/b", "https://example.com", 123L);
+
+        // When
+        String json = objectMapper.writeValueAsString(response);
+
+        // Then
+        assertEquals("{\"shortUrl\":\"http://short.est/b\",\"originalUrl\":\"https://example.com\",\"timestamp\":123}", json);
+    }
+
+    @Test
+    void testSerializeDecodeResponse() throws Exception {
+        // Given
+        DecodeResponse response = new DecodeResponse("https://example.com", "http://short.est/b", 123L);
+
+        // When
+        String json = objectMapper.writeValueAsString(response);
+
+        // Then
+        assertEquals("{\"originalUrl\":\"https://example.com\",\"shortUrl\":\"http://short.est/b\",\"timestamp\":123}", json);
+    }
+
+    @Test
+    void testSerializeEscapesAndNulls() throws Exception {
+        // Given
+        EncodeResponse response = new EncodeResponse(null, "https://example.com/\"quoted\"", 1L);
+
+        // When
+        String json = objectMapper.writeValueAsString(response);
+
+        // Then
+        assertEquals("{\"shortUrl\":null,\"originalUrl\":\"https://example.com/\\\"quoted\\\"\",\"timestamp\":1}", json);
+    }
+
+    @Test
+    void testRoundTripAllModels() throws Exception {
+        EncodeRequest encodeRequest = new EncodeRequest("https://example.com/a");
+        DecodeRequest decodeRequest = new DecodeRequest("http://short.est/b");
+        EncodeResponse encodeResponse = new EncodeResponse("http://short.est/b", "https://example.com/a", 5L);
+        DecodeResponse decodeResponse = new DecodeResponse("https://example.com/a", "http://short.est/b", 6L);
+
+        assertEquals(encodeRequest, roundTrip(encodeRequest, EncodeRequest.class));
+        assertEquals(decodeRequest, roundTrip(decodeRequest, DecodeRequest.class));
+        assertEquals(encodeResponse, roundTrip(encodeResponse, EncodeResponse.class));
+        assertEquals(decodeResponse, roundTrip(decodeResponse, DecodeResponse.class));
+    }
+
+    @Test
+    void testDeserializeSkipsUnknownFields() throws Exception {
+        // Given
+        String json = "{\"extra\":{\"nested\":[1,2]},\"url\":\"https://example.com\",\"other\":true}";
+
+        // When
+        EncodeRequest request = objectMapper.readValue(json, EncodeRequest.class);
+
+        // Then
+        assertEquals("https://example.com", request.url());
+    }
+
+    @Test
+    void testDeserializeMissingAndNullFields() throws Exception {
+        assertNull(objectMapper.readValue("{}", EncodeRequest.class).url());
+        assertNull(objectMapper.readValue("{\"shortUrl\":null}", DecodeRequest.class).shortUrl());
+    }
+
+    @Test
+    void testDeserializeCoercesScalars() throws Exception {
+        assertEquals("123", objectMapper.readValue("{\"shortUrl\":123}", DecodeRequest.class).shortUrl());
+    }
+
+    @Test
+    void testDeserializeRejectsStructuredValues() {
+        assertThrows(MismatchedInputException.class,
+            () -> objectMapper.readValue("{\"url\":[\"https://example.com\"]}", EncodeRequest.class));
+        assertThrows(MismatchedInputException.class,
+            () -> objectMapper.readValue("[]", EncodeRequest.class));
+    }
+
+    @Test
+    void testExpirationFieldsRoundTrip() throws Exception {
+        // Given
+        EncodeRequest request = new EncodeRequest("https://example.com", 60L, null);
+        EncodeResponse response = new EncodeResponse("http://short.est/b", "https://example.com", 123L, 456L);
+
+        // When & Then - Only present fields are written
+        assertEquals("{\"url\":\"https://example.com\",\"ttl\":60}", objectMapper.writeValueAsString(request));
+        assertEquals("{\"shortUrl\":\"http://short.est/b\",\"originalUrl\":\"https://example.com\","
+            + "\"timestamp\":123,\"expiresAt\":456}", objectMapper.writeValueAsString(response));
+        assertEquals(request, roundTrip(request, EncodeRequest.class));
+        assertEquals(response, roundTrip(response, EncodeResponse.class));
+    }
+
+    @Test
+    void testAliasRoundTrip() throws Exception {
+        // Given
+        EncodeRequest request = new EncodeRequest("https://example.com", null, null, "spring-sale");
+
+        // When & Then
+        assertEquals("{\"url\":\"https://example.com\",\"alias\":\"spring-sale\"}",
+            objectMapper.writeValueAsString(request));
+        assertEquals(request, roundTrip(request, EncodeRequest.class));
+    }
+
+    @Test
+    void testDeserializeRejectsNonNumericTtl() {
+        assertEquals(60L, assertDoesNotThrow(
+            () -> objectMapper.readValue("{\"ttl\":\"60\"}", EncodeRequest.class)).ttl());
+        assertThrows(MismatchedInputException.class,
+            () -> objectMapper.readValue("{\"ttl\":\"soon\"}", EncodeRequest.class));
+    }
+
+    private <T> T roundTrip(T value, Class<T> type) throws Exception {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(value), type);
+    }
+}
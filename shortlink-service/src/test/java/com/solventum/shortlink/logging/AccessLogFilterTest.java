@@ -0,0 +1,80 @@
+package com.solventum.shortlink.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AccessLogFilter.
+ *
+ * Tests that one structured line is written per request, for asynchronous
+ * requests once they complete.
+ */
+class AccessLogFilterTest {
+
+    private Logger accessLogger;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        accessLogger = (Logger) LoggerFactory.getLogger(AccessLogFilter.LOGGER_NAME);
+        appender = new ListAppender<>();
+        appender.start();
+        accessLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(appender);
+    }
+
+    @Test
+    void testWritesStructuredAccessLine() throws Exception {
+        // Given
+        AccessLogFilter filter = new AccessLogFilter();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/encode");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(200);
+
+        // When
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Then
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.contains("method=POST"));
+        assertTrue(line.contains("path=/api/encode"));
+        assertTrue(line.contains("status=200"));
+        assertTrue(line.contains("durationMicros="));
+    }
+
+    @Test
+    void testAsyncRequestIsLoggedOnCompletion() throws Exception {
+        // Given - A handler that returns a future, completed later with a 404
+        AccessLogFilter filter = new AccessLogFilter();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/decode");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When - The first dispatch only starts async processing
+        filter.doFilter(request, response, (req, res) -> req.startAsync());
+
+        // Then - Nothing is logged until the request completes, with its final status
+        assertTrue(appender.list.isEmpty());
+        response.setStatus(404);
+        request.getAsyncContext().complete();
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.contains("path=/api/decode"));
+        assertTrue(line.contains("status=404"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.solventum.shortlink.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LogSampler.
+ *
+ * Tests that sampling selects the expected share of requests.
+ */
+class LogSamplerTest {
+
+    @Test
+    void testSampleEveryOneLogsAllRequests() {
+        // Given
+        LogSampler sampler = new LogSampler(1);
+
+        // When & Then
+        for (int i = 0; i < 100; i++) {
+            assertTrue(sampler.sample());
+        }
+    }
+
+    @Test
+    void testSamplingSelectsRoughShare() {
+        // Given
+        LogSampler sampler = new LogSampler(10);
+        int sampled = 0;
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            if (sampler.sample()) {
+                sampled++;
+            }
+        }
+
+        // Then - Expect about 10,000, allow generous slack for randomness
+        assertTrue(sampled > 8_000 && sampled < 12_000, "Unexpected sample count: " + sampled);
+    }
+
+    @Test
+    void testInvalidSampleRate() {
+        assertThrows(IllegalArgumentException.class, () -> new LogSampler(0));
+        assertThrows(IllegalArgumentException.class, () -> new LogSampler(-5));
+    }
+}
@@ -36,7 +36,7 @@ class DecodeRequestTest {
         
         // Then
         assertTrue(violations.isEmpty());
-        assertEquals("http://short.est/abc123", request.getShortUrl());
+        assertEquals("http://short.est/abc123", request.shortUrl());
     }
     
     @Test
@@ -101,15 +101,14 @@ class DecodeRequestTest {
     }
     
     @Test
-    void testDecodeRequestDefaultConstructor() {
+    void testDecodeRequestValueEquality() {
         // Given
-        DecodeRequest request = new DecodeRequest();
+        DecodeRequest request1 = new DecodeRequest("http://short.est/test");
+        DecodeRequest request2 = new DecodeRequest("http://short.est/test");
         
-        // When
-        request.setShortUrl("http://short.est/test");
-        
-        // Then
-        assertEquals("http://short.est/test", request.getShortUrl());
+        // Then - Records compare by value
+        assertEquals(request1, request2);
+        assertEquals(request1.hashCode(), request2.hashCode());
     }
     
     @Test
@@ -133,8 +132,8 @@ class DecodeRequestTest {
         DecodeRequest request3 = new DecodeRequest("http://short.est/different");
         
         // Then
-        assertEquals(request1.getShortUrl(), request2.getShortUrl());
-        assertNotEquals(request1.getShortUrl(), request3.getShortUrl());
+        assertEquals(request1.shortUrl(), request2.shortUrl());
+        assertNotEquals(request1.shortUrl(), request3.shortUrl());
     }
     
     @Test
@@ -153,7 +152,7 @@ class DecodeRequestTest {
         
         // Then
         assertTrue(violations.isEmpty(), "Short URL with exactly 255 characters should be valid");
-        assertEquals(shortUrl, request.getShortUrl());
+        assertEquals(shortUrl, request.shortUrl());
     }
     
     @Test
@@ -166,7 +165,7 @@ class DecodeRequestTest {
         
         // Then
         assertTrue(violations.isEmpty());
-        assertEquals("abc123", request.getShortUrl());
+        assertEquals("abc123", request.shortUrl());
     }
     
     @Test
@@ -185,7 +184,7 @@ class DecodeRequestTest {
             
             // Then
             assertTrue(violations.isEmpty(), "Should accept short URL: " + shortUrl);
-            assertEquals(shortUrl, request.getShortUrl());
+            assertEquals(shortUrl, request.shortUrl());
         }
     }
 }
\ No newline at end of file
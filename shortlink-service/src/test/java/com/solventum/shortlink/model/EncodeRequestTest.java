@@ -36,7 +36,7 @@ class EncodeRequestTest {
         
         // Then
         assertTrue(violations.isEmpty());
-        assertEquals("https://example.com", request.getUrl());
+        assertEquals("https://example.com", request.url());
     }
     
     @Test
@@ -101,15 +101,14 @@ class EncodeRequestTest {
     }
     
     @Test
-    void testEncodeRequestDefaultConstructor() {
+    void testEncodeRequestValueEquality() {
         // Given
-        EncodeRequest request = new EncodeRequest();
-        
-        // When
-        request.setUrl("https://example.com");
+        EncodeRequest request1 = new EncodeRequest("https://example.com");
+        EncodeRequest request2 = new EncodeRequest("https://example.com");
         
-        // Then
-        assertEquals("https://example.com", request.getUrl());
+        // Then - Records compare by value
+        assertEquals(request1, request2);
+        assertEquals(request1.hashCode(), request2.hashCode());
     }
     
     @Test
@@ -133,8 +132,8 @@ class EncodeRequestTest {
         EncodeRequest request3 = new EncodeRequest("https://different.com");
         
         // Then
-        assertEquals(request1.getUrl(), request2.getUrl());
-        assertNotEquals(request1.getUrl(), request3.getUrl());
+        assertEquals(request1.url(), request2.url());
+        assertNotEquals(request1.url(), request3.url());
     }
     
     @Test
@@ -153,6 +152,6 @@ class EncodeRequestTest {
         
         // Then
         assertTrue(violations.isEmpty(), "URL with exactly 2048 characters should be valid");
-        assertEquals(url, request.getUrl());
+        assertEquals(url, request.url());
     }
 }
\ No newline at end of file
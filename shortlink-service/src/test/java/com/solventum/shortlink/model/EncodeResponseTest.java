@@ -11,6 +11,10 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 class EncodeResponseTest {
     
+    // Timestamps come from CoarseClock, which may lag the system clock by a tick
+    // (longer if its updater thread is briefly starved of CPU)
+    private static final long CLOCK_TOLERANCE_MS = 1000;
+    
     @Test
     void testEncodeResponseConstructorWithParameters() {
         // Given
@@ -21,26 +25,21 @@ class EncodeResponseTest {
         EncodeResponse response = new EncodeResponse(shortUrl, originalUrl);
         
         // Then
-        assertEquals(shortUrl, response.getShortUrl());
-        assertEquals(originalUrl, response.getOriginalUrl());
-        assertTrue(response.getTimestamp() > 0);
-        assertTrue(response.getTimestamp() <= System.currentTimeMillis());
+        assertEquals(shortUrl, response.shortUrl());
+        assertEquals(originalUrl, response.originalUrl());
+        assertTrue(response.timestamp() > 0);
+        assertTrue(response.timestamp() <= System.currentTimeMillis());
     }
     
     @Test
-    void testEncodeResponseDefaultConstructor() {
-        // Given
-        EncodeResponse response = new EncodeResponse();
-        
+    void testEncodeResponseCanonicalConstructor() {
         // When
-        response.setShortUrl("http://short.est/xyz789");
-        response.setOriginalUrl("https://example.com/test");
-        response.setTimestamp(12345L);
+        EncodeResponse response = new EncodeResponse("http://short.est/xyz789", "https://example.com/test", 12345L);
         
         // Then
-        assertEquals("http://short.est/xyz789", response.getShortUrl());
-        assertEquals("https://example.com/test", response.getOriginalUrl());
-        assertEquals(12345L, response.getTimestamp());
+        assertEquals("http://short.est/xyz789", response.shortUrl());
+        assertEquals("https://example.com/test", response.originalUrl());
+        assertEquals(12345L, response.timestamp());
     }
     
     @Test
@@ -53,8 +52,8 @@ class EncodeResponseTest {
         
         // Then
         long afterCreation = System.currentTimeMillis();
-        assertTrue(response.getTimestamp() >= beforeCreation);
-        assertTrue(response.getTimestamp() <= afterCreation);
+        assertTrue(response.timestamp() >= beforeCreation - CLOCK_TOLERANCE_MS);
+        assertTrue(response.timestamp() <= afterCreation);
     }
     
     @Test
@@ -69,7 +68,7 @@ class EncodeResponseTest {
         assertTrue(toString.contains("EncodeResponse"));
         assertTrue(toString.contains("http://short.est/abc"));
         assertTrue(toString.contains("https://example.com"));
-        assertTrue(toString.contains(String.valueOf(response.getTimestamp())));
+        assertTrue(toString.contains(String.valueOf(response.timestamp())));
     }
     
     @Test
@@ -78,33 +77,26 @@ class EncodeResponseTest {
         EncodeResponse response = new EncodeResponse(null, null);
         
         // When & Then
-        assertNull(response.getShortUrl());
-        assertNull(response.getOriginalUrl());
-        assertTrue(response.getTimestamp() > 0);
+        assertNull(response.shortUrl());
+        assertNull(response.originalUrl());
+        assertTrue(response.timestamp() > 0);
     }
     
     @Test
-    void testEncodeResponseSettersAndGetters() {
+    void testEncodeResponseValueEquality() {
         // Given
-        EncodeResponse response = new EncodeResponse();
-        String shortUrl = "http://short.est/test123";
-        String originalUrl = "https://example.com/test/path";
-        long timestamp = System.currentTimeMillis();
+        EncodeResponse response1 = new EncodeResponse("a", "b", 42L);
+        EncodeResponse response2 = new EncodeResponse("a", "b", 42L);
+        EncodeResponse response3 = new EncodeResponse("a", "b", 43L);
         
-        // When
-        response.setShortUrl(shortUrl);
-        response.setOriginalUrl(originalUrl);
-        response.setTimestamp(timestamp);
-        
-        // Then
-        assertEquals(shortUrl, response.getShortUrl());
-        assertEquals(originalUrl, response.getOriginalUrl());
-        assertEquals(timestamp, response.getTimestamp());
+        // Then - Records compare by value, including the timestamp
+        assertEquals(response1, response2);
+        assertNotEquals(response1, response3);
     }
     
     @Test
-    void testEncodeResponseTimestampPrecision() {
-        // Test that timestamp is set with millisecond precision
+    void testEncodeResponseTimestampMonotonic() {
+        // Test that timestamps are monotonic and never ahead of the system clock
         long timestamp1 = System.currentTimeMillis();
         EncodeResponse response1 = new EncodeResponse("short1", "long1");
         
@@ -119,8 +111,8 @@ class EncodeResponseTest {
         long timestamp2 = System.currentTimeMillis();
         
         // Then
-        assertTrue(response1.getTimestamp() >= timestamp1);
-        assertTrue(response2.getTimestamp() <= timestamp2);
-        assertTrue(response2.getTimestamp() >= response1.getTimestamp());
+        assertTrue(response1.timestamp() >= timestamp1 - CLOCK_TOLERANCE_MS);
+        assertTrue(response2.timestamp() <= timestamp2);
+        assertTrue(response2.timestamp() >= response1.timestamp());
     }
 }
\ No newline at end of file
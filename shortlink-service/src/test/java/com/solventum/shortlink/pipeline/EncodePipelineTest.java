@@ -0,0 +1,113 @@
+package com.solventum.shortlink.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EncodePipeline.
+ *
+ * Tests that encodes run one at a time on the writer thread in submission
+ * order, that failures reach their caller only, and that shutdown fails
+ * queued encodes.
+ */
+class EncodePipelineTest {
+
+    @Test
+    void testEncodesRunOnTheWriterThreadInOrder() throws InterruptedException {
+        // Given - A ring much smaller than the number of encodes, so producers wrap around it
+        List<String> encoded = new ArrayList<>();
+        List<String> threads = new ArrayList<>();
+        EncodePipeline pipeline = new EncodePipeline(4, longUrl -> {
+            // Not thread-safe on purpose: only the writer thread may get here
+            encoded.add(longUrl);
+            threads.add(Thread.currentThread().getName());
+            return "code-" + longUrl;
+        });
+
+        // When
+        int producers = 4;
+        int encodesPerProducer = 200;
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            new Thread(() -> {
+                for (int i = 0; i < encodesPerProducer; i++) {
+                    String longUrl = producer + "/" + i;
+                    assertEquals("code-" + longUrl, pipeline.encode(longUrl));
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        pipeline.shutdown();
+
+        // Then
+        assertEquals(producers * encodesPerProducer, encoded.size());
+        assertTrue(threads.stream().allMatch("encode-pipeline"::equals));
+        for (int p = 0; p < producers; p++) {
+            String prefix = p + "/";
+            List<String> own = encoded.stream().filter(longUrl -> longUrl.startsWith(prefix)).toList();
+            for (int i = 0; i < encodesPerProducer; i++) {
+                assertEquals(prefix + i, own.get(i));
+            }
+        }
+        assertEquals(0, pipeline.getPendingCount());
+    }
+
+    @Test
+    void testFailedEncodeFailsOnlyItsCaller() {
+        // Given
+        EncodePipeline pipeline = new EncodePipeline(8, longUrl -> {
+            if (longUrl.equals("bad")) {
+                throw new IllegalArgumentException("Bad URL");
+            }
+            return longUrl.toUpperCase();
+        });
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> pipeline.encode("bad"));
+        assertEquals("Bad URL", exception.getMessage());
+        assertEquals("GOOD", pipeline.encode("good"));
+        pipeline.shutdown();
+    }
+
+    @Test
+    void testShutdownFailsQueuedEncodes() throws InterruptedException {
+        // Given - The writer blocked in an encode, with more queued behind it
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        EncodePipeline pipeline = new EncodePipeline(8, longUrl -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return longUrl;
+        });
+        CompletableFuture<String> inProgress = pipeline.submit("first");
+        started.await();
+        CompletableFuture<String> queued = pipeline.submit("second");
+
+        // When
+        Thread shutdown = new Thread(pipeline::shutdown);
+        shutdown.start();
+        while (shutdown.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        shutdown.join();
+
+        // Then - The encode in progress finishes, the queued one fails, new ones are refused
+        assertEquals("first", inProgress.join());
+        assertTrue(queued.isCompletedExceptionally());
+        assertThrows(IllegalStateException.class, () -> pipeline.submit("third"));
+    }
+}
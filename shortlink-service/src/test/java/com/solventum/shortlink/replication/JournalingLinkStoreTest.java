@@ -0,0 +1,75 @@
+package com.solventum.shortlink.replication;
+
+import com.solventum.shortlink.store.InMemoryLinkStore;
+import com.solventum.shortlink.store.LinkStore;
+import com.solventum.shortlink.store.lsm.LsmLinkStore;
+import com.solventum.shortlink.store.lsm.LsmTree;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JournalingLinkStore.
+ *
+ * Tests that a restarted leader keeps its followers in step with what it
+ * still holds: a store that does not persist has its old journal cleared,
+ * a persistent one keeps it.
+ */
+class JournalingLinkStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRestartOverVolatileStoreClearsJournaledLinks() throws IOException {
+        // Given - A leader run on the heap that journaled a link
+        Path journalPath = directory.resolve("mappings.journal");
+        try (JournalingLinkStore leader = new JournalingLinkStore(new InMemoryLinkStore(), journalPath)) {
+            leader.put("b", "https://example.com/old");
+        }
+
+        // When - The leader restarts, empty, and hands out the same code again
+        try (JournalingLinkStore leader = new JournalingLinkStore(new InMemoryLinkStore(), journalPath)) {
+            leader.put("c", "https://example.com/new");
+
+            // Then - A follower replaying the whole journal holds what the leader holds
+            InMemoryLinkStore follower = replay(leader);
+            assertNull(follower.get("b"));
+            assertEquals("https://example.com/new", follower.get("c"));
+            assertEquals(1, follower.size());
+        }
+    }
+
+    @Test
+    void testRestartOverPersistentStoreKeepsJournal() throws IOException {
+        // Given
+        Path journalPath = directory.resolve("mappings.journal");
+        Path storeDirectory = directory.resolve("links");
+        try (JournalingLinkStore leader = new JournalingLinkStore(openLsm(storeDirectory), journalPath)) {
+            leader.put("b", "https://example.com/kept");
+        }
+
+        // When
+        try (JournalingLinkStore leader = new JournalingLinkStore(openLsm(storeDirectory), journalPath)) {
+            // Then
+            assertEquals("https://example.com/kept", leader.get("b"));
+            assertEquals("https://example.com/kept", replay(leader).get("b"));
+        }
+    }
+
+    private static InMemoryLinkStore replay(JournalingLinkStore leader) throws IOException {
+        MappingJournal journal = leader.journal();
+        InMemoryLinkStore follower = new InMemoryLinkStore();
+        MappingJournal.apply(journal.read(journal.start(), Integer.MAX_VALUE - MappingJournal.MAX_RECORD_BYTES),
+            follower);
+        return follower;
+    }
+
+    private static LinkStore openLsm(Path storeDirectory) {
+        return new LsmLinkStore(new LsmTree(storeDirectory, 4096, 4));
+    }
+}
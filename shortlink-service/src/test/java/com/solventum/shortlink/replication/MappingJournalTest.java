@@ -0,0 +1,137 @@
+package com.solventum.shortlink.replication;
+
+import com.solventum.shortlink.store.InMemoryLinkStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MappingJournal.
+ *
+ * Tests that records read back in batches on record boundaries and apply to
+ * a store, that a torn tail is cut off on reopening, and that readers can
+ * wait for new records.
+ */
+class MappingJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testBatchesApplyToStore() throws IOException {
+        try (MappingJournal journal = MappingJournal.open(directory.resolve("links.journal"))) {
+            // Given
+            for (int i = 0; i < 100; i++) {
+                journal.appendPut("c" + i, "https://example.com/" + i);
+            }
+            journal.appendRemove("c7");
+
+            // When - Read in small batches
+            InMemoryLinkStore store = new InMemoryLinkStore();
+            long offset = journal.start();
+            int batches = 0;
+            while (offset < journal.end()) {
+                byte[] records = journal.read(offset, 200);
+                assertTrue(records.length > 0);
+                MappingJournal.apply(records, store);
+                offset += records.length;
+                batches++;
+            }
+
+            // Then
+            assertTrue(batches > 1);
+            assertEquals(journal.end(), offset);
+            assertEquals(99, store.size());
+            assertEquals("https://example.com/42", store.get("c42"));
+            assertNull(store.get("c7"));
+            assertEquals(0, journal.read(journal.end(), 200).length);
+            assertThrows(IllegalArgumentException.class, () -> journal.read(journal.end() + 1, 200));
+        }
+    }
+
+    @Test
+    void testOversizedRecordIsStillReturned() throws IOException {
+        try (MappingJournal journal = MappingJournal.open(directory.resolve("links.journal"))) {
+            journal.appendPut("a", "https://example.com/" + "x".repeat(1000));
+            journal.appendClear();
+
+            byte[] first = journal.read(journal.start(), 10);
+            InMemoryLinkStore store = new InMemoryLinkStore();
+
+            assertEquals(1, MappingJournal.apply(first, store));
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    void testReopeningCutsTornTail() throws IOException {
+        // Given - A journal whose last record was only partly written
+        Path path = directory.resolve("links.journal");
+        long intactEnd;
+        long journalId;
+        try (MappingJournal journal = MappingJournal.open(path)) {
+            journal.appendPut("a", "https://example.com/a");
+            intactEnd = journal.end();
+            journalId = journal.journalId();
+            journal.appendPut("b", "https://example.com/b");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(path) - 3);
+        }
+
+        // When
+        try (MappingJournal journal = MappingJournal.open(path)) {
+            // Then
+            assertEquals(intactEnd, journal.end());
+            assertEquals(journalId, journal.journalId());
+            journal.appendPut("c", "https://example.com/c");
+            InMemoryLinkStore store = new InMemoryLinkStore();
+            MappingJournal.apply(journal.read(journal.start(), 1 << 20), store);
+            assertEquals("https://example.com/a", store.get("a"));
+            assertNull(store.get("b"));
+            assertEquals("https://example.com/c", store.get("c"));
+        }
+    }
+
+    @Test
+    void testApplyRejectsCorruptRecord() throws IOException {
+        try (MappingJournal journal = MappingJournal.open(directory.resolve("links.journal"))) {
+            journal.appendPut("a", "https://example.com/a");
+            byte[] records = journal.read(journal.start(), 1 << 20);
+            records[records.length - 1] ^= 1;
+
+            assertThrows(IOException.class, () -> MappingJournal.apply(records, new InMemoryLinkStore()));
+            assertThrows(IOException.class, () -> MappingJournal.apply(
+                ByteBuffer.allocate(6).putInt(100).array(), new InMemoryLinkStore()));
+        }
+    }
+
+    @Test
+    void testAwaitWakesOnAppend() throws Exception {
+        try (MappingJournal journal = MappingJournal.open(directory.resolve("links.journal"))) {
+            long end = journal.end();
+            assertFalse(journal.await(end, 10));
+
+            CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return journal.await(end, 10_000);
+                } catch (InterruptedException e) {
+                    return false;
+                }
+            });
+            Thread.sleep(50);
+            journal.appendPut("a", "https://example.com/a");
+
+            assertTrue(waiter.get());
+        }
+    }
+}
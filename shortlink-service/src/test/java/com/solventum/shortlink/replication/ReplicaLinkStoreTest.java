@@ -0,0 +1,144 @@
+package com.solventum.shortlink.replication;
+
+import com.solventum.shortlink.ShortlinkApplication;
+import com.solventum.shortlink.service.UrlShorteningService;
+import com.solventum.shortlink.store.InMemoryLinkStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for ReplicaLinkStore.
+ *
+ * Starts a leader on localhost and tests that followers catch up with its
+ * journal in batches, replicate removals, report their lag, and reject
+ * writes, both as a store and as a follower node behind the REST API.
+ */
+class ReplicaLinkStoreTest {
+
+    @TempDir
+    static Path directory;
+
+    private static ConfigurableApplicationContext leader;
+    private static String leaderUrl;
+
+    private final TestRestTemplate restTemplate = new TestRestTemplate();
+
+    @BeforeAll
+    static void startLeader() {
+        leader = new SpringApplicationBuilder(ShortlinkApplication.class).run(
+            "--server.port=0",
+            "--app.replication.role=leader",
+            "--app.replication.journal-path=" + directory.resolve("mappings.journal"),
+            "--logging.level.com.solventum.shortlink=INFO");
+        leaderUrl = "http://localhost:" + leader.getEnvironment().getProperty("local.server.port");
+    }
+
+    @AfterAll
+    static void stopLeader() {
+        leader.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        leader.getBean(UrlShorteningService.class).clearMappings();
+    }
+
+    @Test
+    void testFollowerCatchesUpAndReplicatesRemovals() {
+        // Given
+        UrlShorteningService service = leader.getBean(UrlShorteningService.class);
+        List<String> shortUrls = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            shortUrls.add(service.encodeUrl("https://example.com/replicated/" + i));
+        }
+
+        // When - Small batches force many polls
+        try (ReplicaLinkStore follower = new ReplicaLinkStore(new InMemoryLinkStore(), leaderUrl, 512, 100)) {
+            awaitTrue(() -> follower.size() == 200 && follower.getLagBytes() == 0);
+
+            // Then
+            String code = shortUrls.get(17).substring(shortUrls.get(17).lastIndexOf('/') + 1);
+            assertEquals("https://example.com/replicated/17", follower.get(code));
+            assertTrue(follower.getAppliedRecords() >= 200);
+            assertTrue(follower.getMillisSinceContact() >= 0);
+            assertNull(follower.findCode("https://example.com/replicated/17"));
+            assertThrows(UnsupportedOperationException.class, () -> follower.put("x", "https://example.com/"));
+            assertThrows(UnsupportedOperationException.class, () -> follower.remove(code));
+
+            // And new writes and removals flow through the open poll
+            String added = service.encodeUrl("https://example.com/replicated/late");
+            awaitTrue(() -> "https://example.com/replicated/late".equals(
+                follower.get(added.substring(added.lastIndexOf('/') + 1))));
+            service.clearMappings();
+            awaitTrue(() -> follower.size() == 0);
+        }
+    }
+
+    @Test
+    void testFollowerNodeServesDecodesOnly() {
+        // Given
+        try (ConfigurableApplicationContext followerNode = new SpringApplicationBuilder(ShortlinkApplication.class).run(
+                "--server.port=0",
+                "--app.replication.role=follower",
+                "--app.replication.leader-url=" + leaderUrl,
+                "--app.replication.poll-wait-ms=100",
+                "--logging.level.com.solventum.shortlink=INFO")) {
+            String followerApi = "http://localhost:" + followerNode.getEnvironment().getProperty("local.server.port") + "/api";
+
+            // When
+            ResponseEntity<Map> encoded = restTemplate.postForEntity(leaderUrl + "/api/encode",
+                Map.of("url", "https://example.com/follower"), Map.class);
+            String shortUrl = (String) encoded.getBody().get("shortUrl");
+
+            // Then
+            awaitTrue(() -> restTemplate.postForEntity(followerApi + "/decode", Map.of("shortUrl", shortUrl), Map.class)
+                .getStatusCode() == HttpStatus.OK);
+            assertEquals(HttpStatus.METHOD_NOT_ALLOWED, restTemplate.postForEntity(followerApi + "/encode",
+                Map.of("url", "https://example.com/other"), Map.class).getStatusCode());
+            Map<?, ?> status = restTemplate.getForObject(followerApi + "/replication/status", Map.class);
+            assertEquals("follower", status.get("role"));
+            assertEquals(leader.getBean(JournalingLinkStore.class).journal().end(),
+                ((Number) status.get("leaderEndOffset")).longValue());
+            assertEquals(HttpStatus.NOT_FOUND,
+                restTemplate.getForEntity(followerApi + "/replication/journal", byte[].class).getStatusCode());
+        }
+    }
+
+    @Test
+    void testStaleJournalIdIsRejected() {
+        ResponseEntity<byte[]> response = restTemplate.getForEntity(
+            leaderUrl + JournalBatches.PATH + "?from=0&journalId=stale", byte[].class);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getHeaders().getFirst(JournalBatches.JOURNAL_ID_HEADER));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met in time");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+}
@@ -1,9 +1,26 @@
 package com.solventum.shortlink.service;
 
+import com.solventum.shortlink.alias.AliasTakenException;
+import com.solventum.shortlink.cluster.ClusterTopology;
+import com.solventum.shortlink.id.SequentialIdGenerator;
+import com.solventum.shortlink.stats.HotLinkTracker;
+import com.solventum.shortlink.store.InMemoryLinkStore;
+import com.solventum.shortlink.util.Base62;
+import com.solventum.shortlink.util.ShortCodeCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -97,7 +114,8 @@ class UrlShorteningServiceTest {
             "www.example.com", // Missing protocol
             "https://", // Incomplete
             "https://domain", // Missing TLD
-            "ftp://example.com" // Wrong protocol
+            "ftp://example.com", // Wrong protocol
+            "https://example.com/with space" // Whitespace inside the URL
         };
         
         for (String invalidUrl : invalidUrls) {
@@ -178,6 +196,33 @@ class UrlShorteningServiceTest {
         assertEquals(shortUrl1, shortUrl2);
     }
     
+    @Test
+    void testEquivalentUrlsShareShortUrl() {
+        // Given
+        String canonical = "https://example.com/path";
+        
+        // When
+        String shortUrl1 = urlShorteningService.encodeUrl(canonical);
+        String shortUrl2 = urlShorteningService.encodeUrl("HTTPS://Example.com:443/path#fragment");
+        
+        // Then
+        assertEquals(shortUrl1, shortUrl2);
+        assertEquals(canonical, urlShorteningService.decodeUrl(shortUrl2));
+        assertEquals(1, urlShorteningService.getUrlMappingSize());
+    }
+    
+    @Test
+    void testEncodeIpv6Url() {
+        // Given
+        String longUrl = "http://[2001:db8::1]:8080/resource";
+        
+        // When
+        String shortUrl = urlShorteningService.encodeUrl(longUrl);
+        
+        // Then
+        assertEquals(longUrl, urlShorteningService.decodeUrl(shortUrl));
+    }
+    
     @Test
     void testDecodeWithDifferentFormats() {
         // Given
@@ -306,6 +351,46 @@ class UrlShorteningServiceTest {
         assertEquals(numThreads * urlsPerThread, urlShorteningService.getUrlMappingSize());
     }
     
+    @Test
+    void testPipelineDeduplicatesConcurrentEncodes() throws InterruptedException {
+        // Given - Every thread encoding the same URLs through the single-writer pipeline
+        ReflectionTestUtils.setField(urlShorteningService, "pipelineEnabled", true);
+        ReflectionTestUtils.setField(urlShorteningService, "pipelineRingSize", 8);
+        int numThreads = 8;
+        int urls = 50;
+        String[][] shortUrls = new String[numThreads][urls];
+        Thread[] threads = new Thread[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            final int threadId = i;
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < urls; j++) {
+                    shortUrls[threadId][j] = urlShorteningService.encodeUrl("https://example.com/shared/" + j);
+                }
+            });
+        }
+        
+        // When
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        // Then - One link per URL, which every thread got
+        assertEquals(urls, urlShorteningService.getUrlMappingSize());
+        for (int j = 0; j < urls; j++) {
+            assertEquals("https://example.com/shared/" + j, urlShorteningService.decodeUrl(shortUrls[0][j]));
+            for (int i = 1; i < numThreads; i++) {
+                assertEquals(shortUrls[0][j], shortUrls[i][j]);
+            }
+        }
+        
+        // And - Validation still happens on the request thread
+        assertThrows(IllegalArgumentException.class, () -> urlShorteningService.encodeUrl("not a url"));
+        urlShorteningService.shutdown();
+    }
+    
     @Test
     void testLongUrlSupport() {
         // Test encoding and decoding of very long URLs
@@ -326,4 +411,297 @@ class UrlShorteningServiceTest {
         assertEquals(longUrl, decodedUrl);
         assertTrue(shortUrl.length() < longUrl.length());
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testTopLinksFollowDecodeTraffic() {
+        // Given
+        String hotShortUrl = urlShorteningService.encodeUrl("https://example.com/hot");
+        String coldShortUrl = urlShorteningService.encodeUrl("https://example.com/cold");
+        
+        // When
+        for (int i = 0; i < 5; i++) {
+            urlShorteningService.decodeUrl(hotShortUrl);
+        }
+        urlShorteningService.decodeUrl(coldShortUrl);
+        
+        // Then
+        java.util.List<UrlShorteningService.HotLink> top = urlShorteningService.getTopLinks(10);
+        assertEquals(2, top.size());
+        assertEquals(hotShortUrl, top.get(0).getShortUrl());
+        assertEquals("https://example.com/hot", top.get(0).getOriginalUrl());
+        assertEquals(5, top.get(0).getEstimatedHits());
+        assertEquals(1, urlShorteningService.getTopLinks(1).size());
+    }
+    
+    @Test
+    void testTopLinksSkipClearedMappings() {
+        // Given
+        String shortUrl = urlShorteningService.encodeUrl("https://example.com/hot");
+        urlShorteningService.decodeUrl(shortUrl);
+        
+        // When
+        urlShorteningService.clearMappings();
+        
+        // Then
+        assertTrue(urlShorteningService.getTopLinks(10).isEmpty());
+    }
+    
+    @Test
+    void testExpiringLinkDecodesUntilItExpires() throws InterruptedException {
+        // Given - A fast wheel so the test does not wait on the production tick
+        ReflectionTestUtils.setField(urlShorteningService, "expiryTickMs", 10L);
+        String longUrl = "https://example.com/flash-sale";
+        String shortUrl = urlShorteningService.encodeUrl(longUrl, System.currentTimeMillis() + 200);
+        
+        // When & Then - Live before expiry
+        assertEquals(longUrl, urlShorteningService.decodeUrl(shortUrl));
+        
+        // When & Then - A miss as soon as it has expired, then evicted by the wheel
+        Thread.sleep(250);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> urlShorteningService.decodeUrl(shortUrl));
+        assertEquals("Short URL not found", exception.getMessage());
+        
+        long deadline = System.currentTimeMillis() + 5000;
+        while (urlShorteningService.getExpiredCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, urlShorteningService.getExpiredCount());
+        assertTrue(urlShorteningService.getReclaimedBytes() > longUrl.length());
+        assertEquals(0, urlShorteningService.getUrlMappingSize());
+        urlShorteningService.shutdown();
+    }
+    
+    @Test
+    void testExpiringLinksAreNotDeduplicated() {
+        // Given
+        String longUrl = "https://example.com/campaign";
+        String permanent = urlShorteningService.encodeUrl(longUrl);
+        
+        // When
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        String first = urlShorteningService.encodeUrl(longUrl, expiresAt);
+        String second = urlShorteningService.encodeUrl(longUrl, expiresAt);
+        
+        // Then - Each expiring link is distinct and the permanent one is still reused
+        assertNotEquals(permanent, first);
+        assertNotEquals(first, second);
+        assertEquals(permanent, urlShorteningService.encodeUrl(longUrl));
+        urlShorteningService.shutdown();
+    }
+    
+    @Test
+    void testEncodeRejectsPastExpiration() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> urlShorteningService.encodeUrl("https://example.com", System.currentTimeMillis() - 1));
+        assertEquals("Expiration must be in the future", exception.getMessage());
+    }
+    
+    @Test
+    void testDeletedLinkStopsResolvingBeforeCompaction() {
+        // Given
+        String longUrl = "https://example.com/retired";
+        String shortUrl = urlShorteningService.encodeUrl(longUrl);
+        
+        // When
+        int deleted = urlShorteningService.deleteLinks(List.of(shortUrl, shortUrl, "zzzzzz"));
+        
+        // Then - Still stored, but unreachable and no longer reused
+        assertEquals(1, deleted);
+        assertEquals(1, urlShorteningService.getUrlMappingSize());
+        assertThrows(IllegalArgumentException.class, () -> urlShorteningService.decodeUrl(shortUrl));
+        String recreated = urlShorteningService.encodeUrl(longUrl);
+        assertNotEquals(shortUrl, recreated);
+        
+        // When - The compactor catches up
+        urlShorteningService.compactTombstones();
+        
+        // Then
+        assertEquals(1, urlShorteningService.getUrlMappingSize());
+        assertEquals(1, urlShorteningService.getDeletedCount());
+        assertEquals(0, urlShorteningService.getPendingTombstoneCount());
+        assertEquals(longUrl, urlShorteningService.decodeUrl(recreated));
+        urlShorteningService.shutdown();
+    }
+    
+    @Test
+    void testDeleteIdRange() {
+        // Given
+        String[] shortUrls = new String[10];
+        for (int i = 0; i < shortUrls.length; i++) {
+            shortUrls[i] = urlShorteningService.encodeUrl("https://example.com/batch/" + i);
+        }
+        
+        // When
+        urlShorteningService.deleteIdRange(shortUrls[3], shortUrls[6]);
+        
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> urlShorteningService.decodeUrl(shortUrls[3]));
+        assertThrows(IllegalArgumentException.class, () -> urlShorteningService.decodeUrl(shortUrls[6]));
+        assertEquals("https://example.com/batch/7", urlShorteningService.decodeUrl(shortUrls[7]));
+        urlShorteningService.compactTombstones();
+        assertEquals(6, urlShorteningService.getUrlMappingSize());
+        assertEquals(4, urlShorteningService.getDeletedCount());
+        assertThrows(IllegalArgumentException.class,
+            () -> urlShorteningService.deleteIdRange(shortUrls[6], shortUrls[3]));
+        urlShorteningService.shutdown();
+    }
+    
+    @Test
+    void testDeleteIdRangeSparesLinksCreatedAfterIt() {
+        // Given - Three links, and a range reaching well past the last of them
+        String[] shortUrls = new String[3];
+        for (int i = 0; i < shortUrls.length; i++) {
+            shortUrls[i] = urlShorteningService.encodeUrl("https://example.com/batch/" + i);
+        }
+        String beyond = "http://short.est/" + ShortCodeCodec.plain().encode(1_000_000);
+        
+        // When
+        urlShorteningService.deleteIdRange(shortUrls[1], beyond);
+        String created = urlShorteningService.encodeUrl("https://example.com/after");
+        
+        // Then - The new link is not covered by the range
+        assertEquals("https://example.com/batch/0", urlShorteningService.decodeUrl(shortUrls[0]));
+        assertThrows(IllegalArgumentException.class, () -> urlShorteningService.decodeUrl(shortUrls[2]));
+        assertEquals("https://example.com/after", urlShorteningService.decodeUrl(created));
+        urlShorteningService.shutdown();
+    }
+    
+    @Test
+    void testRetargetLinkAndAlias() {
+        // Given
+        String shortUrl = urlShorteningService.encodeUrl("https://example.com/old");
+        String alias = urlShorteningService.createAlias("spring-sale", "https://example.com/sale/2025");
+        
+        // When
+        urlShorteningService.retargetLink(shortUrl, "https://example.com/new");
+        urlShorteningService.retargetLink(alias, "https://example.com/sale/2026");
+        
+        // Then - The old URL no longer deduplicates to the retargeted code
+        assertEquals("https://example.com/new", urlShorteningService.decodeUrl(shortUrl));
+        assertEquals("https://example.com/sale/2026", urlShorteningService.decodeUrl(alias));
+        assertNotEquals(shortUrl, urlShorteningService.encodeUrl("https://example.com/old"));
+        assertThrows(IllegalArgumentException.class,
+            () -> urlShorteningService.retargetLink("http://short.est/zzzzzz", "https://example.com/new"));
+    }
+    
+    @Test
+    void testAliasMayLookLikeAGeneratedCode() {
+        // Given
+        String shortUrl = urlShorteningService.encodeUrl("https://example.com/issued");
+        String issued = shortUrl.substring(shortUrl.lastIndexOf('/') + 1);
+        String next = Base62.encode(Base62.decode(issued) + 1);
+        
+        // When
+        String alias = urlShorteningService.createAlias(next, "https://example.com/vanity");
+        String generated = urlShorteningService.encodeUrl("https://example.com/generated");
+        
+        // Then - The generator skips the code the alias took, and issued codes cannot become aliases
+        assertEquals("http://short.est/" + next, alias);
+        assertNotEquals(alias, generated);
+        assertEquals("https://example.com/vanity", urlShorteningService.decodeUrl(alias));
+        assertEquals("https://example.com/generated", urlShorteningService.decodeUrl(generated));
+        assertEquals("http://short.est/SpringSale",
+            urlShorteningService.createAlias("SpringSale", "https://example.com/sale"));
+        assertThrows(AliasTakenException.class,
+            () -> urlShorteningService.createAlias(issued, "https://example.com/hijack"));
+        assertEquals("https://example.com/issued", urlShorteningService.decodeUrl(shortUrl));
+    }
+    
+    @Test
+    void testAsyncCallsRunOnTheStorageExecutor() throws Exception {
+        // Given
+        ExecutorService storageExecutor = Executors.newSingleThreadExecutor();
+        AtomicInteger submitted = new AtomicInteger();
+        InMemoryLinkStore store = new InMemoryLinkStore();
+        UrlShorteningService service = new UrlShorteningService(new HotLinkTracker(), store,
+            new SequentialIdGenerator(store, ClusterTopology.standalone()), ShortCodeCodec.plain(), runnable -> {
+                submitted.incrementAndGet();
+                storageExecutor.execute(runnable);
+            });
+        ReflectionTestUtils.setField(service, "baseUrl", "http://short.est/");
+        
+        // When
+        String shortUrl = service.encodeAsync("https://example.com/async", 0).get();
+        CompletableFuture<String> decoded = service.decodeAsync(shortUrl);
+        CompletableFuture<String> missing = service.decodeAsync("http://short.est/zzzzzz");
+        
+        // Then - Results and failures arrive through the future, computed on the storage executor
+        assertEquals("https://example.com/async", decoded.get());
+        assertEquals(3, submitted.get());
+        ExecutionException failure = assertThrows(ExecutionException.class, missing::get);
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+        
+        // And - A saturated executor rejects the call itself
+        storageExecutor.shutdown();
+        assertThrows(RejectedExecutionException.class, () -> service.encodeAsync("https://example.com/late", 0));
+    }
+    
+    @Test
+    void testBatchEncodeAndDecode() throws Exception {
+        // Given
+        String existing = urlShorteningService.encodeUrl("https://example.com/batch/0");
+        
+        // When
+        List<String> shortUrls = urlShorteningService.encodeBatchAsync(Arrays.asList(
+            "https://example.com/batch/0", "https://example.com/batch/1", "https://example.com/batch/1")).get();
+        List<String> longUrls = urlShorteningService.decodeBatchAsync(Arrays.asList(
+            shortUrls.get(1), "http://short.est/zzzzzz", "", existing)).get();
+        
+        // Then - Batches deduplicate like single encodes, and decode misses are nulls
+        assertEquals(List.of(existing, shortUrls.get(1), shortUrls.get(1)), shortUrls);
+        assertEquals(Arrays.asList("https://example.com/batch/1", null, null, "https://example.com/batch/0"), longUrls);
+        
+        // And - An invalid URL fails the whole batch before anything is created
+        assertThrows(IllegalArgumentException.class, () -> urlShorteningService.encodeBatchAsync(
+            List.of("https://example.com/batch/2", "not a url")));
+        assertEquals(2, urlShorteningService.getUrlMappingSize());
+    }
+    
+    @Test
+    void testCoalescedDecodesShareOneStoreLookup() throws InterruptedException {
+        // Given - A store whose lookups block until released, as a slow disk would
+        AtomicInteger lookups = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryLinkStore store = new InMemoryLinkStore() {
+            @Override
+            public String get(String shortCode) {
+                lookups.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.get(shortCode);
+            }
+        };
+        UrlShorteningService service = new UrlShorteningService(new HotLinkTracker(), store);
+        ReflectionTestUtils.setField(service, "baseUrl", "http://short.est/");
+        ReflectionTestUtils.setField(service, "coalescing", true);
+        String shortUrl = service.encodeUrl("https://example.com/viral");
+        
+        // When - A burst of decodes for the same link
+        String[] decoded = new String[6];
+        Thread[] threads = new Thread[decoded.length];
+        for (int i = 0; i < threads.length; i++) {
+            int thread = i;
+            threads[i] = new Thread(() -> decoded[thread] = service.decodeUrl(shortUrl));
+            threads[i].start();
+        }
+        while (service.getCoalescedCount() < threads.length - 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        // Then - One lookup served them all, and every decode still counts as a hit
+        assertEquals(1, lookups.get());
+        for (String longUrl : decoded) {
+            assertEquals("https://example.com/viral", longUrl);
+        }
+        assertEquals(5.0 / 7, service.getCoalescingRate(), 1e-9);
+        assertEquals(shortUrl, service.getTopLinks(1).get(0).getShortUrl());
+    }
+}
@@ -0,0 +1,82 @@
+package com.solventum.shortlink.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CountMinSketch.
+ *
+ * Tests frequency estimation, decay and dimension handling.
+ */
+class CountMinSketchTest {
+
+    @Test
+    void testEstimateNeverUndercounts() {
+        // Given
+        CountMinSketch sketch = new CountMinSketch(4, 256);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("key" + (i % 50));
+        }
+
+        // Then
+        for (int i = 0; i < 50; i++) {
+            assertTrue(sketch.estimate("key" + i) >= 20, "Estimate should never be below the true count");
+        }
+    }
+
+    @Test
+    void testAddReturnsUpdatedEstimate() {
+        // Given
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+
+        // When & Then
+        assertEquals(1, sketch.add("abc"));
+        assertEquals(2, sketch.add("abc"));
+        assertEquals(2, sketch.estimate("abc"));
+        assertEquals(0, sketch.estimate("never-seen"));
+    }
+
+    @Test
+    void testDecayHalvesCounts() {
+        // Given
+        CountMinSketch sketch = new CountMinSketch(2, 64);
+        for (int i = 0; i < 10; i++) {
+            sketch.add("hot");
+        }
+
+        // When
+        sketch.decay();
+
+        // Then
+        assertEquals(5, sketch.estimate("hot"));
+    }
+
+    @Test
+    void testClearResetsCounts() {
+        // Given
+        CountMinSketch sketch = new CountMinSketch(2, 64);
+        sketch.add("hot");
+
+        // When
+        sketch.clear();
+
+        // Then
+        assertEquals(0, sketch.estimate("hot"));
+    }
+
+    @Test
+    void testWidthRoundedToPowerOfTwo() {
+        assertEquals(1024, new CountMinSketch(4, 1000).getWidth());
+        assertEquals(1024, new CountMinSketch(4, 1024).getWidth());
+        assertEquals(1, new CountMinSketch(4, 1).getWidth());
+    }
+
+    @Test
+    void testInvalidDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, 16));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(4, 0));
+    }
+}
@@ -0,0 +1,64 @@
+package com.solventum.shortlink.stats;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HotLinkSnapshot.
+ *
+ * Tests that saved links are read back hottest first, and that a missing,
+ * damaged or disabled snapshot loads as empty.
+ */
+class HotLinkSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSavedLinksAreLoadedHottestFirst() {
+        // Given
+        HotLinkTracker tracker = new HotLinkTracker(10, 4, 1024);
+        for (int i = 0; i < 3; i++) {
+            tracker.record("warm");
+        }
+        for (int i = 0; i < 7; i++) {
+            tracker.record("hot");
+        }
+        tracker.record("team-x/cold");
+        Path file = directory.resolve("snapshots/hot-links.snapshot");
+
+        // When
+        int saved = new HotLinkSnapshot(tracker, file).save();
+        List<HotLinkTracker.HotLink> loaded = new HotLinkSnapshot(new HotLinkTracker(), file).load();
+
+        // Then
+        assertEquals(3, saved);
+        assertEquals(List.of("hot", "warm", "team-x/cold"),
+            loaded.stream().map(HotLinkTracker.HotLink::getShortCode).toList());
+        assertEquals(7, loaded.get(0).getEstimatedHits());
+    }
+
+    @Test
+    void testMissingDamagedOrDisabledSnapshotLoadsEmpty() throws IOException {
+        // Given
+        HotLinkTracker tracker = new HotLinkTracker();
+        tracker.record("abc");
+        Path missing = directory.resolve("missing.snapshot");
+        Path damaged = Files.writeString(directory.resolve("damaged.snapshot"), "x abc\n12\n5 def\n");
+
+        // When / Then
+        assertTrue(new HotLinkSnapshot(tracker, missing).load().isEmpty());
+        assertEquals(List.of("def"),
+            new HotLinkSnapshot(tracker, damaged).load().stream().map(HotLinkTracker.HotLink::getShortCode).toList());
+        HotLinkSnapshot disabled = new HotLinkSnapshot(tracker, null);
+        assertEquals(0, disabled.save());
+        assertTrue(disabled.load().isEmpty());
+    }
+}
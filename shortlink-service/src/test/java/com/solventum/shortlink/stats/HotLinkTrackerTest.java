@@ -0,0 +1,145 @@
+package com.solventum.shortlink.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HotLinkTracker.
+ *
+ * Tests top-K ranking, bounded capacity, decay and concurrent updates.
+ */
+class HotLinkTrackerTest {
+
+    @Test
+    void testTopKOrderedByHits() {
+        // Given
+        HotLinkTracker tracker = new HotLinkTracker(10, 4, 1024);
+
+        // When
+        record(tracker, "a", 5);
+        record(tracker, "b", 20);
+        record(tracker, "c", 10);
+
+        // Then
+        List<HotLinkTracker.HotLink> top = tracker.topK(3);
+        assertEquals(3, top.size());
+        assertEquals("b", top.get(0).getShortCode());
+        assertEquals("c", top.get(1).getShortCode());
+        assertEquals("a", top.get(2).getShortCode());
+        assertEquals(20, top.get(0).getEstimatedHits());
+    }
+
+    @Test
+    void testCapacityIsBounded() {
+        // Given
+        HotLinkTracker tracker = new HotLinkTracker(5, 4, 4096);
+
+        // When - Many distinct cold keys
+        for (int i = 0; i < 1000; i++) {
+            tracker.record("cold" + i);
+        }
+
+        // Then
+        assertTrue(tracker.topK(Integer.MAX_VALUE).size() <= 5);
+    }
+
+    @Test
+    void testHeavyHitterDisplacesColdKeys() {
+        // Given - Capacity filled with cold keys
+        HotLinkTracker tracker = new HotLinkTracker(3, 4, 4096);
+        for (int i = 0; i < 3; i++) {
+            tracker.record("cold" + i);
+        }
+
+        // When
+        record(tracker, "viral", 50);
+
+        // Then
+        List<HotLinkTracker.HotLink> top = tracker.topK(1);
+        assertEquals("viral", top.get(0).getShortCode());
+        assertTrue(top.get(0).getEstimatedHits() >= 50);
+    }
+
+    @Test
+    void testLimitTruncatesResult() {
+        // Given
+        HotLinkTracker tracker = new HotLinkTracker(10, 4, 1024);
+        for (int i = 0; i < 5; i++) {
+            tracker.record("key" + i);
+        }
+
+        // When & Then
+        assertEquals(2, tracker.topK(2).size());
+    }
+
+    @Test
+    void testDecayAndClear() {
+        // Given
+        HotLinkTracker tracker = new HotLinkTracker(10, 4, 1024);
+        record(tracker, "hot", 8);
+
+        // When
+        tracker.decay();
+
+        // Then
+        assertEquals(4, tracker.topK(1).get(0).getEstimatedHits());
+
+        // When
+        tracker.clear();
+
+        // Then
+        assertTrue(tracker.topK(10).isEmpty());
+    }
+
+    @Test
+    void testForgetRemovesCode() {
+        // Given
+        HotLinkTracker tracker = new HotLinkTracker(10, 4, 1024);
+        tracker.record("gone");
+
+        // When
+        tracker.forget("gone");
+
+        // Then
+        assertTrue(tracker.topK(10).isEmpty());
+    }
+
+    @Test
+    void testConcurrentRecording() throws InterruptedException {
+        // Given
+        HotLinkTracker tracker = new HotLinkTracker(4, 4, 4096);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            final int threadId = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    tracker.record("hot");
+                    tracker.record("noise" + threadId + "-" + i);
+                }
+            });
+        }
+
+        // When
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        List<HotLinkTracker.HotLink> top = tracker.topK(4);
+        assertTrue(top.size() <= 4);
+        assertEquals("hot", top.get(0).getShortCode());
+        assertTrue(top.get(0).getEstimatedHits() >= 16000);
+    }
+
+    private static void record(HotLinkTracker tracker, String code, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(code);
+        }
+    }
+}
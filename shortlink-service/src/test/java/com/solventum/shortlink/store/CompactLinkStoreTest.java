@@ -0,0 +1,150 @@
+package com.solventum.shortlink.store;
+
+import com.solventum.shortlink.compress.SymbolTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompactLinkStore.
+ *
+ * Tests that mappings stored before and after training read back intact,
+ * that training shrinks stored values and that the fingerprint index
+ * supports reuse and removal.
+ */
+class CompactLinkStoreTest {
+
+    @Test
+    void testTrainsAfterSampleAndRecompresses() throws InterruptedException {
+        try (CompactLinkStore store = new CompactLinkStore(100)) {
+            // Given - Not trained until the sample is full
+            for (int i = 0; i < 99; i++) {
+                store.put("c" + i, url(i));
+            }
+            assertFalse(store.isTrained());
+            assertTrue(store.getCompressionRatio() < 1);
+
+            // When
+            for (int i = 99; i < 500; i++) {
+                store.put("c" + i, url(i));
+            }
+
+            // Then - Both sampled and later mappings are compressed and intact
+            assertTrue(store.awaitTraining(10, TimeUnit.SECONDS));
+            assertTrue(store.getCompressionRatio() > 2, "ratio " + store.getCompressionRatio());
+            for (int i = 0; i < 500; i++) {
+                assertEquals(url(i), store.get("c" + i));
+            }
+        }
+    }
+
+    @Test
+    void testValuesStoredDuringTrainingAreReadable() throws InterruptedException {
+        try (CompactLinkStore store = new CompactLinkStore(50)) {
+            // Given - Writes keep arriving while the table trains in the background
+            for (int i = 0; i < 2000; i++) {
+                store.put("c" + i, url(i));
+                assertEquals(url(i), store.get("c" + i));
+            }
+
+            // When
+            boolean trained = store.awaitTraining(10, TimeUnit.SECONDS);
+
+            // Then - Every value is intact and compressed
+            assertTrue(trained);
+            for (int i = 0; i < 2000; i++) {
+                assertEquals(url(i), store.get("c" + i));
+            }
+            assertTrue(store.getCompressionRatio() > 2, "ratio " + store.getCompressionRatio());
+        }
+    }
+
+    @Test
+    void testReverseIndex() {
+        try (CompactLinkStore store = new CompactLinkStore(SymbolTable.empty())) {
+            // Given
+            store.put("b", url(1));
+            store.index(url(1), "b");
+            store.put("c", url(2));
+
+            // Then
+            assertEquals("b", store.findCode(url(1)));
+            assertNull(store.findCode(url(2)));
+
+            // When & Then - Removal drops the reverse entry
+            assertEquals(url(1), store.remove("b"));
+            assertNull(store.findCode(url(1)));
+            assertNull(store.get("b"));
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    void testReplaceDropsOldReverseEntry() {
+        try (CompactLinkStore store = new CompactLinkStore(SymbolTable.empty())) {
+            // Given
+            store.put("b", url(1));
+            store.index(url(1), "b");
+
+            // When
+            assertEquals(url(1), store.replace("b", url(2)));
+
+            // Then
+            assertEquals(url(2), store.get("b"));
+            assertNull(store.findCode(url(1)));
+            assertEquals(1, store.size());
+            assertNull(store.replace("c", url(3)));
+            assertNull(store.get("c"));
+        }
+    }
+
+    @Test
+    void testLoadTrainsAndCompressesTheNewGeneration() throws InterruptedException {
+        try (CompactLinkStore store = new CompactLinkStore(10)) {
+            // Given
+            store.put("old", url(0));
+
+            // When - Training completes partway through the dataset
+            store.load(sink -> {
+                for (int i = 1; i <= 50; i++) {
+                    sink.accept("c" + i, url(i));
+                }
+            });
+
+            // Then
+            assertNull(store.get("old"));
+            assertEquals(50, store.size());
+            assertTrue(store.awaitTraining(10, TimeUnit.SECONDS));
+            assertTrue(store.getCompressionRatio() > 1);
+            assertEquals("c7", store.findCode(url(7)));
+            assertEquals(url(50), store.get("c50"));
+        }
+    }
+
+    @Test
+    void testForEachAndClear() {
+        try (CompactLinkStore store = new CompactLinkStore(10)) {
+            for (int i = 0; i < 50; i++) {
+                store.put("c" + i, url(i));
+            }
+
+            Map<String, String> visited = new HashMap<>();
+            store.forEach(visited::put);
+            assertEquals(50, visited.size());
+            assertEquals(url(42), visited.get("c42"));
+
+            store.clear();
+            assertEquals(0, store.size());
+            assertNull(store.get("c1"));
+            assertEquals(1, store.getCompressionRatio());
+        }
+    }
+
+    private static String url(int i) {
+        return "https://shop.example.com/products/item-" + i + "?utm_source=newsletter&utm_medium=email";
+    }
+}
@@ -0,0 +1,105 @@
+package com.solventum.shortlink.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DiskLinkStore.
+ *
+ * Tests round-tripping URLs through the spill file and index maintenance.
+ */
+class DiskLinkStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private DiskLinkStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new DiskLinkStore(directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void testPutAndGet() {
+        // Given
+        store.put("a", "https://example.com/a");
+        store.put("b", "https://example.com/ünïcode");
+
+        // Then
+        assertEquals("https://example.com/a", store.get("a"));
+        assertEquals("https://example.com/ünïcode", store.get("b"));
+        assertNull(store.get("missing"));
+        assertEquals(2, store.size());
+        assertTrue(store.getFileBytes() > 0);
+    }
+
+    @Test
+    void testRemove() {
+        // Given
+        store.put("a", "https://example.com/a");
+
+        // When & Then
+        assertEquals("https://example.com/a", store.remove("a"));
+        assertNull(store.remove("a"));
+        assertNull(store.get("a"));
+        assertFalse(store.contains("a"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testClearTruncatesFile() {
+        // Given
+        store.put("a", "https://example.com/a");
+
+        // When
+        store.clear();
+        store.put("b", "https://example.com/b");
+
+        // Then
+        assertNull(store.get("a"));
+        assertEquals("https://example.com/b", store.get("b"));
+        assertEquals("https://example.com/b".length(), store.getFileBytes());
+    }
+
+    @Test
+    void testPutRacingClearNeverIndexesStaleOffset() throws InterruptedException {
+        // Given - Writers spilling distinct codes while the store is cleared repeatedly
+        Thread[] writers = new Thread[4];
+        for (int w = 0; w < writers.length; w++) {
+            int writer = w;
+            writers[w] = new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    String shortCode = writer + "-" + i;
+                    store.put(shortCode, "https://example.com/" + shortCode);
+                }
+            });
+        }
+
+        // When
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        for (int i = 0; i < 200; i++) {
+            store.clear();
+            Thread.yield();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        // Then - Every code still indexed reads back its own URL
+        store.forEach((shortCode, longUrl) -> assertEquals("https://example.com/" + shortCode, longUrl));
+    }
+}
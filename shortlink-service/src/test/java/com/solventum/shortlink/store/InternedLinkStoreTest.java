@@ -0,0 +1,112 @@
+package com.solventum.shortlink.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InternedLinkStore.
+ *
+ * Tests that URLs read back intact whether or not their prefix was interned,
+ * and that the reverse index matches exactly, including once the prefix
+ * table is full.
+ */
+class InternedLinkStoreTest {
+
+    @Test
+    void testRoundTripsWithSharedPrefixes() {
+        try (InternedLinkStore store = new InternedLinkStore(100)) {
+            // Given
+            String[] urls = {
+                "https://shop.example.com/products/item-1?utm_source=newsletter",
+                "https://shop.example.com/products/item-2",
+                "https://shop.example.com/",
+                "https://shop.example.com",
+                "https://ünïcödé.example/日本語/ページ",
+                "ftp://files.example.org/pub/archive.tar.gz"
+            };
+
+            // When
+            for (int i = 0; i < urls.length; i++) {
+                store.put("c" + i, urls[i]);
+                store.index(urls[i], "c" + i);
+            }
+
+            // Then
+            for (int i = 0; i < urls.length; i++) {
+                assertEquals(urls[i], store.get("c" + i));
+                assertEquals("c" + i, store.findCode(urls[i]));
+            }
+            assertEquals(4, store.getPrefixCount());
+            assertNull(store.findCode("https://shop.example.com/products/item-3"));
+        }
+    }
+
+    @Test
+    void testReverseIndexWorksOnceTableIsFull() {
+        try (InternedLinkStore store = new InternedLinkStore(1)) {
+            // Given - The second host does not fit in the prefix table
+            store.put("a", "https://first.example/path/1");
+            store.index("https://first.example/path/1", "a");
+            store.put("b", "https://second.example/path/1");
+            store.index("https://second.example/path/1", "b");
+
+            // Then
+            assertEquals("https://second.example/path/1", store.get("b"));
+            assertEquals("b", store.findCode("https://second.example/path/1"));
+            assertEquals("a", store.findCode("https://first.example/path/1"));
+            assertEquals(1, store.getPrefixCount());
+        }
+    }
+
+    @Test
+    void testLoadReplacesEveryMapping() {
+        try (InternedLinkStore store = new InternedLinkStore(100)) {
+            // Given
+            store.put("old", "https://example.com/old");
+            store.index("https://example.com/old", "old");
+
+            // When - The same URL twice keeps its first code for reuse
+            store.load(sink -> {
+                sink.accept("a", "https://example.com/new");
+                sink.accept("b", "https://example.com/new");
+            });
+
+            // Then
+            assertNull(store.get("old"));
+            assertNull(store.findCode("https://example.com/old"));
+            assertEquals("https://example.com/new", store.get("b"));
+            assertEquals("a", store.findCode("https://example.com/new"));
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    void testRemoveAndForEach() {
+        try (InternedLinkStore store = new InternedLinkStore(100)) {
+            // Given
+            for (int i = 0; i < 20; i++) {
+                store.put("c" + i, "https://example.com/items/" + i);
+                store.index("https://example.com/items/" + i, "c" + i);
+            }
+
+            // When
+            assertEquals("https://example.com/items/3", store.remove("c3"));
+            assertNull(store.remove("c3"));
+
+            // Then
+            assertNull(store.findCode("https://example.com/items/3"));
+            Map<String, String> visited = new HashMap<>();
+            store.forEach(visited::put);
+            assertEquals(19, visited.size());
+            assertEquals("https://example.com/items/7", visited.get("c7"));
+
+            store.clear();
+            assertEquals(0, store.size());
+            assertNull(store.findCode("https://example.com/items/7"));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.solventum.shortlink.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TieredLinkStore.
+ *
+ * Tests that the heap tier stays within its capacity, that spilled mappings
+ * fault back in transparently and that both eviction policies keep hot links
+ * on the heap.
+ */
+class TieredLinkStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testHeapTierIsBoundedAndSpilledLinksFaultBackIn() {
+        try (TieredLinkStore store = new TieredLinkStore(10, EvictionPolicy.LRU, new DiskLinkStore(directory))) {
+            // Given
+            for (int i = 0; i < 100; i++) {
+                store.put("c" + i, "https://example.com/" + i);
+            }
+
+            // Then - Every mapping is reachable, but only the capacity is on the heap
+            assertEquals(100, store.size());
+            assertEquals(10, store.getHotSize());
+            assertEquals(90, store.getSpilledSize());
+            for (int i = 0; i < 100; i++) {
+                assertEquals("https://example.com/" + i, store.get("c" + i));
+            }
+            assertTrue(store.getFaultCount() >= 90);
+            assertTrue(store.getHotSize() <= 10);
+        }
+    }
+
+    @Test
+    void testRemoveFromEitherTier() {
+        try (TieredLinkStore store = new TieredLinkStore(1, EvictionPolicy.LRU, new DiskLinkStore(directory))) {
+            // Given - "a" is spilled when "b" arrives
+            store.put("a", "https://example.com/a");
+            store.put("b", "https://example.com/b");
+
+            // When & Then
+            assertEquals("https://example.com/a", store.remove("a"));
+            assertEquals("https://example.com/b", store.remove("b"));
+            assertNull(store.remove("a"));
+            assertNull(store.get("a"));
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    void testReplaceSurvivesSpillingAgain() {
+        try (TieredLinkStore store = new TieredLinkStore(1, EvictionPolicy.LRU, new DiskLinkStore(directory))) {
+            // Given - "a" is spilled when "b" arrives
+            store.put("a", "https://example.com/a");
+            store.index("https://example.com/a", "a");
+            store.put("b", "https://example.com/b");
+
+            // When - "a" is retargeted, then spilled again
+            String previous = store.replace("a", "https://example.com/new");
+            for (int i = 0; i < 10; i++) {
+                store.put("c" + i, "https://example.com/" + i);
+            }
+
+            // Then
+            assertEquals("https://example.com/a", previous);
+            assertEquals("https://example.com/new", store.get("a"));
+            assertNull(store.findCode("https://example.com/a"));
+            assertNull(store.replace("missing", "https://example.com/new"));
+            assertEquals(12, store.size());
+        }
+    }
+
+    @Test
+    void testReplaceNeverMissesWhileEvicting() throws InterruptedException {
+        try (TieredLinkStore store = new TieredLinkStore(4, EvictionPolicy.LRU, new DiskLinkStore(directory))) {
+            // Given
+            store.put("a", "https://example.com/0");
+            AtomicBoolean missed = new AtomicBoolean();
+            AtomicBoolean done = new AtomicBoolean();
+            Thread reader = new Thread(() -> {
+                while (!done.get()) {
+                    if (store.get("a") == null) {
+                        missed.set(true);
+                    }
+                }
+            });
+            reader.start();
+
+            // When - "a" is retargeted while other links keep pushing it out of the heap
+            for (int i = 1; i <= 5000; i++) {
+                store.replace("a", "https://example.com/" + i);
+                store.put("c" + i, "https://example.com/c" + i);
+            }
+            done.set(true);
+            reader.join();
+
+            // Then
+            assertFalse(missed.get());
+            assertEquals("https://example.com/5000", store.get("a"));
+        }
+    }
+
+    @Test
+    void testLruKeepsRecentlyReadLinks() {
+        try (TieredLinkStore store = new TieredLinkStore(3, EvictionPolicy.LRU, new DiskLinkStore(directory))) {
+            // Given
+            store.put("a", "https://example.com/a");
+            store.put("b", "https://example.com/b");
+            store.put("c", "https://example.com/c");
+
+            // When - Reading "a" keeps it hot while new links push others out
+            for (int i = 0; i < 20; i++) {
+                store.get("a");
+                store.put("n" + i, "https://example.com/n" + i);
+            }
+
+            // Then
+            long faultsBefore = store.getFaultCount();
+            assertEquals("https://example.com/a", store.get("a"));
+            assertEquals(faultsBefore, store.getFaultCount());
+        }
+    }
+
+    @Test
+    void testLfuKeepsFrequentlyReadLinks() {
+        try (TieredLinkStore store = new TieredLinkStore(3, EvictionPolicy.LFU, new DiskLinkStore(directory))) {
+            // Given - "a" is read far more often than anything else
+            store.put("a", "https://example.com/a");
+            for (int i = 0; i < 10; i++) {
+                store.get("a");
+            }
+
+            // When
+            for (int i = 0; i < 5; i++) {
+                store.put("n" + i, "https://example.com/n" + i);
+            }
+
+            // Then
+            long faultsBefore = store.getFaultCount();
+            assertEquals("https://example.com/a", store.get("a"));
+            assertEquals(faultsBefore, store.getFaultCount());
+        }
+    }
+
+    @Test
+    void testForEachVisitsBothTiersOnce() {
+        try (TieredLinkStore store = new TieredLinkStore(10, EvictionPolicy.LRU, new DiskLinkStore(directory))) {
+            // Given - Most links spilled, a few faulted back in
+            for (int i = 0; i < 50; i++) {
+                store.put("c" + i, "https://example.com/" + i);
+            }
+            store.get("c0");
+            store.get("c1");
+
+            // When
+            Map<String, String> visited = new HashMap<>();
+            store.forEach((shortCode, longUrl) -> assertNull(visited.put(shortCode, longUrl), shortCode));
+
+            // Then
+            assertEquals(50, visited.size());
+            assertEquals("https://example.com/0", visited.get("c0"));
+            assertEquals("https://example.com/49", visited.get("c49"));
+        }
+    }
+
+    @Test
+    void testClear() {
+        try (TieredLinkStore store = new TieredLinkStore(1, EvictionPolicy.LFU, new DiskLinkStore(directory))) {
+            store.put("a", "https://example.com/a");
+            store.put("b", "https://example.com/b");
+
+            store.clear();
+
+            assertEquals(0, store.size());
+            assertNull(store.get("a"));
+            assertNull(store.get("b"));
+        }
+    }
+
+    @Test
+    void testRejectsNonPositiveCapacity() {
+        DiskLinkStore disk = new DiskLinkStore(directory);
+        assertThrows(IllegalArgumentException.class, () -> new TieredLinkStore(0, EvictionPolicy.LRU, disk));
+        disk.close();
+    }
+}
@@ -0,0 +1,101 @@
+package com.solventum.shortlink.store.lsm;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GroupCommitter.
+ *
+ * Tests that concurrent writes share batches in submission order, that the
+ * keys of one write stay together, and that a failed batch fails each of
+ * its writers.
+ */
+class GroupCommitterTest {
+
+    @Test
+    void testConcurrentWritesShareBatches() throws InterruptedException {
+        // Given - A slow sync, during which other writers queue up
+        AtomicInteger batches = new AtomicInteger();
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        GroupCommitter committer = new GroupCommitter(64, 0, batch -> {
+            batches.incrementAndGet();
+            batch.forEach(write -> written.add(new String(write.keys[0])));
+            sleep(5);
+        }, "test-group-commit");
+
+        // When
+        int threads = 8;
+        int writesPerThread = 50;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            new Thread(() -> {
+                for (int i = 0; i < writesPerThread; i++) {
+                    committer.commit(new byte[][] {(thread + "-" + i).getBytes()}, new byte[][] {new byte[0]});
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        committer.close();
+
+        // Then - Every write made it, each thread's in order, in far fewer syncs than writes
+        assertEquals(threads * writesPerThread, written.size());
+        for (int t = 0; t < threads; t++) {
+            String prefix = t + "-";
+            List<String> own = written.stream().filter(key -> key.startsWith(prefix)).toList();
+            for (int i = 0; i < writesPerThread; i++) {
+                assertEquals(prefix + i, own.get(i));
+            }
+        }
+        assertTrue(batches.get() < threads * writesPerThread / 2, "Batches: " + batches.get());
+    }
+
+    @Test
+    void testKeysOfOneWriteShareABatch() {
+        // Given
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        GroupCommitter committer = new GroupCommitter(1, 0, batch -> {
+            batchSizes.add(batch.stream().mapToInt(write -> write.keys.length).sum());
+        }, "test-group-commit");
+
+        // When - A batch holds a single write
+        committer.commit(new byte[][] {{1}, {2}}, new byte[][] {{3}, {4}});
+        committer.close();
+
+        // Then - Both keys were still synced together
+        assertEquals(List.of(2), batchSizes);
+    }
+
+    @Test
+    void testFailedBatchFailsItsWriters() {
+        // Given
+        GroupCommitter committer = new GroupCommitter(8, 0, batch -> {
+            throw new IOException("Disk full");
+        }, "test-group-commit");
+
+        // When & Then
+        UncheckedIOException exception = assertThrows(UncheckedIOException.class,
+            () -> committer.commit(new byte[][] {{1}}, new byte[][] {{2}}));
+        assertEquals("Disk full", exception.getCause().getMessage());
+        committer.close();
+        assertThrows(IllegalStateException.class, () -> committer.commit(new byte[][] {{1}}, new byte[][] {{2}}));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
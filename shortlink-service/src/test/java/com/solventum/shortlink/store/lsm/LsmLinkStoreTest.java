@@ -0,0 +1,279 @@
+package com.solventum.shortlink.store.lsm;
+
+import com.solventum.shortlink.service.UrlShorteningService;
+import com.solventum.shortlink.stats.HotLinkTracker;
+import com.solventum.shortlink.store.InMemoryLinkStore;
+import com.solventum.shortlink.store.LinkStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LsmLinkStore.
+ *
+ * Tests forward and reverse lookups and that mappings, the id watermark and
+ * the mapping count survive reopening the store, the watermark even after
+ * the store was cleared, and that links with a TTL still expire after it.
+ */
+class LsmLinkStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testForwardAndReverseLookups() {
+        try (LsmLinkStore store = open()) {
+            // Given
+            store.put("b", "https://example.com/a");
+            store.index("https://example.com/a", "b");
+            store.put("c", "https://example.com/unindexed");
+
+            // Then
+            assertEquals("https://example.com/a", store.get("b"));
+            assertEquals("b", store.findCode("https://example.com/a"));
+            assertNull(store.findCode("https://example.com/unindexed"));
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    void testPutIndexedWritesBothMappings() {
+        // Given
+        try (LsmLinkStore store = open()) {
+            store.putIndexed("abc", "https://example.com/one");
+            store.putIndexed("abc", "https://example.com/one");
+        }
+
+        // When - The store is reopened
+        try (LsmLinkStore store = open()) {
+            // Then - The mapping survived, counted once, and the URL still finds its code
+            assertEquals("https://example.com/one", store.get("abc"));
+            assertEquals("abc", store.findCode("https://example.com/one"));
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    void testRemoveDropsReverseEntry() {
+        try (LsmLinkStore store = open()) {
+            // Given
+            store.put("b", "https://example.com/a");
+            store.index("https://example.com/a", "b");
+
+            // When & Then
+            assertEquals("https://example.com/a", store.remove("b"));
+            assertNull(store.remove("b"));
+            assertNull(store.get("b"));
+            assertNull(store.findCode("https://example.com/a"));
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    void testCountOnlyTracksDistinctMappings() throws InterruptedException {
+        try (LsmLinkStore store = open()) {
+            // Given - A mapping put twice, as a replayed journal does
+            store.put("b", "https://example.com/a");
+            store.put("b", "https://example.com/a");
+            assertEquals(1, store.size());
+
+            // When - Threads race to remove and retarget the same codes
+            for (int i = 0; i < 100; i++) {
+                store.put("code" + i, "https://example.com/" + i);
+            }
+            Thread[] threads = new Thread[4];
+            for (int t = 0; t < threads.length; t++) {
+                boolean retarget = t % 2 == 0;
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        if (retarget) {
+                            store.replace("code" + i, "https://example.com/retargeted");
+                        } else {
+                            store.remove("code" + i);
+                        }
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            // Then - Every code is gone once, and none came back
+            for (int i = 0; i < 100; i++) {
+                assertNull(store.get("code" + i));
+            }
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    void testStateSurvivesReopen() {
+        // Given
+        try (LsmLinkStore store = open()) {
+            for (int i = 0; i < 1000; i++) {
+                store.put("code" + i, "https://example.com/" + i);
+                store.index("https://example.com/" + i, "code" + i);
+            }
+            store.saveIdWatermark(2048);
+        }
+
+        // When
+        try (LsmLinkStore store = open()) {
+            // Then
+            assertEquals(1000, store.size());
+            assertEquals(2048, store.loadIdWatermark());
+            assertEquals("https://example.com/999", store.get("code999"));
+            assertEquals("code7", store.findCode("https://example.com/7"));
+        }
+    }
+
+    @Test
+    void testClearKeepsIdWatermarkAcrossRestart() {
+        // Given - A service that handed out ids, then had its mappings cleared
+        String firstShortUrl;
+        try (LsmLinkStore store = open()) {
+            UrlShorteningService service = newService(store);
+            firstShortUrl = service.encodeUrl("https://example.com/first");
+            service.clearMappings();
+            assertEquals(0, store.size());
+            assertTrue(store.loadIdWatermark() > 0);
+        }
+
+        // When - The node restarts before encoding again
+        try (LsmLinkStore store = open()) {
+            UrlShorteningService service = newService(store);
+            String secondShortUrl = service.encodeUrl("https://example.com/second");
+
+            // Then - The old code is not handed out again
+            assertTrue(store.loadIdWatermark() > 0);
+            assertEquals(1, store.size());
+            assertNotEquals(firstShortUrl, secondShortUrl);
+        }
+    }
+
+    @Test
+    void testServiceResumesAboveWatermarkAfterRestart() {
+        // Given - A service run that hands out some ids
+        String firstShortUrl;
+        try (LsmLinkStore store = open()) {
+            UrlShorteningService service = newService(store);
+            firstShortUrl = service.encodeUrl("https://example.com/first");
+        }
+
+        // When - A new service on the reopened store
+        try (LsmLinkStore store = open()) {
+            UrlShorteningService service = newService(store);
+            String secondShortUrl = service.encodeUrl("https://example.com/second");
+
+            // Then - Old links still resolve, dedup still works and codes are not reused
+            assertEquals("https://example.com/first", service.decodeUrl(firstShortUrl));
+            assertEquals(firstShortUrl, service.encodeUrl("https://example.com/first"));
+            assertNotEquals(firstShortUrl, secondShortUrl);
+        }
+    }
+
+    @Test
+    void testReloadedLinksAreNotReissuedAfterRestart() {
+        // Given - A link table exported by another node
+        UrlShorteningService exporter = newService(new InMemoryLinkStore());
+        List<String> exported = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            exported.add(exporter.encodeUrl("https://example.com/exported/" + i));
+        }
+        Path table = directory.resolve("links.table");
+        exporter.exportLinkTable(table);
+
+        // When - The table is reloaded, and the node restarts before encoding anything
+        Path storeDirectory = directory.resolve("store");
+        try (LsmLinkStore store = new LsmLinkStore(new LsmTree(storeDirectory, 4096, 4))) {
+            assertEquals(5, newService(store).reloadMappings(table));
+        }
+        try (LsmLinkStore store = new LsmLinkStore(new LsmTree(storeDirectory, 4096, 4))) {
+            UrlShorteningService service = newService(store);
+            String fresh = service.encodeUrl("https://example.com/fresh");
+
+            // Then - New codes do not take over the loaded ones
+            assertFalse(exported.contains(fresh));
+            for (int i = 0; i < 5; i++) {
+                assertEquals("https://example.com/exported/" + i, service.decodeUrl(exported.get(i)));
+            }
+        }
+    }
+
+    @Test
+    void testExpiringLinkStillExpiresAfterRestart() throws InterruptedException {
+        // Given - A link expiring shortly, and a permanent one
+        String expiring;
+        String permanent;
+        try (LsmLinkStore store = open()) {
+            UrlShorteningService service = newService(store);
+            expiring = service.encodeUrl("https://example.com/expiring", System.currentTimeMillis() + 200);
+            permanent = service.encodeUrl("https://example.com/permanent");
+            service.shutdown();
+        }
+
+        // When - The node restarts, and the expiration time passes
+        try (LsmLinkStore store = open()) {
+            UrlShorteningService service = newService(store);
+            assertEquals("https://example.com/expiring", service.decodeUrl(expiring));
+            Thread.sleep(400);
+
+            // Then - The link is a miss and evicted from the store, the permanent one is untouched
+            assertThrows(IllegalArgumentException.class, () -> service.decodeUrl(expiring));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (store.get(expiring.substring("http://short.est/".length())) != null
+                && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertNull(store.get(expiring.substring("http://short.est/".length())));
+            assertEquals("https://example.com/permanent", service.decodeUrl(permanent));
+            List<String> remaining = new ArrayList<>();
+            store.forEachExpiration((shortCode, expiresAt) -> remaining.add(shortCode));
+            assertTrue(remaining.isEmpty());
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void testAliasesSurviveRestart() {
+        // Given - Two aliases, one retargeted and one deleted
+        try (LsmLinkStore store = open()) {
+            UrlShorteningService service = newService(store);
+            service.createAlias("SpringSale", "https://example.com/sale/2025");
+            service.createAlias("banana", "https://example.com/fruit");
+            service.retargetLink("SpringSale", "https://example.com/sale/2026");
+            service.deleteLinks(List.of("banana"));
+            service.shutdown();
+        }
+
+        // When
+        try (LsmLinkStore store = open()) {
+            UrlShorteningService service = newService(store);
+
+            // Then
+            assertEquals(1, service.getAliasCount());
+            assertEquals("https://example.com/sale/2026", service.decodeUrl("http://short.est/SpringSale"));
+            assertThrows(IllegalArgumentException.class, () -> service.decodeUrl("http://short.est/banana"));
+            service.shutdown();
+        }
+    }
+
+    private LsmLinkStore open() {
+        return new LsmLinkStore(new LsmTree(directory, 4096, 4));
+    }
+
+    private static UrlShorteningService newService(LinkStore store) {
+        UrlShorteningService service = new UrlShorteningService(new HotLinkTracker(), store);
+        ReflectionTestUtils.setField(service, "baseUrl", "http://short.est/");
+        ReflectionTestUtils.setField(service, "expiryTickMs", 10L);
+        service.restore();
+        return service;
+    }
+}
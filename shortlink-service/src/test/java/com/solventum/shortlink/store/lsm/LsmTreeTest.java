@@ -0,0 +1,279 @@
+package com.solventum.shortlink.store.lsm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LsmTree.
+ *
+ * Uses tiny memtables so that flushes, compaction and recovery happen with
+ * a handful of keys.
+ */
+class LsmTreeTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testPutGetDelete() {
+        try (LsmTree tree = new LsmTree(directory, 1 << 20, 4)) {
+            // Given
+            tree.put(bytes("a"), bytes("1"));
+            tree.put(bytes("b"), bytes("2"));
+
+            // When
+            tree.put(bytes("a"), bytes("3"));
+            tree.delete(bytes("b"));
+
+            // Then
+            assertEquals("3", string(tree.get(bytes("a"))));
+            assertNull(tree.get(bytes("b")));
+            assertNull(tree.get(bytes("missing")));
+        }
+    }
+
+    @Test
+    void testReadsSpanFlushedTables() {
+        try (LsmTree tree = new LsmTree(directory, 512, 100)) {
+            // Given - Enough writes to flush several memtables
+            for (int i = 0; i < 200; i++) {
+                tree.put(bytes("key" + i), bytes("value" + i));
+            }
+            awaitCondition(() -> tree.getTableCount() > 1);
+
+            // Then
+            for (int i = 0; i < 200; i++) {
+                assertEquals("value" + i, string(tree.get(bytes("key" + i))));
+            }
+        }
+    }
+
+    @Test
+    void testDeleteShadowsOlderTables() {
+        try (LsmTree tree = new LsmTree(directory, 512, 100)) {
+            // Given - "victim" lands in an early table
+            tree.put(bytes("victim"), bytes("old"));
+            for (int i = 0; i < 100; i++) {
+                tree.put(bytes("filler" + i), bytes("x"));
+            }
+
+            // When - Deleted in a later memtable, which is flushed too
+            tree.delete(bytes("victim"));
+            for (int i = 100; i < 200; i++) {
+                tree.put(bytes("filler" + i), bytes("x"));
+            }
+            awaitCondition(() -> tree.getTableCount() > 2);
+
+            // Then
+            assertNull(tree.get(bytes("victim")));
+        }
+    }
+
+    @Test
+    void testCompactionMergesTables() {
+        try (LsmTree tree = new LsmTree(directory, 512, 2)) {
+            // Given - Overwrites and deletes spread across many flushes
+            Map<String, String> expected = new HashMap<>();
+            for (int i = 0; i < 500; i++) {
+                tree.put(bytes("key" + (i % 300)), bytes("value" + i));
+                expected.put("key" + (i % 300), "value" + i);
+                if (i % 7 == 0) {
+                    tree.delete(bytes("key" + (i / 2)));
+                    expected.remove("key" + (i / 2));
+                }
+            }
+
+            // When - Compaction keeps the table count logarithmic
+            awaitCondition(() -> tree.getTableCount() < 8);
+
+            // Then - The newest version of every key wins
+            for (int i = 0; i < 300; i++) {
+                assertEquals(expected.get("key" + i), string(tree.get(bytes("key" + i))), "key" + i);
+            }
+        }
+    }
+
+    @Test
+    void testRecoversFromTablesAndLog() {
+        // Given - Data in flushed tables and in the active memtable's log
+        try (LsmTree tree = new LsmTree(directory, 512, 4)) {
+            for (int i = 0; i < 100; i++) {
+                tree.put(bytes("key" + i), bytes("value" + i));
+            }
+            tree.delete(bytes("key5"));
+        }
+
+        // When
+        try (LsmTree tree = new LsmTree(directory, 512, 4)) {
+            // Then
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i == 5 ? null : "value" + i, string(tree.get(bytes("key" + i))));
+            }
+        }
+    }
+
+    @Test
+    void testGroupCommittedWritesAreVisibleAndRecovered() throws InterruptedException {
+        // Given - Concurrent writers sharing fsyncs, with memtables rotating mid-batch
+        try (LsmTree tree = new LsmTree(directory, 2048, 4, 16, 100)) {
+            Thread[] writers = new Thread[4];
+            for (int t = 0; t < writers.length; t++) {
+                int writer = t;
+                writers[t] = new Thread(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        String key = "key" + writer + "-" + i;
+                        tree.put(bytes(key), bytes("value" + i));
+                        // Then - A write is readable as soon as it returns
+                        assertEquals("value" + i, string(tree.get(bytes(key))));
+                    }
+                });
+                writers[t].start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        }
+
+        // When
+        try (LsmTree tree = new LsmTree(directory, 2048, 4)) {
+            // Then
+            for (int t = 0; t < 4; t++) {
+                for (int i = 0; i < 100; i++) {
+                    assertEquals("value" + i, string(tree.get(bytes("key" + t + "-" + i))));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRecoveryIgnoresTornLogTail() throws IOException {
+        // Given - Closing leaves the active memtable in its log; then a torn record is appended
+        try (LsmTree tree = new LsmTree(directory, 1 << 20, 4)) {
+            tree.put(bytes("a"), bytes("1"));
+            tree.put(bytes("b"), bytes("2"));
+        }
+        Path log;
+        try (Stream<Path> files = Files.list(directory)) {
+            log = files.filter(path -> path.getFileName().toString().startsWith("wal-")).findFirst().orElseThrow();
+        }
+        Files.write(log, new byte[] {0, 0, 0, 1, 0, 0}, StandardOpenOption.APPEND);
+
+        // When
+        try (LsmTree tree = new LsmTree(directory, 1 << 20, 4)) {
+            // Then - Intact records are recovered
+            assertEquals("1", string(tree.get(bytes("a"))));
+            assertEquals("2", string(tree.get(bytes("b"))));
+            assertEquals(1, tree.getTableCount());
+        }
+    }
+
+    @Test
+    void testScanVisitsLiveKeysWithPrefix() {
+        try (LsmTree tree = new LsmTree(directory, 512, 100)) {
+            // Given - Keys spread over flushed tables and the memtable, some deleted or overwritten
+            Map<String, String> expected = new TreeMap<>();
+            for (int i = 0; i < 200; i++) {
+                tree.put(bytes("p" + i), bytes("value" + i));
+                tree.put(bytes("q" + i), bytes("other"));
+                expected.put("p" + i, "value" + i);
+            }
+            for (int i = 0; i < 200; i += 10) {
+                tree.delete(bytes("p" + i));
+                expected.remove("p" + i);
+                tree.put(bytes("p" + (i + 1)), bytes("updated"));
+                expected.put("p" + (i + 1), "updated");
+            }
+            tree.put(bytes("o"), bytes("before"));
+            awaitCondition(() -> tree.getTableCount() > 1);
+
+            // When
+            Map<String, String> scanned = new LinkedHashMap<>();
+            tree.scan(bytes("p"), (key, value) -> scanned.put(string(key), string(value)));
+
+            // Then - Every live key once, newest value, in key order
+            assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(scanned.entrySet()));
+        }
+    }
+
+    @Test
+    void testPreTouchReadsEveryTable() throws IOException {
+        try (LsmTree tree = new LsmTree(directory, 512, 100)) {
+            // Given - Several flushed tables, and nothing left to flush
+            for (int i = 0; i < 200; i++) {
+                tree.put(bytes("key" + i), bytes("value" + i));
+            }
+            awaitCondition(() -> tree.getTableCount() > 1);
+        }
+        try (LsmTree tree = new LsmTree(directory, 512, 100)) {
+            long tableBytes;
+            try (var files = Files.list(directory)) {
+                tableBytes = files.filter(file -> file.toString().endsWith(".sst"))
+                    .mapToLong(file -> file.toFile().length())
+                    .sum();
+            }
+
+            // When
+            long touched = tree.preTouch();
+
+            // Then
+            assertTrue(tableBytes > 0);
+            assertEquals(tableBytes, touched);
+            assertEquals("value7", string(tree.get(bytes("key7"))));
+        }
+    }
+
+    @Test
+    void testClearRemovesEverything() {
+        try (LsmTree tree = new LsmTree(directory, 512, 4)) {
+            // Given
+            for (int i = 0; i < 100; i++) {
+                tree.put(bytes("key" + i), bytes("value" + i));
+            }
+
+            // When
+            tree.clear();
+            tree.put(bytes("fresh"), bytes("1"));
+
+            // Then
+            assertNull(tree.get(bytes("key1")));
+            assertEquals("1", string(tree.get(bytes("fresh"))));
+            assertEquals(0, tree.getTableCount());
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for background work");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+}
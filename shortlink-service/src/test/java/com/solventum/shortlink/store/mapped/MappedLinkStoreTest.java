@@ -0,0 +1,212 @@
+package com.solventum.shortlink.store.mapped;
+
+import com.solventum.shortlink.service.UrlShorteningService;
+import com.solventum.shortlink.stats.HotLinkTracker;
+import com.solventum.shortlink.store.InMemoryLinkStore;
+import com.solventum.shortlink.store.LinkStore;
+import com.solventum.shortlink.util.ShortCodeCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MappedLinkStore.
+ *
+ * Tests lookups by short code, that new table versions are swapped in, that
+ * writes are rejected and that a decode-only service serves what a writer
+ * exported.
+ */
+class MappedLinkStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testServesLinksByShortCode() throws IOException {
+        // Given
+        Path file = writeTable(Map.of(1L, "https://example.com/one", 62L, "https://example.com/ba"));
+
+        try (MappedLinkStore store = new MappedLinkStore(file, 0)) {
+            // Then
+            assertEquals("https://example.com/one", store.get("b"));
+            assertEquals("https://example.com/ba", store.get("ba"));
+            assertNull(store.get("c"));
+            assertNull(store.get("not-base62"));
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    void testStartsEmptyUntilTableAppears() throws IOException {
+        Path file = directory.resolve("links.table");
+        try (MappedLinkStore store = new MappedLinkStore(file, 0)) {
+            // Given - No table yet
+            assertNull(store.get("b"));
+            assertEquals(0, store.size());
+
+            // When
+            writeTable(Map.of(1L, "https://example.com/one"));
+
+            // Then
+            assertTrue(store.reload());
+            assertEquals("https://example.com/one", store.get("b"));
+        }
+    }
+
+    @Test
+    void testSwapsInNewVersion() throws IOException {
+        // Given
+        Path file = writeTable(Map.of(1L, "https://example.com/v1"));
+        try (MappedLinkStore store = new MappedLinkStore(file, 0)) {
+            assertFalse(store.reload());
+
+            // When - An exporter replaces the table
+            writeTable(Map.of(1L, "https://example.com/v1", 2L, "https://example.com/v2"));
+
+            // Then
+            assertTrue(store.reload());
+            assertEquals("https://example.com/v2", store.get("c"));
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    void testWatcherPicksUpNewVersion() throws IOException, InterruptedException {
+        Path file = writeTable(Map.of(1L, "https://example.com/v1"));
+        try (MappedLinkStore store = new MappedLinkStore(file, 10)) {
+            // When
+            writeTable(Map.of(2L, "https://example.com/v2"));
+
+            // Then
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (store.get("c") == null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals("https://example.com/v2", store.get("c"));
+            assertNull(store.get("b"));
+        }
+    }
+
+    @Test
+    void testKeepsPreviousVersionWhenNewOneIsCorrupt() throws IOException {
+        Path file = writeTable(Map.of(1L, "https://example.com/v1"));
+        try (MappedLinkStore store = new MappedLinkStore(file, 0)) {
+            // When - Replaced by a file that is not a table
+            Path corrupt = Files.write(directory.resolve("corrupt.table"), new byte[64]);
+            Files.move(corrupt, file, StandardCopyOption.REPLACE_EXISTING);
+
+            // Then
+            assertFalse(store.reload());
+            assertEquals("https://example.com/v1", store.get("b"));
+        }
+    }
+
+    @Test
+    void testRejectsWrites() throws IOException {
+        try (MappedLinkStore store = new MappedLinkStore(writeTable(Map.of()), 0)) {
+            assertThrows(UnsupportedOperationException.class, () -> store.put("b", "https://example.com"));
+            assertThrows(UnsupportedOperationException.class, () -> store.remove("b"));
+            assertThrows(UnsupportedOperationException.class, store::clear);
+            assertNull(store.findCode("https://example.com"));
+        }
+    }
+
+    @Test
+    void testReplicaDecodesLinksExportedByWriter() {
+        // Given - A writer node with permanent and expiring links
+        UrlShorteningService writer = newService(new InMemoryLinkStore());
+        Map<String, String> links = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            String longUrl = "https://example.com/" + i;
+            links.put(writer.encodeUrl(longUrl), longUrl);
+        }
+        String expiring = writer.encodeUrl("https://example.com/expiring", System.currentTimeMillis() + 60_000);
+
+        // When
+        Path file = directory.resolve("links.table");
+        assertEquals(100, writer.exportLinkTable(file));
+
+        // Then - The replica serves every permanent link and rejects encodes
+        try (MappedLinkStore store = new MappedLinkStore(file, 0)) {
+            UrlShorteningService replica = newService(store);
+            links.forEach((shortUrl, longUrl) -> assertEquals(longUrl, replica.decodeUrl(shortUrl)));
+            assertThrows(IllegalArgumentException.class, () -> replica.decodeUrl(expiring));
+            assertThrows(UnsupportedOperationException.class, () -> replica.encodeUrl("https://example.com/new"));
+            assertEquals(100, replica.getUrlMappingSize());
+        }
+        writer.shutdown();
+    }
+
+    @Test
+    void testLiveNodeReloadsExportedTable() {
+        // Given - A table exported by one node, and a node already holding other links
+        UrlShorteningService exporter = newService(new InMemoryLinkStore());
+        Map<String, String> links = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            String longUrl = "https://example.com/" + i;
+            links.put(exporter.encodeUrl(longUrl), longUrl);
+        }
+        Path file = directory.resolve("links.table");
+        exporter.exportLinkTable(file);
+        UrlShorteningService node = newService(new InMemoryLinkStore());
+        String replaced = node.encodeUrl("https://example.com/replaced");
+
+        // When
+        long loaded = node.reloadMappings(file);
+
+        // Then - Only the table's links remain, are reused, and new codes do not collide with them
+        assertEquals(50, loaded);
+        assertEquals(50, node.getUrlMappingSize());
+        links.forEach((shortUrl, longUrl) -> assertEquals(longUrl, node.decodeUrl(shortUrl)));
+        assertFalse(links.containsKey(node.encodeUrl("https://example.com/replaced")));
+        assertTrue(links.containsKey(node.encodeUrl("https://example.com/7")));
+        assertThrows(UnsupportedOperationException.class, node::reloadMappings);
+        exporter.shutdown();
+        node.shutdown();
+    }
+
+    @Test
+    void testServesScrambledCodes() throws IOException {
+        // Given
+        ShortCodeCodec codec = new ShortCodeCodec(42);
+        Path file = writeTable(Map.of(1L, "https://example.com/one", 62L, "https://example.com/ba"));
+
+        try (MappedLinkStore store = new MappedLinkStore(file, 0, codec)) {
+            // Then
+            assertEquals("https://example.com/one", store.get(codec.encode(1)));
+            assertEquals("https://example.com/ba", store.get(codec.encode(62)));
+            Map<String, String> links = new HashMap<>();
+            store.forEach(links::put);
+            assertEquals(Map.of(codec.encode(1), "https://example.com/one", codec.encode(62), "https://example.com/ba"),
+                links);
+        }
+    }
+
+    private Path writeTable(Map<Long, String> links) throws IOException {
+        Path file = directory.resolve("links.table");
+        long firstId = links.keySet().stream().mapToLong(Long::longValue).min().orElse(0);
+        long lastId = links.keySet().stream().mapToLong(Long::longValue).max().orElse(-1);
+        try (LinkTableWriter writer = new LinkTableWriter(file, firstId, lastId)) {
+            for (Map.Entry<Long, String> link : links.entrySet()) {
+                writer.add(link.getKey(), link.getValue());
+            }
+            writer.commit();
+        }
+        return file;
+    }
+
+    private static UrlShorteningService newService(LinkStore store) {
+        UrlShorteningService service = new UrlShorteningService(new HotLinkTracker(), store);
+        ReflectionTestUtils.setField(service, "baseUrl", "http://short.est/");
+        return service;
+    }
+}
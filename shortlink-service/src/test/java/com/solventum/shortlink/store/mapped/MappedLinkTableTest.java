@@ -0,0 +1,130 @@
+package com.solventum.shortlink.store.mapped;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MappedLinkTable and LinkTableWriter.
+ *
+ * Tests lookups by id, gaps in the id range, records spanning mapping chunks
+ * and that an uncommitted table never replaces the target.
+ */
+class MappedLinkTableTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testLooksUpLinksById() throws IOException {
+        // Given - Every third id in a range, written out of order
+        Path file = directory.resolve("links.table");
+        try (LinkTableWriter writer = new LinkTableWriter(file, 100, 399)) {
+            for (int id = 399; id >= 100; id -= 3) {
+                writer.add(id, "https://example.com/" + id);
+            }
+            writer.commit();
+        }
+
+        // When
+        MappedLinkTable table = MappedLinkTable.open(file);
+
+        // Then
+        assertEquals(100, table.linkCount());
+        for (int id = 100; id < 400; id++) {
+            assertEquals((399 - id) % 3 == 0 ? "https://example.com/" + id : null, table.get(id), "id " + id);
+        }
+        assertNull(table.get(99));
+        assertNull(table.get(400));
+    }
+
+    @Test
+    void testReadsRecordsAcrossChunkBoundaries() throws IOException {
+        // Given - URLs with multi-byte characters
+        Path file = directory.resolve("links.table");
+        try (LinkTableWriter writer = new LinkTableWriter(file, 0, 199)) {
+            for (int id = 0; id < 200; id++) {
+                writer.add(id, "https://example.com/café/" + "x".repeat(id));
+            }
+            writer.commit();
+        }
+
+        // When - Mapped in 256-byte chunks, so slots and records are spread over many mappings
+        MappedLinkTable table = MappedLinkTable.open(file, 8);
+
+        // Then
+        for (int id = 0; id < 200; id++) {
+            assertEquals("https://example.com/café/" + "x".repeat(id), table.get(id));
+        }
+    }
+
+    @Test
+    void testEmptyTable() throws IOException {
+        Path file = directory.resolve("links.table");
+        try (LinkTableWriter writer = new LinkTableWriter(file, 0, -1)) {
+            writer.commit();
+        }
+
+        MappedLinkTable table = MappedLinkTable.open(file);
+
+        assertEquals(0, table.linkCount());
+        assertNull(table.get(0));
+    }
+
+    @Test
+    void testUncommittedTableIsDiscarded() throws IOException {
+        // Given - A committed version
+        Path file = directory.resolve("links.table");
+        try (LinkTableWriter writer = new LinkTableWriter(file, 1, 1)) {
+            writer.add(1, "https://example.com/v1");
+            writer.commit();
+        }
+
+        // When - A second export is abandoned
+        try (LinkTableWriter writer = new LinkTableWriter(file, 1, 1)) {
+            writer.add(1, "https://example.com/v2");
+        }
+
+        // Then
+        assertEquals("https://example.com/v1", MappedLinkTable.open(file).get(1));
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testPreTouchLoadsTheWholeFile() throws IOException {
+        // Given
+        Path file = directory.resolve("links.table");
+        try (LinkTableWriter writer = new LinkTableWriter(file, 0, 999)) {
+            for (int id = 0; id < 1000; id++) {
+                writer.add(id, "https://example.com/" + id);
+            }
+            writer.commit();
+        }
+        MappedLinkTable table = MappedLinkTable.open(file, 12);
+
+        // When
+        long touched = table.preTouch();
+
+        // Then - Every chunk was loaded, and lookups are unaffected
+        assertEquals(Files.size(file), touched);
+        assertEquals("https://example.com/500", table.get(500));
+    }
+
+    @Test
+    void testRejectsIdsOutsideRangeAndForeignFiles() throws IOException {
+        Path file = directory.resolve("links.table");
+        try (LinkTableWriter writer = new LinkTableWriter(file, 10, 20)) {
+            assertThrows(IllegalArgumentException.class, () -> writer.add(21, "https://example.com"));
+        }
+
+        Path foreign = Files.write(directory.resolve("foreign.table"), new byte[64]);
+        assertThrows(IOException.class, () -> MappedLinkTable.open(foreign));
+    }
+}
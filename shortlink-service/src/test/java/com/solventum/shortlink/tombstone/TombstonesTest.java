@@ -0,0 +1,86 @@
+package com.solventum.shortlink.tombstone;
+
+import com.solventum.shortlink.store.InMemoryLinkStore;
+import com.solventum.shortlink.util.ShortCodeCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Tombstones and TombstoneCompactor.
+ */
+class TombstonesTest {
+
+    @Test
+    void testSingleCodesAndRanges() {
+        // Given
+        ShortCodeCodec codec = new ShortCodeCodec(42);
+        Tombstones tombstones = new Tombstones(codec);
+        assertTrue(tombstones.isEmpty());
+
+        // When
+        assertTrue(tombstones.add("abc"));
+        assertFalse(tombstones.add("abc"));
+        tombstones.addRange(100, 199);
+
+        // Then - Ranges follow the ids, not the scrambled codes
+        assertFalse(tombstones.isEmpty());
+        assertEquals(2, tombstones.size());
+        assertTrue(tombstones.contains("abc"));
+        assertTrue(tombstones.contains(codec.encode(100)));
+        assertTrue(tombstones.contains(codec.encode(199)));
+        assertFalse(tombstones.contains(codec.encode(99)));
+        assertFalse(tombstones.contains(codec.encode(200)));
+        assertFalse(tombstones.contains("spring-sale"));
+    }
+
+    @Test
+    void testCompactionReclaimsCodesAndRanges() {
+        // Given
+        ShortCodeCodec codec = ShortCodeCodec.plain();
+        InMemoryLinkStore store = new InMemoryLinkStore();
+        for (long id = 0; id < 20; id++) {
+            store.put(codec.encode(id), "https://example.com/" + id);
+        }
+        Tombstones tombstones = new Tombstones(codec);
+        tombstones.add(codec.encode(1));
+        tombstones.addRange(10, 14);
+        List<String> reclaimed = new ArrayList<>();
+        TombstoneCompactor compactor = new TombstoneCompactor(tombstones, store, shortCode -> {
+            reclaimed.add(shortCode);
+            store.remove(shortCode);
+        }, 60_000);
+
+        // When
+        compactor.compact();
+        compactor.shutdown();
+
+        // Then
+        assertEquals(6, reclaimed.size());
+        assertEquals(14, store.size());
+        assertNull(store.get(codec.encode(1)));
+        assertNull(store.get(codec.encode(12)));
+        assertNotNull(store.get(codec.encode(15)));
+        assertTrue(tombstones.isEmpty());
+    }
+
+    @Test
+    void testRangesAddedDuringCompactionAreKept() {
+        // Given
+        Tombstones tombstones = new Tombstones(ShortCodeCodec.plain());
+        tombstones.addRange(0, 9);
+        long[] compacted = tombstones.ranges();
+
+        // When
+        tombstones.addRange(20, 29);
+        tombstones.dropRanges(compacted);
+
+        // Then
+        assertEquals(1, tombstones.size());
+        assertFalse(tombstones.contains(ShortCodeCodec.plain().encode(5)));
+        assertTrue(tombstones.contains(ShortCodeCodec.plain().encode(25)));
+    }
+}
@@ -0,0 +1,42 @@
+package com.solventum.shortlink.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Base62.
+ *
+ * Tests the digit order, round trips across the id range and rejection of
+ * strings that are not canonical encodings.
+ */
+class Base62Test {
+
+    @Test
+    void testEncodesMostSignificantDigitFirst() {
+        assertEquals("a", Base62.encode(0));
+        assertEquals("b", Base62.encode(1));
+        assertEquals("9", Base62.encode(61));
+        assertEquals("ba", Base62.encode(62));
+    }
+
+    @Test
+    void testRoundTrip() {
+        long[] values = {0, 1, 61, 62, 3843, 3844, 1L << 40, Long.MAX_VALUE};
+        for (long value : values) {
+            assertEquals(value, Base62.decode(Base62.encode(value)), "value " + value);
+        }
+    }
+
+    @Test
+    void testRejectsInvalidCodes() {
+        assertEquals(-1, Base62.decode(""));
+        assertEquals(-1, Base62.decode("ab-c"));
+        // Leading zero digit
+        assertEquals(-1, Base62.decode("ab"));
+        // Longer than any long
+        assertEquals(-1, Base62.decode("bbbbbbbbbbbb"));
+        // Eleven digits, but past Long.MAX_VALUE
+        assertEquals(-1, Base62.decode("99999999999"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.solventum.shortlink.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CoarseClock.
+ *
+ * Tests that the cached time tracks the system clock without running ahead.
+ */
+class CoarseClockTest {
+
+    @Test
+    void testNeverAheadOfSystemClock() {
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(CoarseClock.currentTimeMillis() <= System.currentTimeMillis());
+        }
+    }
+
+    @Test
+    void testAdvancesOverTime() throws InterruptedException {
+        // Given
+        long first = CoarseClock.currentTimeMillis();
+
+        // When
+        Thread.sleep(CoarseClock.RESOLUTION_MS * 10);
+
+        // Then
+        assertTrue(CoarseClock.currentTimeMillis() > first);
+    }
+
+    @Test
+    void testNeverGoesBackwards() {
+        long previous = CoarseClock.currentTimeMillis();
+        for (int i = 0; i < 100_000; i++) {
+            long current = CoarseClock.currentTimeMillis();
+            assertTrue(current >= previous);
+            previous = current;
+        }
+    }
+}
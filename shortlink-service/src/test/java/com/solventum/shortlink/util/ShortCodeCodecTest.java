@@ -0,0 +1,105 @@
+package com.solventum.shortlink.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ShortCodeCodec.
+ *
+ * Tests that scrambled codes decode back to their id, keep the length of
+ * the plain code, never collide, and do not follow the id order.
+ */
+class ShortCodeCodecTest {
+
+    private final ShortCodeCodec codec = new ShortCodeCodec(0x5eed);
+
+    @Test
+    void testPlainCodecIsBase62() {
+        ShortCodeCodec plain = ShortCodeCodec.plain();
+        assertFalse(plain.isScrambled());
+        assertEquals("b", plain.encode(1));
+        assertEquals("ba", plain.encode(62));
+        assertEquals(62, plain.decode("ba"));
+        assertEquals(-1, plain.decode("ab-c"));
+    }
+
+    @Test
+    void testFingerprintTellsKeysApart() {
+        assertEquals(0, ShortCodeCodec.plain().fingerprint());
+        assertNotEquals(0, codec.fingerprint());
+        assertEquals(codec.fingerprint(), new ShortCodeCodec(0x5eed).fingerprint());
+        assertNotEquals(codec.fingerprint(), new ShortCodeCodec(0x5eee).fingerprint());
+    }
+
+    @Test
+    void testRoundTripKeepsCodeLength() {
+        // Given - Ids at and around every band edge, and a spread of large ids
+        Set<Long> ids = new HashSet<>();
+        long edge = 1;
+        while (true) {
+            for (long delta = -2; delta <= 2; delta++) {
+                if (edge + delta >= 0) {
+                    ids.add(edge + delta);
+                }
+            }
+            if (edge > Long.MAX_VALUE / Base62.BASE) {
+                break;
+            }
+            edge *= Base62.BASE;
+        }
+        ids.add(Long.MAX_VALUE);
+        ids.add(Long.MAX_VALUE - 1);
+        for (long id = 1; id > 0; id = id * 3 + 7) {
+            ids.add(id);
+        }
+
+        // Then
+        for (long id : ids) {
+            String code = codec.encode(id);
+            assertEquals(Base62.encode(id).length(), code.length(), "id " + id);
+            assertEquals(id, codec.decode(code), "id " + id);
+        }
+    }
+
+    @Test
+    void testShortBandsArePermutations() {
+        // Given - Every id with a one or two character code
+        Set<String> codes = new HashSet<>();
+        long count = (long) Base62.BASE * Base62.BASE;
+
+        // When
+        for (long id = 0; id < count; id++) {
+            codes.add(codec.encode(id));
+        }
+
+        // Then
+        assertEquals(count, codes.size());
+        for (long id = 0; id < count; id++) {
+            assertTrue(codes.contains(Base62.encode(id)));
+        }
+    }
+
+    @Test
+    void testConsecutiveIdsAreScattered() {
+        // Given
+        int adjacent = 0;
+
+        // When
+        long previous = Base62.decode(codec.encode(1_000_000));
+        for (long id = 1_000_001; id < 1_001_000; id++) {
+            long value = Base62.decode(codec.encode(id));
+            if (Math.abs(value - previous) <= 1) {
+                adjacent++;
+            }
+            previous = value;
+        }
+
+        // Then
+        assertTrue(adjacent < 5, adjacent + " consecutive ids got adjacent codes");
+        assertNotEquals(codec.encode(1_000_000), new ShortCodeCodec(0x5eee).encode(1_000_000));
+    }
+}
@@ -0,0 +1,104 @@
+package com.solventum.shortlink.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SingleFlight.
+ *
+ * Tests that concurrent calls for one key share one execution and its
+ * outcome, and that nothing is remembered once the execution finishes.
+ */
+class SingleFlightTest {
+
+    @Test
+    void testConcurrentCallsShareOneExecution() throws InterruptedException {
+        // Given - A slow execution holding the key while more callers arrive
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        String[] results = new String[8];
+        Thread[] callers = new Thread[results.length];
+        for (int i = 0; i < callers.length; i++) {
+            int caller = i;
+            callers[i] = new Thread(() -> results[caller] = flight.execute("key", () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "value";
+            }));
+        }
+
+        // When
+        callers[0].start();
+        started.await();
+        for (int i = 1; i < callers.length; i++) {
+            callers[i].start();
+        }
+        while (flight.getCallCount() < callers.length) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        // Then
+        assertEquals(1, executions.get());
+        for (String result : results) {
+            assertEquals("value", result);
+        }
+        assertEquals(callers.length - 1, flight.getCoalescedCount());
+
+        // And - A later call runs again rather than reusing the result
+        assertEquals("again", flight.execute("key", () -> "again"));
+    }
+
+    @Test
+    void testFailureIsSharedAndReleasesTheKey() throws InterruptedException {
+        // Given
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RuntimeException[] failures = new RuntimeException[2];
+        Thread leader = new Thread(() -> failures[0] = assertThrows(RuntimeException.class,
+            () -> flight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("Store unavailable");
+            })));
+        leader.start();
+        started.await();
+
+        // When
+        Thread follower = new Thread(() -> failures[1] = assertThrows(RuntimeException.class,
+            () -> flight.execute("key", () -> "unused")));
+        follower.start();
+        while (flight.getCoalescedCount() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        leader.join();
+        follower.join();
+
+        // Then - Both callers see the same failure
+        assertInstanceOf(IllegalStateException.class, failures[0]);
+        assertSame(failures[0], failures[1]);
+
+        // And - The failed key is free again
+        assertEquals("recovered", flight.execute("key", () -> "recovered"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
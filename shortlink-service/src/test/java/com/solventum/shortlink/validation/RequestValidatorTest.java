@@ -0,0 +1,138 @@
+package com.solventum.shortlink.validation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RequestValidator.
+ *
+ * Tests the fused presence, length and format checks for encode and decode input.
+ */
+class RequestValidatorTest {
+
+    private static final String BASE_URL = "http://short.est/";
+
+    @Test
+    void testValidateLongUrlReturnsCanonicalForm() {
+        assertEquals("https://example.com/a", RequestValidator.validateLongUrl("  HTTPS://Example.com:443/a#x "));
+    }
+
+    @Test
+    void testValidateLongUrlMissing() {
+        for (String url : new String[] {null, "", "   "}) {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> RequestValidator.validateLongUrl(url));
+            assertEquals("URL cannot be null or empty", exception.getMessage());
+        }
+    }
+
+    @Test
+    void testValidateLongUrlTooLong() {
+        // Given - One character over the limit
+        StringBuilder builder = new StringBuilder("https://example.com/");
+        while (builder.length() <= RequestValidator.MAX_URL_LENGTH) {
+            builder.append('a');
+        }
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> RequestValidator.validateLongUrl(builder.toString()));
+        assertEquals(RequestValidator.URL_TOO_LONG, exception.getMessage());
+    }
+
+    @Test
+    void testValidateLongUrlAtLimit() {
+        // Given
+        StringBuilder builder = new StringBuilder("https://example.com/");
+        while (builder.length() < RequestValidator.MAX_URL_LENGTH) {
+            builder.append('a');
+        }
+
+        // When & Then
+        assertEquals(builder.toString(), RequestValidator.validateLongUrl(builder.toString()));
+    }
+
+    @Test
+    void testValidateLongUrlMalformed() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> RequestValidator.validateLongUrl("not-a-url"));
+        assertEquals("Invalid URL format", exception.getMessage());
+    }
+
+    @Test
+    void testExtractShortCodeFormats() {
+        assertEquals("abc", RequestValidator.extractShortCode("http://short.est/abc", BASE_URL));
+        assertEquals("abc", RequestValidator.extractShortCode("  http://short.est/abc  ", BASE_URL));
+        assertEquals("abc", RequestValidator.extractShortCode("https://other.host/x/abc", BASE_URL));
+        assertEquals("abc", RequestValidator.extractShortCode("abc", BASE_URL));
+    }
+
+    @Test
+    void testExtractShortCodeReturnsInputWhenAlreadyACode() {
+        String code = "abc123";
+        assertSame(code, RequestValidator.extractShortCode(code, BASE_URL));
+    }
+
+    @Test
+    void testExtractShortCodeMissing() {
+        for (String shortUrl : new String[] {null, "", "   ", "\u0001", "\t\u0000\n"}) {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> RequestValidator.extractShortCode(shortUrl, BASE_URL));
+            assertEquals("Short URL cannot be null or empty", exception.getMessage());
+        }
+    }
+
+    @Test
+    void testExtractShortCodeTooLong() {
+        String shortUrl = "a".repeat(RequestValidator.MAX_SHORT_URL_LENGTH + 1);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> RequestValidator.extractShortCode(shortUrl, BASE_URL));
+        assertEquals(RequestValidator.SHORT_URL_TOO_LONG, exception.getMessage());
+    }
+
+    @Test
+    void testExtractShortCodeWithoutCode() {
+        assertThrows(IllegalArgumentException.class, () -> RequestValidator.extractShortCode(BASE_URL, BASE_URL));
+        assertThrows(IllegalArgumentException.class, () -> RequestValidator.extractShortCode("https://other.host/", BASE_URL));
+    }
+
+    @Test
+    void testResolveExpiresAt() {
+        assertEquals(0, RequestValidator.resolveExpiresAt(null, null, 1000));
+        assertEquals(61_000, RequestValidator.resolveExpiresAt(60L, null, 1000));
+        assertEquals(5000, RequestValidator.resolveExpiresAt(null, 5000L, 1000));
+    }
+
+    @Test
+    void testResolveExpiresAtRejectsInvalidInput() {
+        assertEquals(RequestValidator.TTL_NOT_POSITIVE, assertThrows(IllegalArgumentException.class,
+            () -> RequestValidator.resolveExpiresAt(0L, null, 1000)).getMessage());
+        assertThrows(IllegalArgumentException.class, () -> RequestValidator.resolveExpiresAt(60L, 5000L, 1000));
+        assertThrows(IllegalArgumentException.class, () -> RequestValidator.resolveExpiresAt(null, 1000L, 1000));
+        assertThrows(IllegalArgumentException.class, () -> RequestValidator.resolveExpiresAt(Long.MAX_VALUE, null, 1000));
+    }
+
+    @Test
+    void testValidateAlias() {
+        assertEquals("spring-sale", RequestValidator.validateAlias("spring-sale"));
+        assertEquals("team-x/launch.v2", RequestValidator.validateAlias("team-x/launch.v2"));
+        assertEquals("springsale2026", RequestValidator.validateAlias("springsale2026"));
+        assertEquals("abc", RequestValidator.validateAlias("abc"));
+        // Alphanumeric aliases that could also be generated codes are checked by the service
+        assertEquals("banana", RequestValidator.validateAlias("banana"));
+        assertEquals("SpringSale", RequestValidator.validateAlias("SpringSale"));
+        assertEquals("sale2024", RequestValidator.validateAlias("sale2024"));
+    }
+
+    @Test
+    void testValidateAliasRejectsInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> RequestValidator.validateAlias(null));
+        assertThrows(IllegalArgumentException.class, () -> RequestValidator.validateAlias(""));
+        assertThrows(IllegalArgumentException.class, () -> RequestValidator.validateAlias("x".repeat(65) + "-"));
+        assertThrows(IllegalArgumentException.class, () -> RequestValidator.validateAlias("spring sale"));
+        assertThrows(IllegalArgumentException.class, () -> RequestValidator.validateAlias("/team-x"));
+        assertThrows(IllegalArgumentException.class, () -> RequestValidator.validateAlias("team-x/"));
+        assertThrows(IllegalArgumentException.class, () -> RequestValidator.validateAlias("team-x//launch"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.solventum.shortlink.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solventum.shortlink.json.ShortlinkJsonModule;
+import com.solventum.shortlink.stats.HotLinkSnapshot;
+import com.solventum.shortlink.stats.HotLinkTracker;
+import com.solventum.shortlink.store.InMemoryLinkStore;
+import com.solventum.shortlink.util.ShortCodeCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StartupWarmup.
+ *
+ * Tests that the warm-up loads the snapshot's hot links from the store,
+ * decodes them through the real store while its synthetic encodes leave
+ * nothing behind there, and never fails the startup.
+ */
+class StartupWarmupTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new ShortlinkJsonModule());
+
+    @Test
+    void testLoadsHotLinksWithoutTouchingRealData() {
+        // Given - A store with two links, one of them hot before the restart, plus a link deleted since
+        List<String> lookups = new ArrayList<>();
+        InMemoryLinkStore store = new InMemoryLinkStore() {
+            @Override
+            public String get(String shortCode) {
+                lookups.add(shortCode);
+                return super.get(shortCode);
+            }
+        };
+        store.put("hot", "https://example.com/hot");
+        store.put("cold", "https://example.com/cold");
+        HotLinkTracker tracker = new HotLinkTracker();
+        tracker.record("hot");
+        tracker.record("gone");
+        Path file = directory.resolve("hot-links.snapshot");
+        new HotLinkSnapshot(tracker, file).save();
+        AtomicInteger storageTasks = new AtomicInteger();
+        StartupWarmup warmup = new StartupWarmup(store, new HotLinkSnapshot(new HotLinkTracker(), file), objectMapper,
+            new ShortCodeCodec(42), runnable -> {
+                storageTasks.incrementAndGet();
+                runnable.run();
+            }, 100);
+
+        // When
+        StartupWarmup.Result result = warmup.warmUp();
+
+        // Then - Decodes asked the real store for the hot link, and synthetic links went to the scratch store,
+        // both through the node's storage executor
+        assertEquals(1, result.preloadedLinks());
+        assertEquals(2 * 100 + 2 * 7, result.syntheticRequests());
+        assertEquals(List.of("gone", "hot"), lookups.stream().filter(code -> !code.startsWith("missing"))
+            .distinct().sorted().toList());
+        assertTrue(lookups.stream().filter("hot"::equals).count() > 100);
+        assertEquals(2, store.size());
+        assertEquals(2 * 100, storageTasks.get());
+        assertSame(result, warmup.getResult());
+    }
+
+    @Test
+    void testReadOnlyNodeOnlyWarmsDecodes() {
+        // Given - A replica's store, with no hot links saved
+        List<String> lookups = new ArrayList<>();
+        InMemoryLinkStore store = new InMemoryLinkStore() {
+            @Override
+            public String get(String shortCode) {
+                lookups.add(shortCode);
+                return super.get(shortCode);
+            }
+
+            @Override
+            public boolean isReadOnly() {
+                return true;
+            }
+        };
+        StartupWarmup warmup = new StartupWarmup(store, new HotLinkSnapshot(new HotLinkTracker(), null), objectMapper,
+            ShortCodeCodec.plain(), Runnable::run, 100);
+
+        // When
+        StartupWarmup.Result result = warmup.warmUp();
+
+        // Then - Every decode, valid or not, reached the real store
+        assertEquals(100 + 7, result.syntheticRequests());
+        assertTrue(lookups.size() >= 100);
+    }
+
+    @Test
+    void testFailureEndsWarmupWithoutThrowing() {
+        // Given - A store that cannot be read
+        InMemoryLinkStore store = new InMemoryLinkStore() {
+            @Override
+            public long preTouch() {
+                throw new IllegalStateException("Disk is gone");
+            }
+        };
+        StartupWarmup warmup = new StartupWarmup(store, new HotLinkSnapshot(new HotLinkTracker(), null), objectMapper,
+            ShortCodeCodec.plain(), Runnable::run, 100);
+
+        // When
+        StartupWarmup.Result result = assertDoesNotThrow(warmup::warmUp);
+
+        // Then - The remaining steps were skipped
+        assertEquals(0, result.syntheticRequests());
+        assertNotNull(warmup.getResult());
+    }
+}